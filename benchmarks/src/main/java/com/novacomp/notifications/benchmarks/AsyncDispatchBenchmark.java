@@ -0,0 +1,45 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.api.NotificationResult;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round-trip latency of {@code sendAsync} through the default dispatcher,
+ * sampled so that the report includes p50/p90/p99/p99.9 percentiles.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AsyncDispatchBenchmark {
+
+    @Benchmark
+    public NotificationResult emailSendAsync(Fixtures fixtures) {
+        return fixtures.emailChannel.sendAsync(fixtures.email).join();
+    }
+
+    @Benchmark
+    public NotificationResult smsSendAsync(Fixtures fixtures) {
+        return fixtures.smsChannel.sendAsync(fixtures.sms).join();
+    }
+
+    @Benchmark
+    public NotificationResult pushSendAsync(Fixtures fixtures) {
+        return fixtures.pushChannel.sendAsync(fixtures.push).join();
+    }
+
+    @Benchmark
+    public NotificationResult slackSendAsync(Fixtures fixtures) {
+        return fixtures.slackChannel.sendAsync(fixtures.slack).join();
+    }
+}
@@ -0,0 +1,67 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.factory.NotificationSenderFactory;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Channels wired to stub providers plus one representative notification per
+ * channel, shared by all benchmark threads.
+ */
+@State(Scope.Benchmark)
+public class Fixtures {
+
+    NotificationChannel emailChannel;
+    NotificationChannel smsChannel;
+    NotificationChannel pushChannel;
+    NotificationChannel slackChannel;
+
+    EmailNotification email;
+    EmailNotification invalidEmail;
+    SmsNotification sms;
+    PushNotification push;
+    SlackNotification slack;
+
+    @Setup
+    public void setUp() {
+        emailChannel = NotificationSenderFactory.createEmailChannel(new StubProviders.Email());
+        smsChannel = NotificationSenderFactory.createSmsChannel(new StubProviders.Sms());
+        pushChannel = NotificationSenderFactory.createPushChannel(new StubProviders.Push());
+        slackChannel = NotificationSenderFactory.createSlackChannel(new StubProviders.Slack());
+
+        email = EmailNotification.builder()
+                .to("user@example.com")
+                .from("noreply@example.com")
+                .subject("Your order has shipped")
+                .body("Hi! Your order #12345 is on its way and should arrive by Friday.")
+                .build();
+        invalidEmail = EmailNotification.builder()
+                .to("not-an-address")
+                .from("noreply@example.com")
+                .subject("Your order has shipped")
+                .body("Hi! Your order #12345 is on its way and should arrive by Friday.")
+                .build();
+        sms = SmsNotification.builder()
+                .phoneNumber("+14155550123")
+                .message("Your verification code is 481516")
+                .build();
+        push = PushNotification.builder()
+                .token("fcm-device-token-0123456789abcdef")
+                .title("Flash sale")
+                .body("Everything is 30% off for the next hour")
+                .data(Map.of("campaign", "flash-sale", "deeplink", "app://sale"))
+                .build();
+        slack = SlackNotification.builder()
+                .channel("#alerts")
+                .text("Deployment 1.4.2 finished successfully")
+                .username("deploy-bot")
+                .build();
+    }
+}
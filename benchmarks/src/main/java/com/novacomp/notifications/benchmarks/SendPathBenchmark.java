@@ -0,0 +1,82 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.api.NotificationResult;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the synchronous send path (type check, validation, provider
+ * call, result allocation) for every channel, on one thread and with all
+ * hardware threads sending through the same channel.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SendPathBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public NotificationResult emailSend(Fixtures fixtures) {
+        return fixtures.emailChannel.send(fixtures.email);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public NotificationResult smsSend(Fixtures fixtures) {
+        return fixtures.smsChannel.send(fixtures.sms);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public NotificationResult pushSend(Fixtures fixtures) {
+        return fixtures.pushChannel.send(fixtures.push);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public NotificationResult slackSend(Fixtures fixtures) {
+        return fixtures.slackChannel.send(fixtures.slack);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public NotificationResult emailSendContended(Fixtures fixtures) {
+        return fixtures.emailChannel.send(fixtures.email);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public NotificationResult smsSendContended(Fixtures fixtures) {
+        return fixtures.smsChannel.send(fixtures.sms);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public NotificationResult pushSendContended(Fixtures fixtures) {
+        return fixtures.pushChannel.send(fixtures.push);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public NotificationResult slackSendContended(Fixtures fixtures) {
+        return fixtures.slackChannel.send(fixtures.slack);
+    }
+
+    /**
+     * The rejection path: validation fails and a failure result is built.
+     */
+    @Benchmark
+    @Threads(1)
+    public NotificationResult emailSendInvalid(Fixtures fixtures) {
+        return fixtures.emailChannel.send(fixtures.invalidEmail);
+    }
+}
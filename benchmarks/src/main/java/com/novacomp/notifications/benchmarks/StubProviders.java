@@ -0,0 +1,68 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.email.EmailProvider;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.push.PushProvider;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.slack.SlackProvider;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+
+/**
+ * In-process providers that accept every message without I/O, so the
+ * benchmarks measure only the library's own per-message cost.
+ */
+final class StubProviders {
+
+    private StubProviders() {
+    }
+
+    static final class Email implements EmailProvider {
+        @Override
+        public boolean sendEmail(EmailNotification notification) {
+            return true;
+        }
+
+        @Override
+        public String getProviderName() {
+            return "StubEmail";
+        }
+    }
+
+    static final class Sms implements SmsProvider {
+        @Override
+        public boolean sendSms(SmsNotification notification) {
+            return true;
+        }
+
+        @Override
+        public String getProviderName() {
+            return "StubSms";
+        }
+    }
+
+    static final class Push implements PushProvider {
+        @Override
+        public boolean sendPush(PushNotification notification) {
+            return true;
+        }
+
+        @Override
+        public String getProviderName() {
+            return "StubPush";
+        }
+    }
+
+    static final class Slack implements SlackProvider {
+        @Override
+        public boolean sendSlackMessage(SlackNotification notification) {
+            return true;
+        }
+
+        @Override
+        public String getProviderName() {
+            return "StubSlack";
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.ValidationResult;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the building blocks of a send in isolation: validating each
+ * notification type and allocating a {@link NotificationResult}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Benchmark
+    public ValidationResult validateEmail(Fixtures fixtures) {
+        return fixtures.email.validate();
+    }
+
+    @Benchmark
+    public ValidationResult validateInvalidEmail(Fixtures fixtures) {
+        return fixtures.invalidEmail.validate();
+    }
+
+    @Benchmark
+    public ValidationResult validateSms(Fixtures fixtures) {
+        return fixtures.sms.validate();
+    }
+
+    @Benchmark
+    public ValidationResult validatePush(Fixtures fixtures) {
+        return fixtures.push.validate();
+    }
+
+    @Benchmark
+    public ValidationResult validateSlack(Fixtures fixtures) {
+        return fixtures.slack.validate();
+    }
+
+    @Benchmark
+    public NotificationResult successResult() {
+        return NotificationResult.success("EMAIL", "StubEmail", "message-id");
+    }
+}
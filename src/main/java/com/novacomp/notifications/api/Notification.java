@@ -11,4 +11,11 @@ public interface Notification {
      * @return The result of the validation.
      */
     ValidationResult validate();
+
+    /**
+     * @return How urgently the notification must go out.
+     */
+    default Priority getPriority() {
+        return Priority.NORMAL;
+    }
 }
@@ -1,5 +1,9 @@
 package com.novacomp.notifications.api;
 
+import com.novacomp.notifications.dispatch.NotificationDispatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
@@ -8,6 +12,14 @@ import java.util.concurrent.Executor;
  * A channel takes a generic Notification and returns a NotificationResult.
  */
 public interface NotificationChannel {
+    /**
+     * @return The name of this channel (e.g., "EMAIL"), used to key per-channel
+     *         limits and statistics.
+     */
+    default String getChannelName() {
+        return getClass().getSimpleName();
+    }
+
     /**
      * Sends a notification through this channel.
      *
@@ -18,15 +30,34 @@ public interface NotificationChannel {
     NotificationResult send(Notification notification);
 
     /**
-     * Sends a notification asynchronously using the default CompletableFuture
-     * executor.
+     * Sends a batch of notifications through this channel.
+     * The default implementation sends each notification individually; channels
+     * backed by a bulk-capable provider override it to amortize the per-message
+     * overhead across the whole batch.
+     *
+     * @param notifications The notifications to send.
+     * @return One result per notification, in iteration order.
+     * @throws NotificationException if a recoverable error occurs during sending.
+     */
+    default List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+        List<NotificationResult> results = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            results.add(send(notification));
+        }
+        return results;
+    }
+
+    /**
+     * Sends a notification asynchronously on the shared
+     * {@link NotificationDispatcher}, which runs each send on a virtual thread
+     * and applies this channel's concurrency limit.
      *
      * @param notification The notification to send.
      * @return A CompletableFuture that will complete with the result of the
      *         operation.
      */
     default CompletableFuture<NotificationResult> sendAsync(Notification notification) {
-        return CompletableFuture.supplyAsync(() -> send(notification));
+        return NotificationDispatcher.getDefault().dispatch(this, notification);
     }
 
     /**
@@ -3,18 +3,49 @@ package com.novacomp.notifications.api;
 /**
  * Represents the result of a notification sending attempt.
  * Immutable record.
+ *
+ * @param retryable Whether a failed send may succeed if tried again, e.g.
+ *                  because the provider could not be reached. False for
+ *                  successes and for permanent rejections, such as an invalid
+ *                  notification or a message the provider refused.
  */
 public record NotificationResult(
         boolean success,
         String message,
         String channelName,
         String providerName,
-        String messageId) {
+        String messageId,
+        boolean retryable) {
     public static NotificationResult success(String channelName, String providerName, String messageId) {
-        return new NotificationResult(true, "Success", channelName, providerName, messageId);
+        return new NotificationResult(true, "Success", channelName, providerName, messageId, false);
     }
 
+    /**
+     * @return The result for a provider's answer. An accepted message keeps the
+     *         provider's ID, or null if the provider returned none.
+     */
+    public static NotificationResult of(String channelName, String providerName, ProviderResponse response) {
+        if (response.accepted()) {
+            return success(channelName, providerName, response.messageId());
+        }
+        String error = response.detail() != null ? response.detail() : "Provider returned failure.";
+        return response.retryable()
+                ? failure(channelName, providerName, error)
+                : rejection(channelName, providerName, error);
+    }
+
+    /**
+     * @return A failure that may succeed if the notification is sent again.
+     */
     public static NotificationResult failure(String channelName, String providerName, String error) {
-        return new NotificationResult(false, error, channelName, providerName, null);
+        return new NotificationResult(false, error, channelName, providerName, null, true);
+    }
+
+    /**
+     * @return A failure that sending the same notification again would not
+     *         change.
+     */
+    public static NotificationResult rejection(String channelName, String providerName, String error) {
+        return new NotificationResult(false, error, channelName, providerName, null, false);
     }
 }
@@ -0,0 +1,22 @@
+package com.novacomp.notifications.api;
+
+/**
+ * How urgently a notification must go out, from most to least urgent.
+ * {@link com.novacomp.notifications.dispatch.PriorityLaneChannel} keeps one
+ * lane per priority.
+ */
+public enum Priority {
+    /**
+     * One-time passwords, password resets and other messages a user is
+     * waiting for.
+     */
+    TRANSACTIONAL,
+    /**
+     * Regular notifications; the default.
+     */
+    NORMAL,
+    /**
+     * Campaigns and other bulk traffic that may be delayed.
+     */
+    BULK
+}
@@ -0,0 +1,79 @@
+package com.novacomp.notifications.api;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * What a provider reported for one message.
+ * Immutable record.
+ *
+ * @param accepted   Whether the provider accepted the message.
+ * @param messageId  The provider's ID for the message, or null if it did not
+ *                   return one.
+ * @param statusCode The provider's HTTP status, {@link #NO_RESPONSE} if the
+ *                   request was sent but no response was received, or -1 if
+ *                   there was no HTTP exchange.
+ * @param detail     Why the message was not accepted, or null.
+ */
+public record ProviderResponse(boolean accepted, String messageId, int statusCode, String detail) {
+
+    /**
+     * Status of a request that failed without a response (I/O error, timeout).
+     */
+    public static final int NO_RESPONSE = 0;
+
+    public static ProviderResponse accepted(String messageId) {
+        return new ProviderResponse(true, messageId, -1, null);
+    }
+
+    public static ProviderResponse rejected(String detail) {
+        return new ProviderResponse(false, null, -1, detail);
+    }
+
+    /**
+     * @return Whether the message was not accepted for a reason that may go
+     *         away, so that sending it again may succeed: no response, a 429
+     *         or a 5xx. Other refusals are permanent.
+     */
+    public boolean retryable() {
+        return !accepted && (statusCode == NO_RESPONSE || statusCode == 429 || statusCode >= 500);
+    }
+
+    /**
+     * @return Whether every message of a non-empty bulk call was refused in a
+     *         {@link #retryable() retryable} way, which decorators count as a
+     *         failed call. Permanent refusals say nothing about the provider's
+     *         health.
+     */
+    public static boolean allRetryable(ProviderResponse[] responses) {
+        for (ProviderResponse response : responses) {
+            if (!response.retryable()) {
+                return false;
+            }
+        }
+        return responses.length > 0;
+    }
+
+    /**
+     * Adapts the flag returned by a blocking provider.
+     */
+    public static ProviderResponse of(boolean sent) {
+        return sent ? accepted(null) : rejected(null);
+    }
+
+    /**
+     * Waits for a provider's answer.
+     *
+     * @throws Exception The exception that failed the stage.
+     */
+    public static ProviderResponse await(CompletionStage<ProviderResponse> stage) throws Exception {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -11,11 +11,13 @@ import java.util.List;
  */
 public record ValidationResult(boolean isValid, List<String> errors) {
 
+    private static final ValidationResult SUCCESS = new ValidationResult(true, Collections.emptyList());
+
     /**
-     * Creates a successful validation result.
+     * @return The shared successful validation result.
      */
     public static ValidationResult success() {
-        return new ValidationResult(true, Collections.emptyList());
+        return SUCCESS;
     }
 
     /**
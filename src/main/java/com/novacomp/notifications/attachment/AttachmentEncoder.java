@@ -0,0 +1,304 @@
+package com.novacomp.notifications.attachment;
+
+import com.novacomp.notifications.api.NotificationException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Base64-encodes attachment files for provider request bodies without
+ * loading them onto the heap.
+ * <p>
+ * Files are read through a {@link FileChannel}: large files are memory-mapped
+ * in windows, smaller ones read into pooled direct buffers. Each chunk is
+ * encoded straight into an off-heap buffer sized for the whole encoding.
+ * <p>
+ * Encodings are cached by path, size and modification time, up to a total
+ * number of encoded bytes, so an attachment shared by every recipient of a
+ * campaign is read and encoded once. Concurrent requests for an attachment
+ * that is still being encoded wait for that encoding instead of starting
+ * another.
+ */
+@Slf4j
+public final class AttachmentEncoder {
+
+    /**
+     * Encoded bytes kept in the cache by default.
+     */
+    public static final long DEFAULT_MAX_CACHE_BYTES = 256L * 1024 * 1024;
+
+    /**
+     * Files at least this large are memory-mapped instead of read.
+     */
+    public static final long DEFAULT_MAP_THRESHOLD = 1024 * 1024;
+
+    /**
+     * Read buffer size; a multiple of 3 so chunks encode without carry-over.
+     */
+    static final int READ_BUFFER_SIZE = 48 * 1024;
+
+    /**
+     * Mapped window size, also a multiple of 3.
+     */
+    static final long MAP_WINDOW = 12L * 1024 * 1024;
+
+    /**
+     * Largest file whose encoding fits in one buffer.
+     */
+    static final long MAX_FILE_SIZE = (Integer.MAX_VALUE - 8) / 4 * 3L;
+
+    private static final byte[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+
+    private final long maxCacheBytes;
+    private final long mapThreshold;
+    private final DirectBufferPool buffers;
+    private final Map<Key, CompletableFuture<EncodedAttachment>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong encodings = new AtomicLong();
+    private long cachedBytes;
+
+    private AttachmentEncoder(Builder builder) {
+        this.maxCacheBytes = builder.maxCacheBytes;
+        this.mapThreshold = builder.mapThreshold;
+        this.buffers = new DirectBufferPool(READ_BUFFER_SIZE, builder.maxPooledBuffers);
+    }
+
+    /**
+     * @return The JVM-wide encoder shared by the providers.
+     */
+    public static AttachmentEncoder getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The cached encoding of the file, encoding it first if it is not
+     *         cached or has changed on disk.
+     * @throws NotificationException If the file cannot be read.
+     */
+    public EncodedAttachment encode(File file) {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        Key key;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            key = new Key(path, attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            throw new NotificationException("Cannot read attachment " + file.getName(), e);
+        }
+
+        CompletableFuture<EncodedAttachment> future;
+        boolean owner = false;
+        synchronized (cache) {
+            future = cache.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                cache.put(key, future);
+                owner = true;
+            }
+        }
+        if (!owner) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw new NotificationException("Cannot read attachment " + file.getName(), e.getCause());
+            }
+        }
+
+        try {
+            EncodedAttachment encoded = read(path, key.size());
+            future.complete(encoded);
+            synchronized (cache) {
+                // Not counted if invalidateAll dropped the entry while it was encoded
+                if (cache.get(key) == future) {
+                    cachedBytes += encoded.length();
+                    trim();
+                }
+            }
+            return encoded;
+        } catch (Throwable e) {
+            // Errors too, such as running out of direct buffer memory: a
+            // future left incomplete would block every later encode forever.
+            synchronized (cache) {
+                cache.remove(key, future);
+            }
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return How many times a file has been read and encoded, for
+     *         monitoring the cache.
+     */
+    public long encodings() {
+        return encodings.get();
+    }
+
+    /**
+     * @return Encoded bytes currently held by the cache.
+     */
+    public long cachedBytes() {
+        synchronized (cache) {
+            return cachedBytes;
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    private EncodedAttachment read(Path path, long size) {
+        if (size > MAX_FILE_SIZE) {
+            throw new NotificationException("Attachment " + path.getFileName() + " is too large: " + size + " bytes");
+        }
+        ByteBuffer encoded = ByteBuffer.allocateDirect((int) ((size + 2) / 3 * 4));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (size >= mapThreshold) {
+                readMapped(channel, size, encoded);
+            } else {
+                readBuffered(channel, encoded);
+            }
+        } catch (IOException e) {
+            throw new NotificationException("Cannot read attachment " + path.getFileName(), e);
+        } catch (BufferOverflowException e) {
+            throw new NotificationException("Attachment " + path.getFileName() + " grew while it was read", e);
+        }
+        encodings.incrementAndGet();
+        log.debug("Encoded attachment {} ({} bytes)", path.getFileName(), size);
+        return new EncodedAttachment(path.getFileName().toString(), encoded.flip());
+    }
+
+    private static void readMapped(FileChannel channel, long size, ByteBuffer encoded) throws IOException {
+        for (long position = 0; position < size; position += MAP_WINDOW) {
+            long length = Math.min(MAP_WINDOW, size - position);
+            ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            encode(window, encoded, position + length >= size);
+        }
+    }
+
+    private void readBuffered(FileChannel channel, ByteBuffer encoded) throws IOException {
+        ByteBuffer buffer = buffers.acquire();
+        try {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                encode(buffer, encoded, false);
+                buffer.compact();
+            }
+            buffer.flip();
+            encode(buffer, encoded, true);
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    /**
+     * Encodes every whole 3-byte group of {@code source}, plus the padded
+     * remainder if {@code last}; an incomplete group is otherwise left in the
+     * source for the next chunk.
+     */
+    static void encode(ByteBuffer source, ByteBuffer target, boolean last) {
+        while (source.remaining() >= 3) {
+            int bits = (source.get() & 0xFF) << 16 | (source.get() & 0xFF) << 8 | (source.get() & 0xFF);
+            target.putInt(ALPHABET[bits >>> 18] << 24
+                    | ALPHABET[(bits >>> 12) & 0x3F] << 16
+                    | ALPHABET[(bits >>> 6) & 0x3F] << 8
+                    | ALPHABET[bits & 0x3F]);
+        }
+        if (!last || !source.hasRemaining()) {
+            return;
+        }
+        int first = source.get() & 0xFF;
+        if (source.hasRemaining()) {
+            int bits = first << 8 | (source.get() & 0xFF);
+            target.put(ALPHABET[bits >>> 10]).put(ALPHABET[(bits >>> 4) & 0x3F]).put(ALPHABET[(bits << 2) & 0x3F])
+                    .put((byte) '=');
+        } else {
+            target.put(ALPHABET[first >>> 2]).put(ALPHABET[(first << 4) & 0x3F]).put((byte) '=').put((byte) '=');
+        }
+    }
+
+    /**
+     * Evicts least recently used encodings until the cache fits its budget.
+     * Encodings still in progress are skipped.
+     */
+    private void trim() {
+        Iterator<CompletableFuture<EncodedAttachment>> eldest = cache.values().iterator();
+        while (cachedBytes > maxCacheBytes && eldest.hasNext()) {
+            CompletableFuture<EncodedAttachment> future = eldest.next();
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                cachedBytes -= future.join().length();
+                eldest.remove();
+            }
+        }
+    }
+
+    private record Key(Path path, long size, long lastModifiedMillis) {
+    }
+
+    private static final class DefaultHolder {
+        private static final AttachmentEncoder INSTANCE = builder().build();
+    }
+
+    /**
+     * Builder for {@link AttachmentEncoder}.
+     */
+    public static final class Builder {
+        private long maxCacheBytes = DEFAULT_MAX_CACHE_BYTES;
+        private long mapThreshold = DEFAULT_MAP_THRESHOLD;
+        private int maxPooledBuffers = 16;
+
+        private Builder() {
+        }
+
+        /**
+         * Encoded bytes to keep cached; 0 disables caching.
+         */
+        public Builder maxCacheBytes(long maxCacheBytes) {
+            if (maxCacheBytes < 0) {
+                throw new IllegalArgumentException("Cache budget must not be negative: " + maxCacheBytes);
+            }
+            this.maxCacheBytes = maxCacheBytes;
+            return this;
+        }
+
+        /**
+         * Files at least this large are memory-mapped instead of read.
+         */
+        public Builder mapThreshold(long mapThreshold) {
+            this.mapThreshold = mapThreshold;
+            return this;
+        }
+
+        /**
+         * Idle read buffers kept for reuse.
+         */
+        public Builder maxPooledBuffers(int maxPooledBuffers) {
+            this.maxPooledBuffers = maxPooledBuffers;
+            return this;
+        }
+
+        public AttachmentEncoder build() {
+            return new AttachmentEncoder(this);
+        }
+    }
+}
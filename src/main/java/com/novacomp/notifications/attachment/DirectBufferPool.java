@@ -0,0 +1,44 @@
+package com.novacomp.notifications.attachment;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of equally sized direct buffers. Allocating direct memory is
+ * slow and only reclaimed by the GC, so buffers are reused across reads.
+ */
+final class DirectBufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    DirectBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        return buffer.clear();
+    }
+
+    void release(ByteBuffer buffer) {
+        if (pooled.incrementAndGet() <= maxPooled) {
+            free.add(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    int pooled() {
+        return pooled.get();
+    }
+}
@@ -0,0 +1,128 @@
+package com.novacomp.notifications.attachment;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base64 encoding of an attachment, held off-heap in a read-only direct
+ * buffer. Request bodies stream slices of the buffer, so sending the
+ * attachment to any number of recipients copies it onto the heap zero times.
+ */
+public final class EncodedAttachment {
+
+    private static final int SLICE_SIZE = 16 * 1024;
+
+    private final String fileName;
+    private final ByteBuffer content;
+
+    EncodedAttachment(String fileName, ByteBuffer content) {
+        this.fileName = fileName;
+        this.content = content.slice().asReadOnlyBuffer();
+    }
+
+    public String fileName() {
+        return fileName;
+    }
+
+    /**
+     * @return The length of the encoded content in bytes (and characters).
+     */
+    public int length() {
+        return content.capacity();
+    }
+
+    /**
+     * @return A read-only view of the encoded content.
+     */
+    public ByteBuffer content() {
+        return content.duplicate();
+    }
+
+    /**
+     * @return A request body publisher for the encoded content, for use with
+     *         {@link HttpRequest.BodyPublishers#concat}.
+     */
+    public HttpRequest.BodyPublisher publisher() {
+        return HttpRequest.BodyPublishers.fromPublisher(new SlicePublisher(content), content.capacity());
+    }
+
+    /**
+     * Copies the encoded content into a string, for callers that need one.
+     */
+    public String asString() {
+        ByteBuffer view = content();
+        byte[] bytes = new byte[view.remaining()];
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Emits the content as consecutive slices, as many as the subscriber
+     * requests.
+     */
+    private static final class SlicePublisher implements Flow.Publisher<ByteBuffer> {
+        private final ByteBuffer content;
+
+        SlicePublisher(ByteBuffer content) {
+            this.content = content;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new SliceSubscription(content, subscriber));
+        }
+    }
+
+    private static final class SliceSubscription implements Flow.Subscription {
+        private final ByteBuffer content;
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        /**
+         * Serializes emission: request may be called from inside onNext.
+         */
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean cancelled;
+        private int offset;
+        private boolean completed;
+
+        SliceSubscription(ByteBuffer content, Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.content = content;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (!cancelled && offset < content.capacity() && demand.get() > 0) {
+                    int length = Math.min(SLICE_SIZE, content.capacity() - offset);
+                    ByteBuffer slice = content.slice(offset, length);
+                    offset += length;
+                    demand.decrementAndGet();
+                    subscriber.onNext(slice);
+                }
+                if (!cancelled && !completed && offset >= content.capacity()) {
+                    completed = true;
+                    subscriber.onComplete();
+                }
+            } while (work.decrementAndGet() != 0);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.novacomp.notifications.balancer;
+
+import java.util.List;
+
+/**
+ * Latency-aware selection: picks the candidate with the lowest expected wait,
+ * estimated as its moving average latency times the requests it would have
+ * in flight, divided by its weight. Providers with no latency sample yet are
+ * tried first so that every provider gets measured.
+ */
+public class EwmaLatencySelector implements ProviderSelector {
+
+    @Override
+    public <P> PooledProvider<P> select(List<PooledProvider<P>> candidates) {
+        PooledProvider<P> best = candidates.get(0);
+        double bestCost = cost(best);
+        for (int i = 1; i < candidates.size(); i++) {
+            PooledProvider<P> candidate = candidates.get(i);
+            double candidateCost = cost(candidate);
+            if (candidateCost < bestCost) {
+                best = candidate;
+                bestCost = candidateCost;
+            }
+        }
+        return best;
+    }
+
+    private static double cost(PooledProvider<?> provider) {
+        return provider.latencyNanos() * (provider.outstanding() + 1.0) / provider.weight();
+    }
+}
@@ -0,0 +1,42 @@
+package com.novacomp.notifications.balancer;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.email.AsyncEmailProvider;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.email.EmailProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * EmailProvider that spreads emails across a {@link ProviderPool} and fails over
+ * between its members. A call fails over only when it throws; a provider
+ * refusing a message is returned as is. A bulk call fails over as a whole.
+ * Non-blocking sends move on to the next member when the previous one's
+ * stage fails, without a thread waiting on either.
+ */
+@RequiredArgsConstructor
+public class FailoverEmailProvider implements EmailProvider, AsyncEmailProvider {
+
+    private final ProviderPool<EmailProvider> pool;
+
+    @Override
+    public boolean sendEmail(EmailNotification notification) throws Exception {
+        return pool.call(provider -> provider.sendEmail(notification));
+    }
+
+    @Override
+    public ProviderResponse[] sendEmailBatch(List<EmailNotification> notifications) throws Exception {
+        return pool.call(provider -> provider.sendEmailBatch(notifications));
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendEmailAsync(EmailNotification notification) {
+        return pool.callAsync(provider -> AsyncEmailProvider.adapt(provider).sendEmailAsync(notification));
+    }
+
+    @Override
+    public String getProviderName() {
+        return pool.getName();
+    }
+}
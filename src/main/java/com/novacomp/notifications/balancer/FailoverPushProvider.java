@@ -0,0 +1,42 @@
+package com.novacomp.notifications.balancer;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.push.AsyncPushProvider;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.push.PushProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * PushProvider that spreads push notifications across a {@link ProviderPool} and fails over
+ * between its members. A call fails over only when it throws; a provider
+ * refusing a message is returned as is. A bulk call fails over as a whole.
+ * Non-blocking sends move on to the next member when the previous one's
+ * stage fails, without a thread waiting on either.
+ */
+@RequiredArgsConstructor
+public class FailoverPushProvider implements PushProvider, AsyncPushProvider {
+
+    private final ProviderPool<PushProvider> pool;
+
+    @Override
+    public boolean sendPush(PushNotification notification) throws Exception {
+        return pool.call(provider -> provider.sendPush(notification));
+    }
+
+    @Override
+    public ProviderResponse[] sendPushBatch(List<PushNotification> notifications) throws Exception {
+        return pool.call(provider -> provider.sendPushBatch(notifications));
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendPushAsync(PushNotification notification) {
+        return pool.callAsync(provider -> AsyncPushProvider.adapt(provider).sendPushAsync(notification));
+    }
+
+    @Override
+    public String getProviderName() {
+        return pool.getName();
+    }
+}
@@ -0,0 +1,53 @@
+package com.novacomp.notifications.balancer;
+
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.slack.AsyncSlackProvider;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.slack.SlackProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * SlackProvider that spreads Slack messages across a {@link ProviderPool} and fails over
+ * between its members. A call fails over only when it throws; a provider
+ * refusing a message is returned as is. A bulk call fails over as a whole.
+ * Non-blocking sends move on to the next member when the previous one's
+ * stage fails, without a thread waiting on either.
+ */
+@RequiredArgsConstructor
+public class FailoverSlackProvider implements SlackProvider, AsyncSlackProvider {
+
+    private final ProviderPool<SlackProvider> pool;
+
+    @Override
+    public boolean sendSlackMessage(SlackNotification notification) {
+        return call(provider -> provider.sendSlackMessage(notification));
+    }
+
+    @Override
+    public ProviderResponse[] sendSlackBatch(List<SlackNotification> notifications) throws Exception {
+        return pool.call(provider -> provider.sendSlackBatch(notifications));
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendSlackMessageAsync(SlackNotification notification) {
+        return pool.callAsync(provider -> AsyncSlackProvider.adapt(provider).sendSlackMessageAsync(notification));
+    }
+
+    @Override
+    public String getProviderName() {
+        return pool.getName();
+    }
+
+    private <T> T call(ProviderPool.ProviderCall<SlackProvider, T> call) {
+        try {
+            return pool.call(call);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new NotificationException("Unexpected checked exception from " + pool.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.novacomp.notifications.balancer;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.sms.AsyncSmsProvider;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * SmsProvider that spreads SMS messages across a {@link ProviderPool} and fails over
+ * between its members. A call fails over only when it throws; a provider
+ * refusing a message is returned as is. A bulk call fails over as a whole.
+ * Non-blocking sends move on to the next member when the previous one's
+ * stage fails, without a thread waiting on either.
+ */
+@RequiredArgsConstructor
+public class FailoverSmsProvider implements SmsProvider, AsyncSmsProvider {
+
+    private final ProviderPool<SmsProvider> pool;
+
+    @Override
+    public boolean sendSms(SmsNotification notification) throws Exception {
+        return pool.call(provider -> provider.sendSms(notification));
+    }
+
+    @Override
+    public ProviderResponse[] sendSmsBatch(List<SmsNotification> notifications) throws Exception {
+        return pool.call(provider -> provider.sendSmsBatch(notifications));
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendSmsAsync(SmsNotification notification) {
+        return pool.callAsync(provider -> AsyncSmsProvider.adapt(provider).sendSmsAsync(notification));
+    }
+
+    @Override
+    public String getProviderName() {
+        return pool.getName();
+    }
+}
@@ -0,0 +1,30 @@
+package com.novacomp.notifications.balancer;
+
+import java.util.List;
+
+/**
+ * Picks the candidate with the fewest in-flight requests relative to its
+ * weight, so a provider that starts responding slowly automatically receives
+ * less new traffic.
+ */
+public class LeastOutstandingSelector implements ProviderSelector {
+
+    @Override
+    public <P> PooledProvider<P> select(List<PooledProvider<P>> candidates) {
+        PooledProvider<P> best = candidates.get(0);
+        double bestLoad = load(best);
+        for (int i = 1; i < candidates.size(); i++) {
+            PooledProvider<P> candidate = candidates.get(i);
+            double candidateLoad = load(candidate);
+            if (candidateLoad < bestLoad) {
+                best = candidate;
+                bestLoad = candidateLoad;
+            }
+        }
+        return best;
+    }
+
+    private static double load(PooledProvider<?> provider) {
+        return (provider.outstanding() + 1.0) / provider.weight();
+    }
+}
@@ -0,0 +1,81 @@
+package com.novacomp.notifications.balancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A provider inside a {@link ProviderPool} together with its weight and the
+ * live statistics selectors use: in-flight requests, an exponentially
+ * weighted moving average of latency, and the time until which it is benched
+ * after failing or answering too slowly. All statistics are updated lock-free.
+ *
+ * @param <P> The provider interface (e.g. EmailProvider).
+ */
+public final class PooledProvider<P> {
+
+    private final P provider;
+    private final String name;
+    private final int weight;
+    private final double decay;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong latencyBits = new AtomicLong(Double.doubleToRawLongBits(-1));
+    private volatile long benchedUntilNanos;
+
+    PooledProvider(P provider, String name, int weight, double decay) {
+        this.provider = provider;
+        this.name = name;
+        this.weight = weight;
+        this.decay = decay;
+    }
+
+    public P provider() {
+        return provider;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int weight() {
+        return weight;
+    }
+
+    /**
+     * @return Requests currently in flight on this provider.
+     */
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * @return The moving average latency in nanoseconds, or 0 before the first
+     *         completed call.
+     */
+    public double latencyNanos() {
+        return Math.max(0, Double.longBitsToDouble(latencyBits.get()));
+    }
+
+    boolean isAvailable(long now) {
+        return now - benchedUntilNanos >= 0;
+    }
+
+    void onStart() {
+        outstanding.incrementAndGet();
+    }
+
+    void onFinish(long latencyNanos) {
+        outstanding.decrementAndGet();
+        while (true) {
+            long bits = latencyBits.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = current < 0 ? latencyNanos : current + decay * (latencyNanos - current);
+            if (latencyBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    void bench(long untilNanos) {
+        benchedUntilNanos = untilNanos;
+    }
+}
@@ -0,0 +1,248 @@
+package com.novacomp.notifications.balancer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A set of interchangeable providers for one channel.
+ * Each request goes to the provider chosen by the {@link ProviderSelector};
+ * if it throws (an outage, a timeout), the request fails over to the next
+ * choice among the providers not tried yet. A returned value, even one that
+ * reports the message as refused, is the provider's answer and is returned as
+ * is: a bad recipient is not a reason to bench a healthy provider or to send
+ * the message through every other one. Providers that throw or answer slower
+ * than the slow-call threshold are benched for a cooldown period, during
+ * which they only receive traffic if no other provider is available.
+ *
+ * @param <P> The provider interface (e.g. EmailProvider).
+ */
+@Slf4j
+public final class ProviderPool<P> {
+
+    /**
+     * A call against one provider of the pool.
+     */
+    @FunctionalInterface
+    public interface ProviderCall<P, T> {
+        T call(P provider) throws Exception;
+    }
+
+    /**
+     * A non-blocking call against one provider of the pool.
+     */
+    @FunctionalInterface
+    public interface AsyncProviderCall<P, T> {
+        CompletionStage<T> call(P provider);
+    }
+
+    private final List<PooledProvider<P>> providers;
+    private final ProviderSelector selector;
+    private final long cooldownNanos;
+    private final long slowCallNanos;
+    private final String name;
+
+    private ProviderPool(Builder<P> builder) {
+        this.providers = builder.pooledProviders();
+        this.selector = builder.selector;
+        this.cooldownNanos = builder.cooldown.toNanos();
+        this.slowCallNanos = builder.slowCallThreshold.toNanos();
+        this.name = providers.stream().map(PooledProvider::name).collect(Collectors.joining("|"));
+    }
+
+    public static <P> Builder<P> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @return The member names joined with "|" (e.g. "SendGrid|Mailgun").
+     */
+    public String getName() {
+        return name;
+    }
+
+    public List<PooledProvider<P>> getProviders() {
+        return providers;
+    }
+
+    /**
+     * Runs the call on the selected provider, failing over to the others
+     * while it throws.
+     *
+     * @param call The provider call.
+     * @return The first provider's answer that did not throw.
+     * @throws Exception The last provider's exception if every provider threw.
+     */
+    public <T> T call(ProviderCall<P, T> call) throws Exception {
+        List<PooledProvider<P>> remaining = new ArrayList<>(providers);
+        Exception lastError = null;
+
+        while (!remaining.isEmpty()) {
+            PooledProvider<P> provider = selector.select(candidates(remaining));
+            remaining.remove(provider);
+            provider.onStart();
+            long start = System.nanoTime();
+            try {
+                T result = call.call(provider.provider());
+                onAnswer(provider, start);
+                return result;
+            } catch (Exception e) {
+                onFailure(provider, start, e);
+                lastError = e;
+            }
+        }
+        throw lastError;
+    }
+
+    /**
+     * Like {@link #call}, without blocking: the next provider is tried when
+     * the previous one's stage completes exceptionally.
+     *
+     * @return A future completing with the first answer that is not an
+     *         exception, or with the last provider's exception if every
+     *         provider failed.
+     */
+    public <T> CompletableFuture<T> callAsync(AsyncProviderCall<P, T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(call, new ArrayList<>(providers), null, result);
+        return result;
+    }
+
+    private <T> void attempt(AsyncProviderCall<P, T> call, List<PooledProvider<P>> remaining, Throwable lastError,
+            CompletableFuture<T> result) {
+        if (remaining.isEmpty()) {
+            result.completeExceptionally(lastError);
+            return;
+        }
+        PooledProvider<P> provider = selector.select(candidates(remaining));
+        remaining.remove(provider);
+        provider.onStart();
+        long start = System.nanoTime();
+        CompletionStage<T> stage;
+        try {
+            stage = call.call(provider.provider());
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        stage.whenComplete((value, error) -> {
+            if (error == null) {
+                onAnswer(provider, start);
+                result.complete(value);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            onFailure(provider, start, cause);
+            attempt(call, remaining, cause, result);
+        });
+    }
+
+    private void onAnswer(PooledProvider<P> provider, long start) {
+        long latency = System.nanoTime() - start;
+        provider.onFinish(latency);
+        if (latency >= slowCallNanos) {
+            log.warn("{} answered in {}ms; benching it", provider.name(), latency / 1_000_000);
+            provider.bench(System.nanoTime() + cooldownNanos);
+        }
+    }
+
+    private void onFailure(PooledProvider<P> provider, long start, Throwable error) {
+        provider.onFinish(System.nanoTime() - start);
+        log.warn("{} failed: {}; failing over", provider.name(), error.getMessage());
+        provider.bench(System.nanoTime() + cooldownNanos);
+    }
+
+    private List<PooledProvider<P>> candidates(List<PooledProvider<P>> remaining) {
+        long now = System.nanoTime();
+        List<PooledProvider<P>> available = new ArrayList<>(remaining.size());
+        for (PooledProvider<P> provider : remaining) {
+            if (provider.isAvailable(now)) {
+                available.add(provider);
+            }
+        }
+        return available.isEmpty() ? remaining : available;
+    }
+
+    /**
+     * Builder for {@link ProviderPool}.
+     */
+    public static final class Builder<P> {
+        private final List<Member<P>> members = new ArrayList<>();
+        private ProviderSelector selector = new WeightedRoundRobinSelector();
+        private Duration cooldown = Duration.ofSeconds(30);
+        private Duration slowCallThreshold = Duration.ofSeconds(5);
+        private double latencyDecay = 0.3;
+
+        private Builder() {
+        }
+
+        public Builder<P> provider(P provider, String name) {
+            return provider(provider, name, 1);
+        }
+
+        /**
+         * Adds a provider with the given relative weight.
+         */
+        public Builder<P> provider(P provider, String name, int weight) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weight must be positive: " + weight);
+            }
+            members.add(new Member<>(provider, name, weight));
+            return this;
+        }
+
+        public Builder<P> selector(ProviderSelector selector) {
+            this.selector = selector;
+            return this;
+        }
+
+        /**
+         * How long a provider that throws or is slow is benched.
+         */
+        public Builder<P> cooldown(Duration cooldown) {
+            this.cooldown = cooldown;
+            return this;
+        }
+
+        /**
+         * Successful calls taking at least this long bench the provider.
+         */
+        public Builder<P> slowCallThreshold(Duration slowCallThreshold) {
+            this.slowCallThreshold = slowCallThreshold;
+            return this;
+        }
+
+        /**
+         * Weight (0 to 1) of the newest sample in the latency moving average.
+         */
+        public Builder<P> latencyDecay(double latencyDecay) {
+            if (latencyDecay <= 0 || latencyDecay > 1) {
+                throw new IllegalArgumentException("Latency decay must be in (0, 1]: " + latencyDecay);
+            }
+            this.latencyDecay = latencyDecay;
+            return this;
+        }
+
+        public ProviderPool<P> build() {
+            if (members.isEmpty()) {
+                throw new IllegalStateException("A provider pool needs at least one provider");
+            }
+            return new ProviderPool<>(this);
+        }
+
+        private List<PooledProvider<P>> pooledProviders() {
+            return members.stream()
+                    .map(member -> new PooledProvider<>(member.provider(), member.name(), member.weight(), latencyDecay))
+                    .toList();
+        }
+
+        private record Member<P>(P provider, String name, int weight) {
+        }
+    }
+}
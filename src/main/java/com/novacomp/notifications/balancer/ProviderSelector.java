@@ -0,0 +1,16 @@
+package com.novacomp.notifications.balancer;
+
+import java.util.List;
+
+/**
+ * Strategy that picks which provider of a pool serves the next request.
+ * Implementations must be thread-safe and should not block.
+ */
+@FunctionalInterface
+public interface ProviderSelector {
+    /**
+     * @param candidates The providers eligible for this request; never empty.
+     * @return One of the candidates.
+     */
+    <P> PooledProvider<P> select(List<PooledProvider<P>> candidates);
+}
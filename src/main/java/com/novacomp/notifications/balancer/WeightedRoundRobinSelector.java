@@ -0,0 +1,29 @@
+package com.novacomp.notifications.balancer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cycles through the candidates in proportion to their weights, driven by a
+ * single atomic counter.
+ */
+public class WeightedRoundRobinSelector implements ProviderSelector {
+
+    private final AtomicLong counter = new AtomicLong();
+
+    @Override
+    public <P> PooledProvider<P> select(List<PooledProvider<P>> candidates) {
+        int totalWeight = 0;
+        for (PooledProvider<P> candidate : candidates) {
+            totalWeight += candidate.weight();
+        }
+        long slot = Math.floorMod(counter.getAndIncrement(), totalWeight);
+        for (PooledProvider<P> candidate : candidates) {
+            slot -= candidate.weight();
+            if (slot < 0) {
+                return candidate;
+            }
+        }
+        return candidates.get(candidates.size() - 1);
+    }
+}
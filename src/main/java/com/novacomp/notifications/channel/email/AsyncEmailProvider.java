@@ -0,0 +1,45 @@
+package com.novacomp.notifications.channel.email;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.dispatch.NotificationDispatcher;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@link EmailProvider}. Implementations start the
+ * request and return without waiting for the provider to answer.
+ */
+public interface AsyncEmailProvider {
+    /**
+     * Starts sending a message.
+     *
+     * @param notification The message to send.
+     * @return A stage completing with the provider's response, or exceptionally
+     *         if the provider could not be reached.
+     */
+    CompletionStage<ProviderResponse> sendEmailAsync(EmailNotification notification);
+
+    String getProviderName();
+
+    /**
+     * @return The provider itself if it is already non-blocking; otherwise an
+     *         adapter that runs each blocking call on the shared
+     *         {@link NotificationDispatcher} under the "EMAIL" concurrency limit.
+     */
+    static AsyncEmailProvider adapt(EmailProvider provider) {
+        if (provider instanceof AsyncEmailProvider async) {
+            return async;
+        }
+        return new AsyncEmailProvider() {
+            @Override
+            public CompletionStage<ProviderResponse> sendEmailAsync(EmailNotification notification) {
+                return NotificationDispatcher.getDefault()
+                        .call("EMAIL", () -> ProviderResponse.of(provider.sendEmail(notification)));
+            }
+
+            @Override
+            public String getProviderName() {
+                return provider.getProviderName();
+            }
+        };
+    }
+}
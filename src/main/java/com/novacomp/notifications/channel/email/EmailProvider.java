@@ -1,5 +1,8 @@
 package com.novacomp.notifications.channel.email;
 
+import com.novacomp.notifications.api.ProviderResponse;
+import java.util.List;
+
 /**
  * Interface for Email Service Providers (ESP).
  * Implementations wrapper specific logic for SendGrid, Mailgun, etc.
@@ -14,6 +17,23 @@ public interface EmailProvider {
      */
     boolean sendEmail(EmailNotification notification) throws Exception;
 
+    /**
+     * Sends a batch of emails using the provider.
+     * The default implementation sends them one by one; providers with a bulk
+     * API should override it to group recipients into fewer upstream requests.
+     *
+     * @param notifications The emails to send.
+     * @return The provider's response for each notification, in the same order.
+     * @throws Exception if a communication error occurs.
+     */
+    default ProviderResponse[] sendEmailBatch(List<EmailNotification> notifications) throws Exception {
+        ProviderResponse[] responses = new ProviderResponse[notifications.size()];
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = ProviderResponse.of(sendEmail(notifications.get(i)));
+        }
+        return responses;
+    }
+
     /**
      * @return The name of the provider (e.g., "SendGrid").
      */
@@ -0,0 +1,45 @@
+package com.novacomp.notifications.channel.push;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.dispatch.NotificationDispatcher;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@link PushProvider}. Implementations start the
+ * request and return without waiting for the provider to answer.
+ */
+public interface AsyncPushProvider {
+    /**
+     * Starts sending a message.
+     *
+     * @param notification The message to send.
+     * @return A stage completing with the provider's response, or exceptionally
+     *         if the provider could not be reached.
+     */
+    CompletionStage<ProviderResponse> sendPushAsync(PushNotification notification);
+
+    String getProviderName();
+
+    /**
+     * @return The provider itself if it is already non-blocking; otherwise an
+     *         adapter that runs each blocking call on the shared
+     *         {@link NotificationDispatcher} under the "PUSH" concurrency limit.
+     */
+    static AsyncPushProvider adapt(PushProvider provider) {
+        if (provider instanceof AsyncPushProvider async) {
+            return async;
+        }
+        return new AsyncPushProvider() {
+            @Override
+            public CompletionStage<ProviderResponse> sendPushAsync(PushNotification notification) {
+                return NotificationDispatcher.getDefault()
+                        .call("PUSH", () -> ProviderResponse.of(provider.sendPush(notification)));
+            }
+
+            @Override
+            public String getProviderName() {
+                return provider.getProviderName();
+            }
+        };
+    }
+}
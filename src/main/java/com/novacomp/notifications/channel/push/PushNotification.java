@@ -1,7 +1,9 @@
 package com.novacomp.notifications.channel.push;
 
 import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.Priority;
 import com.novacomp.notifications.api.ValidationResult;
+import com.novacomp.notifications.validation.NotificationValidator;
 import java.util.Collections;
 import java.util.Map;
 import lombok.Builder;
@@ -23,18 +25,15 @@ public class PushNotification implements Notification {
     private final String body;
     @Builder.Default
     private final Map<String, String> data = Collections.emptyMap();
+    @Builder.Default
+    private final Priority priority = Priority.NORMAL;
 
+    /**
+     * Checks the fields against the standard rules of
+     * {@link NotificationValidator#getDefault()}.
+     */
     @Override
     public ValidationResult validate() {
-        if (token == null || token.isBlank()) {
-            return ValidationResult.failure("Push token cannot be empty");
-        }
-        if (title == null || title.isBlank()) {
-            return ValidationResult.failure("Push title cannot be empty");
-        }
-        if (body == null || body.isBlank()) {
-            return ValidationResult.failure("Push body cannot be empty");
-        }
-        return ValidationResult.success();
+        return NotificationValidator.getDefault().validate(this);
     }
 }
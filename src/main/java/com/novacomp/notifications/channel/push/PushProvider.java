@@ -1,5 +1,8 @@
 package com.novacomp.notifications.channel.push;
 
+import com.novacomp.notifications.api.ProviderResponse;
+import java.util.List;
+
 /**
  * Interface for Push Notification Providers.
  * Implementations wrapper specific logic for FCM, APNS, etc.
@@ -14,6 +17,23 @@ public interface PushProvider {
      */
     boolean sendPush(PushNotification notification) throws Exception;
 
+    /**
+     * Sends a batch of push notifications using the provider.
+     * The default implementation sends them one by one; providers with a bulk
+     * API should override it to group recipients into fewer upstream requests.
+     *
+     * @param notifications The push notifications to send.
+     * @return The provider's response for each notification, in the same order.
+     * @throws Exception if a communication error occurs.
+     */
+    default ProviderResponse[] sendPushBatch(List<PushNotification> notifications) throws Exception {
+        ProviderResponse[] responses = new ProviderResponse[notifications.size()];
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = ProviderResponse.of(sendPush(notifications.get(i)));
+        }
+        return responses;
+    }
+
     /**
      * @return The name of the provider (e.g., "Firebase").
      */
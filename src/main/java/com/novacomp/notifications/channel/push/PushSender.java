@@ -4,7 +4,16 @@ import com.novacomp.notifications.api.Notification;
 import com.novacomp.notifications.api.NotificationChannel;
 import com.novacomp.notifications.api.NotificationException;
 import com.novacomp.notifications.api.NotificationResult;
-import lombok.RequiredArgsConstructor;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.metrics.NotificationMetrics;
+import com.novacomp.notifications.metrics.ProviderMetrics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -12,36 +21,168 @@ import lombok.extern.slf4j.Slf4j;
  * Delegates the actual sending to a configured PushProvider.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class PushSender implements NotificationChannel {
 
     private final PushProvider provider;
+    private final AsyncPushProvider asyncProvider;
+    /**
+     * Whether the provider implements {@link AsyncPushProvider} itself, in which
+     * case blocking sends wait on it too so they get its full response.
+     */
+    private final boolean nonBlocking;
+    private final ProviderMetrics metrics;
+
+    public PushSender(PushProvider provider) {
+        this(provider, NotificationMetrics.noop());
+    }
+
+    /**
+     * @param metrics Receives sends, rejects and provider latency under the
+     *                "PUSH" channel and this provider's name.
+     */
+    public PushSender(PushProvider provider, NotificationMetrics metrics) {
+        this.provider = provider;
+        this.asyncProvider = AsyncPushProvider.adapt(provider);
+        this.nonBlocking = provider instanceof AsyncPushProvider;
+        this.metrics = metrics.forProvider("PUSH", provider.getProviderName());
+    }
+
+    @Override
+    public String getChannelName() {
+        return "PUSH";
+    }
 
     @Override
     public NotificationResult send(Notification notification) {
-        if (!(notification instanceof PushNotification pushNotification)) {
-            return NotificationResult.failure("PUSH", provider.getProviderName(),
-                    "Invalid notification type. Expected PushNotification.");
+        NotificationResult rejection = reject(notification);
+        if (rejection != null) {
+            return rejection;
         }
+        PushNotification pushNotification = (PushNotification) notification;
 
-        var validation = pushNotification.validate();
-        if (!validation.isValid()) {
-            return NotificationResult.failure("PUSH", provider.getProviderName(),
-                    "Validation failed: " + String.join(", ", validation.errors()));
+        log.debug("Sending Push to {} via {}", pushNotification.getToken(), provider.getProviderName());
+        long start = System.nanoTime();
+        try {
+            ProviderResponse response = nonBlocking
+                    ? ProviderResponse.await(asyncProvider.sendPushAsync(pushNotification))
+                    : ProviderResponse.of(provider.sendPush(pushNotification));
+            boolean sent = response.accepted();
+            metrics.recordCall(sent ? 1 : 0, sent ? 0 : 1, System.nanoTime() - start);
+            return NotificationResult.of("PUSH", provider.getProviderName(), response);
+        } catch (Exception e) {
+            metrics.recordCall(0, 1, System.nanoTime() - start);
+            log.error("Failed to send Push", e);
+            throw new NotificationException("Failed to send Push via " + provider.getProviderName(), e);
         }
+    }
 
+    /**
+     * Sends through the provider's non-blocking API, so no thread waits while
+     * the request is in flight. Blocking providers are adapted with
+     * {@link AsyncPushProvider#adapt}.
+     */
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(Notification notification) {
+        NotificationResult rejection = reject(notification);
+        if (rejection != null) {
+            return CompletableFuture.completedFuture(rejection);
+        }
+        PushNotification pushNotification = (PushNotification) notification;
+
+        log.debug("Sending Push to {} via {}", pushNotification.getToken(), provider.getProviderName());
+        long start = System.nanoTime();
+        CompletionStage<ProviderResponse> call;
         try {
-            log.info("Sending Push to {} via {}", pushNotification.getToken(), provider.getProviderName());
-            boolean sent = provider.sendPush(pushNotification);
+            call = asyncProvider.sendPushAsync(pushNotification);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        return call.toCompletableFuture().handle((response, error) -> {
+            if (error != null) {
+                metrics.recordCall(0, 1, System.nanoTime() - start);
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                log.error("Failed to send Push", cause);
+                throw new NotificationException("Failed to send Push via " + provider.getProviderName(), cause);
+            }
+            metrics.recordCall(response.accepted() ? 1 : 0, response.accepted() ? 0 : 1, System.nanoTime() - start);
+            return NotificationResult.of("PUSH", provider.getProviderName(), response);
+        });
+    }
 
-            if (sent) {
-                return NotificationResult.success("PUSH", provider.getProviderName(), "generated-push-id");
+    /**
+     * Validates every notification up front and hands the accepted ones to the
+     * provider in a single bulk call. If the provider throws, or returns a
+     * different number of responses than it was given notifications, every
+     * accepted notification in the batch is reported as failed.
+     */
+    @Override
+    public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+        String providerName = provider.getProviderName();
+        NotificationResult[] results = new NotificationResult[notifications.size()];
+        List<PushNotification> accepted = new ArrayList<>(results.length);
+        int[] positions = new int[results.length];
+
+        int index = 0;
+        for (Notification notification : notifications) {
+            NotificationResult rejection = reject(notification);
+            if (rejection != null) {
+                results[index] = rejection;
             } else {
-                return NotificationResult.failure("PUSH", provider.getProviderName(), "Provider returned failure.");
+                positions[accepted.size()] = index;
+                accepted.add((PushNotification) notification);
             }
-        } catch (Exception e) {
-            log.error("Failed to send Push", e);
-            throw new NotificationException("Failed to send Push via " + provider.getProviderName(), e);
+            index++;
+        }
+
+        if (!accepted.isEmpty()) {
+            log.debug("Sending batch of {} Push notifications via {}", accepted.size(), providerName);
+            long start = System.nanoTime();
+            try {
+                ProviderResponse[] responses = provider.sendPushBatch(accepted);
+                if (responses.length != accepted.size()) {
+                    throw new NotificationException(providerName + " returned " + responses.length
+                            + " responses for " + accepted.size() + " notifications");
+                }
+                int succeeded = 0;
+                for (int i = 0; i < responses.length; i++) {
+                    if (responses[i].accepted()) {
+                        succeeded++;
+                    }
+                    results[positions[i]] = NotificationResult.of("PUSH", providerName, responses[i]);
+                }
+                metrics.recordCall(succeeded, responses.length - succeeded, System.nanoTime() - start);
+            } catch (Exception e) {
+                metrics.recordCall(0, accepted.size(), System.nanoTime() - start);
+                log.error("Failed to send Push batch", e);
+                NotificationResult failure = NotificationResult.failure("PUSH", providerName,
+                        "Failed to send Push via " + providerName + ": " + e.getMessage());
+                for (int i = 0; i < accepted.size(); i++) {
+                    results[positions[i]] = failure;
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @return A failure result if the notification cannot be sent through this
+     *         channel, or null if it is a valid PushNotification.
+     */
+    private NotificationResult reject(Notification notification) {
+        if (!(notification instanceof PushNotification pushNotification)) {
+            metrics.recordRejected();
+            return NotificationResult.rejection("PUSH", provider.getProviderName(),
+                    "Invalid notification type. Expected PushNotification.");
+        }
+
+        var validation = pushNotification.validate();
+        if (!validation.isValid()) {
+            metrics.recordRejected();
+            return NotificationResult.rejection("PUSH", provider.getProviderName(),
+                    "Validation failed: " + String.join(", ", validation.errors()));
         }
+        return null;
     }
 }
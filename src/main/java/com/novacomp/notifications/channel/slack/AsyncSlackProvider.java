@@ -0,0 +1,45 @@
+package com.novacomp.notifications.channel.slack;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.dispatch.NotificationDispatcher;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@link SlackProvider}. Implementations start the
+ * request and return without waiting for the provider to answer.
+ */
+public interface AsyncSlackProvider {
+    /**
+     * Starts sending a message.
+     *
+     * @param notification The message to send.
+     * @return A stage completing with the provider's response, or exceptionally
+     *         if the provider could not be reached.
+     */
+    CompletionStage<ProviderResponse> sendSlackMessageAsync(SlackNotification notification);
+
+    String getProviderName();
+
+    /**
+     * @return The provider itself if it is already non-blocking; otherwise an
+     *         adapter that runs each blocking call on the shared
+     *         {@link NotificationDispatcher} under the "SLACK" concurrency limit.
+     */
+    static AsyncSlackProvider adapt(SlackProvider provider) {
+        if (provider instanceof AsyncSlackProvider async) {
+            return async;
+        }
+        return new AsyncSlackProvider() {
+            @Override
+            public CompletionStage<ProviderResponse> sendSlackMessageAsync(SlackNotification notification) {
+                return NotificationDispatcher.getDefault()
+                        .call("SLACK", () -> ProviderResponse.of(provider.sendSlackMessage(notification)));
+            }
+
+            @Override
+            public String getProviderName() {
+                return provider.getProviderName();
+            }
+        };
+    }
+}
@@ -1,7 +1,9 @@
 package com.novacomp.notifications.channel.slack;
 
 import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.Priority;
 import com.novacomp.notifications.api.ValidationResult;
+import com.novacomp.notifications.validation.NotificationValidator;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
@@ -18,15 +20,15 @@ public class SlackNotification implements Notification {
     private final String text;
     private final String username;
     private final String iconEmoji;
+    @Builder.Default
+    private final Priority priority = Priority.NORMAL;
 
+    /**
+     * Checks the fields against the standard rules of
+     * {@link NotificationValidator#getDefault()}.
+     */
     @Override
     public ValidationResult validate() {
-        if (channel == null || channel.isBlank()) {
-            return ValidationResult.failure("Slack channel cannot be empty");
-        }
-        if (text == null || text.isBlank()) {
-            return ValidationResult.failure("Slack message text cannot be empty");
-        }
-        return ValidationResult.success();
+        return NotificationValidator.getDefault().validate(this);
     }
 }
@@ -1,10 +1,29 @@
 package com.novacomp.notifications.channel.slack;
 
+import com.novacomp.notifications.api.ProviderResponse;
+import java.util.List;
+
 /**
  * Interface for Slack notification providers.
  */
 public interface SlackProvider {
     boolean sendSlackMessage(SlackNotification notification);
 
+    /**
+     * Sends a batch of Slack messages. The default implementation posts them
+     * one by one.
+     *
+     * @param notifications The messages to send.
+     * @return The provider's response for each notification, in the same order.
+     * @throws Exception if a communication error occurs.
+     */
+    default ProviderResponse[] sendSlackBatch(List<SlackNotification> notifications) throws Exception {
+        ProviderResponse[] responses = new ProviderResponse[notifications.size()];
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = ProviderResponse.of(sendSlackMessage(notifications.get(i)));
+        }
+        return responses;
+    }
+
     String getProviderName();
 }
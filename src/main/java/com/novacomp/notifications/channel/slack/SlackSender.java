@@ -4,7 +4,16 @@ import com.novacomp.notifications.api.Notification;
 import com.novacomp.notifications.api.NotificationChannel;
 import com.novacomp.notifications.api.NotificationException;
 import com.novacomp.notifications.api.NotificationResult;
-import lombok.RequiredArgsConstructor;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.metrics.NotificationMetrics;
+import com.novacomp.notifications.metrics.ProviderMetrics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -12,36 +21,168 @@ import lombok.extern.slf4j.Slf4j;
  * Delegates the actual sending to a configured SlackProvider.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class SlackSender implements NotificationChannel {
 
     private final SlackProvider provider;
+    private final AsyncSlackProvider asyncProvider;
+    /**
+     * Whether the provider implements {@link AsyncSlackProvider} itself, in which
+     * case blocking sends wait on it too so they get its full response.
+     */
+    private final boolean nonBlocking;
+    private final ProviderMetrics metrics;
+
+    public SlackSender(SlackProvider provider) {
+        this(provider, NotificationMetrics.noop());
+    }
+
+    /**
+     * @param metrics Receives sends, rejects and provider latency under the
+     *                "SLACK" channel and this provider's name.
+     */
+    public SlackSender(SlackProvider provider, NotificationMetrics metrics) {
+        this.provider = provider;
+        this.asyncProvider = AsyncSlackProvider.adapt(provider);
+        this.nonBlocking = provider instanceof AsyncSlackProvider;
+        this.metrics = metrics.forProvider("SLACK", provider.getProviderName());
+    }
+
+    @Override
+    public String getChannelName() {
+        return "SLACK";
+    }
 
     @Override
     public NotificationResult send(Notification notification) {
-        if (!(notification instanceof SlackNotification slackNotification)) {
-            return NotificationResult.failure("SLACK", provider.getProviderName(),
-                    "Invalid notification type. Expected SlackNotification.");
+        NotificationResult rejection = reject(notification);
+        if (rejection != null) {
+            return rejection;
         }
+        SlackNotification slackNotification = (SlackNotification) notification;
 
-        var validation = slackNotification.validate();
-        if (!validation.isValid()) {
-            return NotificationResult.failure("SLACK", provider.getProviderName(),
-                    "Validation failed: " + String.join(", ", validation.errors()));
+        log.debug("Sending Slack message to {} via {}", slackNotification.getChannel(), provider.getProviderName());
+        long start = System.nanoTime();
+        try {
+            ProviderResponse response = nonBlocking
+                    ? ProviderResponse.await(asyncProvider.sendSlackMessageAsync(slackNotification))
+                    : ProviderResponse.of(provider.sendSlackMessage(slackNotification));
+            boolean sent = response.accepted();
+            metrics.recordCall(sent ? 1 : 0, sent ? 0 : 1, System.nanoTime() - start);
+            return NotificationResult.of("SLACK", provider.getProviderName(), response);
+        } catch (Exception e) {
+            metrics.recordCall(0, 1, System.nanoTime() - start);
+            log.error("Failed to send Slack message", e);
+            throw new NotificationException("Failed to send Slack message via " + provider.getProviderName(), e);
         }
+    }
 
+    /**
+     * Sends through the provider's non-blocking API, so no thread waits while
+     * the request is in flight. Blocking providers are adapted with
+     * {@link AsyncSlackProvider#adapt}.
+     */
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(Notification notification) {
+        NotificationResult rejection = reject(notification);
+        if (rejection != null) {
+            return CompletableFuture.completedFuture(rejection);
+        }
+        SlackNotification slackNotification = (SlackNotification) notification;
+
+        log.debug("Sending Slack message to {} via {}", slackNotification.getChannel(), provider.getProviderName());
+        long start = System.nanoTime();
+        CompletionStage<ProviderResponse> call;
         try {
-            log.info("Sending Slack message to {} via {}", slackNotification.getChannel(), provider.getProviderName());
-            boolean sent = provider.sendSlackMessage(slackNotification);
+            call = asyncProvider.sendSlackMessageAsync(slackNotification);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        return call.toCompletableFuture().handle((response, error) -> {
+            if (error != null) {
+                metrics.recordCall(0, 1, System.nanoTime() - start);
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                log.error("Failed to send Slack message", cause);
+                throw new NotificationException("Failed to send Slack message via " + provider.getProviderName(), cause);
+            }
+            metrics.recordCall(response.accepted() ? 1 : 0, response.accepted() ? 0 : 1, System.nanoTime() - start);
+            return NotificationResult.of("SLACK", provider.getProviderName(), response);
+        });
+    }
 
-            if (sent) {
-                return NotificationResult.success("SLACK", provider.getProviderName(), "generated-slack-id");
+    /**
+     * Validates every notification up front and hands the accepted ones to the
+     * provider in a single bulk call. If the provider throws, or returns a
+     * different number of responses than it was given notifications, every
+     * accepted notification in the batch is reported as failed.
+     */
+    @Override
+    public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+        String providerName = provider.getProviderName();
+        NotificationResult[] results = new NotificationResult[notifications.size()];
+        List<SlackNotification> accepted = new ArrayList<>(results.length);
+        int[] positions = new int[results.length];
+
+        int index = 0;
+        for (Notification notification : notifications) {
+            NotificationResult rejection = reject(notification);
+            if (rejection != null) {
+                results[index] = rejection;
             } else {
-                return NotificationResult.failure("SLACK", provider.getProviderName(), "Provider returned failure.");
+                positions[accepted.size()] = index;
+                accepted.add((SlackNotification) notification);
             }
-        } catch (Exception e) {
-            log.error("Failed to send Slack message", e);
-            throw new NotificationException("Failed to send Slack message via " + provider.getProviderName(), e);
+            index++;
+        }
+
+        if (!accepted.isEmpty()) {
+            log.debug("Sending batch of {} Slack messages via {}", accepted.size(), providerName);
+            long start = System.nanoTime();
+            try {
+                ProviderResponse[] responses = provider.sendSlackBatch(accepted);
+                if (responses.length != accepted.size()) {
+                    throw new NotificationException(providerName + " returned " + responses.length
+                            + " responses for " + accepted.size() + " notifications");
+                }
+                int succeeded = 0;
+                for (int i = 0; i < responses.length; i++) {
+                    if (responses[i].accepted()) {
+                        succeeded++;
+                    }
+                    results[positions[i]] = NotificationResult.of("SLACK", providerName, responses[i]);
+                }
+                metrics.recordCall(succeeded, responses.length - succeeded, System.nanoTime() - start);
+            } catch (Exception e) {
+                metrics.recordCall(0, accepted.size(), System.nanoTime() - start);
+                log.error("Failed to send Slack batch", e);
+                NotificationResult failure = NotificationResult.failure("SLACK", providerName,
+                        "Failed to send Slack message via " + providerName + ": " + e.getMessage());
+                for (int i = 0; i < accepted.size(); i++) {
+                    results[positions[i]] = failure;
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @return A failure result if the notification cannot be sent through this
+     *         channel, or null if it is a valid SlackNotification.
+     */
+    private NotificationResult reject(Notification notification) {
+        if (!(notification instanceof SlackNotification slackNotification)) {
+            metrics.recordRejected();
+            return NotificationResult.rejection("SLACK", provider.getProviderName(),
+                    "Invalid notification type. Expected SlackNotification.");
+        }
+
+        var validation = slackNotification.validate();
+        if (!validation.isValid()) {
+            metrics.recordRejected();
+            return NotificationResult.rejection("SLACK", provider.getProviderName(),
+                    "Validation failed: " + String.join(", ", validation.errors()));
         }
+        return null;
     }
 }
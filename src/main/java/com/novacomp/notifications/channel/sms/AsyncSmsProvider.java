@@ -0,0 +1,45 @@
+package com.novacomp.notifications.channel.sms;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.dispatch.NotificationDispatcher;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@link SmsProvider}. Implementations start the
+ * request and return without waiting for the provider to answer.
+ */
+public interface AsyncSmsProvider {
+    /**
+     * Starts sending a message.
+     *
+     * @param notification The message to send.
+     * @return A stage completing with the provider's response, or exceptionally
+     *         if the provider could not be reached.
+     */
+    CompletionStage<ProviderResponse> sendSmsAsync(SmsNotification notification);
+
+    String getProviderName();
+
+    /**
+     * @return The provider itself if it is already non-blocking; otherwise an
+     *         adapter that runs each blocking call on the shared
+     *         {@link NotificationDispatcher} under the "SMS" concurrency limit.
+     */
+    static AsyncSmsProvider adapt(SmsProvider provider) {
+        if (provider instanceof AsyncSmsProvider async) {
+            return async;
+        }
+        return new AsyncSmsProvider() {
+            @Override
+            public CompletionStage<ProviderResponse> sendSmsAsync(SmsNotification notification) {
+                return NotificationDispatcher.getDefault()
+                        .call("SMS", () -> ProviderResponse.of(provider.sendSms(notification)));
+            }
+
+            @Override
+            public String getProviderName() {
+                return provider.getProviderName();
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.novacomp.notifications.channel.sms;
+
+/**
+ * Character encodings an SMS can be sent in, with their segment sizes.
+ */
+public enum SmsEncoding {
+    /**
+     * GSM 03.38 default alphabet, 7 bits per character. Characters of the
+     * extension table, such as '€' or '{', take two.
+     */
+    GSM_7(160, 153),
+    /**
+     * UTF-16, 16 bits per code unit, used as soon as one character is outside
+     * the GSM alphabet. Characters outside the BMP, such as emoji, take two
+     * code units.
+     */
+    UCS_2(70, 67);
+
+    private final int singleLimit;
+    private final int segmentLimit;
+
+    SmsEncoding(int singleLimit, int segmentLimit) {
+        this.singleLimit = singleLimit;
+        this.segmentLimit = segmentLimit;
+    }
+
+    /**
+     * @return Units (septets or code units) that fit in a single-part message.
+     */
+    public int singleLimit() {
+        return singleLimit;
+    }
+
+    /**
+     * @return Units that fit in each part of a concatenated message, after the
+     *         6-byte UDH.
+     */
+    public int segmentLimit() {
+        return segmentLimit;
+    }
+}
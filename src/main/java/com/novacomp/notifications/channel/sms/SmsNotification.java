@@ -1,7 +1,9 @@
 package com.novacomp.notifications.channel.sms;
 
 import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.Priority;
 import com.novacomp.notifications.api.ValidationResult;
+import com.novacomp.notifications.validation.NotificationValidator;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
@@ -17,15 +19,15 @@ public class SmsNotification implements Notification {
     private final String phoneNumber;
     @NonNull
     private final String message;
+    @Builder.Default
+    private final Priority priority = Priority.NORMAL;
 
+    /**
+     * Checks the fields against the standard rules of
+     * {@link NotificationValidator#getDefault()}.
+     */
     @Override
     public ValidationResult validate() {
-        if (phoneNumber == null || phoneNumber.isBlank()) {
-            return ValidationResult.failure("Phone number cannot be empty");
-        }
-        if (message == null || message.isBlank()) {
-            return ValidationResult.failure("SMS message cannot be empty");
-        }
-        return ValidationResult.success();
+        return NotificationValidator.getDefault().validate(this);
     }
 }
@@ -1,5 +1,8 @@
 package com.novacomp.notifications.channel.sms;
 
+import com.novacomp.notifications.api.ProviderResponse;
+import java.util.List;
+
 /**
  * Interface for SMS Service Providers.
  * Implementations wrapper specific logic for Twilio, Vonage, etc.
@@ -14,6 +17,23 @@ public interface SmsProvider {
      */
     boolean sendSms(SmsNotification notification) throws Exception;
 
+    /**
+     * Sends a batch of SMS messages using the provider.
+     * The default implementation sends them one by one; providers with a bulk
+     * API should override it to group recipients into fewer upstream requests.
+     *
+     * @param notifications The SMS messages to send.
+     * @return The provider's response for each notification, in the same order.
+     * @throws Exception if a communication error occurs.
+     */
+    default ProviderResponse[] sendSmsBatch(List<SmsNotification> notifications) throws Exception {
+        ProviderResponse[] responses = new ProviderResponse[notifications.size()];
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = ProviderResponse.of(sendSms(notifications.get(i)));
+        }
+        return responses;
+    }
+
     /**
      * @return The name of the provider (e.g., "Twilio").
      */
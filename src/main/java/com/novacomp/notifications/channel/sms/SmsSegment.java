@@ -0,0 +1,16 @@
+package com.novacomp.notifications.channel.sms;
+
+/**
+ * One part of an SMS as it goes over the air.
+ * Immutable record; {@code userData} must not be modified.
+ *
+ * @param sequence The 1-based position of the part.
+ * @param total    The number of parts of the message.
+ * @param encoding The encoding of the whole message.
+ * @param text     The characters carried by this part.
+ * @param userData The TP-User-Data: a concatenation UDH for multi-part
+ *                 messages, followed by the packed septets (GSM-7) or
+ *                 big-endian code units (UCS-2).
+ */
+public record SmsSegment(int sequence, int total, SmsEncoding encoding, String text, byte[] userData) {
+}
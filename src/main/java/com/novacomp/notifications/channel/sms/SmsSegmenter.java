@@ -0,0 +1,292 @@
+package com.novacomp.notifications.channel.sms;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SMS encoding engine: picks GSM-7 or UCS-2 for a message, counts the
+ * segments it will be billed as, and splits it into concatenated parts.
+ * <p>
+ * Detection and counting walk the characters once against a lookup table of
+ * the GSM 03.38 alphabet and allocate nothing. A concatenated message never
+ * splits an escape sequence (GSM-7) or a surrogate pair (UCS-2) across parts.
+ */
+public final class SmsSegmenter {
+
+    /**
+     * GSM 03.38 basic table, indexed by septet. Position 0x1B is the escape
+     * to the extension table, not a character.
+     */
+    private static final String BASIC_TABLE = "@£$¥èéùìòÇ\nØø\rÅåΔ_ΦΓΛΩΠΨΣΘΞ\u001BÆæßÉ !\"#¤%&'()*+,-./0123456789:;<=>?"
+            + "¡ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÑÜ§¿abcdefghijklmnopqrstuvwxyzäöñüà";
+    private static final String EXTENSION_CHARS = "\f^{}\\[~]|€";
+    private static final byte[] EXTENSION_CODES = { 0x0A, 0x14, 0x28, 0x29, 0x2F, 0x3C, 0x3D, 0x3E, 0x40, 0x65 };
+    private static final int ESCAPE = 0x1B;
+
+    /**
+     * Per character: 0 if it is not in the GSM alphabet, septet + 1 for the
+     * basic table, or {@link #EXTENDED} | septet for the extension table.
+     */
+    private static final short[] CODES = new short[0x400];
+    private static final int EXTENDED = 0x100;
+    private static final char EURO = '\u20AC';
+    private static final int EURO_CODE = EXTENDED | 0x65;
+
+    /**
+     * Concatenation UDH: length, IE 0x00 (8-bit reference), IE length, then
+     * reference, total and sequence.
+     */
+    private static final int UDH_LENGTH = 6;
+
+    static {
+        for (int i = 0; i < BASIC_TABLE.length(); i++) {
+            if (i != ESCAPE) {
+                CODES[BASIC_TABLE.charAt(i)] = (short) (i + 1);
+            }
+        }
+        for (int i = 0; i < EXTENSION_CHARS.length(); i++) {
+            char c = EXTENSION_CHARS.charAt(i);
+            if (c < CODES.length) {
+                CODES[c] = (short) (EXTENDED | EXTENSION_CODES[i]);
+            }
+        }
+    }
+
+    private SmsSegmenter() {
+    }
+
+    /**
+     * @return GSM-7 if every character is in the GSM alphabet, UCS-2
+     *         otherwise.
+     */
+    public static SmsEncoding encodingOf(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (code(text.charAt(i)) == 0) {
+                return SmsEncoding.UCS_2;
+            }
+        }
+        return SmsEncoding.GSM_7;
+    }
+
+    /**
+     * @return The message length in its encoding's units: septets for GSM-7,
+     *         UTF-16 code units for UCS-2.
+     */
+    public static int length(CharSequence text) {
+        int septets = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int code = code(text.charAt(i));
+            if (code == 0) {
+                return text.length();
+            }
+            septets += (code & EXTENDED) != 0 ? 2 : 1;
+        }
+        return septets;
+    }
+
+    /**
+     * @return The number of segments the message is sent and billed as; at
+     *         least 1.
+     */
+    public static int segmentCount(CharSequence text) {
+        SmsEncoding encoding = SmsEncoding.GSM_7;
+        int septets = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int code = code(text.charAt(i));
+            if (code == 0) {
+                encoding = SmsEncoding.UCS_2;
+                break;
+            }
+            septets += (code & EXTENDED) != 0 ? 2 : 1;
+        }
+        int length = encoding == SmsEncoding.GSM_7 ? septets : text.length();
+        if (length <= encoding.singleLimit()) {
+            return 1;
+        }
+        int segments = 1;
+        int used = 0;
+        for (int i = 0; i < text.length(); i += width(text, i, encoding)) {
+            int cost = cost(text, i, encoding);
+            if (used + cost > encoding.segmentLimit()) {
+                segments++;
+                used = 0;
+            }
+            used += cost;
+        }
+        return segments;
+    }
+
+    /**
+     * Splits a message into the parts sent over the air. A message that fits
+     * in one part is returned as is, without a UDH.
+     *
+     * @param reference The concatenation reference shared by all parts,
+     *                  0-255; use a different one for each message to the
+     *                  same recipient.
+     */
+    public static List<SmsSegment> split(CharSequence text, int reference) {
+        SmsEncoding encoding = encodingOf(text);
+        if (length(text) <= encoding.singleLimit()) {
+            return List.of(segment(text, 0, text.length(), encoding, 1, 1, -1));
+        }
+        List<int[]> ranges = new ArrayList<>();
+        int start = 0;
+        int used = 0;
+        for (int i = 0; i < text.length(); i += width(text, i, encoding)) {
+            int cost = cost(text, i, encoding);
+            if (used + cost > encoding.segmentLimit()) {
+                ranges.add(new int[] { start, i });
+                start = i;
+                used = 0;
+            }
+            used += cost;
+        }
+        ranges.add(new int[] { start, text.length() });
+
+        List<SmsSegment> segments = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            int[] range = ranges.get(i);
+            segments.add(segment(text, range[0], range[1], encoding, i + 1, ranges.size(), reference & 0xFF));
+        }
+        return segments;
+    }
+
+    /**
+     * Replaces characters outside the GSM alphabet with GSM look-alikes:
+     * typographic quotes, dashes and spaces, and accented letters by their
+     * base letter. Characters without a look-alike, such as emoji, are kept,
+     * so the result may still need UCS-2.
+     */
+    public static String transliterate(CharSequence text) {
+        StringBuilder out = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (code(c) != 0) {
+                if (out != null) {
+                    out.append(c);
+                }
+                continue;
+            }
+            if (out == null) {
+                out = new StringBuilder(text.length() + 8).append(text, 0, i);
+            }
+            out.append(lookAlike(c));
+        }
+        return out == null ? text.toString() : out.toString();
+    }
+
+    private static String lookAlike(char c) {
+        switch (c) {
+            case '\u2018', '\u2019', '\u201A', '\u2032', '`', '\u00B4':
+                return "'";
+            case '\u201C', '\u201D', '\u201E', '\u2033', '\u00AB', '\u00BB':
+                return "\"";
+            case '\u2010', '\u2011', '\u2013', '\u2014', '\u2212':
+                return "-";
+            case '\u2026':
+                return "...";
+            case '\u00A0', '\u2002', '\u2003', '\u2009', '\u202F', '\t':
+                return " ";
+            case '\u2022', '\u00B7':
+                return "*";
+            case '\u00E7':
+                return "\u00C7";
+            case '\u00A9':
+                return "(c)";
+            case '\u00AE':
+                return "(R)";
+            case '\u2122':
+                return "TM";
+            default:
+                String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+                char base = decomposed.charAt(0);
+                return base != c && code(base) != 0 ? String.valueOf(base) : String.valueOf(c);
+        }
+    }
+
+    private static int code(char c) {
+        if (c < CODES.length) {
+            return CODES[c];
+        }
+        return c == EURO ? EURO_CODE : 0;
+    }
+
+    /**
+     * @return The characters taken by the unit at {@code i}: 2 for a
+     *         surrogate pair in UCS-2, 1 otherwise.
+     */
+    private static int width(CharSequence text, int i, SmsEncoding encoding) {
+        if (encoding == SmsEncoding.UCS_2 && Character.isHighSurrogate(text.charAt(i)) && i + 1 < text.length()
+                && Character.isLowSurrogate(text.charAt(i + 1))) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * @return The septets or code units taken by the unit at {@code i}.
+     */
+    private static int cost(CharSequence text, int i, SmsEncoding encoding) {
+        if (encoding == SmsEncoding.UCS_2) {
+            return width(text, i, encoding);
+        }
+        return (code(text.charAt(i)) & EXTENDED) != 0 ? 2 : 1;
+    }
+
+    private static SmsSegment segment(CharSequence text, int start, int end, SmsEncoding encoding, int sequence,
+            int total, int reference) {
+        CharSequence part = text.subSequence(start, end);
+        int header = reference < 0 ? 0 : UDH_LENGTH;
+        byte[] userData = encoding == SmsEncoding.GSM_7 ? packSeptets(part, header) : ucs2(part, header);
+        if (header > 0) {
+            userData[0] = 0x05;
+            userData[1] = 0x00;
+            userData[2] = 0x03;
+            userData[3] = (byte) reference;
+            userData[4] = (byte) total;
+            userData[5] = (byte) sequence;
+        }
+        return new SmsSegment(sequence, total, encoding, part.toString(), userData);
+    }
+
+    /**
+     * Packs septets least significant bit first, after a header of
+     * {@code header} bytes padded with fill bits to a septet boundary.
+     */
+    private static byte[] packSeptets(CharSequence part, int header) {
+        int startBit = (header * 8 + 6) / 7 * 7;
+        byte[] data = new byte[(startBit + length(part) * 7 + 7) / 8];
+        int bit = startBit;
+        for (int i = 0; i < part.length(); i++) {
+            int code = code(part.charAt(i));
+            if ((code & EXTENDED) != 0) {
+                bit = putSeptet(data, bit, ESCAPE);
+                bit = putSeptet(data, bit, code & 0x7F);
+            } else {
+                bit = putSeptet(data, bit, code - 1);
+            }
+        }
+        return data;
+    }
+
+    private static int putSeptet(byte[] data, int bit, int septet) {
+        int index = bit >>> 3;
+        int shift = bit & 7;
+        data[index] |= (byte) (septet << shift);
+        if (shift > 1) {
+            data[index + 1] |= (byte) (septet >>> (8 - shift));
+        }
+        return bit + 7;
+    }
+
+    private static byte[] ucs2(CharSequence part, int header) {
+        byte[] data = new byte[header + part.length() * 2];
+        for (int i = 0; i < part.length(); i++) {
+            char c = part.charAt(i);
+            data[header + 2 * i] = (byte) (c >>> 8);
+            data[header + 2 * i + 1] = (byte) c;
+        }
+        return data;
+    }
+}
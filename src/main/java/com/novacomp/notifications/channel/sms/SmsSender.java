@@ -4,7 +4,17 @@ import com.novacomp.notifications.api.Notification;
 import com.novacomp.notifications.api.NotificationChannel;
 import com.novacomp.notifications.api.NotificationException;
 import com.novacomp.notifications.api.NotificationResult;
-import lombok.RequiredArgsConstructor;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.metrics.NotificationMetrics;
+import com.novacomp.notifications.metrics.ProviderMetrics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -12,36 +22,225 @@ import lombok.extern.slf4j.Slf4j;
  * Delegates the actual sending to a configured SmsProvider.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class SmsSender implements NotificationChannel {
 
     private final SmsProvider provider;
+    private final AsyncSmsProvider asyncProvider;
+    /**
+     * Whether the provider implements {@link AsyncSmsProvider} itself, in which
+     * case blocking sends wait on it too so they get its full response.
+     */
+    private final boolean nonBlocking;
+    private final ProviderMetrics metrics;
+    private final boolean transliterate;
+    private final LongAdder segmentsSent = new LongAdder();
+
+    public SmsSender(SmsProvider provider) {
+        this(provider, NotificationMetrics.noop());
+    }
+
+    /**
+     * @param metrics Receives sends, rejects and provider latency under the
+     *                "SMS" channel and this provider's name.
+     */
+    public SmsSender(SmsProvider provider, NotificationMetrics metrics) {
+        this(provider, metrics, false);
+    }
+
+    /**
+     * @param transliterate Whether to replace characters outside the GSM
+     *                      alphabet with look-alikes (see
+     *                      {@link SmsSegmenter#transliterate}) when that keeps
+     *                      a message in GSM-7, which fits more than twice as
+     *                      many characters per segment as UCS-2.
+     */
+    public SmsSender(SmsProvider provider, NotificationMetrics metrics, boolean transliterate) {
+        this.provider = provider;
+        this.asyncProvider = AsyncSmsProvider.adapt(provider);
+        this.nonBlocking = provider instanceof AsyncSmsProvider;
+        this.metrics = metrics.forProvider("SMS", provider.getProviderName());
+        this.transliterate = transliterate;
+    }
 
     @Override
-    public NotificationResult send(Notification notification) {
-        if (!(notification instanceof SmsNotification smsNotification)) {
-            return NotificationResult.failure("SMS", provider.getProviderName(),
-                    "Invalid notification type. Expected SmsNotification.");
-        }
+    public String getChannelName() {
+        return "SMS";
+    }
 
-        var validation = smsNotification.validate();
-        if (!validation.isValid()) {
-            return NotificationResult.failure("SMS", provider.getProviderName(),
-                    "Validation failed: " + String.join(", ", validation.errors()));
+    @Override
+    public NotificationResult send(Notification notification) {
+        NotificationResult rejection = reject(notification);
+        if (rejection != null) {
+            return rejection;
         }
+        SmsNotification smsNotification = prepare((SmsNotification) notification);
 
+        log.debug("Sending SMS to {} via {}", smsNotification.getPhoneNumber(), provider.getProviderName());
+        long start = System.nanoTime();
         try {
-            log.info("Sending SMS to {} via {}", smsNotification.getPhoneNumber(), provider.getProviderName());
-            boolean sent = provider.sendSms(smsNotification);
-
+            ProviderResponse response = nonBlocking
+                    ? ProviderResponse.await(asyncProvider.sendSmsAsync(smsNotification))
+                    : ProviderResponse.of(provider.sendSms(smsNotification));
+            boolean sent = response.accepted();
+            metrics.recordCall(sent ? 1 : 0, sent ? 0 : 1, System.nanoTime() - start);
             if (sent) {
-                return NotificationResult.success("SMS", provider.getProviderName(), "generated-sms-id");
-            } else {
-                return NotificationResult.failure("SMS", provider.getProviderName(), "Provider returned failure.");
+                segmentsSent.add(SmsSegmenter.segmentCount(smsNotification.getMessage()));
             }
+            return NotificationResult.of("SMS", provider.getProviderName(), response);
         } catch (Exception e) {
+            metrics.recordCall(0, 1, System.nanoTime() - start);
             log.error("Failed to send SMS", e);
             throw new NotificationException("Failed to send SMS via " + provider.getProviderName(), e);
         }
     }
+
+    /**
+     * Sends through the provider's non-blocking API, so no thread waits while
+     * the request is in flight. Blocking providers are adapted with
+     * {@link AsyncSmsProvider#adapt}.
+     */
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(Notification notification) {
+        NotificationResult rejection = reject(notification);
+        if (rejection != null) {
+            return CompletableFuture.completedFuture(rejection);
+        }
+        SmsNotification smsNotification = prepare((SmsNotification) notification);
+
+        log.debug("Sending SMS to {} via {}", smsNotification.getPhoneNumber(), provider.getProviderName());
+        long start = System.nanoTime();
+        CompletionStage<ProviderResponse> call;
+        try {
+            call = asyncProvider.sendSmsAsync(smsNotification);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        return call.toCompletableFuture().handle((response, error) -> {
+            if (error != null) {
+                metrics.recordCall(0, 1, System.nanoTime() - start);
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                log.error("Failed to send SMS", cause);
+                throw new NotificationException("Failed to send SMS via " + provider.getProviderName(), cause);
+            }
+            metrics.recordCall(response.accepted() ? 1 : 0, response.accepted() ? 0 : 1, System.nanoTime() - start);
+            if (response.accepted()) {
+                segmentsSent.add(SmsSegmenter.segmentCount(smsNotification.getMessage()));
+            }
+            return NotificationResult.of("SMS", provider.getProviderName(), response);
+        });
+    }
+
+    /**
+     * Validates every notification up front and hands the accepted ones to the
+     * provider in a single bulk call. If the provider throws, or returns a
+     * different number of responses than it was given notifications, every
+     * accepted notification in the batch is reported as failed.
+     */
+    @Override
+    public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+        String providerName = provider.getProviderName();
+        NotificationResult[] results = new NotificationResult[notifications.size()];
+        List<SmsNotification> accepted = new ArrayList<>(results.length);
+        int[] positions = new int[results.length];
+
+        int index = 0;
+        for (Notification notification : notifications) {
+            NotificationResult rejection = reject(notification);
+            if (rejection != null) {
+                results[index] = rejection;
+            } else {
+                positions[accepted.size()] = index;
+                accepted.add(prepare((SmsNotification) notification));
+            }
+            index++;
+        }
+
+        if (!accepted.isEmpty()) {
+            log.debug("Sending batch of {} SMS via {}", accepted.size(), providerName);
+            long start = System.nanoTime();
+            try {
+                ProviderResponse[] responses = provider.sendSmsBatch(accepted);
+                if (responses.length != accepted.size()) {
+                    throw new NotificationException(providerName + " returned " + responses.length
+                            + " responses for " + accepted.size() + " notifications");
+                }
+                int succeeded = 0;
+                for (int i = 0; i < responses.length; i++) {
+                    if (responses[i].accepted()) {
+                        succeeded++;
+                        segmentsSent.add(SmsSegmenter.segmentCount(accepted.get(i).getMessage()));
+                    }
+                    results[positions[i]] = NotificationResult.of("SMS", providerName, responses[i]);
+                }
+                metrics.recordCall(succeeded, responses.length - succeeded, System.nanoTime() - start);
+            } catch (Exception e) {
+                metrics.recordCall(0, accepted.size(), System.nanoTime() - start);
+                log.error("Failed to send SMS batch", e);
+                NotificationResult failure = NotificationResult.failure("SMS", providerName,
+                        "Failed to send SMS via " + providerName + ": " + e.getMessage());
+                for (int i = 0; i < accepted.size(); i++) {
+                    results[positions[i]] = failure;
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @return The number of segments the notification is sent as, after
+     *         transliteration if it is enabled; for capacity planning against
+     *         provider throughput and pricing, which count segments.
+     */
+    public int segmentCount(SmsNotification notification) {
+        return SmsSegmenter.segmentCount(prepare(notification).getMessage());
+    }
+
+    /**
+     * @return Segments of the messages the provider accepted so far.
+     */
+    public long segmentsSent() {
+        return segmentsSent.sum();
+    }
+
+    /**
+     * @return The notification to send: transliterated if enabled and that
+     *         makes it GSM-7, otherwise unchanged.
+     */
+    private SmsNotification prepare(SmsNotification notification) {
+        String message = notification.getMessage();
+        if (!transliterate || SmsSegmenter.encodingOf(message) == SmsEncoding.GSM_7) {
+            return notification;
+        }
+        String transliterated = SmsSegmenter.transliterate(message);
+        if (SmsSegmenter.encodingOf(transliterated) != SmsEncoding.GSM_7) {
+            return notification;
+        }
+        return SmsNotification.builder()
+                .phoneNumber(notification.getPhoneNumber())
+                .message(transliterated)
+                .priority(notification.getPriority())
+                .build();
+    }
+
+    /**
+     * @return A failure result if the notification cannot be sent through this
+     *         channel, or null if it is a valid SmsNotification.
+     */
+    private NotificationResult reject(Notification notification) {
+        if (!(notification instanceof SmsNotification smsNotification)) {
+            metrics.recordRejected();
+            return NotificationResult.rejection("SMS", provider.getProviderName(),
+                    "Invalid notification type. Expected SmsNotification.");
+        }
+
+        var validation = smsNotification.validate();
+        if (!validation.isValid()) {
+            metrics.recordRejected();
+            return NotificationResult.rejection("SMS", provider.getProviderName(),
+                    "Validation failed: " + String.join(", ", validation.errors()));
+        }
+        return null;
+    }
 }
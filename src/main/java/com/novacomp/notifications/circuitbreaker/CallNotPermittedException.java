@@ -0,0 +1,13 @@
+package com.novacomp.notifications.circuitbreaker;
+
+import com.novacomp.notifications.api.NotificationException;
+
+/**
+ * Thrown instead of calling a provider while its circuit breaker is open (or
+ * half-open with all probe calls already in flight).
+ */
+public class CallNotPermittedException extends NotificationException {
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
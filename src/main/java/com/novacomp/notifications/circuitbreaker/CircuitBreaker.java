@@ -0,0 +1,350 @@
+package com.novacomp.notifications.circuitbreaker;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lock-free circuit breaker guarding one provider.
+ * <ul>
+ * <li>CLOSED: calls pass; outcomes are recorded in a sliding window. Once the
+ * window holds enough calls and the failure rate or slow-call rate reaches its
+ * threshold, the breaker opens.</li>
+ * <li>OPEN: calls fail fast with {@link CallNotPermittedException} until the
+ * wait duration has elapsed.</li>
+ * <li>HALF_OPEN: a limited number of probe calls pass. When they have all
+ * completed the breaker closes if their rates are under the thresholds and
+ * opens again otherwise.</li>
+ * </ul>
+ * The current state and its window are swapped atomically as one object, so
+ * a transition is a single compare-and-set and only the winning thread
+ * notifies the listeners.
+ */
+@Slf4j
+public final class CircuitBreaker {
+
+    /**
+     * Circuit breaker states.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final long waitDurationInOpenStateNanos;
+    private final int permittedCallsInHalfOpenState;
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicReference<StateHolder> state;
+
+    private CircuitBreaker(Builder builder) {
+        this.name = builder.name;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDurationNanos = builder.slowCallDuration.toNanos();
+        this.slidingWindowSize = builder.slidingWindowSize;
+        this.minimumNumberOfCalls = Math.min(builder.minimumNumberOfCalls, builder.slidingWindowSize);
+        this.waitDurationInOpenStateNanos = builder.waitDurationInOpenState.toNanos();
+        this.permittedCallsInHalfOpenState = builder.permittedCallsInHalfOpenState;
+        this.state = new AtomicReference<>(closed());
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state.get().state;
+    }
+
+    /**
+     * @return The failure rate of the current window in percent, or -1 if it
+     *         does not hold enough calls yet.
+     */
+    public float getFailureRate() {
+        StateHolder holder = state.get();
+        return holder.window.failureRate(holder.minimumCalls);
+    }
+
+    /**
+     * @return The slow-call rate of the current window in percent, or -1 if it
+     *         does not hold enough calls yet.
+     */
+    public float getSlowCallRate() {
+        StateHolder holder = state.get();
+        return holder.window.slowCallRate(holder.minimumCalls);
+    }
+
+    public void addListener(CircuitBreakerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Runs the call if the breaker permits it and records its outcome; only an
+     * exception counts as a failure.
+     *
+     * @see #execute(Callable, Predicate)
+     */
+    public <T> T execute(Callable<T> call) throws Exception {
+        return execute(call, result -> false);
+    }
+
+    /**
+     * Runs the call if the breaker permits it and records its outcome.
+     *
+     * @param call         The provider call.
+     * @param failedResult Classifies a returned value as a failure (e.g. a
+     *                     response worth retrying).
+     * @return The call's result.
+     * @throws CallNotPermittedException if the breaker is open.
+     * @throws Exception                 whatever the call throws.
+     */
+    public <T> T execute(Callable<T> call, Predicate<? super T> failedResult) throws Exception {
+        StateHolder holder = acquirePermission();
+        long start = System.nanoTime();
+        // Recorded in finally so that an Error, or a throwing classifier,
+        // still returns a half-open probe permit.
+        boolean failed = true;
+        try {
+            T result = call.call();
+            failed = failedResult.test(result);
+            return result;
+        } finally {
+            onResult(holder, failed, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Starts the call if the breaker permits it and records its outcome when
+     * the call's stage completes, so no thread waits for the provider.
+     *
+     * @param call         Starts the provider call.
+     * @param failedResult Classifies the value the stage completes with as a
+     *                     failure.
+     * @return The call's stage, or one failed with
+     *         {@link CallNotPermittedException} if the breaker is open.
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<? extends CompletionStage<T>> call,
+            Predicate<? super T> failedResult) {
+        StateHolder holder;
+        try {
+            holder = acquirePermission();
+        } catch (CallNotPermittedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        CompletionStage<T> stage;
+        try {
+            stage = call.get();
+        } catch (RuntimeException e) {
+            onResult(holder, true, System.nanoTime() - start);
+            return CompletableFuture.failedFuture(e);
+        } catch (Error e) {
+            onResult(holder, true, System.nanoTime() - start);
+            throw e;
+        }
+        return stage.toCompletableFuture().whenComplete((result, error) -> {
+            boolean failed = true;
+            try {
+                failed = error != null || failedResult.test(result);
+            } finally {
+                onResult(holder, failed, System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * Forces the breaker back to CLOSED with an empty window.
+     */
+    public void reset() {
+        transition(state.get(), closed());
+    }
+
+    private StateHolder acquirePermission() {
+        while (true) {
+            StateHolder holder = state.get();
+            switch (holder.state) {
+                case CLOSED:
+                    return holder;
+                case OPEN:
+                    if (System.nanoTime() - holder.openedAtNanos < waitDurationInOpenStateNanos) {
+                        throw new CallNotPermittedException("Circuit breaker '" + name + "' is OPEN");
+                    }
+                    transition(holder, halfOpen());
+                    continue;
+                default:
+                    if (holder.permits.getAndDecrement() > 0) {
+                        return holder;
+                    }
+                    throw new CallNotPermittedException(
+                            "Circuit breaker '" + name + "' is HALF_OPEN and all probe calls are in flight");
+            }
+        }
+    }
+
+    private void onResult(StateHolder holder, boolean failed, long durationNanos) {
+        if (state.get() != holder) {
+            // The breaker moved on while the call was running; its outcome
+            // belongs to a window that no longer exists.
+            return;
+        }
+        holder.window.record(failed, durationNanos >= slowCallDurationNanos);
+        if (holder.state == State.HALF_OPEN && holder.window.calls() < permittedCallsInHalfOpenState) {
+            return;
+        }
+        float failureRate = holder.window.failureRate(holder.minimumCalls);
+        float slowCallRate = holder.window.slowCallRate(holder.minimumCalls);
+        boolean tripped = failureRate >= failureRateThreshold || slowCallRate >= slowCallRateThreshold;
+        if (tripped) {
+            transition(holder, open());
+        } else if (holder.state == State.HALF_OPEN && failureRate >= 0) {
+            transition(holder, closed());
+        }
+    }
+
+    private void transition(StateHolder from, StateHolder to) {
+        if (!state.compareAndSet(from, to)) {
+            return;
+        }
+        if (from.state == to.state) {
+            return;
+        }
+        log.warn("Circuit breaker '{}' changed from {} to {}", name, from.state, to.state);
+        for (CircuitBreakerListener listener : listeners) {
+            try {
+                listener.onStateTransition(name, from.state, to.state);
+            } catch (RuntimeException e) {
+                log.warn("Circuit breaker listener failed", e);
+            }
+        }
+    }
+
+    private StateHolder closed() {
+        return new StateHolder(State.CLOSED, new SlidingWindow(slidingWindowSize), minimumNumberOfCalls, 0, 0);
+    }
+
+    private StateHolder open() {
+        return new StateHolder(State.OPEN, new SlidingWindow(1), Integer.MAX_VALUE, System.nanoTime(), 0);
+    }
+
+    private StateHolder halfOpen() {
+        return new StateHolder(State.HALF_OPEN, new SlidingWindow(permittedCallsInHalfOpenState),
+                permittedCallsInHalfOpenState, 0, permittedCallsInHalfOpenState);
+    }
+
+    private static final class StateHolder {
+        private final State state;
+        private final SlidingWindow window;
+        private final int minimumCalls;
+        private final long openedAtNanos;
+        private final AtomicInteger permits;
+
+        private StateHolder(State state, SlidingWindow window, int minimumCalls, long openedAtNanos, int permits) {
+            this.state = state;
+            this.window = window;
+            this.minimumCalls = minimumCalls;
+            this.openedAtNanos = openedAtNanos;
+            this.permits = new AtomicInteger(permits);
+        }
+    }
+
+    /**
+     * Builder for {@link CircuitBreaker}.
+     */
+    public static final class Builder {
+        private final String name;
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 100;
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+        private int slidingWindowSize = 100;
+        private int minimumNumberOfCalls = 20;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 5;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Failure percentage (exclusive of 0, up to 100) that opens the breaker.
+         */
+        public Builder failureRateThreshold(float percent) {
+            this.failureRateThreshold = requirePercent(percent);
+            return this;
+        }
+
+        /**
+         * Slow-call percentage that opens the breaker; 100 (the default) only
+         * trips when every call is slow.
+         */
+        public Builder slowCallRateThreshold(float percent) {
+            this.slowCallRateThreshold = requirePercent(percent);
+            return this;
+        }
+
+        /**
+         * Calls taking at least this long count as slow.
+         */
+        public Builder slowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+            return this;
+        }
+
+        public Builder slidingWindowSize(int size) {
+            this.slidingWindowSize = requirePositive("Sliding window size", size);
+            return this;
+        }
+
+        /**
+         * Calls the window must hold before the rates are evaluated.
+         */
+        public Builder minimumNumberOfCalls(int calls) {
+            this.minimumNumberOfCalls = requirePositive("Minimum number of calls", calls);
+            return this;
+        }
+
+        public Builder waitDurationInOpenState(Duration waitDuration) {
+            this.waitDurationInOpenState = waitDuration;
+            return this;
+        }
+
+        public Builder permittedCallsInHalfOpenState(int calls) {
+            this.permittedCallsInHalfOpenState = requirePositive("Permitted calls in half-open state", calls);
+            return this;
+        }
+
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
+
+        private static float requirePercent(float percent) {
+            if (percent <= 0 || percent > 100) {
+                throw new IllegalArgumentException("Threshold must be in (0, 100]: " + percent);
+            }
+            return percent;
+        }
+
+        private static int requirePositive(String name, int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive: " + value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.novacomp.notifications.circuitbreaker;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.email.AsyncEmailProvider;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.email.EmailProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * EmailProvider decorator that routes every call through a {@link CircuitBreaker}.
+ * Only exceptions count as failures: a provider refusing a message (an invalid
+ * recipient, a 4xx) has answered and is healthy. A bulk call counts as one
+ * call and fails if it throws or every one of its emails was refused in a
+ * retryable way. Non-blocking sends take their permission when started and
+ * are recorded when the provider answers; there a response worth retrying
+ * counts as a failure too.
+ */
+public class CircuitBreakerEmailProvider implements EmailProvider, AsyncEmailProvider {
+
+    private final EmailProvider delegate;
+    private final AsyncEmailProvider async;
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerEmailProvider(EmailProvider delegate, CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.async = AsyncEmailProvider.adapt(delegate);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public boolean sendEmail(EmailNotification notification) throws Exception {
+        return circuitBreaker.execute(() -> delegate.sendEmail(notification));
+    }
+
+    @Override
+    public ProviderResponse[] sendEmailBatch(List<EmailNotification> notifications) throws Exception {
+        return circuitBreaker.execute(() -> delegate.sendEmailBatch(notifications), ProviderResponse::allRetryable);
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendEmailAsync(EmailNotification notification) {
+        return circuitBreaker.executeAsync(() -> async.sendEmailAsync(notification), ProviderResponse::retryable);
+    }
+
+    @Override
+    public String getProviderName() {
+        return delegate.getProviderName();
+    }
+}
@@ -0,0 +1,10 @@
+package com.novacomp.notifications.circuitbreaker;
+
+/**
+ * Receives circuit breaker state transitions, e.g. to raise alerts.
+ * Called synchronously on the thread that caused the transition.
+ */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+    void onStateTransition(String name, CircuitBreaker.State from, CircuitBreaker.State to);
+}
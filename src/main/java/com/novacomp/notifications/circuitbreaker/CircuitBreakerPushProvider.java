@@ -0,0 +1,50 @@
+package com.novacomp.notifications.circuitbreaker;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.push.AsyncPushProvider;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.push.PushProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * PushProvider decorator that routes every call through a {@link CircuitBreaker}.
+ * Only exceptions count as failures: a provider refusing a message (an invalid
+ * recipient, a 4xx) has answered and is healthy. A bulk call counts as one
+ * call and fails if it throws or every one of its push notifications was
+ * refused in a retryable way. Non-blocking sends take their permission when
+ * started and are recorded when the provider answers; there a response worth
+ * retrying counts as a failure too.
+ */
+public class CircuitBreakerPushProvider implements PushProvider, AsyncPushProvider {
+
+    private final PushProvider delegate;
+    private final AsyncPushProvider async;
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerPushProvider(PushProvider delegate, CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.async = AsyncPushProvider.adapt(delegate);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public boolean sendPush(PushNotification notification) throws Exception {
+        return circuitBreaker.execute(() -> delegate.sendPush(notification));
+    }
+
+    @Override
+    public ProviderResponse[] sendPushBatch(List<PushNotification> notifications) throws Exception {
+        return circuitBreaker.execute(() -> delegate.sendPushBatch(notifications), ProviderResponse::allRetryable);
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendPushAsync(PushNotification notification) {
+        return circuitBreaker.executeAsync(() -> async.sendPushAsync(notification), ProviderResponse::retryable);
+    }
+
+    @Override
+    public String getProviderName() {
+        return delegate.getProviderName();
+    }
+}
@@ -0,0 +1,64 @@
+package com.novacomp.notifications.circuitbreaker;
+
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.slack.AsyncSlackProvider;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.slack.SlackProvider;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Predicate;
+
+/**
+ * SlackProvider decorator that routes every call through a {@link CircuitBreaker}.
+ * Only exceptions count as failures: a provider refusing a message (an invalid
+ * recipient, a 4xx) has answered and is healthy. A bulk call counts as one
+ * call and fails if it throws or every one of its Slack messages was refused
+ * in a retryable way. Non-blocking sends take their permission when started
+ * and are recorded when the provider answers; there a response worth
+ * retrying counts as a failure too.
+ */
+public class CircuitBreakerSlackProvider implements SlackProvider, AsyncSlackProvider {
+
+    private final SlackProvider delegate;
+    private final AsyncSlackProvider async;
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerSlackProvider(SlackProvider delegate, CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.async = AsyncSlackProvider.adapt(delegate);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public boolean sendSlackMessage(SlackNotification notification) {
+        return call(() -> delegate.sendSlackMessage(notification), sent -> false);
+    }
+
+    @Override
+    public ProviderResponse[] sendSlackBatch(List<SlackNotification> notifications) throws Exception {
+        return circuitBreaker.execute(() -> delegate.sendSlackBatch(notifications), ProviderResponse::allRetryable);
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendSlackMessageAsync(SlackNotification notification) {
+        return circuitBreaker.executeAsync(() -> async.sendSlackMessageAsync(notification),
+                ProviderResponse::retryable);
+    }
+
+    @Override
+    public String getProviderName() {
+        return delegate.getProviderName();
+    }
+
+    private <T> T call(Callable<T> call, Predicate<? super T> failedResult) {
+        try {
+            return circuitBreaker.execute(call, failedResult);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new NotificationException("Unexpected checked exception from " + delegate.getProviderName(), e);
+        }
+    }
+}
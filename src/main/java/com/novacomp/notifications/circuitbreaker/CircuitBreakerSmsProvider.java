@@ -0,0 +1,50 @@
+package com.novacomp.notifications.circuitbreaker;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.sms.AsyncSmsProvider;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * SmsProvider decorator that routes every call through a {@link CircuitBreaker}.
+ * Only exceptions count as failures: a provider refusing a message (an invalid
+ * recipient, a 4xx) has answered and is healthy. A bulk call counts as one
+ * call and fails if it throws or every one of its SMS messages was refused in a
+ * retryable way. Non-blocking sends take their permission when started and
+ * are recorded when the provider answers; there a response worth retrying
+ * counts as a failure too.
+ */
+public class CircuitBreakerSmsProvider implements SmsProvider, AsyncSmsProvider {
+
+    private final SmsProvider delegate;
+    private final AsyncSmsProvider async;
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerSmsProvider(SmsProvider delegate, CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.async = AsyncSmsProvider.adapt(delegate);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public boolean sendSms(SmsNotification notification) throws Exception {
+        return circuitBreaker.execute(() -> delegate.sendSms(notification));
+    }
+
+    @Override
+    public ProviderResponse[] sendSmsBatch(List<SmsNotification> notifications) throws Exception {
+        return circuitBreaker.execute(() -> delegate.sendSmsBatch(notifications), ProviderResponse::allRetryable);
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendSmsAsync(SmsNotification notification) {
+        return circuitBreaker.executeAsync(() -> async.sendSmsAsync(notification), ProviderResponse::retryable);
+    }
+
+    @Override
+    public String getProviderName() {
+        return delegate.getProviderName();
+    }
+}
@@ -0,0 +1,68 @@
+package com.novacomp.notifications.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count-based window over the outcomes of the last {@code size} calls.
+ * Each call claims the next slot of a ring with a single atomic increment,
+ * swaps its outcome in and adjusts the running totals by the difference with
+ * the outcome it replaced, so recording never takes a lock.
+ */
+final class SlidingWindow {
+
+    private static final int RECORDED = 1;
+    private static final int FAILED = 2;
+    private static final int SLOW = 4;
+
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger slowCalls = new AtomicInteger();
+
+    SlidingWindow(int size) {
+        this.outcomes = new AtomicIntegerArray(size);
+    }
+
+    void record(boolean failed, boolean slow) {
+        int slot = (int) (next.getAndIncrement() % outcomes.length());
+        int outcome = RECORDED | (failed ? FAILED : 0) | (slow ? SLOW : 0);
+        int previous = outcomes.getAndSet(slot, outcome);
+        if ((previous & RECORDED) == 0) {
+            calls.incrementAndGet();
+        }
+        adjust(failures, previous, outcome, FAILED);
+        adjust(slowCalls, previous, outcome, SLOW);
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    /**
+     * @return The percentage of failed calls, or -1 if fewer than
+     *         {@code minimumCalls} have been recorded.
+     */
+    float failureRate(int minimumCalls) {
+        int total = calls.get();
+        return total < minimumCalls ? -1 : failures.get() * 100f / total;
+    }
+
+    /**
+     * @return The percentage of slow calls, or -1 if fewer than
+     *         {@code minimumCalls} have been recorded.
+     */
+    float slowCallRate(int minimumCalls) {
+        int total = calls.get();
+        return total < minimumCalls ? -1 : slowCalls.get() * 100f / total;
+    }
+
+    private static void adjust(AtomicInteger counter, int previous, int outcome, int flag) {
+        int delta = (outcome & flag) / flag - (previous & flag) / flag;
+        if (delta != 0) {
+            counter.addAndGet(delta);
+        }
+    }
+}
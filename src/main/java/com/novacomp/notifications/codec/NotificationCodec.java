@@ -0,0 +1,532 @@
+package com.novacomp.notifications.codec;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.Priority;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import java.io.File;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compact, schema-versioned binary encoding of the built-in notification
+ * types and of {@link NotificationResult}, for queues and for shipping
+ * notifications between nodes.
+ * <p>
+ * A payload starts with a version byte (high bit set, then the schema
+ * version) and a type byte that also carries the notification's priority;
+ * if the codec has a dictionary, the type byte is flagged and followed by
+ * the dictionary ID, so a payload is never decoded against a different
+ * dictionary. Lengths and counts are unsigned varints.
+ * A string is a varint {@code n} followed by its UTF-8 bytes: 0 for null,
+ * {@code index << 1 | 1} for a dictionary entry, or {@code (length + 1) << 1}
+ * for an inline string.
+ * <p>
+ * Fields that repeat across notifications (sender, subject, cc, push title
+ * and data keys, Slack channel and identity, result channel, provider and
+ * message) are looked up in the dictionary: a hit is written as a single
+ * varint and decoded to the dictionary's own String instance, with no copy.
+ * Other strings are encoded straight into the buffer without an intermediate
+ * array, and decoded with a single copy out of heap buffers.
+ * <p>
+ * Instances are immutable and thread-safe. Both ends must use the same
+ * dictionary entries in the same order.
+ */
+public final class NotificationCodec {
+
+    /**
+     * Version of the payload layout written by this codec.
+     */
+    public static final int SCHEMA_VERSION = 1;
+
+    private static final int VERSION_MARKER = 0x80;
+
+    private static final byte EMAIL = 1;
+    private static final byte SMS = 2;
+    private static final byte PUSH = 3;
+    private static final byte SLACK = 4;
+    private static final byte RESULT = 5;
+    private static final int TYPE_MASK = 0x0F;
+    private static final int DICTIONARY_FLAG = 0x10;
+    /**
+     * Bits 5-6 of the type byte: 0 for normal priority, so that payloads
+     * written before priorities existed decode as normal.
+     */
+    private static final int PRIORITY_SHIFT = 5;
+    private static final Priority[] PRIORITIES = { Priority.NORMAL, Priority.TRANSACTIONAL, Priority.BULK };
+
+    /**
+     * Bits of the byte that starts a result's body.
+     */
+    private static final int SUCCESS_FLAG = 1;
+    private static final int RETRYABLE_FLAG = 2;
+
+    /**
+     * Entries every codec of this schema version knows, before the configured
+     * ones. Never reorder.
+     */
+    private static final List<String> SCHEMA_ENTRIES = List.of(
+            "Success", "Provider returned failure.", "EMAIL", "SMS", "PUSH", "SLACK");
+
+    private static final int INITIAL_SCRATCH = 1024;
+    private static final int MAX_RETAINED_SCRATCH = 64 * 1024;
+    private static final ThreadLocal<ByteBuffer> SCRATCH =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_SCRATCH));
+    private static final ThreadLocal<byte[]> DECODE_SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+
+    private final String[] entries;
+    private final Map<String, Integer> indexes;
+    private final int dictionaryId;
+    private final boolean hasDictionary;
+
+    private NotificationCodec(Builder builder) {
+        List<String> all = new ArrayList<>(SCHEMA_ENTRIES);
+        all.addAll(builder.entries);
+        this.entries = all.toArray(new String[0]);
+        this.indexes = new HashMap<>(entries.length * 2);
+        for (int i = 0; i < entries.length; i++) {
+            indexes.putIfAbsent(entries[i], i);
+        }
+        this.hasDictionary = !builder.entries.isEmpty();
+        this.dictionaryId = hasDictionary ? dictionaryId(builder.entries) : 0;
+    }
+
+    /**
+     * @return The codec without a configured dictionary, whose payloads any
+     *         other codec of the same schema version can decode.
+     */
+    public static NotificationCodec getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The ID written into payloads to identify the dictionary; 0 if
+     *         there is none.
+     */
+    public int dictionaryId() {
+        return dictionaryId;
+    }
+
+    /**
+     * Writes the notification at the buffer's position.
+     *
+     * @throws BufferOverflowException  if the buffer is too small; its position
+     *                                  is then left unchanged.
+     * @throws IllegalArgumentException if the type is not a built-in one.
+     */
+    public void encode(Notification notification, ByteBuffer out) {
+        int start = out.position();
+        try {
+            if (notification instanceof EmailNotification email) {
+                header(out, EMAIL, email.getPriority());
+                putString(out, email.getTo(), false);
+                putString(out, email.getFrom(), true);
+                putString(out, email.getSubject(), true);
+                putString(out, email.getBody(), false);
+                List<File> attachments = email.getAttachments();
+                putVarint(out, attachments.size());
+                for (int i = 0; i < attachments.size(); i++) {
+                    putString(out, attachments.get(i).getPath(), false);
+                }
+                putStrings(out, email.getCc());
+                putStrings(out, email.getBcc());
+            } else if (notification instanceof SmsNotification sms) {
+                header(out, SMS, sms.getPriority());
+                putString(out, sms.getPhoneNumber(), false);
+                putString(out, sms.getMessage(), false);
+            } else if (notification instanceof PushNotification push) {
+                header(out, PUSH, push.getPriority());
+                putString(out, push.getToken(), false);
+                putString(out, push.getTitle(), true);
+                putString(out, push.getBody(), false);
+                putVarint(out, push.getData().size());
+                for (Map.Entry<String, String> entry : push.getData().entrySet()) {
+                    putString(out, entry.getKey(), true);
+                    putString(out, entry.getValue(), false);
+                }
+            } else if (notification instanceof SlackNotification slack) {
+                header(out, SLACK, slack.getPriority());
+                putString(out, slack.getChannel(), true);
+                putString(out, slack.getText(), false);
+                putString(out, slack.getUsername(), true);
+                putString(out, slack.getIconEmoji(), true);
+            } else {
+                throw new IllegalArgumentException(
+                        "Unsupported notification type: " + notification.getClass().getName());
+            }
+        } catch (BufferOverflowException e) {
+            out.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * @return The encoded notification.
+     * @throws IllegalArgumentException if the type is not a built-in one.
+     */
+    public byte[] encode(Notification notification) {
+        return toBytes(scratch -> encode(notification, scratch));
+    }
+
+    /**
+     * Writes the result at the buffer's position.
+     *
+     * @throws BufferOverflowException if the buffer is too small; its position
+     *                                 is then left unchanged.
+     */
+    public void encode(NotificationResult result, ByteBuffer out) {
+        int start = out.position();
+        try {
+            header(out, RESULT, Priority.NORMAL);
+            out.put((byte) ((result.success() ? SUCCESS_FLAG : 0) | (result.retryable() ? RETRYABLE_FLAG : 0)));
+            putString(out, result.message(), true);
+            putString(out, result.channelName(), true);
+            putString(out, result.providerName(), true);
+            putString(out, result.messageId(), false);
+        } catch (BufferOverflowException e) {
+            out.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * @return The encoded result.
+     */
+    public byte[] encode(NotificationResult result) {
+        return toBytes(scratch -> encode(result, scratch));
+    }
+
+    /**
+     * Reads a notification from the buffer's position, leaving the position
+     * after it, so that consecutive payloads can be read from one buffer.
+     *
+     * @throws IllegalStateException if the payload is malformed, of another
+     *                               schema version or dictionary, or a result.
+     */
+    public Notification decode(ByteBuffer in) {
+        int header = readHeader(in);
+        Priority priority = PRIORITIES[Math.min(header >>> PRIORITY_SHIFT & 3, PRIORITIES.length - 1)];
+        byte type = (byte) (header & TYPE_MASK);
+        return switch (type) {
+            case EMAIL -> {
+                EmailNotification.EmailNotificationBuilder builder = EmailNotification.builder()
+                        .to(getString(in))
+                        .from(getString(in))
+                        .subject(getString(in))
+                        .body(getString(in));
+                int attachments = getCount(in);
+                List<File> files = new ArrayList<>(attachments);
+                for (int i = 0; i < attachments; i++) {
+                    files.add(new File(getString(in)));
+                }
+                yield builder.attachments(Collections.unmodifiableList(files))
+                        .cc(getStrings(in))
+                        .bcc(getStrings(in))
+                        .priority(priority)
+                        .build();
+            }
+            case SMS -> SmsNotification.builder()
+                    .phoneNumber(getString(in))
+                    .message(getString(in))
+                    .priority(priority)
+                    .build();
+            case PUSH -> {
+                PushNotification.PushNotificationBuilder builder = PushNotification.builder()
+                        .token(getString(in))
+                        .title(getString(in))
+                        .body(getString(in));
+                int entries = getCount(in);
+                Map<String, String> data = new LinkedHashMap<>(entries * 2);
+                for (int i = 0; i < entries; i++) {
+                    data.put(getString(in), getString(in));
+                }
+                yield builder.data(Collections.unmodifiableMap(data)).priority(priority).build();
+            }
+            case SLACK -> SlackNotification.builder()
+                    .channel(getString(in))
+                    .text(getString(in))
+                    .username(getString(in))
+                    .iconEmoji(getString(in))
+                    .priority(priority)
+                    .build();
+            default -> throw new IllegalStateException("Not a notification payload, type " + type);
+        };
+    }
+
+    /**
+     * Reads a result from the buffer's position, leaving the position after
+     * it.
+     *
+     * @throws IllegalStateException if the payload is malformed, of another
+     *                               schema version or dictionary, or not a
+     *                               result.
+     */
+    public NotificationResult decodeResult(ByteBuffer in) {
+        int type = readHeader(in) & TYPE_MASK;
+        if (type != RESULT) {
+            throw new IllegalStateException("Not a result payload, type " + type);
+        }
+        int flags = in.get();
+        return new NotificationResult((flags & SUCCESS_FLAG) != 0, getString(in), getString(in), getString(in),
+                getString(in), (flags & RETRYABLE_FLAG) != 0);
+    }
+
+    /**
+     * Encodes into the thread's scratch buffer, growing it until the payload
+     * fits, and copies the payload out.
+     */
+    private static byte[] toBytes(Consumer<ByteBuffer> encoder) {
+        while (true) {
+            ByteBuffer scratch = SCRATCH.get().clear();
+            try {
+                encoder.accept(scratch);
+                byte[] payload = Arrays.copyOf(scratch.array(), scratch.position());
+                if (scratch.capacity() > MAX_RETAINED_SCRATCH) {
+                    SCRATCH.remove();
+                }
+                return payload;
+            } catch (BufferOverflowException e) {
+                SCRATCH.set(ByteBuffer.allocate(scratch.capacity() * 2));
+            }
+        }
+    }
+
+    private void header(ByteBuffer out, byte type, Priority priority) {
+        int code = priority == Priority.TRANSACTIONAL ? 1 : priority == Priority.BULK ? 2 : 0;
+        out.put((byte) (VERSION_MARKER | SCHEMA_VERSION));
+        out.put((byte) (type | code << PRIORITY_SHIFT | (hasDictionary ? DICTIONARY_FLAG : 0)));
+        if (hasDictionary) {
+            out.putInt(dictionaryId);
+        }
+    }
+
+    /**
+     * @return The type byte, after checking the version and dictionary.
+     */
+    private int readHeader(ByteBuffer in) {
+        int version = in.get() & 0xFF;
+        if ((version & VERSION_MARKER) == 0 || (version & ~VERSION_MARKER) != SCHEMA_VERSION) {
+            throw new IllegalStateException("Unsupported payload version " + (version & ~VERSION_MARKER));
+        }
+        int type = in.get() & 0xFF;
+        if ((type & DICTIONARY_FLAG) != 0) {
+            int id = in.getInt();
+            if (id != dictionaryId) {
+                throw new IllegalStateException("Payload uses dictionary " + Integer.toHexString(id)
+                        + ", this codec has " + Integer.toHexString(dictionaryId));
+            }
+        }
+        return type;
+    }
+
+    private void putStrings(ByteBuffer out, List<String> values) {
+        putVarint(out, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            putString(out, values.get(i), true);
+        }
+    }
+
+    private void putString(ByteBuffer out, String value, boolean dictionary) {
+        if (value == null) {
+            putVarint(out, 0);
+            return;
+        }
+        if (dictionary) {
+            Integer index = indexes.get(value);
+            if (index != null) {
+                putVarint(out, index << 1 | 1);
+                return;
+            }
+        }
+        int length = utf8Length(value);
+        putVarint(out, (length + 1) << 1);
+        if (out.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | codePoint >> 18))
+                        .put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3F))
+                        .put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * @return The UTF-8 length, with unpaired surrogates replaced by '?' as
+     *         {@link String#getBytes} does.
+     */
+    private static int utf8Length(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    length += 2;
+                }
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    private String getString(ByteBuffer in) {
+        int n = getVarint(in);
+        if (n == 0) {
+            return null;
+        }
+        if ((n & 1) != 0) {
+            int index = n >>> 1;
+            if (index >= entries.length) {
+                throw new IllegalStateException("Dictionary index out of range: " + index);
+            }
+            return entries[index];
+        }
+        int length = (n >>> 1) - 1;
+        if (length > in.remaining()) {
+            throw new IllegalStateException("String of " + length + " bytes overruns the payload");
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] scratch = DECODE_SCRATCH.get();
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+                DECODE_SCRATCH.set(scratch);
+            }
+            in.get(scratch, 0, length);
+            value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private List<String> getStrings(ByteBuffer in) {
+        int size = getCount(in);
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(getString(in));
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    /**
+     * @return A count, checked against the bytes left so that a corrupt
+     *         payload cannot trigger a huge allocation.
+     */
+    private static int getCount(ByteBuffer in) {
+        int count = getVarint(in);
+        if (count > in.remaining()) {
+            throw new IllegalStateException("Count " + count + " overruns the payload");
+        }
+        return count;
+    }
+
+    private static void putVarint(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    /**
+     * FNV-1a over the entries, never 0.
+     */
+    private static int dictionaryId(List<String> entries) {
+        int hash = 0x811c9dc5;
+        for (String entry : entries) {
+            for (int i = 0; i < entry.length(); i++) {
+                hash = (hash ^ entry.charAt(i)) * 0x01000193;
+            }
+            hash = (hash ^ 0xFFFF) * 0x01000193;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static final class DefaultHolder {
+        private static final NotificationCodec INSTANCE = builder().build();
+    }
+
+    /**
+     * Builder for {@link NotificationCodec}.
+     */
+    public static final class Builder {
+        private final List<String> entries = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Appends dictionary entries: values that recur in the dictionary
+         * fields, such as sender addresses, subjects and push data keys.
+         */
+        public Builder dictionary(String... entries) {
+            return dictionary(Arrays.asList(entries));
+        }
+
+        /**
+         * Appends dictionary entries, in iteration order.
+         */
+        public Builder dictionary(Collection<String> entries) {
+            for (String entry : entries) {
+                if (entry == null) {
+                    throw new IllegalArgumentException("Dictionary entries must not be null");
+                }
+                this.entries.add(entry);
+            }
+            return this;
+        }
+
+        public NotificationCodec build() {
+            return new NotificationCodec(this);
+        }
+    }
+}
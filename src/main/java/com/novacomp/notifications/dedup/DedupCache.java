@@ -0,0 +1,223 @@
+package com.novacomp.notifications.dedup;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, time-expiring map from 64-bit fingerprints to values, built on
+ * primitive arrays so that entries cost no per-entry objects besides the value.
+ * <p>
+ * The cache is split into segments, each guarded by its own lock. A segment
+ * keeps its entries in a ring in insertion order, which is also expiry order
+ * because every entry lives for the same window, and indexes them with an
+ * open-addressing table of ring slots. Expired entries are dropped from the
+ * head of the ring on every write; when a segment is full its oldest entry is
+ * evicted.
+ */
+public final class DedupCache<V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment<V>[] segments;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    public DedupCache(int maxEntries, Duration window) {
+        this(maxEntries, window, System::nanoTime);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    DedupCache(int maxEntries, Duration window, LongSupplier nanoClock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive: " + maxEntries);
+        }
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        int perSegment = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        int capacity = perSegment == 1 ? 1 : Integer.highestOneBit(perSegment - 1) << 1;
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(capacity);
+        }
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return The live value stored for the key, or null if there was none and
+     *         {@code value} was stored.
+     */
+    public V putIfAbsent(long key, V value) {
+        long now = nanoClock.getAsLong();
+        Segment<V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.putIfAbsent(key, value, now, now + windowNanos);
+        }
+    }
+
+    /**
+     * @return The live value stored for the key, or null.
+     */
+    public V get(long key) {
+        long now = nanoClock.getAsLong();
+        Segment<V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.expire(now);
+            return segment.get(key);
+        }
+    }
+
+    /**
+     * Removes the key only if it still maps to {@code expected}.
+     */
+    public boolean remove(long key, V expected) {
+        Segment<V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key, expected);
+        }
+    }
+
+    /**
+     * @return Live entries, not counting ones that expired since the last
+     *         write to their segment.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.live;
+            }
+        }
+        return size;
+    }
+
+    private Segment<V> segmentFor(long key) {
+        return segments[(int) (NotificationFingerprint.mix(key) >>> 60)];
+    }
+
+    private static final class Segment<V> {
+
+        private final long[] keys;
+        private final long[] expiries;
+        private final Object[] values;
+        private final int ringMask;
+        /**
+         * Open-addressing index: ring slot + 1, or 0 for an empty bucket.
+         */
+        private final int[] index;
+        private final int indexMask;
+        private int head;
+        private int size;
+        private int live;
+
+        Segment(int capacity) {
+            this.keys = new long[capacity];
+            this.expiries = new long[capacity];
+            this.values = new Object[capacity];
+            this.ringMask = capacity - 1;
+            this.index = new int[capacity * 2];
+            this.indexMask = index.length - 1;
+        }
+
+        V putIfAbsent(long key, V value, long now, long expiry) {
+            expire(now);
+            V existing = get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (size == keys.length) {
+                removeHead();
+            }
+            int slot = (head + size) & ringMask;
+            keys[slot] = key;
+            expiries[slot] = expiry;
+            values[slot] = value;
+            size++;
+            live++;
+            int bucket = bucketOf(key);
+            while (index[bucket] != 0) {
+                bucket = (bucket + 1) & indexMask;
+            }
+            index[bucket] = slot + 1;
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(long key) {
+            int bucket = find(key);
+            return bucket < 0 ? null : (V) values[index[bucket] - 1];
+        }
+
+        boolean remove(long key, V expected) {
+            int bucket = find(key);
+            if (bucket < 0 || values[index[bucket] - 1] != expected) {
+                return false;
+            }
+            // The ring slot stays allocated until it reaches the head.
+            values[index[bucket] - 1] = null;
+            live--;
+            deleteBucket(bucket);
+            return true;
+        }
+
+        void expire(long now) {
+            while (size > 0 && expiries[head] - now <= 0) {
+                removeHead();
+            }
+        }
+
+        private void removeHead() {
+            if (values[head] != null) {
+                int bucket = find(keys[head]);
+                if (bucket >= 0) {
+                    deleteBucket(bucket);
+                }
+                values[head] = null;
+                live--;
+            }
+            head = (head + 1) & ringMask;
+            size--;
+        }
+
+        private int find(long key) {
+            int bucket = bucketOf(key);
+            int slot;
+            while ((slot = index[bucket]) != 0) {
+                if (keys[slot - 1] == key && values[slot - 1] != null) {
+                    return bucket;
+                }
+                bucket = (bucket + 1) & indexMask;
+            }
+            return -1;
+        }
+
+        /**
+         * Backward-shift deletion: moves later entries of the probe run into
+         * the hole so lookups never need tombstones.
+         */
+        private void deleteBucket(int hole) {
+            int current = hole;
+            while (true) {
+                current = (current + 1) & indexMask;
+                int slot = index[current];
+                if (slot == 0) {
+                    break;
+                }
+                int home = bucketOf(keys[slot - 1]);
+                boolean movable = current > hole
+                        ? home <= hole || home > current
+                        : home <= hole && home > current;
+                if (movable) {
+                    index[hole] = slot;
+                    hole = current;
+                }
+            }
+            index[hole] = 0;
+        }
+
+        private int bucketOf(long key) {
+            return (int) NotificationFingerprint.mix(key) & indexMask;
+        }
+    }
+}
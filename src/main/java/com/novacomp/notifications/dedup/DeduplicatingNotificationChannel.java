@@ -0,0 +1,216 @@
+package com.novacomp.notifications.dedup;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorates any NotificationChannel so that a notification repeated within the
+ * dedup window gets the original result back instead of reaching the provider
+ * again. Notifications are matched by a content fingerprint or, when the
+ * caller has one, by an idempotency key.
+ * <p>
+ * A duplicate of a send that is still in flight waits for that send's outcome.
+ * Sends that throw are forgotten so the caller can retry them; so are failure
+ * results, unless {@code rememberFailures} is set.
+ */
+@Slf4j
+public class DeduplicatingNotificationChannel implements NotificationChannel {
+
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+    private final NotificationChannel delegate;
+    private final DedupCache<CompletableFuture<NotificationResult>> cache;
+    private final NotificationFingerprint fingerprint;
+    private final boolean rememberFailures;
+
+    public DeduplicatingNotificationChannel(NotificationChannel delegate, Duration window) {
+        this(delegate, new DedupCache<>(DEFAULT_MAX_ENTRIES, window), NotificationFingerprint.defaults(), false);
+    }
+
+    public DeduplicatingNotificationChannel(NotificationChannel delegate,
+            DedupCache<CompletableFuture<NotificationResult>> cache, NotificationFingerprint fingerprint,
+            boolean rememberFailures) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.fingerprint = fingerprint;
+        this.rememberFailures = rememberFailures;
+    }
+
+    @Override
+    public String getChannelName() {
+        return delegate.getChannelName();
+    }
+
+    @Override
+    public NotificationResult send(Notification notification) {
+        return send(notification, fingerprint.of(notification));
+    }
+
+    /**
+     * Sends, treating every notification with the same key as a duplicate
+     * regardless of its content.
+     */
+    public NotificationResult send(Notification notification, String idempotencyKey) {
+        return send(notification, NotificationFingerprint.ofKey(idempotencyKey));
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(Notification notification) {
+        return sendAsync(notification, fingerprint.of(notification));
+    }
+
+    public CompletableFuture<NotificationResult> sendAsync(Notification notification, String idempotencyKey) {
+        return sendAsync(notification, NotificationFingerprint.ofKey(idempotencyKey));
+    }
+
+    /**
+     * Sends the first occurrence of each fingerprint in one delegate batch and
+     * answers every other occurrence, in this batch or from the window, with
+     * the original result.
+     */
+    @Override
+    public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+        NotificationResult[] results = new NotificationResult[notifications.size()];
+        List<CompletableFuture<NotificationResult>> originals = new ArrayList<>(results.length);
+        List<Notification> fresh = new ArrayList<>(results.length);
+        long[] freshKeys = new long[results.length];
+        List<CompletableFuture<NotificationResult>> pending = new ArrayList<>(results.length);
+
+        for (Notification notification : notifications) {
+            long key = fingerprint.of(notification);
+            CompletableFuture<NotificationResult> mine = new CompletableFuture<>();
+            CompletableFuture<NotificationResult> existing = key == NotificationFingerprint.NONE
+                    ? null
+                    : cache.putIfAbsent(key, mine);
+            if (existing != null) {
+                originals.add(existing);
+            } else {
+                originals.add(mine);
+                freshKeys[fresh.size()] = key;
+                fresh.add(notification);
+                pending.add(mine);
+            }
+        }
+
+        if (!fresh.isEmpty()) {
+            List<NotificationResult> sent;
+            try {
+                sent = delegate.sendBatch(fresh);
+                if (sent.size() != fresh.size()) {
+                    throw new NotificationException(getChannelName() + " returned " + sent.size()
+                            + " results for " + fresh.size() + " notifications");
+                }
+            } catch (Throwable e) {
+                // Errors too: an original left incomplete in the window would
+                // block every duplicate of it until the entry expires.
+                for (int i = 0; i < pending.size(); i++) {
+                    forget(freshKeys[i], pending.get(i));
+                    pending.get(i).completeExceptionally(e);
+                }
+                throw e;
+            }
+            for (int i = 0; i < pending.size(); i++) {
+                complete(freshKeys[i], pending.get(i), sent.get(i));
+            }
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            results[i] = await(originals.get(i));
+        }
+        return Arrays.asList(results);
+    }
+
+    private NotificationResult send(Notification notification, long key) {
+        CompletableFuture<NotificationResult> mine = new CompletableFuture<>();
+        CompletableFuture<NotificationResult> existing = claim(key, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+        NotificationResult result;
+        try {
+            result = delegate.send(notification);
+        } catch (Throwable e) {
+            forget(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        complete(key, mine, result);
+        return result;
+    }
+
+    private CompletableFuture<NotificationResult> sendAsync(Notification notification, long key) {
+        CompletableFuture<NotificationResult> mine = new CompletableFuture<>();
+        CompletableFuture<NotificationResult> existing = claim(key, mine);
+        if (existing != null) {
+            return existing.copy();
+        }
+        CompletableFuture<NotificationResult> future;
+        try {
+            future = delegate.sendAsync(notification);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        } catch (Error e) {
+            forget(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                forget(key, mine);
+                mine.completeExceptionally(error);
+            } else {
+                complete(key, mine, result);
+            }
+        });
+        return mine.copy();
+    }
+
+    /**
+     * @return The in-flight or completed original for the key, or null if the
+     *         caller now owns the key.
+     */
+    private CompletableFuture<NotificationResult> claim(long key, CompletableFuture<NotificationResult> mine) {
+        if (key == NotificationFingerprint.NONE) {
+            return null;
+        }
+        CompletableFuture<NotificationResult> existing = cache.putIfAbsent(key, mine);
+        if (existing != null) {
+            log.debug("Suppressed duplicate {} notification", getChannelName());
+        }
+        return existing;
+    }
+
+    private void complete(long key, CompletableFuture<NotificationResult> mine, NotificationResult result) {
+        if (!result.success() && !rememberFailures) {
+            forget(key, mine);
+        }
+        mine.complete(result);
+    }
+
+    private void forget(long key, CompletableFuture<NotificationResult> mine) {
+        if (key != NotificationFingerprint.NONE) {
+            cache.remove(key, mine);
+        }
+    }
+
+    private NotificationResult await(CompletableFuture<NotificationResult> original) {
+        try {
+            return original.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NotificationException notificationException) {
+                throw notificationException;
+            }
+            throw new NotificationException("Original send failed via " + getChannelName(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.novacomp.notifications.dedup;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Computes a 64-bit content fingerprint of a notification: recipient and
+ * content fields hashed with FNV-1a and a final avalanche mix. Each
+ * notification type has its own fingerprint function, looked up by class;
+ * register one for custom types.
+ */
+public final class NotificationFingerprint {
+
+    /**
+     * Returned for notification types without a registered function; such
+     * notifications are never deduplicated.
+     */
+    public static final long NONE = 0;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<Class<?>, ToLongFunction<Notification>> functions = new ConcurrentHashMap<>();
+
+    /**
+     * @return Fingerprints for the built-in Email, SMS, Push and Slack types.
+     */
+    public static NotificationFingerprint defaults() {
+        return new NotificationFingerprint()
+                .register(EmailNotification.class, email -> {
+                    long h = hash(FNV_OFFSET, email.getTo());
+                    h = hash(h, email.getFrom());
+                    h = hash(h, email.getSubject());
+                    h = hash(h, email.getBody());
+                    h = hash(h, email.getCc().size());
+                    for (String cc : email.getCc()) {
+                        h = hash(h, cc);
+                    }
+                    h = hash(h, email.getBcc().size());
+                    for (String bcc : email.getBcc()) {
+                        h = hash(h, bcc);
+                    }
+                    h = hash(h, email.getAttachments().size());
+                    for (File attachment : email.getAttachments()) {
+                        h = hash(h, attachment.getPath());
+                    }
+                    return h;
+                })
+                .register(SmsNotification.class, sms -> hash(hash(FNV_OFFSET, sms.getPhoneNumber()), sms.getMessage()))
+                .register(PushNotification.class, push -> {
+                    long h = hash(FNV_OFFSET, push.getToken());
+                    h = hash(h, push.getTitle());
+                    h = hash(h, push.getBody());
+                    for (Map.Entry<String, String> entry : new TreeMap<>(push.getData()).entrySet()) {
+                        h = hash(hash(h, entry.getKey()), entry.getValue());
+                    }
+                    return h;
+                })
+                .register(SlackNotification.class, slack -> {
+                    long h = hash(FNV_OFFSET, slack.getChannel());
+                    h = hash(h, slack.getText());
+                    h = hash(h, slack.getUsername());
+                    return hash(h, slack.getIconEmoji());
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Notification> NotificationFingerprint register(Class<T> type, ToLongFunction<T> function) {
+        functions.put(type, (ToLongFunction<Notification>) function);
+        return this;
+    }
+
+    /**
+     * @return The notification's fingerprint, or {@link #NONE} if its type has
+     *         no registered function.
+     */
+    public long of(Notification notification) {
+        ToLongFunction<Notification> function = functions.get(notification.getClass());
+        if (function == null) {
+            return NONE;
+        }
+        return nonZero(mix(function.applyAsLong(notification)));
+    }
+
+    /**
+     * @return The fingerprint of a caller-supplied idempotency key.
+     */
+    public static long ofKey(String idempotencyKey) {
+        return nonZero(mix(hash(FNV_OFFSET, idempotencyKey)));
+    }
+
+    /**
+     * Folds a string into an FNV-1a hash. Null and empty strings hash
+     * differently, and a separator keeps ("ab", "c") apart from ("a", "bc").
+     */
+    static long hash(long h, String value) {
+        if (value == null) {
+            return (h ^ 0xFF) * FNV_PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            h = (h ^ (c & 0xFF)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return (h ^ 0xFE) * FNV_PRIME;
+    }
+
+    /**
+     * Folds a list size into an FNV-1a hash, so that consecutive lists cannot
+     * trade elements: ([a], []) and ([], [a]) hash differently.
+     */
+    static long hash(long h, int size) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            h = (h ^ (size >>> shift & 0xFF)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    /**
+     * Final avalanche step of MurmurHash3 so every input bit affects every
+     * output bit.
+     */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static long nonZero(long fingerprint) {
+        return fingerprint == NONE ? 1 : fingerprint;
+    }
+}
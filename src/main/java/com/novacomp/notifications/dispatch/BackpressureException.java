@@ -0,0 +1,13 @@
+package com.novacomp.notifications.dispatch;
+
+import com.novacomp.notifications.api.NotificationException;
+
+/**
+ * Signals that a notification was not accepted (or was evicted) because a
+ * bounded queue in front of a channel was full.
+ */
+public class BackpressureException extends NotificationException {
+    public BackpressureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,207 @@
+package com.novacomp.notifications.dispatch;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Library-owned executor for asynchronous sends.
+ * Every send runs on its own virtual thread, so blocking provider I/O never
+ * pins a platform thread. A per-channel semaphore caps how many sends of the
+ * same channel may be in flight at once; callers beyond the cap park cheaply
+ * on their virtual thread until a permit frees up.
+ */
+@Slf4j
+public final class NotificationDispatcher implements AutoCloseable {
+
+    /**
+     * Concurrency limit applied to channels without an explicit limit.
+     */
+    public static final int DEFAULT_CONCURRENCY_LIMIT = 1000;
+
+    private final ExecutorService executor;
+    private final Map<String, Integer> concurrencyLimits;
+    private final int defaultConcurrencyLimit;
+    private final ConcurrentHashMap<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    private static volatile NotificationDispatcher defaultInstance;
+
+    private NotificationDispatcher(Builder builder) {
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(builder.threadNamePrefix, 0).factory());
+        this.concurrencyLimits = Map.copyOf(builder.concurrencyLimits);
+        this.defaultConcurrencyLimit = builder.defaultConcurrencyLimit;
+    }
+
+    /**
+     * @return The shared dispatcher used by {@link NotificationChannel#sendAsync(Notification)}.
+     *         It lives for the whole JVM and must not be closed. Unless one
+     *         was installed with {@link #setDefault}, it is created on first
+     *         use with the builder's defaults.
+     */
+    public static NotificationDispatcher getDefault() {
+        NotificationDispatcher dispatcher = defaultInstance;
+        return dispatcher != null ? dispatcher : installDefault(null);
+    }
+
+    /**
+     * Installs the dispatcher behind {@link NotificationChannel#sendAsync(Notification)}
+     * and the blocking-provider adapters, e.g. to set per-channel concurrency
+     * limits. Call once at startup, before any asynchronous send.
+     *
+     * @throws IllegalStateException if the default dispatcher is already in use.
+     */
+    public static void setDefault(NotificationDispatcher dispatcher) {
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("Dispatcher cannot be null");
+        }
+        if (installDefault(dispatcher) != dispatcher) {
+            throw new IllegalStateException("The default dispatcher is already in use");
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Sends a notification on a virtual thread, honouring the channel's
+     * concurrency limit.
+     *
+     * @param channel      The channel to send through.
+     * @param notification The notification to send.
+     * @return A CompletableFuture that will complete with the result of the
+     *         operation.
+     */
+    public CompletableFuture<NotificationResult> dispatch(NotificationChannel channel, Notification notification) {
+        return submit(channel.getChannelName(), () -> channel.send(notification));
+    }
+
+    /**
+     * Runs an arbitrary blocking task on a virtual thread, counted against the
+     * given channel's concurrency limit.
+     *
+     * @param channelName The channel whose limit applies.
+     * @param task        The task to run.
+     * @return A CompletableFuture that will complete with the task's result.
+     */
+    public <T> CompletableFuture<T> submit(String channelName, Supplier<T> task) {
+        Semaphore semaphore = permits.computeIfAbsent(channelName, this::newSemaphore);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                semaphore.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NotificationException("Interrupted while waiting for a " + channelName + " dispatch permit", e);
+            }
+            try {
+                return task.get();
+            } finally {
+                semaphore.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Like {@link #submit}, for tasks that throw checked exceptions; those
+     * complete the future exceptionally with the original exception as cause.
+     */
+    public <T> CompletableFuture<T> call(String channelName, Callable<T> task) {
+        return submit(channelName, () -> {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * @return The number of additional sends the channel may start right now.
+     */
+    public int availablePermits(String channelName) {
+        return permits.computeIfAbsent(channelName, this::newSemaphore).availablePermits();
+    }
+
+    /**
+     * Stops accepting new sends and waits for the in-flight ones to finish.
+     */
+    @Override
+    public void close() {
+        log.info("Closing notification dispatcher");
+        executor.close();
+    }
+
+    private Semaphore newSemaphore(String channelName) {
+        return new Semaphore(concurrencyLimits.getOrDefault(channelName, defaultConcurrencyLimit), true);
+    }
+
+    /**
+     * @return The default dispatcher: the given one if none was set yet, a
+     *         new one with the builder's defaults if that is null too.
+     */
+    private static synchronized NotificationDispatcher installDefault(NotificationDispatcher dispatcher) {
+        if (defaultInstance == null) {
+            defaultInstance = dispatcher != null ? dispatcher : builder().build();
+        }
+        return defaultInstance;
+    }
+
+    /**
+     * Builder for {@link NotificationDispatcher}.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> concurrencyLimits = new HashMap<>();
+        private int defaultConcurrencyLimit = DEFAULT_CONCURRENCY_LIMIT;
+        private String threadNamePrefix = "notification-dispatch-";
+
+        private Builder() {
+        }
+
+        /**
+         * Caps the in-flight sends of one channel (e.g. "SMS").
+         */
+        public Builder concurrencyLimit(String channelName, int limit) {
+            concurrencyLimits.put(channelName, requirePositive(limit));
+            return this;
+        }
+
+        /**
+         * Caps the in-flight sends of every channel without an explicit limit.
+         */
+        public Builder defaultConcurrencyLimit(int limit) {
+            this.defaultConcurrencyLimit = requirePositive(limit);
+            return this;
+        }
+
+        public Builder threadNamePrefix(String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+            return this;
+        }
+
+        public NotificationDispatcher build() {
+            return new NotificationDispatcher(this);
+        }
+
+        private static int requirePositive(int limit) {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Concurrency limit must be positive: " + limit);
+            }
+            return limit;
+        }
+    }
+}
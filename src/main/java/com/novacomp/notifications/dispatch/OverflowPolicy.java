@@ -0,0 +1,21 @@
+package com.novacomp.notifications.dispatch;
+
+/**
+ * What a {@link QueuedNotificationChannel} does when its buffer is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * The caller waits until a drain worker frees a slot.
+     */
+    BLOCK,
+    /**
+     * The oldest queued notification is evicted and its future fails with a
+     * {@link BackpressureException}; the new one is accepted.
+     */
+    DROP_OLDEST,
+    /**
+     * The new notification is refused and its future fails immediately with a
+     * {@link BackpressureException}.
+     */
+    REJECT
+}
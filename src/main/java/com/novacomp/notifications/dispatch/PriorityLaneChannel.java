@@ -0,0 +1,496 @@
+package com.novacomp.notifications.dispatch;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.Priority;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorates a NotificationChannel with one bounded queue (lane) per
+ * {@link Priority}, so that transactional messages such as one-time
+ * passwords are not stuck behind a bulk campaign.
+ * <p>
+ * A scheduler thread hands batches from the lanes to the delegate's
+ * {@link NotificationChannel#sendBatch}, with at most {@code concurrency}
+ * batches in flight. Each lane may reserve some of those slots: reserved
+ * slots are only used by their lane, the rest are shared. A lane with a free
+ * reserved slot can therefore always send at once, however much bulk traffic
+ * is queued, while bulk traffic uses the shared capacity. Among the lanes
+ * that can send, the {@link SchedulingMode} picks the next one.
+ * <p>
+ * A full lane refuses notifications sent with {@link #sendAsync} with a
+ * {@link BackpressureException} instead of blocking the caller;
+ * {@link #sendBatch} waits a bounded time for lane space instead.
+ */
+@Slf4j
+public class PriorityLaneChannel implements NotificationChannel, AutoCloseable {
+
+    public static final int DEFAULT_CONCURRENCY = 16;
+    public static final int DEFAULT_LANE_CAPACITY = 10_000;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final Duration DEFAULT_BATCH_ENQUEUE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final NotificationChannel delegate;
+    private final SchedulingMode mode;
+    private final int maxBatchSize;
+    private final long batchEnqueueTimeoutNanos;
+    /**
+     * Indexed by {@link Priority#ordinal()}, most urgent first.
+     */
+    private final Lane[] lanes;
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Signalled when a lane gains notifications or space, a slot frees up or
+     * the channel closes; the scheduler and batch callers waiting for lane
+     * space share it, so it is always signalled with signalAll.
+     */
+    private final Condition changed = lock.newCondition();
+    private final ExecutorService executor;
+    private final Thread scheduler;
+    private int sharedFree;
+    private boolean closed;
+
+    private PriorityLaneChannel(Builder builder) {
+        this.delegate = builder.delegate;
+        this.mode = builder.mode;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.batchEnqueueTimeoutNanos = builder.batchEnqueueTimeout.toNanos();
+        Priority[] priorities = Priority.values();
+        this.lanes = new Lane[priorities.length];
+        int reservedTotal = 0;
+        for (Priority priority : priorities) {
+            int reserved = builder.reserved(priority);
+            int capacity = builder.capacities.getOrDefault(priority, DEFAULT_LANE_CAPACITY);
+            lanes[priority.ordinal()] = new Lane(priority, capacity, builder.weights.get(priority), reserved);
+            reservedTotal += reserved;
+        }
+        this.sharedFree = builder.concurrency - reservedTotal;
+        String name = delegate.getChannelName();
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("notification-lane-" + name + "-", 0).factory());
+        this.scheduler = Thread.ofVirtual().name("notification-lanes-" + name).start(this::schedule);
+    }
+
+    public static Builder builder(NotificationChannel delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public String getChannelName() {
+        return delegate.getChannelName();
+    }
+
+    /**
+     * Enqueues the notification in its lane and waits for its result.
+     */
+    @Override
+    public NotificationResult send(Notification notification) {
+        try {
+            return sendAsync(notification).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NotificationException notificationException) {
+                throw notificationException;
+            }
+            throw new NotificationException("Failed to send via " + getChannelName(), e.getCause());
+        }
+    }
+
+    /**
+     * Enqueues the notification in the lane of its priority; notifications
+     * without one go to the {@link Priority#NORMAL} lane.
+     *
+     * @return A future completed once the delegate has sent the notification,
+     *         or a future already failed with a {@link BackpressureException}
+     *         if the lane is full.
+     */
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(Notification notification) {
+        return enqueue(notification, System.nanoTime());
+    }
+
+    /**
+     * Enqueues every notification in its lane and waits for all of them. A
+     * notification whose lane is full waits for space, sharing one
+     * {@code batchEnqueueTimeout} with the rest of the batch.
+     *
+     * @return One result per notification, in iteration order; notifications
+     *         that were refused or failed get a failure result.
+     */
+    @Override
+    public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+        long deadline = System.nanoTime() + batchEnqueueTimeoutNanos;
+        List<CompletableFuture<NotificationResult>> futures = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            futures.add(enqueue(notification, deadline));
+        }
+        List<NotificationResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<NotificationResult> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                results.add(NotificationResult.failure(getChannelName(), null, e.getCause().getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Enqueues the notification, waiting until {@code deadline} (a
+     * {@link System#nanoTime()} value) while its lane is full.
+     */
+    private CompletableFuture<NotificationResult> enqueue(Notification notification, long deadline) {
+        Priority priority = notification.getPriority() != null ? notification.getPriority() : Priority.NORMAL;
+        Lane lane = lanes[priority.ordinal()];
+        Pending pending = new Pending(notification, new CompletableFuture<>());
+        lock.lock();
+        try {
+            long remaining = deadline - System.nanoTime();
+            while (!closed && lane.queue.size() >= lane.capacity && remaining > 0) {
+                remaining = changed.awaitNanos(remaining);
+            }
+            if (closed) {
+                pending.future().completeExceptionally(
+                        new NotificationException(getChannelName() + " priority lanes are closed"));
+            } else if (lane.queue.size() >= lane.capacity) {
+                pending.future().completeExceptionally(new BackpressureException(
+                        getChannelName() + " " + priority + " lane is full (capacity " + lane.capacity + ")"));
+            } else {
+                lane.queue.add(pending);
+                changed.signalAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future().completeExceptionally(
+                    new NotificationException("Interrupted while waiting for " + priority + " lane space", e));
+        } finally {
+            lock.unlock();
+        }
+        return pending.future();
+    }
+
+    /**
+     * @return The number of notifications waiting in all lanes.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            int size = 0;
+            for (Lane lane : lanes) {
+                size += lane.queue.size();
+            }
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of notifications waiting in the priority's lane.
+     */
+    public int size(Priority priority) {
+        lock.lock();
+        try {
+            return lanes[priority.ordinal()].queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of notifications of the priority handed to the
+     *         delegate so far.
+     */
+    public long dispatched(Priority priority) {
+        lock.lock();
+        try {
+            return lanes[priority.ordinal()].dispatched;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting notifications, sends what is already queued and waits
+     * for the delegate to finish.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            scheduler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.close();
+        log.info("{} priority lanes closed", getChannelName());
+    }
+
+    private void schedule() {
+        lock.lock();
+        try {
+            while (true) {
+                Lane lane = next();
+                if (lane == null) {
+                    if (closed && size() == 0) {
+                        return;
+                    }
+                    changed.await();
+                    continue;
+                }
+                boolean reserved = lane.reservedInUse < lane.reserved;
+                if (reserved) {
+                    lane.reservedInUse++;
+                } else {
+                    sharedFree--;
+                }
+                List<Pending> batch = new ArrayList<>(Math.min(maxBatchSize, lane.queue.size()));
+                while (batch.size() < maxBatchSize && !lane.queue.isEmpty()) {
+                    batch.add(lane.queue.poll());
+                }
+                lane.dispatched += batch.size();
+                changed.signalAll();
+                executor.execute(() -> deliver(lane, reserved, batch));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The lane to send from next, or null if no lane has both queued
+     *         notifications and a free slot.
+     */
+    private Lane next() {
+        if (mode == SchedulingMode.STRICT_PRIORITY) {
+            for (Lane lane : lanes) {
+                if (canSend(lane)) {
+                    return lane;
+                }
+            }
+            return null;
+        }
+        Lane selected = null;
+        int totalWeight = 0;
+        for (Lane lane : lanes) {
+            if (canSend(lane)) {
+                lane.currentWeight += lane.weight;
+                totalWeight += lane.weight;
+                if (selected == null || lane.currentWeight > selected.currentWeight) {
+                    selected = lane;
+                }
+            }
+        }
+        if (selected != null) {
+            selected.currentWeight -= totalWeight;
+        }
+        return selected;
+    }
+
+    private boolean canSend(Lane lane) {
+        return !lane.queue.isEmpty() && (lane.reservedInUse < lane.reserved || sharedFree > 0);
+    }
+
+    private void deliver(Lane lane, boolean reserved, List<Pending> batch) {
+        try {
+            List<Notification> notifications = new ArrayList<>(batch.size());
+            for (Pending pending : batch) {
+                notifications.add(pending.notification());
+            }
+            List<NotificationResult> results = delegate.sendBatch(notifications);
+            if (results.size() != batch.size()) {
+                throw new NotificationException(getChannelName() + " returned " + results.size()
+                        + " results for " + batch.size() + " notifications");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(results.get(i));
+            }
+        } catch (Throwable e) {
+            // Errors are caught too so the callers are not left waiting;
+            // they are rethrown once the batch's futures have been failed.
+            log.error("Failed to deliver {} {} notifications from the {} lane", batch.size(), getChannelName(),
+                    lane.priority, e);
+            for (Pending pending : batch) {
+                pending.future().completeExceptionally(e);
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            lock.lock();
+            try {
+                if (reserved) {
+                    lane.reservedInUse--;
+                } else {
+                    sharedFree++;
+                }
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Queue and slot accounting of one priority; guarded by the lock.
+     */
+    private static final class Lane {
+        private final Priority priority;
+        private final int capacity;
+        private final int weight;
+        private final int reserved;
+        private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+        private int reservedInUse;
+        private int currentWeight;
+        private long dispatched;
+
+        Lane(Priority priority, int capacity, int weight, int reserved) {
+            this.priority = priority;
+            this.capacity = capacity;
+            this.weight = weight;
+            this.reserved = reserved;
+        }
+    }
+
+    private record Pending(Notification notification, CompletableFuture<NotificationResult> future) {
+    }
+
+    /**
+     * Builder for {@link PriorityLaneChannel}.
+     */
+    public static final class Builder {
+        private final NotificationChannel delegate;
+        private SchedulingMode mode = SchedulingMode.WEIGHTED_FAIR;
+        private int concurrency = DEFAULT_CONCURRENCY;
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private final Map<Priority, Integer> capacities = new EnumMap<>(Priority.class);
+        private final Map<Priority, Integer> weights = new EnumMap<>(Map.of(
+                Priority.TRANSACTIONAL, 8, Priority.NORMAL, 3, Priority.BULK, 1));
+        private final Map<Priority, Integer> reserved = new EnumMap<>(Priority.class);
+        private Duration batchEnqueueTimeout = DEFAULT_BATCH_ENQUEUE_TIMEOUT;
+
+        private Builder(NotificationChannel delegate) {
+            if (delegate == null) {
+                throw new IllegalArgumentException("Delegate channel cannot be null");
+            }
+            this.delegate = delegate;
+        }
+
+        public Builder mode(SchedulingMode mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        /**
+         * Maximum number of batches in flight at once, across all lanes.
+         */
+        public Builder concurrency(int concurrency) {
+            this.concurrency = requirePositive("Concurrency", concurrency);
+            return this;
+        }
+
+        /**
+         * Maximum number of notifications handed to the delegate's
+         * {@link NotificationChannel#sendBatch} at once.
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = requirePositive("Max batch size", maxBatchSize);
+            return this;
+        }
+
+        /**
+         * Notifications the lane holds before refusing more.
+         */
+        public Builder capacity(Priority priority, int capacity) {
+            capacities.put(priority, requirePositive("Capacity", capacity));
+            return this;
+        }
+
+        /**
+         * How long {@link PriorityLaneChannel#sendBatch} waits in total for
+         * space in full lanes before refusing the rest of the batch.
+         */
+        public Builder batchEnqueueTimeout(Duration batchEnqueueTimeout) {
+            if (batchEnqueueTimeout == null || batchEnqueueTimeout.isNegative()) {
+                throw new IllegalArgumentException(
+                        "Batch enqueue timeout must not be negative: " + batchEnqueueTimeout);
+            }
+            this.batchEnqueueTimeout = batchEnqueueTimeout;
+            return this;
+        }
+
+        /**
+         * Share of the turns the lane gets in {@link SchedulingMode#WEIGHTED_FAIR}
+         * mode. Defaults to 8, 3 and 1 for transactional, normal and bulk.
+         */
+        public Builder weight(Priority priority, int weight) {
+            weights.put(priority, requirePositive("Weight", weight));
+            return this;
+        }
+
+        /**
+         * In-flight slots only the lane may use. By default a quarter of the
+         * concurrency is reserved for {@link Priority#TRANSACTIONAL}.
+         */
+        public Builder reserve(Priority priority, int slots) {
+            if (slots < 0) {
+                throw new IllegalArgumentException("Reserved slots must not be negative: " + slots);
+            }
+            reserved.put(priority, slots);
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the reserved slots leave no
+         *                                  shared capacity.
+         */
+        public PriorityLaneChannel build() {
+            int total = 0;
+            for (Priority priority : Priority.values()) {
+                total += reserved(priority);
+            }
+            if (total >= concurrency) {
+                throw new IllegalArgumentException("Reserved slots (" + total
+                        + ") must leave shared capacity within a concurrency of " + concurrency);
+            }
+            return new PriorityLaneChannel(this);
+        }
+
+        private int reserved(Priority priority) {
+            Integer slots = reserved.get(priority);
+            if (slots != null) {
+                return slots;
+            }
+            return priority == Priority.TRANSACTIONAL ? concurrency / 4 : 0;
+        }
+
+        private static int requirePositive(String name, int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive: " + value);
+            }
+            return value;
+        }
+    }
+}
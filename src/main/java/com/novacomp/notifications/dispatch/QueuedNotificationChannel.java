@@ -0,0 +1,277 @@
+package com.novacomp.notifications.dispatch;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorates any NotificationChannel with a bounded in-memory queue.
+ * {@link #sendAsync(Notification)} returns as soon as the notification is
+ * buffered; a pool of drain workers takes queued notifications in chunks and
+ * hands them to the delegate's batch path. When the buffer is full the
+ * configured {@link OverflowPolicy} decides whether the caller waits, the
+ * oldest entry is evicted or the new entry is rejected.
+ */
+@Slf4j
+public class QueuedNotificationChannel implements NotificationChannel, AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+    public static final int DEFAULT_WORKERS = 4;
+    public static final int DEFAULT_DRAIN_BATCH_SIZE = 100;
+
+    private final NotificationChannel delegate;
+    private final OverflowPolicy overflowPolicy;
+    private final int drainBatchSize;
+    private final RingBuffer<Pending> buffer;
+    private final List<Thread> workers;
+    private final AtomicInteger running;
+
+    private QueuedNotificationChannel(Builder builder) {
+        this.delegate = builder.delegate;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.drainBatchSize = builder.drainBatchSize;
+        this.buffer = new RingBuffer<>(builder.capacity);
+        this.workers = new ArrayList<>(builder.workers);
+        this.running = new AtomicInteger(builder.workers);
+        Thread.Builder threads = Thread.ofVirtual().name("notification-queue-" + delegate.getChannelName() + "-", 0);
+        for (int i = 0; i < builder.workers; i++) {
+            workers.add(threads.start(this::drain));
+        }
+    }
+
+    public static Builder builder(NotificationChannel delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public String getChannelName() {
+        return delegate.getChannelName();
+    }
+
+    /**
+     * Enqueues the notification and waits for its result.
+     */
+    @Override
+    public NotificationResult send(Notification notification) {
+        try {
+            return sendAsync(notification).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NotificationException notificationException) {
+                throw notificationException;
+            }
+            throw new NotificationException("Failed to send via " + getChannelName(), e.getCause());
+        }
+    }
+
+    /**
+     * Enqueues the notification according to the overflow policy.
+     *
+     * @return A future completed by a drain worker, or a future already failed
+     *         with a {@link BackpressureException} if the queue refused the
+     *         notification.
+     */
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(Notification notification) {
+        Pending pending = new Pending(notification, new CompletableFuture<>());
+        try {
+            switch (overflowPolicy) {
+                case BLOCK -> buffer.put(pending);
+                case DROP_OLDEST -> {
+                    Pending evicted = buffer.offerEvictingOldest(pending);
+                    if (evicted != null) {
+                        evicted.future().completeExceptionally(new BackpressureException(
+                                getChannelName() + " queue is full; notification evicted by a newer one"));
+                    }
+                }
+                case REJECT -> {
+                    if (!buffer.offer(pending)) {
+                        pending.future().completeExceptionally(new BackpressureException(
+                                getChannelName() + " queue is full (capacity " + buffer.capacity() + ")"));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future().completeExceptionally(
+                    new NotificationException("Interrupted while waiting for " + getChannelName() + " queue space", e));
+        } catch (IllegalStateException e) {
+            pending.future().completeExceptionally(new NotificationException(getChannelName() + " queue is closed", e));
+        }
+        return pending.future();
+    }
+
+    /**
+     * Enqueues every notification and then waits for all of them, so the
+     * drain workers can hand them to the delegate in chunks.
+     *
+     * @return One result per notification, in iteration order; notifications
+     *         that were refused or failed get a failure result.
+     */
+    @Override
+    public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+        List<CompletableFuture<NotificationResult>> futures = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            futures.add(sendAsync(notification));
+        }
+        List<NotificationResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<NotificationResult> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                results.add(NotificationResult.failure(getChannelName(), null, e.getCause().getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return The number of notifications waiting for a drain worker.
+     */
+    public int size() {
+        return buffer.size();
+    }
+
+    /**
+     * Stops accepting notifications, lets the workers drain what is already
+     * queued and waits for them to finish.
+     */
+    @Override
+    public void close() {
+        buffer.close();
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("{} queue closed", getChannelName());
+    }
+
+    /**
+     * Runs until the buffer is closed and empty or the worker is interrupted.
+     * The last worker to exit closes the buffer and fails whatever is still
+     * queued, so no caller waits on a future nobody will complete.
+     */
+    private void drain() {
+        List<Pending> chunk = new ArrayList<>(drainBatchSize);
+        List<Notification> notifications = new ArrayList<>(drainBatchSize);
+        try {
+            while (buffer.drainTo(chunk, drainBatchSize) > 0) {
+                for (Pending pending : chunk) {
+                    notifications.add(pending.notification());
+                }
+                deliver(chunk, notifications);
+                chunk.clear();
+                notifications.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (running.decrementAndGet() == 0) {
+                abandonQueued();
+            }
+        }
+    }
+
+    private void deliver(List<Pending> chunk, List<Notification> notifications) {
+        try {
+            List<NotificationResult> results = delegate.sendBatch(notifications);
+            if (results.size() != chunk.size()) {
+                throw new NotificationException(getChannelName() + " returned " + results.size()
+                        + " results for " + chunk.size() + " notifications");
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).future().complete(results.get(i));
+            }
+        } catch (Throwable e) {
+            // Errors are caught too so the callers are not left waiting;
+            // they are rethrown once the chunk's futures have been failed.
+            log.error("Failed to deliver {} queued {} notifications", chunk.size(), getChannelName(), e);
+            for (Pending pending : chunk) {
+                pending.future().completeExceptionally(e);
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private void abandonQueued() {
+        List<Pending> abandoned = new ArrayList<>();
+        buffer.closeAndDrainTo(abandoned);
+        if (abandoned.isEmpty()) {
+            return;
+        }
+        log.warn("{} queue workers stopped with {} notifications queued", getChannelName(), abandoned.size());
+        NotificationException failure = new NotificationException(
+                getChannelName() + " queue workers stopped before the notification was sent");
+        for (Pending pending : abandoned) {
+            pending.future().completeExceptionally(failure);
+        }
+    }
+
+    private record Pending(Notification notification, CompletableFuture<NotificationResult> future) {
+    }
+
+    /**
+     * Builder for {@link QueuedNotificationChannel}.
+     */
+    public static final class Builder {
+        private final NotificationChannel delegate;
+        private int capacity = DEFAULT_CAPACITY;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private int workers = DEFAULT_WORKERS;
+        private int drainBatchSize = DEFAULT_DRAIN_BATCH_SIZE;
+
+        private Builder(NotificationChannel delegate) {
+            if (delegate == null) {
+                throw new IllegalArgumentException("Delegate channel cannot be null");
+            }
+            this.delegate = delegate;
+        }
+
+        public Builder capacity(int capacity) {
+            this.capacity = requirePositive("Capacity", capacity);
+            return this;
+        }
+
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        public Builder workers(int workers) {
+            this.workers = requirePositive("Workers", workers);
+            return this;
+        }
+
+        /**
+         * Maximum number of notifications a worker hands to the delegate's
+         * {@link NotificationChannel#sendBatch} at once.
+         */
+        public Builder drainBatchSize(int drainBatchSize) {
+            this.drainBatchSize = requirePositive("Drain batch size", drainBatchSize);
+            return this;
+        }
+
+        public QueuedNotificationChannel build() {
+            return new QueuedNotificationChannel(this);
+        }
+
+        private static int requirePositive(String name, int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive: " + value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.novacomp.notifications.dispatch;
+
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-capacity FIFO ring buffer shared by producers and drain workers.
+ * Unlike {@link java.util.concurrent.ArrayBlockingQueue} it can atomically
+ * evict the oldest element to make room for a new one.
+ */
+final class RingBuffer<T> {
+
+    private final Object[] items;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private int head;
+    private int count;
+    private boolean closed;
+
+    RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.items = new Object[capacity];
+    }
+
+    /**
+     * @return true if the element was added, false if the buffer is full.
+     */
+    boolean offer(T item) {
+        lock.lock();
+        try {
+            ensureOpen();
+            if (count == items.length) {
+                return false;
+            }
+            enqueue(item);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the element, waiting for a free slot if necessary.
+     */
+    void put(T item) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            ensureOpen();
+            while (count == items.length) {
+                notFull.await();
+                ensureOpen();
+            }
+            enqueue(item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the element, evicting the oldest one if the buffer is full.
+     *
+     * @return The evicted element, or null if nothing had to be evicted.
+     */
+    T offerEvictingOldest(T item) {
+        lock.lock();
+        try {
+            ensureOpen();
+            T evicted = count == items.length ? dequeue() : null;
+            enqueue(item);
+            return evicted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves up to {@code max} elements into {@code sink}, waiting until at least
+     * one is available.
+     *
+     * @return The number of elements moved; 0 once the buffer is closed and empty.
+     */
+    int drainTo(List<T> sink, int max) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (closed) {
+                    return 0;
+                }
+                notEmpty.await();
+            }
+            int drained = Math.min(max, count);
+            for (int i = 0; i < drained; i++) {
+                sink.add(dequeue());
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Refuses further elements and wakes up every waiting thread. Elements
+     * already buffered can still be drained.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the buffer and moves every remaining element into {@code sink}
+     * without waiting, even if the calling thread is interrupted.
+     */
+    void closeAndDrainTo(List<T> sink) {
+        lock.lock();
+        try {
+            closed = true;
+            while (count > 0) {
+                sink.add(dequeue());
+            }
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int capacity() {
+        return items.length;
+    }
+
+    private void enqueue(T item) {
+        items[(head + count) % items.length] = item;
+        count++;
+        notEmpty.signal();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T dequeue() {
+        T item = (T) items[head];
+        items[head] = null;
+        head = (head + 1) % items.length;
+        count--;
+        notFull.signal();
+        return item;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+}
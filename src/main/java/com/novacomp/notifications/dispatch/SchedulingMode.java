@@ -0,0 +1,19 @@
+package com.novacomp.notifications.dispatch;
+
+/**
+ * How a {@link PriorityLaneChannel} picks the next lane to send from.
+ */
+public enum SchedulingMode {
+    /**
+     * Always the most urgent lane with queued notifications. Lower lanes only
+     * send while the higher ones are empty, so sustained urgent traffic can
+     * starve them.
+     */
+    STRICT_PRIORITY,
+    /**
+     * Lanes take turns in proportion to their weights (smooth weighted round
+     * robin over batches), so every lane with queued notifications keeps
+     * making progress.
+     */
+    WEIGHTED_FAIR
+}
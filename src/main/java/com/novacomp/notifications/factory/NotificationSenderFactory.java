@@ -1,6 +1,11 @@
 package com.novacomp.notifications.factory;
 
 import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.balancer.FailoverEmailProvider;
+import com.novacomp.notifications.balancer.FailoverPushProvider;
+import com.novacomp.notifications.balancer.FailoverSlackProvider;
+import com.novacomp.notifications.balancer.FailoverSmsProvider;
+import com.novacomp.notifications.balancer.ProviderPool;
 import com.novacomp.notifications.channel.email.EmailSender;
 import com.novacomp.notifications.channel.email.EmailProvider;
 import com.novacomp.notifications.channel.sms.SmsSender;
@@ -9,6 +14,7 @@ import com.novacomp.notifications.channel.push.PushSender;
 import com.novacomp.notifications.channel.push.PushProvider;
 import com.novacomp.notifications.channel.slack.SlackSender;
 import com.novacomp.notifications.channel.slack.SlackProvider;
+import com.novacomp.notifications.routing.NotificationRouter;
 
 /**
  * Factory class to create Notification Channels.
@@ -20,15 +26,45 @@ public class NotificationSenderFactory {
         return new EmailSender(provider);
     }
 
+    public static NotificationChannel createEmailChannel(ProviderPool<EmailProvider> providers) {
+        return new EmailSender(new FailoverEmailProvider(providers));
+    }
+
     public static NotificationChannel createSmsChannel(SmsProvider provider) {
         return new SmsSender(provider);
     }
 
+    public static NotificationChannel createSmsChannel(ProviderPool<SmsProvider> providers) {
+        return new SmsSender(new FailoverSmsProvider(providers));
+    }
+
     public static NotificationChannel createPushChannel(PushProvider provider) {
         return new PushSender(provider);
     }
 
+    public static NotificationChannel createPushChannel(ProviderPool<PushProvider> providers) {
+        return new PushSender(new FailoverPushProvider(providers));
+    }
+
     public static NotificationChannel createSlackChannel(SlackProvider provider) {
         return new SlackSender(provider);
     }
+
+    public static NotificationChannel createSlackChannel(ProviderPool<SlackProvider> providers) {
+        return new SlackSender(new FailoverSlackProvider(providers));
+    }
+
+    /**
+     * @return One channel for all four notification types, routing each
+     *         notification to the sender for its type.
+     */
+    public static NotificationRouter createRouter(EmailProvider email, SmsProvider sms, PushProvider push,
+            SlackProvider slack) {
+        return NotificationRouter.builder()
+                .email(new EmailSender(email))
+                .sms(new SmsSender(sms))
+                .push(new PushSender(push))
+                .slack(new SlackSender(slack))
+                .build();
+    }
 }
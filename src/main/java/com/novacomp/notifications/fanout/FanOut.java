@@ -0,0 +1,86 @@
+package com.novacomp.notifications.fanout;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends a {@link FanOutRequest} through a channel on the calling thread, one
+ * chunk at a time through {@link NotificationChannel#sendBatch}. Results are
+ * handed to the listener and then dropped, so nothing accumulates across
+ * chunks.
+ */
+@Slf4j
+public final class FanOut {
+
+    private FanOut() {
+    }
+
+    /**
+     * Sends one message to every recipient of the request, expanding the
+     * recipients lazily and handing them to the channel's
+     * {@link NotificationChannel#sendBatch} one chunk at a time.
+     *
+     * @param request  The shared payload and its recipient stream.
+     * @param listener Receives the result for each recipient.
+     * @return Totals for the whole fan-out.
+     */
+    public static <R, N extends Notification> FanOutSummary send(NotificationChannel channel,
+            FanOutRequest<R, N> request, FanOutListener<? super R> listener) {
+        Spliterator<R> source = request.recipients();
+        long recipients = 0;
+        long succeeded = 0;
+        List<R> chunk = new ArrayList<>(request.chunkSize());
+        while (request.nextChunk(source, chunk)) {
+            List<NotificationResult> results = sendChunk(channel, request.expandAll(chunk));
+            for (int i = 0; i < chunk.size(); i++) {
+                NotificationResult result = results.get(i);
+                if (result.success()) {
+                    succeeded++;
+                }
+                listener.onResult(chunk.get(i), result);
+            }
+            recipients += chunk.size();
+            chunk.clear();
+        }
+        return new FanOutSummary(recipients, succeeded, recipients - succeeded);
+    }
+
+    /**
+     * Sends a fan-out request, keeping only the totals.
+     */
+    public static FanOutSummary send(NotificationChannel channel, FanOutRequest<?, ?> request) {
+        return send(channel, request, FanOutListener.ignore());
+    }
+
+    /**
+     * Expands and sends one chunk. An exception from the channel, or a result
+     * list of the wrong length, fails every recipient of the chunk instead of
+     * aborting the whole fan-out.
+     */
+    static List<NotificationResult> sendChunk(NotificationChannel channel,
+            List<? extends Notification> notifications) {
+        try {
+            List<NotificationResult> results = channel.sendBatch(notifications);
+            if (results.size() != notifications.size()) {
+                throw new NotificationException(channel.getChannelName() + " returned " + results.size()
+                        + " results for " + notifications.size() + " notifications");
+            }
+            return results;
+        } catch (RuntimeException e) {
+            log.error("Fan-out chunk of {} failed on {}", notifications.size(), channel.getChannelName(), e);
+            NotificationResult failure = NotificationResult.failure(channel.getChannelName(), null,
+                    "Fan-out chunk failed: " + e.getMessage());
+            List<NotificationResult> failures = new ArrayList<>(notifications.size());
+            for (int i = 0; i < notifications.size(); i++) {
+                failures.add(failure);
+            }
+            return failures;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.novacomp.notifications.fanout;
+
+import com.novacomp.notifications.api.NotificationResult;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Handle of a fan-out running on a {@link ParallelFanOutEngine}.
+ */
+@Slf4j
+public final class FanOutJob<R> {
+
+    private final FanOutListener<? super R> listener;
+    private final long startNanos = System.nanoTime();
+    private final LongAdder expanded = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    /**
+     * Chunks in flight plus one for the splitting phase; the job completes
+     * when it drops to zero.
+     */
+    private final AtomicInteger pending = new AtomicInteger(1);
+    private final CompletableFuture<FanOutSummary> completion = new CompletableFuture<>();
+
+    FanOutJob(FanOutListener<? super R> listener) {
+        this.listener = listener;
+    }
+
+    public FanOutProgress progress() {
+        return new FanOutProgress(expanded.sum(), succeeded.sum(), failed.sum(),
+                Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * @return A future completed with the totals once every chunk has been
+     *         sent, or exceptionally if splitting the recipient source failed.
+     */
+    public CompletableFuture<FanOutSummary> completion() {
+        return completion;
+    }
+
+    public FanOutSummary join() {
+        return completion.join();
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    void expanded(int count) {
+        expanded.add(count);
+    }
+
+    void chunkStarted() {
+        pending.incrementAndGet();
+    }
+
+    /**
+     * Records a sent chunk. The chunk counts as arrived even if recording its
+     * results fails, so the job always completes.
+     */
+    void chunkCompleted(List<R> recipients, List<NotificationResult> results) {
+        try {
+            for (int i = 0; i < recipients.size(); i++) {
+                record(recipients.get(i), results.get(i));
+            }
+        } finally {
+            arrive();
+        }
+    }
+
+    void record(R recipient, NotificationResult result) {
+        if (result.success()) {
+            succeeded.increment();
+        } else {
+            failed.increment();
+        }
+        try {
+            listener.onResult(recipient, result);
+        } catch (RuntimeException e) {
+            log.warn("Fan-out listener failed", e);
+        }
+    }
+
+    void splittingCompleted() {
+        arrive();
+    }
+
+    void fail(Throwable error) {
+        completion.completeExceptionally(error);
+    }
+
+    private void arrive() {
+        if (pending.decrementAndGet() == 0) {
+            long total = expanded.sum();
+            long ok = succeeded.sum();
+            completion.complete(new FanOutSummary(total, ok, total - ok));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.novacomp.notifications.fanout;
+
+import com.novacomp.notifications.api.NotificationResult;
+
+/**
+ * Receives the outcome for each recipient of a fan-out as its chunk completes.
+ */
+@FunctionalInterface
+public interface FanOutListener<R> {
+
+    void onResult(R recipient, NotificationResult result);
+
+    static <R> FanOutListener<R> ignore() {
+        return (recipient, result) -> {
+        };
+    }
+}
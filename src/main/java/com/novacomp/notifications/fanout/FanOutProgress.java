@@ -0,0 +1,27 @@
+package com.novacomp.notifications.fanout;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of a running fan-out.
+ *
+ * @param expanded  Recipients pulled from the source and turned into
+ *                  notifications so far.
+ * @param succeeded Recipients whose notification was sent.
+ * @param failed    Recipients whose notification was rejected or failed.
+ * @param elapsed   Time since the job started.
+ */
+public record FanOutProgress(long expanded, long succeeded, long failed, Duration elapsed) {
+
+    public long completed() {
+        return succeeded + failed;
+    }
+
+    /**
+     * @return Completed recipients per second since the job started.
+     */
+    public double throughputPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : completed() * 1_000_000_000d / nanos;
+    }
+}
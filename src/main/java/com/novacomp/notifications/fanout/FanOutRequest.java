@@ -0,0 +1,146 @@
+package com.novacomp.notifications.fanout;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.Priority;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+
+/**
+ * One message addressed to a stream of recipients. The recipients are pulled
+ * lazily from an {@link Iterator} or {@link Spliterator} and expanded into
+ * notifications one chunk at a time, with every notification of the request
+ * sharing the same payload objects by reference. Memory use depends on the
+ * chunk size, not on the size of the audience.
+ * <p>
+ * A request consumes its recipient source and can be sent only once. The
+ * notifications built by the {@code email}, {@code sms}, {@code push} and
+ * {@code slack} factories have {@link Priority#BULK} priority.
+ *
+ * @param <R> Recipient type, e.g. a device token or phone number.
+ * @param <N> Notification type produced for each recipient.
+ */
+public final class FanOutRequest<R, N extends Notification> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final Spliterator<R> recipients;
+    private final Function<? super R, ? extends N> expander;
+    private final int chunkSize;
+
+    private FanOutRequest(Spliterator<R> recipients, Function<? super R, ? extends N> expander, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.recipients = recipients;
+        this.expander = expander;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param expander Builds the notification for one recipient; it should
+     *                 reuse shared payload objects rather than copy them.
+     */
+    public static <R, N extends Notification> FanOutRequest<R, N> of(Spliterator<R> recipients,
+            Function<? super R, ? extends N> expander) {
+        return new FanOutRequest<>(recipients, expander, DEFAULT_CHUNK_SIZE);
+    }
+
+    public static <R, N extends Notification> FanOutRequest<R, N> of(Iterator<R> recipients,
+            Function<? super R, ? extends N> expander) {
+        return of(Spliterators.spliteratorUnknownSize(recipients, Spliterator.ORDERED | Spliterator.NONNULL),
+                expander);
+    }
+
+    public static FanOutRequest<String, EmailNotification> email(String from, String subject, String body,
+            Iterator<String> addresses) {
+        return of(addresses, to -> EmailNotification.builder()
+                .to(to)
+                .from(from)
+                .subject(subject)
+                .body(body)
+                .priority(Priority.BULK)
+                .build());
+    }
+
+    public static FanOutRequest<String, SmsNotification> sms(String message, Iterator<String> phoneNumbers) {
+        return of(phoneNumbers, phoneNumber -> SmsNotification.builder()
+                .phoneNumber(phoneNumber)
+                .message(message)
+                .priority(Priority.BULK)
+                .build());
+    }
+
+    /**
+     * @param data Shared by every notification of the request, so it must not
+     *             be modified while the request is being sent.
+     */
+    public static FanOutRequest<String, PushNotification> push(String title, String body, Map<String, String> data,
+            Iterator<String> tokens) {
+        return of(tokens, token -> PushNotification.builder()
+                .token(token)
+                .title(title)
+                .body(body)
+                .data(data)
+                .priority(Priority.BULK)
+                .build());
+    }
+
+    public static FanOutRequest<String, SlackNotification> slack(String text, Iterator<String> channels) {
+        return of(channels, channel -> SlackNotification.builder()
+                .channel(channel)
+                .text(text)
+                .priority(Priority.BULK)
+                .build());
+    }
+
+    /**
+     * @return A request over the same recipients that expands
+     *         {@code chunkSize} recipients per batch.
+     */
+    public FanOutRequest<R, N> withChunkSize(int chunkSize) {
+        return new FanOutRequest<>(recipients, expander, chunkSize);
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    Spliterator<R> recipients() {
+        return recipients;
+    }
+
+    N expand(R recipient) {
+        return expander.apply(recipient);
+    }
+
+    /**
+     * Pulls up to {@code chunkSize} recipients from {@code source} into
+     * {@code out}.
+     *
+     * @return False once the source is exhausted and nothing was added.
+     */
+    boolean nextChunk(Spliterator<R> source, List<R> out) {
+        boolean more = true;
+        while (more && out.size() < chunkSize) {
+            more = source.tryAdvance(out::add);
+        }
+        return !out.isEmpty();
+    }
+
+    List<N> expandAll(List<R> chunk) {
+        List<N> notifications = new ArrayList<>(chunk.size());
+        for (R recipient : chunk) {
+            notifications.add(expand(recipient));
+        }
+        return notifications;
+    }
+}
@@ -0,0 +1,11 @@
+package com.novacomp.notifications.fanout;
+
+/**
+ * Totals of a completed fan-out.
+ *
+ * @param recipients Recipients pulled from the source.
+ * @param succeeded  Recipients whose notification was sent.
+ * @param failed     Recipients whose notification was rejected or failed.
+ */
+public record FanOutSummary(long recipients, long succeeded, long failed) {
+}
@@ -0,0 +1,343 @@
+package com.novacomp.notifications.fanout;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.timer.HashedWheelTimer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs large fan-outs in parallel. The recipient {@link Spliterator} is split
+ * on a dedicated {@link ForkJoinPool} whose workers expand chunks
+ * concurrently; each chunk is then sent through the channel's batch path on
+ * virtual threads, which validates it and rejects invalid recipients.
+ * <p>
+ * Two limits keep memory and provider load bounded: at most
+ * {@code maxInFlightChunks} chunks per channel are being sent at once (a
+ * worker waits for a free slot before handing over the next chunk), and at
+ * most {@code maxPendingSplits} split-off parts of the source are waiting to
+ * be processed, so an {@link java.util.Iterator}-backed source is not drained
+ * into memory ahead of the senders.
+ */
+@Slf4j
+public final class ParallelFanOutEngine implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final ExecutorService sendExecutor;
+    private final Map<String, Integer> inFlightLimits;
+    private final int defaultInFlightLimit;
+    private final ConcurrentHashMap<String, Semaphore> inFlight = new ConcurrentHashMap<>();
+    private final Semaphore pendingSplits;
+    private final HashedWheelTimer timer;
+    private final Duration progressInterval;
+
+    private ParallelFanOutEngine(Builder builder) {
+        this.pool = new ForkJoinPool(builder.parallelism);
+        this.sendExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(builder.threadNamePrefix, 0).factory());
+        this.inFlightLimits = Map.copyOf(builder.inFlightLimits);
+        this.defaultInFlightLimit = builder.defaultInFlightLimit;
+        this.pendingSplits = new Semaphore(builder.maxPendingSplits);
+        this.timer = builder.timer;
+        this.progressInterval = builder.progressInterval;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public <R> FanOutJob<R> submit(NotificationChannel channel, FanOutRequest<R, ?> request) {
+        return submit(channel, request, FanOutListener.ignore(), progress -> {
+        });
+    }
+
+    /**
+     * Starts a fan-out and returns immediately.
+     *
+     * @param listener Receives each recipient's result; called concurrently
+     *                 from the sending threads.
+     * @param progress Called every {@code progressInterval} while the job runs
+     *                 and once more when it finishes.
+     */
+    public <R> FanOutJob<R> submit(NotificationChannel channel, FanOutRequest<R, ?> request,
+            FanOutListener<? super R> listener, Consumer<FanOutProgress> progress) {
+        FanOutJob<R> job = new FanOutJob<>(listener);
+        Semaphore channelSlots = inFlight.computeIfAbsent(channel.getChannelName(),
+                name -> new Semaphore(inFlightLimits.getOrDefault(name, defaultInFlightLimit)));
+        FanOutTask<R, ?> root = new FanOutTask<>(null, new JobContext<>(job, channel, request, channelSlots),
+                request.recipients(), false);
+        pool.execute(root);
+        scheduleProgress(job, progress);
+        return job;
+    }
+
+    /**
+     * Runs a fan-out and waits for it to finish.
+     */
+    public <R> FanOutSummary send(NotificationChannel channel, FanOutRequest<R, ?> request,
+            FanOutListener<? super R> listener) {
+        return submit(channel, request, listener, progress -> {
+        }).join();
+    }
+
+    /**
+     * Waits for running jobs to finish handing over their chunks and for
+     * in-flight sends to complete.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sendExecutor.close();
+    }
+
+    private void scheduleProgress(FanOutJob<?> job, Consumer<FanOutProgress> progress) {
+        job.completion().whenComplete((summary, error) -> report(job, progress));
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (!job.isDone()) {
+                    report(job, progress);
+                    timer.schedule(this, progressInterval.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+        }, progressInterval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static void report(FanOutJob<?> job, Consumer<FanOutProgress> progress) {
+        try {
+            progress.accept(job.progress());
+        } catch (RuntimeException e) {
+            log.warn("Fan-out progress listener failed", e);
+        }
+    }
+
+    /**
+     * Per-job state shared by every task of the job.
+     */
+    private record JobContext<R, N extends Notification>(FanOutJob<R> job, NotificationChannel channel,
+            FanOutRequest<R, N> request, Semaphore channelSlots) {
+    }
+
+    private final class FanOutTask<R, N extends Notification> extends CountedCompleter<Void> {
+
+        private final JobContext<R, N> context;
+        private final Spliterator<R> source;
+        private final boolean holdsSplitPermit;
+
+        FanOutTask(FanOutTask<R, N> parent, JobContext<R, N> context, Spliterator<R> source,
+                boolean holdsSplitPermit) {
+            super(parent);
+            this.context = context;
+            this.source = source;
+            this.holdsSplitPermit = holdsSplitPermit;
+        }
+
+        @Override
+        public void compute() {
+            try {
+                int chunkSize = context.request().chunkSize();
+                while (source.estimateSize() > chunkSize && reserveSplit()) {
+                    Spliterator<R> split = split(chunkSize);
+                    if (split == null) {
+                        pendingSplits.release();
+                        break;
+                    }
+                    addToPendingCount(1);
+                    new FanOutTask<>(this, context, split, true).fork();
+                }
+                process();
+            } finally {
+                if (holdsSplitPermit) {
+                    pendingSplits.release();
+                }
+            }
+            tryComplete();
+        }
+
+        @Override
+        public void onCompletion(CountedCompleter<?> caller) {
+            if (getCompleter() == null) {
+                context.job().splittingCompleted();
+            }
+        }
+
+        @Override
+        public boolean onExceptionalCompletion(Throwable error, CountedCompleter<?> caller) {
+            context.job().fail(error);
+            return true;
+        }
+
+        /**
+         * The root waits for a free split slot so that it never runs ahead of
+         * the workers; other tasks split only if a slot is free right away
+         * and otherwise process their part themselves.
+         */
+        private boolean reserveSplit() {
+            if (getCompleter() == null) {
+                block(pendingSplits);
+                return true;
+            }
+            return pendingSplits.tryAcquire();
+        }
+
+        /**
+         * Sized sources are split in halves; sources of unknown size (such as
+         * iterators) are cut into chunk-sized pieces instead of the growing
+         * batches {@link Spliterator#trySplit()} would buffer.
+         */
+        private Spliterator<R> split(int chunkSize) {
+            if (source.hasCharacteristics(Spliterator.SIZED)) {
+                return source.trySplit();
+            }
+            List<R> chunk = new ArrayList<>(chunkSize);
+            return context.request().nextChunk(source, chunk) ? chunk.spliterator() : null;
+        }
+
+        private void process() {
+            FanOutRequest<R, N> request = context.request();
+            List<R> chunk = new ArrayList<>(request.chunkSize());
+            while (request.nextChunk(source, chunk)) {
+                context.job().expanded(chunk.size());
+                List<N> notifications = new ArrayList<>(chunk.size());
+                for (R recipient : chunk) {
+                    notifications.add(request.expand(recipient));
+                }
+                sendChunk(new ArrayList<>(chunk), notifications);
+                chunk.clear();
+            }
+        }
+
+        private void sendChunk(List<R> recipients, List<N> notifications) {
+            Semaphore slots = context.channelSlots();
+            block(slots);
+            context.job().chunkStarted();
+            CompletableFuture
+                    .supplyAsync(() -> FanOut.sendChunk(context.channel(), notifications), sendExecutor)
+                    .whenComplete((results, error) -> {
+                        slots.release();
+                        context.job().chunkCompleted(recipients, error == null ? results
+                                : Collections.nCopies(recipients.size(), NotificationResult.failure(
+                                        context.channel().getChannelName(), null,
+                                        "Fan-out chunk failed: " + error.getMessage())));
+                    });
+        }
+    }
+
+    /**
+     * Acquires a permit in a way that lets the pool add a compensating worker
+     * while this one waits.
+     */
+    private static void block(Semaphore semaphore) {
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+                    semaphore.acquire();
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return semaphore.tryAcquire();
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NotificationException("Interrupted while waiting for fan-out capacity", e);
+        }
+    }
+
+    /**
+     * Builder for {@link ParallelFanOutEngine}.
+     */
+    public static final class Builder {
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private final Map<String, Integer> inFlightLimits = new HashMap<>();
+        private int defaultInFlightLimit = 16;
+        private int maxPendingSplits = 4 * Runtime.getRuntime().availableProcessors();
+        private Duration progressInterval = Duration.ofSeconds(1);
+        private HashedWheelTimer timer = HashedWheelTimer.getDefault();
+        private String threadNamePrefix = "fan-out-send-";
+
+        private Builder() {
+        }
+
+        /**
+         * Worker threads used to split and expand recipients.
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = requirePositive(parallelism, "Parallelism");
+            return this;
+        }
+
+        /**
+         * Caps the chunks of one channel (e.g. "PUSH") being sent at once,
+         * across all jobs of this engine.
+         */
+        public Builder maxInFlightChunks(String channelName, int limit) {
+            inFlightLimits.put(channelName, requirePositive(limit, "In-flight limit"));
+            return this;
+        }
+
+        /**
+         * Caps the in-flight chunks of every channel without an explicit limit.
+         */
+        public Builder defaultMaxInFlightChunks(int limit) {
+            this.defaultInFlightLimit = requirePositive(limit, "In-flight limit");
+            return this;
+        }
+
+        public Builder maxPendingSplits(int maxPendingSplits) {
+            this.maxPendingSplits = requirePositive(maxPendingSplits, "Pending splits");
+            return this;
+        }
+
+        public Builder progressInterval(Duration progressInterval) {
+            this.progressInterval = progressInterval;
+            return this;
+        }
+
+        public Builder timer(HashedWheelTimer timer) {
+            this.timer = timer;
+            return this;
+        }
+
+        public Builder threadNamePrefix(String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+            return this;
+        }
+
+        public ParallelFanOutEngine build() {
+            return new ParallelFanOutEngine(this);
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive: " + value);
+            }
+            return value;
+        }
+    }
+}
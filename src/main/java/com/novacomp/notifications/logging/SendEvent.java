@@ -0,0 +1,16 @@
+package com.novacomp.notifications.logging;
+
+/**
+ * One decoded record of the {@link SendEventLog}: either a provider call or a
+ * notification rejected before reaching the provider.
+ *
+ * @param timestampMillis Wall-clock time the event was recorded.
+ * @param succeeded       Notifications the provider accepted.
+ * @param failed          Notifications the provider refused or could not send.
+ * @param rejected        True if the notification failed type or validation
+ *                        checks; the counts and latency are then zero.
+ * @param latencyNanos    Duration of the provider call.
+ */
+public record SendEvent(long timestampMillis, String channel, String provider, int succeeded, int failed,
+        boolean rejected, long latencyNanos) {
+}
@@ -0,0 +1,250 @@
+package com.novacomp.notifications.logging;
+
+import com.novacomp.notifications.metrics.NotificationMetrics;
+import com.novacomp.notifications.metrics.ProviderMetrics;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Structured per-send logging that stays off the send path. Senders record
+ * fixed-layout events into a preallocated ring of {@code long}s (no objects,
+ * no formatting, no locks) and a background thread decodes them and hands
+ * them to a {@link SendEventSink}.
+ * <p>
+ * Plug it into a sender as its {@link NotificationMetrics}, alone or through
+ * {@link NotificationMetrics#combine}. Fully successful calls can be sampled
+ * per channel; failures and rejects are always recorded. When the ring is
+ * full new events are dropped and counted rather than blocking the sender.
+ */
+@Slf4j
+public class SendEventLog implements NotificationMetrics, AutoCloseable {
+
+    private static final int STRIDE = 4;
+    private static final long REJECTED = 1L;
+
+    private final long[] records;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong drained = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final SendEventSink sink;
+    private final Map<String, Integer> sampling;
+    private final long idleParkNanos;
+    private final Thread drainer;
+    private final ConcurrentMap<Pair, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Object registrationLock = new Object();
+    private volatile Pair[] pairs = new Pair[0];
+    private volatile boolean running = true;
+
+    private SendEventLog(Builder builder) {
+        int capacity = builder.capacity <= 2 ? 2 : Integer.highestOneBit(builder.capacity - 1) << 1;
+        this.records = new long[capacity * STRIDE];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.sink = builder.sink;
+        this.sampling = Map.copyOf(builder.sampling);
+        this.idleParkNanos = builder.idleWait.toNanos();
+        this.drainer = Thread.ofPlatform().daemon().name(builder.threadName).start(this::drainLoop);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The recorder for the pair, shared by every caller that asks for
+     *         the same channel and provider.
+     */
+    @Override
+    public ProviderMetrics forProvider(String channel, String provider) {
+        return recorders.computeIfAbsent(new Pair(channel, provider), this::register);
+    }
+
+    /**
+     * @return Events discarded because the ring was full.
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Stops the drainer after it has delivered every event already recorded.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Recorder register(Pair pair) {
+        int id;
+        synchronized (registrationLock) {
+            Pair[] current = pairs;
+            id = current.length;
+            Pair[] next = Arrays.copyOf(current, id + 1);
+            next[id] = pair;
+            pairs = next;
+        }
+        return new Recorder(id, sampling.getOrDefault(pair.channel(), 1));
+    }
+
+    private void record(int id, boolean rejected, int succeeded, int failed, long latencyNanos) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - drained.get() > mask) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & mask);
+        int base = slot * STRIDE;
+        records[base] = System.currentTimeMillis();
+        records[base + 1] = ((long) id << 32) | (rejected ? REJECTED : 0);
+        records[base + 2] = ((long) succeeded << 32) | (failed & 0xFFFFFFFFL);
+        records[base + 3] = latencyNanos;
+        published.setRelease(slot, sequence + 1);
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(idleParkNanos);
+            }
+        }
+        drain();
+    }
+
+    private int drain() {
+        int count = 0;
+        long sequence = drained.get();
+        while (true) {
+            int slot = (int) (sequence & mask);
+            if (published.getAcquire(slot) != sequence + 1) {
+                break;
+            }
+            int base = slot * STRIDE;
+            long timestamp = records[base];
+            long header = records[base + 1];
+            long counts = records[base + 2];
+            long latency = records[base + 3];
+            drained.setRelease(++sequence);
+            count++;
+
+            Pair pair = pairs[(int) (header >>> 32)];
+            deliver(new SendEvent(timestamp, pair.channel(), pair.provider(), (int) (counts >>> 32), (int) counts,
+                    (header & REJECTED) != 0, latency));
+        }
+        return count;
+    }
+
+    private void deliver(SendEvent event) {
+        try {
+            sink.accept(event);
+        } catch (RuntimeException e) {
+            log.warn("Send event sink failed", e);
+        }
+    }
+
+    private record Pair(String channel, String provider) {
+    }
+
+    private final class Recorder implements ProviderMetrics {
+
+        private final int id;
+        private final int sampleEvery;
+
+        Recorder(int id, int sampleEvery) {
+            this.id = id;
+            this.sampleEvery = sampleEvery;
+        }
+
+        @Override
+        public void recordRejected() {
+            record(id, true, 0, 0, 0);
+        }
+
+        @Override
+        public void recordCall(int succeeded, int failed, long latencyNanos) {
+            if (failed == 0 && sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+                return;
+            }
+            record(id, false, succeeded, failed, latencyNanos);
+        }
+    }
+
+    public static class Builder {
+        private int capacity = 8192;
+        private SendEventSink sink = SendEventSink.slf4j();
+        private final Map<String, Integer> sampling = new HashMap<>();
+        private Duration idleWait = Duration.ofMillis(1);
+        private String threadName = "send-event-log";
+
+        /**
+         * @param capacity Events the ring holds before new ones are dropped;
+         *                 rounded up to a power of two.
+         */
+        public Builder capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder sink(SendEventSink sink) {
+            this.sink = sink;
+            return this;
+        }
+
+        /**
+         * Records roughly one in {@code every} fully successful calls on the
+         * given channel (e.g. "EMAIL"). Failures and rejects are not sampled.
+         */
+        public Builder sampleEvery(String channel, int every) {
+            if (every <= 0) {
+                throw new IllegalArgumentException("Sample rate must be positive: " + every);
+            }
+            sampling.put(channel, every);
+            return this;
+        }
+
+        /**
+         * @param idleWait How long the drainer sleeps when the ring is empty.
+         */
+        public Builder idleWait(Duration idleWait) {
+            this.idleWait = idleWait;
+            return this;
+        }
+
+        public Builder threadName(String threadName) {
+            this.threadName = threadName;
+            return this;
+        }
+
+        public SendEventLog build() {
+            return new SendEventLog(this);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.novacomp.notifications.logging;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receives the events drained from a {@link SendEventLog}. Always called from
+ * the log's drainer thread, never from a sending thread.
+ */
+@FunctionalInterface
+public interface SendEventSink {
+
+    void accept(SendEvent event);
+
+    /**
+     * @return A sink that writes one INFO line per event to the
+     *         {@code com.novacomp.notifications.logging.SendEvent} logger.
+     */
+    static SendEventSink slf4j() {
+        Logger logger = LoggerFactory.getLogger(SendEvent.class);
+        return event -> {
+            if (event.rejected()) {
+                logger.info("at={} channel={} provider={} rejected=1", Instant.ofEpochMilli(event.timestampMillis()),
+                        event.channel(), event.provider());
+            } else {
+                logger.info("at={} channel={} provider={} succeeded={} failed={} latencyMicros={}",
+                        Instant.ofEpochMilli(event.timestampMillis()), event.channel(), event.provider(),
+                        event.succeeded(), event.failed(), TimeUnit.NANOSECONDS.toMicros(event.latencyNanos()));
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.novacomp.notifications.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Zero-dependency {@link NotificationMetrics} that keeps counters and a latency
+ * histogram per channel/provider pair in memory. Counters are
+ * {@link LongAdder}s, so concurrent senders do not contend on a shared cache
+ * line; read them through {@link #snapshot()} and export them however suits
+ * the application.
+ */
+public class InMemoryMetrics implements NotificationMetrics {
+
+    private final ConcurrentMap<Key, Recorder> recorders = new ConcurrentHashMap<>();
+
+    @Override
+    public ProviderMetrics forProvider(String channel, String provider) {
+        return recorders.computeIfAbsent(new Key(channel, provider), key -> new Recorder());
+    }
+
+    /**
+     * @return Statistics for the given pair, if anything was registered for it.
+     */
+    public Optional<ProviderStats> stats(String channel, String provider) {
+        Key key = new Key(channel, provider);
+        return Optional.ofNullable(recorders.get(key)).map(recorder -> recorder.stats(key));
+    }
+
+    /**
+     * @return Statistics for every channel/provider pair seen so far.
+     */
+    public List<ProviderStats> snapshot() {
+        List<ProviderStats> stats = new ArrayList<>(recorders.size());
+        recorders.forEach((key, recorder) -> stats.add(recorder.stats(key)));
+        return stats;
+    }
+
+    /**
+     * Clears all counters. Handles already held by senders stay valid.
+     */
+    public void reset() {
+        recorders.values().forEach(Recorder::reset);
+    }
+
+    private record Key(String channel, String provider) {
+    }
+
+    private static final class Recorder implements ProviderMetrics {
+
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        @Override
+        public void recordRejected() {
+            rejected.increment();
+        }
+
+        @Override
+        public void recordCall(int succeeded, int failed, long latencyNanos) {
+            if (succeeded != 0) {
+                successes.add(succeeded);
+            }
+            if (failed != 0) {
+                failures.add(failed);
+            }
+            latency.record(latencyNanos);
+        }
+
+        ProviderStats stats(Key key) {
+            return new ProviderStats(key.channel(), key.provider(), successes.sum(), failures.sum(),
+                    rejected.sum(), latency.snapshot());
+        }
+
+        void reset() {
+            successes.reset();
+            failures.reset();
+            rejected.reset();
+            latency.reset();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.novacomp.notifications.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of nanosecond latencies, in the style of
+ * HdrHistogram. Every power of two is split into {@value #SUB_BUCKETS} linear
+ * sub-buckets, so any recorded value is reported within about 3% of its real
+ * value while the whole range up to {@link #MAX_TRACKABLE_NANOS} fits in a
+ * fixed array of counters. Recording is one array index computation and one
+ * atomic increment.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+
+    /**
+     * Largest distinguishable latency (about 18 minutes). Longer calls are
+     * recorded as this value.
+     */
+    public static final long MAX_TRACKABLE_NANOS = (1L << MAX_EXPONENT) - 1;
+
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long nanos) {
+        counts.getAndIncrement(indexOf(nanos));
+    }
+
+    /**
+     * @return A point-in-time copy of the counters. Concurrent recordings may or
+     *         may not be included.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    static int indexOf(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_TRACKABLE_NANOS);
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long lowestValueAt(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+    }
+
+    static long highestValueAt(int index) {
+        return index + 1 < BUCKETS ? lowestValueAt(index + 1) - 1 : MAX_TRACKABLE_NANOS;
+    }
+
+    /**
+     * Immutable copy of a histogram's counters.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long totalCount;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            this.totalCount = total;
+        }
+
+        public long count() {
+            return totalCount;
+        }
+
+        /**
+         * @param percentile Between 0 and 100.
+         * @return The highest value equivalent to the given percentile, in
+         *         nanoseconds, or 0 if nothing was recorded.
+         */
+        public long valueAtPercentile(double percentile) {
+            if (totalCount == 0) {
+                return 0;
+            }
+            double clamped = Math.min(Math.max(percentile, 0), 100);
+            long rank = Math.max(1, (long) Math.ceil(clamped / 100 * totalCount));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return highestValueAt(i);
+                }
+            }
+            return MAX_TRACKABLE_NANOS;
+        }
+
+        public long max() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] != 0) {
+                    return highestValueAt(i);
+                }
+            }
+            return 0;
+        }
+
+        public double mean() {
+            if (totalCount == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    sum += (double) counts[i] * (lowestValueAt(i) + highestValueAt(i)) / 2;
+                }
+            }
+            return sum / totalCount;
+        }
+
+        public long valueAtPercentile(double percentile, TimeUnit unit) {
+            return unit.convert(valueAtPercentile(percentile), TimeUnit.NANOSECONDS);
+        }
+    }
+}
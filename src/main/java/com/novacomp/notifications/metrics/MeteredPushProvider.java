@@ -0,0 +1,82 @@
+package com.novacomp.notifications.metrics;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.push.AsyncPushProvider;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.push.PushProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * PushProvider decorator that records outcome and latency of every call to
+ * the wrapped provider under its own name. Use it on the members of a
+ * {@code ProviderPool} or underneath retry and circuit breaker decorators,
+ * where the sender only sees the combined provider; wrapping the provider
+ * handed directly to a metered sender would count each call twice.
+ * Non-blocking sends are timed until the provider answers.
+ */
+public class MeteredPushProvider implements PushProvider, AsyncPushProvider {
+
+    private final PushProvider delegate;
+    private final AsyncPushProvider async;
+    private final ProviderMetrics metrics;
+
+    public MeteredPushProvider(PushProvider delegate, NotificationMetrics metrics) {
+        this.delegate = delegate;
+        this.async = AsyncPushProvider.adapt(delegate);
+        this.metrics = metrics.forProvider("PUSH", delegate.getProviderName());
+    }
+
+    @Override
+    public boolean sendPush(PushNotification notification) throws Exception {
+        long start = System.nanoTime();
+        try {
+            boolean sent = delegate.sendPush(notification);
+            metrics.recordCall(sent ? 1 : 0, sent ? 0 : 1, System.nanoTime() - start);
+            return sent;
+        } catch (Exception e) {
+            metrics.recordCall(0, 1, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public ProviderResponse[] sendPushBatch(List<PushNotification> notifications) throws Exception {
+        long start = System.nanoTime();
+        try {
+            ProviderResponse[] responses = delegate.sendPushBatch(notifications);
+            int succeeded = 0;
+            for (ProviderResponse response : responses) {
+                if (response.accepted()) {
+                    succeeded++;
+                }
+            }
+            metrics.recordCall(succeeded, responses.length - succeeded, System.nanoTime() - start);
+            return responses;
+        } catch (Exception e) {
+            metrics.recordCall(0, notifications.size(), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendPushAsync(PushNotification notification) {
+        long start = System.nanoTime();
+        CompletionStage<ProviderResponse> call;
+        try {
+            call = async.sendPushAsync(notification);
+        } catch (RuntimeException e) {
+            metrics.recordCall(0, 1, System.nanoTime() - start);
+            throw e;
+        }
+        return call.whenComplete((response, error) -> {
+            boolean sent = error == null && response.accepted();
+            metrics.recordCall(sent ? 1 : 0, sent ? 0 : 1, System.nanoTime() - start);
+        });
+    }
+
+    @Override
+    public String getProviderName() {
+        return delegate.getProviderName();
+    }
+}
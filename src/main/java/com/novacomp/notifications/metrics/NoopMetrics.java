@@ -0,0 +1,23 @@
+package com.novacomp.notifications.metrics;
+
+/**
+ * Default metrics: every record call is an empty method the JIT can inline away.
+ */
+enum NoopMetrics implements NotificationMetrics, ProviderMetrics {
+    INSTANCE;
+
+    @Override
+    public ProviderMetrics forProvider(String channel, String provider) {
+        return this;
+    }
+
+    @Override
+    public void recordRejected() {
+        // no-op
+    }
+
+    @Override
+    public void recordCall(int succeeded, int failed, long latencyNanos) {
+        // no-op
+    }
+}
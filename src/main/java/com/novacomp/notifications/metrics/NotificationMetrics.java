@@ -0,0 +1,52 @@
+package com.novacomp.notifications.metrics;
+
+import java.util.List;
+
+/**
+ * Metrics SPI. Senders and metered providers resolve a {@link ProviderMetrics}
+ * handle once per channel/provider pair and record every call on it, so an
+ * implementation only pays for the lookup at construction time.
+ */
+public interface NotificationMetrics {
+
+    /**
+     * @return The recorder for the given channel/provider pair. Called rarely;
+     *         implementations may create the recorder on first use.
+     */
+    ProviderMetrics forProvider(String channel, String provider);
+
+    /**
+     * @return Metrics that discard everything.
+     */
+    static NotificationMetrics noop() {
+        return NoopMetrics.INSTANCE;
+    }
+
+    /**
+     * @return Metrics that forward every record call to all of the given
+     *         implementations, in order.
+     */
+    static NotificationMetrics combine(NotificationMetrics... metrics) {
+        List<NotificationMetrics> all = List.of(metrics);
+        return (channel, provider) -> {
+            ProviderMetrics[] recorders = all.stream()
+                    .map(m -> m.forProvider(channel, provider))
+                    .toArray(ProviderMetrics[]::new);
+            return new ProviderMetrics() {
+                @Override
+                public void recordRejected() {
+                    for (ProviderMetrics recorder : recorders) {
+                        recorder.recordRejected();
+                    }
+                }
+
+                @Override
+                public void recordCall(int succeeded, int failed, long latencyNanos) {
+                    for (ProviderMetrics recorder : recorders) {
+                        recorder.recordCall(succeeded, failed, latencyNanos);
+                    }
+                }
+            };
+        };
+    }
+}
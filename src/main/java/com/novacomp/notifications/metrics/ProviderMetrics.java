@@ -0,0 +1,26 @@
+package com.novacomp.notifications.metrics;
+
+/**
+ * Recorder for a single channel/provider pair. Methods are called on the send
+ * path and must be cheap and thread-safe.
+ */
+public interface ProviderMetrics {
+
+    /**
+     * A notification was rejected before reaching the provider (wrong type or
+     * failed validation).
+     */
+    void recordRejected();
+
+    /**
+     * A provider call completed. A single send reports one success or one
+     * failure; a bulk call reports the outcome of every notification it
+     * carried and its latency once. A call that threw reports all of its
+     * notifications as failed.
+     *
+     * @param succeeded    Notifications the provider accepted.
+     * @param failed       Notifications the provider refused or could not send.
+     * @param latencyNanos Wall-clock duration of the provider call.
+     */
+    void recordCall(int succeeded, int failed, long latencyNanos);
+}
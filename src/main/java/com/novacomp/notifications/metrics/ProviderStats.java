@@ -0,0 +1,30 @@
+package com.novacomp.notifications.metrics;
+
+/**
+ * Point-in-time statistics of one channel/provider pair.
+ *
+ * @param successes Notifications the provider accepted.
+ * @param failures  Notifications the provider refused or that failed with an
+ *                  exception.
+ * @param rejected  Notifications rejected before reaching the provider.
+ * @param latency   Distribution of provider call latencies, one sample per
+ *                  call (a bulk call is one sample).
+ */
+public record ProviderStats(String channel, String provider, long successes, long failures, long rejected,
+        LatencyHistogram.Snapshot latency) {
+
+    /**
+     * @return Every notification handed to the channel, including rejected ones.
+     */
+    public long sends() {
+        return successes + failures + rejected;
+    }
+
+    /**
+     * @return The share of provider outcomes that failed, between 0 and 1.
+     */
+    public double errorRate() {
+        long completed = successes + failures;
+        return completed == 0 ? 0 : (double) failures / completed;
+    }
+}
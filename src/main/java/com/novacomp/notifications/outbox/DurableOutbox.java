@@ -0,0 +1,257 @@
+package com.novacomp.notifications.outbox;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.codec.NotificationCodec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-ahead outbox in front of the notification channels.
+ * Every notification is appended to a memory-mapped segment file before it is
+ * handed to its channel, and acknowledged in place once the channel returns a
+ * success or a permanent rejection (a result that is not
+ * {@link NotificationResult#retryable() retryable}). Notifications whose send
+ * never completed (crash, exception) or failed in a way worth retrying stay
+ * pending and are replayed by {@link #replay()} on the next start. Segments
+ * whose records are all acknowledged are deleted.
+ */
+@Slf4j
+public class DurableOutbox implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    private final Map<Class<? extends Notification>, NotificationChannel> channels;
+    private final ConcurrentSkipListMap<Integer, OutboxSegment> segments = new ConcurrentSkipListMap<>();
+    private final List<OutboxSegment.RecoveredRecord> recovered = new ArrayList<>();
+    private OutboxSegment active;
+
+    private DurableOutbox(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.forceOnAppend = builder.forceOnAppend;
+        this.channels = Map.copyOf(builder.channels);
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    /**
+     * Persists the notification and sends it through its registered channel.
+     *
+     * @param notification The notification to send.
+     * @return A CompletableFuture that will complete with the channel's result.
+     * @throws IllegalArgumentException if no channel is registered for the
+     *                                  notification's type.
+     * @throws NotificationException    if the record could not be persisted.
+     */
+    public CompletableFuture<NotificationResult> send(Notification notification) {
+        NotificationChannel channel = channelFor(notification);
+        long offset = append(NotificationCodec.getDefault().encode(notification));
+        return dispatch(channel, notification, offset);
+    }
+
+    /**
+     * Re-sends every notification that was still pending when the outbox was
+     * opened. Call once after startup, when the channels are ready.
+     *
+     * @return Futures for the replayed sends, in log order.
+     */
+    public List<CompletableFuture<NotificationResult>> replay() {
+        List<OutboxSegment.RecoveredRecord> records;
+        synchronized (this) {
+            records = new ArrayList<>(recovered);
+            recovered.clear();
+        }
+        log.info("Replaying {} pending outbox records", records.size());
+        List<CompletableFuture<NotificationResult>> futures = new ArrayList<>(records.size());
+        for (OutboxSegment.RecoveredRecord record : records) {
+            Notification notification = NotificationCodec.getDefault().decode(ByteBuffer.wrap(record.payload()));
+            futures.add(dispatch(channelFor(notification), notification, record.offset()));
+        }
+        return futures;
+    }
+
+    /**
+     * Marks a record as delivered. Called automatically when a send completes.
+     */
+    public void acknowledge(long offset) {
+        OutboxSegment segment = segments.get(OutboxSegment.segmentId(offset));
+        if (segment != null && segment.acknowledge(OutboxSegment.position(offset)) == 0 && segment.isFinished()) {
+            compact();
+        }
+    }
+
+    /**
+     * Deletes sealed segments whose records have all been acknowledged.
+     */
+    public void compact() {
+        for (OutboxSegment segment : segments.values()) {
+            if (segment.isFinished() && segments.remove(segment.id(), segment)) {
+                try {
+                    Files.deleteIfExists(segment.file());
+                    log.debug("Deleted finished outbox segment {}", segment.file());
+                } catch (IOException e) {
+                    log.warn("Could not delete outbox segment {}", segment.file(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of records not yet acknowledged.
+     */
+    public int pendingCount() {
+        return segments.values().stream().mapToInt(OutboxSegment::pendingCount).sum();
+    }
+
+    @Override
+    public synchronized void close() {
+        for (OutboxSegment segment : segments.values()) {
+            segment.force();
+        }
+    }
+
+    private CompletableFuture<NotificationResult> dispatch(NotificationChannel channel, Notification notification,
+            long offset) {
+        return channel.sendAsync(notification).whenComplete((result, error) -> {
+            if (error == null && !result.retryable()) {
+                acknowledge(offset);
+            } else {
+                log.warn("Outbox record {} left pending for replay: {}", offset,
+                        error != null ? error.getMessage() : result.message());
+            }
+        });
+    }
+
+    private synchronized long append(byte[] payload) {
+        if (OutboxSegment.HEADER_SIZE + payload.length > segmentSize) {
+            throw new NotificationException("Notification of " + payload.length
+                    + " bytes does not fit in an outbox segment of " + segmentSize + " bytes");
+        }
+        try {
+            long offset = active.append(payload, forceOnAppend);
+            if (offset < 0) {
+                roll();
+                offset = active.append(payload, forceOnAppend);
+            }
+            return offset;
+        } catch (IOException e) {
+            throw new NotificationException("Failed to append to outbox in " + directory, e);
+        }
+    }
+
+    private void roll() throws IOException {
+        OutboxSegment previous = active;
+        active = OutboxSegment.create(directory, previous.id() + 1, segmentSize);
+        segments.put(active.id(), active);
+        previous.seal();
+        if (previous.isFinished()) {
+            compact();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().matches("outbox-\\d{10}\\.seg"))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            int id = Integer.parseInt(file.getFileName().toString().substring(7, 17));
+            OutboxSegment segment = OutboxSegment.recover(file, id, recovered);
+            segment.seal();
+            segments.put(id, segment);
+        }
+        int nextId = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        active = OutboxSegment.create(directory, nextId, segmentSize);
+        segments.put(nextId, active);
+        compact();
+        log.info("Opened outbox in {} with {} pending records", directory, recovered.size());
+    }
+
+    private NotificationChannel channelFor(Notification notification) {
+        NotificationChannel channel = channels.get(notification.getClass());
+        if (channel == null) {
+            throw new IllegalArgumentException(
+                    "No channel registered for " + notification.getClass().getSimpleName());
+        }
+        return channel;
+    }
+
+    /**
+     * Builder for {@link DurableOutbox}.
+     */
+    public static final class Builder {
+        private final Path directory;
+        private final Map<Class<? extends Notification>, NotificationChannel> channels = new HashMap<>();
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+        private boolean forceOnAppend;
+
+        private Builder(Path directory) {
+            if (directory == null) {
+                throw new IllegalArgumentException("Outbox directory cannot be null");
+            }
+            this.directory = directory;
+        }
+
+        /**
+         * Routes notifications of the given type to a channel, both for new
+         * sends and for replay.
+         */
+        public Builder channel(Class<? extends Notification> type, NotificationChannel channel) {
+            channels.put(type, channel);
+            return this;
+        }
+
+        public Builder segmentSize(int segmentSize) {
+            if (segmentSize <= OutboxSegment.HEADER_SIZE) {
+                throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Forces every appended record to the storage device before sending it.
+         * Without it records survive a JVM crash but not an OS crash.
+         */
+        public Builder forceOnAppend(boolean forceOnAppend) {
+            this.forceOnAppend = forceOnAppend;
+            return this;
+        }
+
+        /**
+         * Opens the outbox, recovering any segments left in the directory.
+         *
+         * @throws UncheckedIOException if the directory cannot be read or written.
+         */
+        public DurableOutbox build() {
+            try {
+                return new DurableOutbox(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open outbox in " + directory, e);
+            }
+        }
+    }
+}
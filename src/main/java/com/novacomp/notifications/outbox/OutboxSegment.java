@@ -0,0 +1,166 @@
+package com.novacomp.notifications.outbox;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped, append-only outbox file.
+ * Records are laid out as {@code [int length][int crc][byte state][payload]}.
+ * The length is written last, so a record torn by a crash reads as length 0
+ * (end of log) or fails its CRC check on recovery. Acknowledging a record
+ * flips its state byte in place.
+ */
+final class OutboxSegment {
+
+    static final int HEADER_SIZE = 9;
+    private static final int CRC_OFFSET = 4;
+    private static final int STATE_OFFSET = 8;
+    private static final byte PENDING = 0;
+    private static final byte ACKNOWLEDGED = 1;
+
+    private final int id;
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final AtomicInteger pending = new AtomicInteger();
+    private int writePosition;
+    private volatile boolean sealed;
+
+    private OutboxSegment(int id, Path file, MappedByteBuffer buffer) {
+        this.id = id;
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    static OutboxSegment create(Path directory, int id, int size) throws IOException {
+        Path file = directory.resolve(fileName(id));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new OutboxSegment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    /**
+     * Maps an existing segment and collects its unacknowledged records.
+     * Scanning stops at the first empty or corrupt record, which becomes the
+     * new write position.
+     */
+    static OutboxSegment recover(Path file, int id, List<RecoveredRecord> sink) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        OutboxSegment segment = new OutboxSegment(id, file, buffer);
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_SIZE, payload);
+            if (crc(payload) != buffer.getInt(position + CRC_OFFSET)) {
+                break;
+            }
+            if (buffer.get(position + STATE_OFFSET) == PENDING) {
+                segment.pending.incrementAndGet();
+                sink.add(new RecoveredRecord(offset(id, position), payload));
+            }
+            position += HEADER_SIZE + length;
+        }
+        segment.writePosition = position;
+        return segment;
+    }
+
+    /**
+     * @return The record's offset, or -1 if the segment has no room left.
+     */
+    long append(byte[] payload, boolean force) {
+        int recordSize = HEADER_SIZE + payload.length;
+        if (writePosition + recordSize > buffer.capacity()) {
+            return -1;
+        }
+        int position = writePosition;
+        buffer.put(position + HEADER_SIZE, payload);
+        buffer.putInt(position + CRC_OFFSET, crc(payload));
+        buffer.put(position + STATE_OFFSET, PENDING);
+        buffer.putInt(position, payload.length);
+        if (force) {
+            buffer.force(position, recordSize);
+        }
+        pending.incrementAndGet();
+        writePosition += recordSize;
+        return offset(id, position);
+    }
+
+    /**
+     * Marks the record at the given position as delivered.
+     *
+     * @return The number of records still pending in this segment.
+     */
+    synchronized int acknowledge(int position) {
+        if (buffer.get(position + STATE_OFFSET) == ACKNOWLEDGED) {
+            return pending.get();
+        }
+        buffer.put(position + STATE_OFFSET, ACKNOWLEDGED);
+        return pending.decrementAndGet();
+    }
+
+    void seal() {
+        sealed = true;
+    }
+
+    boolean isFinished() {
+        return sealed && pending.get() == 0;
+    }
+
+    int pendingCount() {
+        return pending.get();
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    int id() {
+        return id;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    static long offset(int segmentId, int position) {
+        return ((long) segmentId << 32) | position;
+    }
+
+    static int segmentId(long offset) {
+        return (int) (offset >>> 32);
+    }
+
+    static int position(long offset) {
+        return (int) offset;
+    }
+
+    static String fileName(int id) {
+        return String.format("outbox-%010d.seg", id);
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * An unacknowledged record found while recovering a segment.
+     */
+    record RecoveredRecord(long offset, byte[] payload) {
+    }
+}
@@ -1,19 +1,72 @@
 package com.novacomp.notifications.provider.email;
 
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.attachment.AttachmentEncoder;
+import com.novacomp.notifications.attachment.EncodedAttachment;
+import com.novacomp.notifications.channel.email.AsyncEmailProvider;
 import com.novacomp.notifications.channel.email.EmailNotification;
 import com.novacomp.notifications.channel.email.EmailProvider;
-import lombok.RequiredArgsConstructor;
+import com.novacomp.notifications.transport.HttpTransport;
+import com.novacomp.notifications.transport.Json;
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Stub implementation for SendGrid.
+ * SendGrid v3 Mail Send provider.
+ * Created without an {@link HttpTransport} it is a stub that only logs and
  * DOES NOT perform actual HTTP requests.
  */
 @Slf4j
-@RequiredArgsConstructor
-public class SendGridEmailProvider implements EmailProvider {
+public class SendGridEmailProvider implements EmailProvider, AsyncEmailProvider {
+
+    /**
+     * SendGrid accepts at most 1000 personalizations per Mail Send request.
+     */
+    static final int MAX_PERSONALIZATIONS = 1000;
+
+    public static final URI DEFAULT_ENDPOINT = URI.create("https://api.sendgrid.com/v3/mail/send");
 
     private final String apiKey;
+    private final HttpTransport transport;
+    private final URI endpoint;
+    private final AttachmentEncoder attachments;
+
+    public SendGridEmailProvider(String apiKey) {
+        this(apiKey, null, DEFAULT_ENDPOINT);
+    }
+
+    public SendGridEmailProvider(String apiKey, HttpTransport transport) {
+        this(apiKey, transport, DEFAULT_ENDPOINT);
+    }
+
+    /**
+     * @param endpoint The Mail Send URL, e.g. for a regional or test endpoint.
+     */
+    public SendGridEmailProvider(String apiKey, HttpTransport transport, URI endpoint) {
+        this(apiKey, transport, endpoint, AttachmentEncoder.getDefault());
+    }
+
+    /**
+     * @param attachments Encodes and caches attachment content, shared across
+     *                    the requests of a campaign.
+     */
+    public SendGridEmailProvider(String apiKey, HttpTransport transport, URI endpoint,
+            AttachmentEncoder attachments) {
+        this.apiKey = apiKey;
+        this.transport = transport;
+        this.endpoint = endpoint;
+        this.attachments = attachments;
+    }
 
     @Override
     public boolean sendEmail(EmailNotification notification) {
@@ -22,23 +75,200 @@ public class SendGridEmailProvider implements EmailProvider {
             throw new IllegalStateException("SendGrid API Key is missing");
         }
 
+        if (transport != null) {
+            return HttpTransport.accepted(transport.send(mailSend(List.of(notification))), getProviderName());
+        }
+
         // Logic simulation
-        log.info("[SendGrid] Connecting with key: {}", maskKey(apiKey));
-        log.info("[SendGrid] Sending email to: {}", notification.getTo());
-        log.info("[SendGrid] Subject: {}", notification.getSubject());
-        log.info("[SendGrid] Body Length: {}", notification.getBody().length());
+        if (log.isDebugEnabled()) {
+            log.debug("[SendGrid] Connecting with key: {}", maskKey(apiKey));
+            log.debug("[SendGrid] Sending email to: {}", notification.getTo());
+            log.debug("[SendGrid] Subject: {}", notification.getSubject());
+            log.debug("[SendGrid] Body Length: {}", notification.getBody().length());
+        }
 
         return true;
     }
 
+    /**
+     * With a transport, completes when the provider answers without holding a
+     * thread in the meantime; the stub completes immediately.
+     */
+    @Override
+    public CompletionStage<ProviderResponse> sendEmailAsync(EmailNotification notification) {
+        if (transport == null) {
+            return CompletableFuture.completedFuture(ProviderResponse.of(sendEmail(notification)));
+        }
+        if (apiKey == null || apiKey.isEmpty()) {
+            throw new IllegalStateException("SendGrid API Key is missing");
+        }
+        return transport.exchange(mailSend(List.of(notification)), getProviderName(),
+                SendGridEmailProvider::messageId);
+    }
+
+    /**
+     * Groups emails that share sender, subject, body and attachments into a
+     * single Mail Send request with one personalization per recipient. With a
+     * transport, all requests of the batch are sent concurrently. Only emails
+     * sent alone in their request get a message ID, since SendGrid returns
+     * one per request rather than per recipient.
+     */
+    @Override
+    public ProviderResponse[] sendEmailBatch(List<EmailNotification> notifications) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            throw new IllegalStateException("SendGrid API Key is missing");
+        }
+
+        Map<MessageKey, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < notifications.size(); i++) {
+            groups.computeIfAbsent(MessageKey.of(notifications.get(i)), key -> new ArrayList<>()).add(i);
+        }
+
+        log.debug("[SendGrid] Connecting with key: {}", maskKey(apiKey));
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<HttpRequest> requests = new ArrayList<>();
+        for (Map.Entry<MessageKey, List<Integer>> group : groups.entrySet()) {
+            List<Integer> recipients = group.getValue();
+            for (int from = 0; from < recipients.size(); from += MAX_PERSONALIZATIONS) {
+                int to = Math.min(from + MAX_PERSONALIZATIONS, recipients.size());
+                log.debug("[SendGrid] Sending '{}' to {} personalizations", group.getKey().subject(), to - from);
+                List<Integer> chunk = recipients.subList(from, to);
+                chunks.add(chunk);
+                if (transport != null) {
+                    requests.add(mailSend(chunk.stream().map(notifications::get).toList()));
+                }
+            }
+        }
+        log.debug("[SendGrid] Delivering {} emails in {} requests", notifications.size(), chunks.size());
+
+        ProviderResponse[] sent = new ProviderResponse[notifications.size()];
+        if (transport == null) {
+            Arrays.fill(sent, ProviderResponse.accepted(null));
+            return sent;
+        }
+        ProviderResponse[] responses = transport.sendAll(requests, getProviderName(),
+                SendGridEmailProvider::messageId);
+        for (int c = 0; c < chunks.size(); c++) {
+            List<Integer> chunk = chunks.get(c);
+            ProviderResponse response = chunk.size() == 1 ? responses[c] : withoutMessageId(responses[c]);
+            for (int index : chunk) {
+                sent[index] = response;
+            }
+        }
+        return sent;
+    }
+
     @Override
     public String getProviderName() {
         return "SendGrid";
     }
 
+    /**
+     * SendGrid answers with one X-Message-Id per request, shared by all of its
+     * personalizations.
+     */
+    private static String messageId(HttpResponse<String> response) {
+        return response.headers().firstValue("X-Message-Id").orElse(null);
+    }
+
+    /**
+     * The ID of a request with several personalizations does not identify
+     * any one recipient: tracking it would let their receipts overwrite each
+     * other, and one bounce would mark every recipient of the request.
+     */
+    private static ProviderResponse withoutMessageId(ProviderResponse response) {
+        return response.messageId() == null
+                ? response
+                : new ProviderResponse(response.accepted(), null, response.statusCode(), response.detail());
+    }
+
+    /**
+     * Builds one Mail Send request for emails that share everything but their
+     * recipients.
+     */
+    private HttpRequest mailSend(List<EmailNotification> recipients) {
+        EmailNotification first = recipients.get(0);
+        StringBuilder json = new StringBuilder(256 + first.getBody().length());
+        json.append("{\"personalizations\":[");
+        for (int i = 0; i < recipients.size(); i++) {
+            EmailNotification notification = recipients.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"to\":");
+            addresses(json, List.of(notification.getTo()));
+            if (!notification.getCc().isEmpty()) {
+                json.append(",\"cc\":");
+                addresses(json, notification.getCc());
+            }
+            if (!notification.getBcc().isEmpty()) {
+                json.append(",\"bcc\":");
+                addresses(json, notification.getBcc());
+            }
+            json.append('}');
+        }
+        json.append("],\"from\":{\"email\":");
+        Json.string(json, first.getFrom());
+        json.append("},\"subject\":");
+        Json.string(json, first.getSubject());
+        json.append(",\"content\":[{\"type\":\"text/plain\",\"value\":");
+        Json.string(json, first.getBody());
+        json.append("}]");
+        List<HttpRequest.BodyPublisher> parts = new ArrayList<>();
+        if (!first.getAttachments().isEmpty()) {
+            json.append(",\"attachments\":[");
+            for (int i = 0; i < first.getAttachments().size(); i++) {
+                EncodedAttachment attachment = attachments.encode(first.getAttachments().get(i));
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"content\":\"");
+                parts.add(HttpRequest.BodyPublishers.ofString(json.toString()));
+                parts.add(attachment.publisher());
+                json.setLength(0);
+                json.append("\",\"filename\":");
+                Json.string(json, attachment.fileName());
+                json.append('}');
+            }
+            json.append(']');
+        }
+        json.append('}');
+        parts.add(HttpRequest.BodyPublishers.ofString(json.toString()));
+
+        HttpRequest.BodyPublisher body = parts.size() == 1
+                ? parts.get(0)
+                : HttpRequest.BodyPublishers.concat(parts.toArray(new HttpRequest.BodyPublisher[0]));
+        return transport.post(endpoint, "application/json", body)
+                .header("Authorization", "Bearer " + apiKey)
+                .build();
+    }
+
+    private static void addresses(StringBuilder json, List<String> emails) {
+        json.append('[');
+        for (int i = 0; i < emails.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"email\":");
+            Json.string(json, emails.get(i));
+            json.append('}');
+        }
+        json.append(']');
+    }
+
     private String maskKey(String key) {
         if (key == null || key.length() < 4)
             return "****";
         return key.substring(0, 4) + "****";
     }
+
+    /**
+     * Content shared by every personalization of a single Mail Send request.
+     */
+    private record MessageKey(String from, String subject, String body, List<File> attachments) {
+        static MessageKey of(EmailNotification notification) {
+            return new MessageKey(notification.getFrom(), notification.getSubject(), notification.getBody(),
+                    notification.getAttachments());
+        }
+    }
 }
@@ -1,38 +1,190 @@
 package com.novacomp.notifications.provider.push;
 
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.push.AsyncPushProvider;
 import com.novacomp.notifications.channel.push.PushNotification;
 import com.novacomp.notifications.channel.push.PushProvider;
-import lombok.RequiredArgsConstructor;
+import com.novacomp.notifications.transport.HttpTransport;
+import com.novacomp.notifications.transport.Json;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Stub implementation for Firebase Cloud Messaging (FCM).
- * DOES NOT perform actual HTTP requests.
+ * Firebase Cloud Messaging (FCM) HTTP v1 provider.
+ * Created with a service account key path it is a stub that only logs and
+ * DOES NOT perform actual HTTP requests; created with an {@link HttpTransport}
+ * and an OAuth access token source it calls the FCM API.
  */
 @Slf4j
-@RequiredArgsConstructor
-public class FirebasePushProvider implements PushProvider {
+public class FirebasePushProvider implements PushProvider, AsyncPushProvider {
+
+    /**
+     * FCM multicast messages accept at most 500 registration tokens.
+     */
+    static final int MAX_MULTICAST_TOKENS = 500;
+
+    public static final URI DEFAULT_BASE_URI = URI.create("https://fcm.googleapis.com");
 
     private final String projectId;
     private final String serviceAccountKeyPath;
+    private final Supplier<String> accessToken;
+    private final HttpTransport transport;
+    private final URI baseUri;
+
+    public FirebasePushProvider(String projectId, String serviceAccountKeyPath) {
+        this.projectId = projectId;
+        this.serviceAccountKeyPath = serviceAccountKeyPath;
+        this.accessToken = null;
+        this.transport = null;
+        this.baseUri = DEFAULT_BASE_URI;
+    }
+
+    /**
+     * @param accessToken Supplies a current OAuth 2.0 access token for the
+     *                    project's service account; called for every request,
+     *                    so it should cache and refresh the token itself.
+     */
+    public FirebasePushProvider(String projectId, Supplier<String> accessToken, HttpTransport transport) {
+        this(projectId, accessToken, transport, DEFAULT_BASE_URI);
+    }
+
+    public FirebasePushProvider(String projectId, Supplier<String> accessToken, HttpTransport transport,
+            URI baseUri) {
+        this.projectId = projectId;
+        this.serviceAccountKeyPath = null;
+        this.accessToken = accessToken;
+        this.transport = transport;
+        this.baseUri = baseUri;
+    }
 
     @Override
     public boolean sendPush(PushNotification notification) {
         // Validation simulation
-        if (projectId == null || serviceAccountKeyPath == null) {
-            throw new IllegalStateException("Firebase credentials are missing");
+        requireCredentials();
+
+        if (transport != null) {
+            return HttpTransport.accepted(transport.send(send(notification)), getProviderName());
         }
 
         // Logic simulation
-        log.info("[FCM] Authenticating with: {}", serviceAccountKeyPath);
-        log.info("[FCM] Sending to token: {}", notification.getToken());
-        log.info("[FCM] Title: {} | Body: {}", notification.getTitle(), notification.getBody());
+        log.debug("[FCM] Authenticating with: {}", serviceAccountKeyPath);
+        log.debug("[FCM] Sending to token: {}", notification.getToken());
+        log.debug("[FCM] Title: {} | Body: {}", notification.getTitle(), notification.getBody());
 
         return true;
     }
 
+    /**
+     * With a transport, completes when the provider answers without holding a
+     * thread in the meantime; the stub completes immediately.
+     */
+    @Override
+    public CompletionStage<ProviderResponse> sendPushAsync(PushNotification notification) {
+        if (transport == null) {
+            return CompletableFuture.completedFuture(ProviderResponse.of(sendPush(notification)));
+        }
+        requireCredentials();
+        return transport.exchange(send(notification), getProviderName(), FirebasePushProvider::messageId);
+    }
+
+    /**
+     * Groups pushes that share title, body and data into multicast messages
+     * addressed to up to {@value #MAX_MULTICAST_TOKENS} tokens each. The HTTP
+     * v1 API has no multicast endpoint, so with a transport every push is its
+     * own request and the whole batch is sent concurrently, multiplexed over
+     * HTTP/2.
+     */
+    @Override
+    public ProviderResponse[] sendPushBatch(List<PushNotification> notifications) {
+        requireCredentials();
+
+        if (transport != null) {
+            List<HttpRequest> requests = new ArrayList<>(notifications.size());
+            for (PushNotification notification : notifications) {
+                requests.add(send(notification));
+            }
+            return transport.sendAll(requests, getProviderName(), FirebasePushProvider::messageId);
+        }
+
+        Map<MessageKey, List<PushNotification>> groups = new LinkedHashMap<>();
+        for (PushNotification notification : notifications) {
+            groups.computeIfAbsent(MessageKey.of(notification), key -> new ArrayList<>()).add(notification);
+        }
+
+        log.debug("[FCM] Authenticating with: {}", serviceAccountKeyPath);
+        int requests = 0;
+        for (Map.Entry<MessageKey, List<PushNotification>> group : groups.entrySet()) {
+            List<PushNotification> devices = group.getValue();
+            for (int from = 0; from < devices.size(); from += MAX_MULTICAST_TOKENS) {
+                int to = Math.min(from + MAX_MULTICAST_TOKENS, devices.size());
+                log.debug("[FCM] Multicasting '{}' to {} tokens", group.getKey().title(), to - from);
+                requests++;
+            }
+        }
+        log.debug("[FCM] Delivered {} pushes in {} requests", notifications.size(), requests);
+
+        ProviderResponse[] responses = new ProviderResponse[notifications.size()];
+        Arrays.fill(responses, ProviderResponse.accepted(null));
+        return responses;
+    }
+
     @Override
     public String getProviderName() {
         return "Firebase";
     }
+
+    /**
+     * FCM answers with the message's resource name,
+     * "projects/{id}/messages/{messageId}"; the last segment is the ID that
+     * delivery data refers to.
+     */
+    private static String messageId(HttpResponse<String> response) {
+        String name = Json.field(response.body(), "name");
+        return name == null ? null : name.substring(name.lastIndexOf('/') + 1);
+    }
+
+    private void requireCredentials() {
+        if (projectId == null || (serviceAccountKeyPath == null && accessToken == null)) {
+            throw new IllegalStateException("Firebase credentials are missing");
+        }
+    }
+
+    private HttpRequest send(PushNotification notification) {
+        StringBuilder json = new StringBuilder(128);
+        json.append("{\"message\":{\"token\":");
+        Json.string(json, notification.getToken());
+        json.append(",\"notification\":{\"title\":");
+        Json.string(json, notification.getTitle());
+        json.append(",\"body\":");
+        Json.string(json, notification.getBody());
+        json.append('}');
+        if (!notification.getData().isEmpty()) {
+            json.append(",\"data\":");
+            Json.object(json, notification.getData());
+        }
+        json.append("}}");
+        return transport.post(baseUri.resolve("/v1/projects/" + projectId + "/messages:send"),
+                        "application/json", json.toString())
+                .header("Authorization", "Bearer " + accessToken.get())
+                .build();
+    }
+
+    /**
+     * Content shared by every token of a single multicast message.
+     */
+    private record MessageKey(String title, String body, Map<String, String> data) {
+        static MessageKey of(PushNotification notification) {
+            return new MessageKey(notification.getTitle(), notification.getBody(), notification.getData());
+        }
+    }
 }
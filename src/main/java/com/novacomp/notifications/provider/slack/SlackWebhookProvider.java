@@ -1,19 +1,40 @@
 package com.novacomp.notifications.provider.slack;
 
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.slack.AsyncSlackProvider;
 import com.novacomp.notifications.channel.slack.SlackNotification;
 import com.novacomp.notifications.channel.slack.SlackProvider;
-import lombok.RequiredArgsConstructor;
+import com.novacomp.notifications.transport.HttpTransport;
+import com.novacomp.notifications.transport.Json;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Stub implementation for Slack Webhook.
+ * Slack incoming-webhook provider.
+ * Created without an {@link HttpTransport} it is a stub that only logs and
  * DOES NOT perform actual HTTP requests.
  */
 @Slf4j
-@RequiredArgsConstructor
-public class SlackWebhookProvider implements SlackProvider {
+public class SlackWebhookProvider implements SlackProvider, AsyncSlackProvider {
 
     private final String webhookUrl;
+    private final HttpTransport transport;
+
+    public SlackWebhookProvider(String webhookUrl) {
+        this(webhookUrl, null);
+    }
+
+    public SlackWebhookProvider(String webhookUrl, HttpTransport transport) {
+        this.webhookUrl = webhookUrl;
+        this.transport = transport;
+    }
 
     @Override
     public boolean sendSlackMessage(SlackNotification notification) {
@@ -22,25 +43,77 @@ public class SlackWebhookProvider implements SlackProvider {
             throw new IllegalStateException("Slack webhook URL is missing");
         }
 
+        if (transport != null) {
+            return HttpTransport.accepted(transport.send(post(notification)), getProviderName());
+        }
+
         // Logic simulation
-        log.info("[Slack] Posting to webhook: {}", maskUrl(webhookUrl));
-        log.info("[Slack] Channel: {}", notification.getChannel());
-        log.info("[Slack] Text: {}", notification.getText());
+        log.debug("[Slack] Posting to webhook: {}", maskUrl(webhookUrl));
+        log.debug("[Slack] Channel: {}", notification.getChannel());
+        log.debug("[Slack] Text: {}", notification.getText());
         if (notification.getUsername() != null) {
-            log.info("[Slack] Username: {}", notification.getUsername());
+            log.debug("[Slack] Username: {}", notification.getUsername());
         }
         if (notification.getIconEmoji() != null) {
-            log.info("[Slack] Icon: {}", notification.getIconEmoji());
+            log.debug("[Slack] Icon: {}", notification.getIconEmoji());
         }
 
         return true;
     }
 
+    /**
+     * With a transport, completes when the provider answers without holding a
+     * thread in the meantime; the stub completes immediately.
+     */
+    @Override
+    public CompletionStage<ProviderResponse> sendSlackMessageAsync(SlackNotification notification) {
+        if (transport == null) {
+            return CompletableFuture.completedFuture(ProviderResponse.of(sendSlackMessage(notification)));
+        }
+        if (webhookUrl == null || webhookUrl.isEmpty()) {
+            throw new IllegalStateException("Slack webhook URL is missing");
+        }
+        return transport.exchange(post(notification), getProviderName());
+    }
+
+    /**
+     * A webhook takes one message per request; with a transport, the requests
+     * of a batch are sent concurrently.
+     */
+    @Override
+    public ProviderResponse[] sendSlackBatch(List<SlackNotification> notifications) throws Exception {
+        if (transport == null) {
+            return SlackProvider.super.sendSlackBatch(notifications);
+        }
+        if (webhookUrl == null || webhookUrl.isEmpty()) {
+            throw new IllegalStateException("Slack webhook URL is missing");
+        }
+        List<HttpRequest> requests = new ArrayList<>(notifications.size());
+        for (SlackNotification notification : notifications) {
+            requests.add(post(notification));
+        }
+        return transport.sendAll(requests, getProviderName());
+    }
+
     @Override
     public String getProviderName() {
         return "Slack";
     }
 
+    private HttpRequest post(SlackNotification notification) {
+        Map<String, String> payload = new LinkedHashMap<>();
+        payload.put("channel", notification.getChannel());
+        payload.put("text", notification.getText());
+        if (notification.getUsername() != null) {
+            payload.put("username", notification.getUsername());
+        }
+        if (notification.getIconEmoji() != null) {
+            payload.put("icon_emoji", notification.getIconEmoji());
+        }
+        String json = Json.object(new StringBuilder(64 + notification.getText().length()), payload).toString();
+        return transport.post(URI.create(webhookUrl), "application/json", json).build();
+    }
+
     private String maskUrl(String url) {
         if (url == null || url.length() < 20)
             return "https://hooks.slack.com/****";
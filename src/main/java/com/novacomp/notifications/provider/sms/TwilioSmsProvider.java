@@ -1,21 +1,54 @@
 package com.novacomp.notifications.provider.sms;
 
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.sms.AsyncSmsProvider;
 import com.novacomp.notifications.channel.sms.SmsNotification;
 import com.novacomp.notifications.channel.sms.SmsProvider;
-import lombok.RequiredArgsConstructor;
+import com.novacomp.notifications.transport.HttpTransport;
+import com.novacomp.notifications.transport.Json;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Stub implementation for Twilio.
+ * Twilio Programmable Messaging provider.
+ * Created without an {@link HttpTransport} it is a stub that only logs and
  * DOES NOT perform actual HTTP requests.
  */
 @Slf4j
-@RequiredArgsConstructor
-public class TwilioSmsProvider implements SmsProvider {
+public class TwilioSmsProvider implements SmsProvider, AsyncSmsProvider {
+
+    public static final URI DEFAULT_BASE_URI = URI.create("https://api.twilio.com");
 
     private final String accountSid;
     private final String authToken;
     private final String fromPhoneNumber;
+    private final HttpTransport transport;
+    private final URI baseUri;
+
+    public TwilioSmsProvider(String accountSid, String authToken, String fromPhoneNumber) {
+        this(accountSid, authToken, fromPhoneNumber, null, DEFAULT_BASE_URI);
+    }
+
+    public TwilioSmsProvider(String accountSid, String authToken, String fromPhoneNumber, HttpTransport transport) {
+        this(accountSid, authToken, fromPhoneNumber, transport, DEFAULT_BASE_URI);
+    }
+
+    public TwilioSmsProvider(String accountSid, String authToken, String fromPhoneNumber, HttpTransport transport,
+            URI baseUri) {
+        this.accountSid = accountSid;
+        this.authToken = authToken;
+        this.fromPhoneNumber = fromPhoneNumber;
+        this.transport = transport;
+        this.baseUri = baseUri;
+    }
 
     @Override
     public boolean sendSms(SmsNotification notification) {
@@ -24,19 +57,74 @@ public class TwilioSmsProvider implements SmsProvider {
             throw new IllegalStateException("Twilio credentials are missing");
         }
 
+        if (transport != null) {
+            return HttpTransport.accepted(transport.send(createMessage(notification)), getProviderName());
+        }
+
         // Logic simulation
-        log.info("[Twilio] Connecting with SID: {}", mask(accountSid));
-        log.info("[Twilio] Sending from: {} to: {}", fromPhoneNumber, notification.getPhoneNumber());
-        log.info("[Twilio] Message: {}", notification.getMessage());
+        log.debug("[Twilio] Connecting with SID: {}", mask(accountSid));
+        log.debug("[Twilio] Sending from: {} to: {}", fromPhoneNumber, notification.getPhoneNumber());
+        log.debug("[Twilio] Message: {}", notification.getMessage());
 
         return true;
     }
 
+    /**
+     * With a transport, completes when the provider answers without holding a
+     * thread in the meantime; the stub completes immediately.
+     */
+    @Override
+    public CompletionStage<ProviderResponse> sendSmsAsync(SmsNotification notification) {
+        if (transport == null) {
+            return CompletableFuture.completedFuture(ProviderResponse.of(sendSms(notification)));
+        }
+        if (accountSid == null || authToken == null) {
+            throw new IllegalStateException("Twilio credentials are missing");
+        }
+        return transport.exchange(createMessage(notification), getProviderName(),
+                response -> Json.field(response.body(), "sid"));
+    }
+
+    /**
+     * Twilio creates one message per request; with a transport, the requests
+     * of a batch are sent concurrently over the shared connections.
+     */
+    @Override
+    public ProviderResponse[] sendSmsBatch(List<SmsNotification> notifications) throws Exception {
+        if (transport == null) {
+            return SmsProvider.super.sendSmsBatch(notifications);
+        }
+        if (accountSid == null || authToken == null) {
+            throw new IllegalStateException("Twilio credentials are missing");
+        }
+        List<HttpRequest> requests = new ArrayList<>(notifications.size());
+        for (SmsNotification notification : notifications) {
+            requests.add(createMessage(notification));
+        }
+        return transport.sendAll(requests, getProviderName(), response -> Json.field(response.body(), "sid"));
+    }
+
     @Override
     public String getProviderName() {
         return "Twilio";
     }
 
+    private HttpRequest createMessage(SmsNotification notification) {
+        String form = "To=" + encode(notification.getPhoneNumber())
+                + "&From=" + encode(fromPhoneNumber)
+                + "&Body=" + encode(notification.getMessage());
+        String credentials = Base64.getEncoder()
+                .encodeToString((accountSid + ":" + authToken).getBytes(StandardCharsets.UTF_8));
+        return transport.post(baseUri.resolve("/2010-04-01/Accounts/" + accountSid + "/Messages.json"),
+                        "application/x-www-form-urlencoded", form)
+                .header("Authorization", "Basic " + credentials)
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+    }
+
     private String mask(String input) {
         if (input == null || input.length() < 4)
             return "****";
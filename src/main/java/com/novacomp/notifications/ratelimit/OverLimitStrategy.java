@@ -0,0 +1,22 @@
+package com.novacomp.notifications.ratelimit;
+
+/**
+ * What a {@link RateLimiter} does when a call would exceed the quota.
+ */
+public enum OverLimitStrategy {
+    /**
+     * Poll the bucket until permits free up or the maximum wait elapses.
+     * Callers are not served in arrival order.
+     */
+    WAIT,
+    /**
+     * Reserve the next free slot immediately and sleep until it comes up.
+     * Callers are served in arrival order; the reservation is refused if the
+     * queue is already longer than the maximum wait.
+     */
+    QUEUE,
+    /**
+     * Fail immediately with a {@link RateLimitExceededException}.
+     */
+    REJECT
+}
@@ -0,0 +1,50 @@
+package com.novacomp.notifications.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A provider API quota: {@code permits} requests per {@code period}, with up
+ * to {@code burst} requests allowed back to back after an idle spell.
+ *
+ * @param permits Requests allowed per period.
+ * @param period  The quota period.
+ * @param burst   Requests that may be sent at once.
+ */
+public record Quota(long permits, Duration period, int burst) {
+
+    public Quota {
+        if (permits <= 0 || period.isZero() || period.isNegative() || burst <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid quota: " + permits + " per " + period + " with burst " + burst);
+        }
+    }
+
+    public static Quota perSecond(long permits) {
+        return new Quota(permits, Duration.ofSeconds(1), (int) Math.min(permits, Integer.MAX_VALUE));
+    }
+
+    public static Quota perMinute(long permits) {
+        return new Quota(permits, Duration.ofMinutes(1), (int) Math.min(permits, Integer.MAX_VALUE));
+    }
+
+    /**
+     * @param fraction Share of the quota to leave unused (e.g. 0.05 keeps
+     *                 throughput 5% under the provider's limit).
+     * @return A quota reduced by the given fraction.
+     */
+    public Quota withHeadroom(double fraction) {
+        if (fraction < 0 || fraction >= 1) {
+            throw new IllegalArgumentException("Headroom must be in [0, 1): " + fraction);
+        }
+        Duration stretched = Duration.ofNanos((long) (period.toNanos() / (1 - fraction)));
+        return new Quota(permits, stretched, burst);
+    }
+
+    public Quota withBurst(int burst) {
+        return new Quota(permits, period, burst);
+    }
+
+    long intervalNanos() {
+        return Math.max(1, period.toNanos() / permits);
+    }
+}
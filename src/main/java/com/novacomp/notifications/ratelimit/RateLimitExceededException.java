@@ -0,0 +1,12 @@
+package com.novacomp.notifications.ratelimit;
+
+import com.novacomp.notifications.api.NotificationException;
+
+/**
+ * Thrown when a call cannot be made within a provider's quota.
+ */
+public class RateLimitExceededException extends NotificationException {
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.novacomp.notifications.ratelimit;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.email.AsyncEmailProvider;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.email.EmailProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * EmailProvider decorator that takes a permit from a {@link RateLimiter} before
+ * every upstream request. A bulk call takes one permit per
+ * {@code recipientsPerRequest} notifications, matching how many requests the
+ * provider will make for it, and is sent in burst-sized chunks that are each
+ * admitted just before they go out, so the provider never receives more
+ * requests at once than the quota allows. Non-blocking sends wait for their
+ * permit on a timer instead of a sleeping thread.
+ */
+public class RateLimitedEmailProvider implements EmailProvider, AsyncEmailProvider {
+
+    private final EmailProvider delegate;
+    private final AsyncEmailProvider async;
+    private final RateLimiter limiter;
+    private final int recipientsPerRequest;
+
+    public RateLimitedEmailProvider(EmailProvider delegate, RateLimiter limiter) {
+        this(delegate, limiter, 1);
+    }
+
+    public RateLimitedEmailProvider(EmailProvider delegate, RateLimiter limiter, int recipientsPerRequest) {
+        if (recipientsPerRequest <= 0) {
+            throw new IllegalArgumentException("Recipients per request must be positive: " + recipientsPerRequest);
+        }
+        this.delegate = delegate;
+        this.async = AsyncEmailProvider.adapt(delegate);
+        this.limiter = limiter;
+        this.recipientsPerRequest = recipientsPerRequest;
+    }
+
+    @Override
+    public boolean sendEmail(EmailNotification notification) throws Exception {
+        limiter.acquire(1);
+        return delegate.sendEmail(notification);
+    }
+
+    @Override
+    public ProviderResponse[] sendEmailBatch(List<EmailNotification> notifications) throws Exception {
+        return limiter.sendInChunks(notifications, recipientsPerRequest, delegate::sendEmailBatch);
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendEmailAsync(EmailNotification notification) {
+        return limiter.acquireAsync(1).thenCompose(acquired -> async.sendEmailAsync(notification));
+    }
+
+    @Override
+    public String getProviderName() {
+        return delegate.getProviderName();
+    }
+}
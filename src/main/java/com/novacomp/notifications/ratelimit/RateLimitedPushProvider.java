@@ -0,0 +1,60 @@
+package com.novacomp.notifications.ratelimit;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.push.AsyncPushProvider;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.push.PushProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * PushProvider decorator that takes a permit from a {@link RateLimiter} before
+ * every upstream request. A bulk call takes one permit per
+ * {@code recipientsPerRequest} notifications, matching how many requests the
+ * provider will make for it, and is sent in burst-sized chunks that are each
+ * admitted just before they go out, so the provider never receives more
+ * requests at once than the quota allows. Non-blocking sends wait for their
+ * permit on a timer instead of a sleeping thread.
+ */
+public class RateLimitedPushProvider implements PushProvider, AsyncPushProvider {
+
+    private final PushProvider delegate;
+    private final AsyncPushProvider async;
+    private final RateLimiter limiter;
+    private final int recipientsPerRequest;
+
+    public RateLimitedPushProvider(PushProvider delegate, RateLimiter limiter) {
+        this(delegate, limiter, 1);
+    }
+
+    public RateLimitedPushProvider(PushProvider delegate, RateLimiter limiter, int recipientsPerRequest) {
+        if (recipientsPerRequest <= 0) {
+            throw new IllegalArgumentException("Recipients per request must be positive: " + recipientsPerRequest);
+        }
+        this.delegate = delegate;
+        this.async = AsyncPushProvider.adapt(delegate);
+        this.limiter = limiter;
+        this.recipientsPerRequest = recipientsPerRequest;
+    }
+
+    @Override
+    public boolean sendPush(PushNotification notification) throws Exception {
+        limiter.acquire(1);
+        return delegate.sendPush(notification);
+    }
+
+    @Override
+    public ProviderResponse[] sendPushBatch(List<PushNotification> notifications) throws Exception {
+        return limiter.sendInChunks(notifications, recipientsPerRequest, delegate::sendPushBatch);
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendPushAsync(PushNotification notification) {
+        return limiter.acquireAsync(1).thenCompose(acquired -> async.sendPushAsync(notification));
+    }
+
+    @Override
+    public String getProviderName() {
+        return delegate.getProviderName();
+    }
+}
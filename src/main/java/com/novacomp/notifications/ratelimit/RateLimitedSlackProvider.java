@@ -0,0 +1,60 @@
+package com.novacomp.notifications.ratelimit;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.slack.AsyncSlackProvider;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.slack.SlackProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * SlackProvider decorator that takes a permit from a {@link RateLimiter} before
+ * every upstream request. A bulk call takes one permit per
+ * {@code recipientsPerRequest} notifications, matching how many requests the
+ * provider will make for it, and is sent in burst-sized chunks that are each
+ * admitted just before they go out, so the provider never receives more
+ * requests at once than the quota allows. Non-blocking sends wait for their
+ * permit on a timer instead of a sleeping thread.
+ */
+public class RateLimitedSlackProvider implements SlackProvider, AsyncSlackProvider {
+
+    private final SlackProvider delegate;
+    private final AsyncSlackProvider async;
+    private final RateLimiter limiter;
+    private final int recipientsPerRequest;
+
+    public RateLimitedSlackProvider(SlackProvider delegate, RateLimiter limiter) {
+        this(delegate, limiter, 1);
+    }
+
+    public RateLimitedSlackProvider(SlackProvider delegate, RateLimiter limiter, int recipientsPerRequest) {
+        if (recipientsPerRequest <= 0) {
+            throw new IllegalArgumentException("Recipients per request must be positive: " + recipientsPerRequest);
+        }
+        this.delegate = delegate;
+        this.async = AsyncSlackProvider.adapt(delegate);
+        this.limiter = limiter;
+        this.recipientsPerRequest = recipientsPerRequest;
+    }
+
+    @Override
+    public boolean sendSlackMessage(SlackNotification notification) {
+        limiter.acquire(1);
+        return delegate.sendSlackMessage(notification);
+    }
+
+    @Override
+    public ProviderResponse[] sendSlackBatch(List<SlackNotification> notifications) throws Exception {
+        return limiter.sendInChunks(notifications, recipientsPerRequest, delegate::sendSlackBatch);
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendSlackMessageAsync(SlackNotification notification) {
+        return limiter.acquireAsync(1).thenCompose(acquired -> async.sendSlackMessageAsync(notification));
+    }
+
+    @Override
+    public String getProviderName() {
+        return delegate.getProviderName();
+    }
+}
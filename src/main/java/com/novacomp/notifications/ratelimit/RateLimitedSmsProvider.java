@@ -0,0 +1,60 @@
+package com.novacomp.notifications.ratelimit;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.sms.AsyncSmsProvider;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * SmsProvider decorator that takes a permit from a {@link RateLimiter} before
+ * every upstream request. A bulk call takes one permit per
+ * {@code recipientsPerRequest} notifications, matching how many requests the
+ * provider will make for it, and is sent in burst-sized chunks that are each
+ * admitted just before they go out, so the provider never receives more
+ * requests at once than the quota allows. Non-blocking sends wait for their
+ * permit on a timer instead of a sleeping thread.
+ */
+public class RateLimitedSmsProvider implements SmsProvider, AsyncSmsProvider {
+
+    private final SmsProvider delegate;
+    private final AsyncSmsProvider async;
+    private final RateLimiter limiter;
+    private final int recipientsPerRequest;
+
+    public RateLimitedSmsProvider(SmsProvider delegate, RateLimiter limiter) {
+        this(delegate, limiter, 1);
+    }
+
+    public RateLimitedSmsProvider(SmsProvider delegate, RateLimiter limiter, int recipientsPerRequest) {
+        if (recipientsPerRequest <= 0) {
+            throw new IllegalArgumentException("Recipients per request must be positive: " + recipientsPerRequest);
+        }
+        this.delegate = delegate;
+        this.async = AsyncSmsProvider.adapt(delegate);
+        this.limiter = limiter;
+        this.recipientsPerRequest = recipientsPerRequest;
+    }
+
+    @Override
+    public boolean sendSms(SmsNotification notification) throws Exception {
+        limiter.acquire(1);
+        return delegate.sendSms(notification);
+    }
+
+    @Override
+    public ProviderResponse[] sendSmsBatch(List<SmsNotification> notifications) throws Exception {
+        return limiter.sendInChunks(notifications, recipientsPerRequest, delegate::sendSmsBatch);
+    }
+
+    @Override
+    public CompletionStage<ProviderResponse> sendSmsAsync(SmsNotification notification) {
+        return limiter.acquireAsync(1).thenCompose(acquired -> async.sendSmsAsync(notification));
+    }
+
+    @Override
+    public String getProviderName() {
+        return delegate.getProviderName();
+    }
+}
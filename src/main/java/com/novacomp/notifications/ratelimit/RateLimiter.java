@@ -0,0 +1,209 @@
+package com.novacomp.notifications.ratelimit;
+
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.timer.HashedWheelTimer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces calls to one provider credential with a {@link TokenBucket} and
+ * applies an {@link OverLimitStrategy} when the quota is exhausted.
+ * {@link #acquire} sleeps the calling thread; pair it with the virtual-thread
+ * dispatcher so waiting sends do not hold platform threads.
+ * {@link #acquireAsync} waits on a timer instead, for non-blocking providers.
+ */
+public final class RateLimiter {
+
+    private final String name;
+    private final TokenBucket bucket;
+    private final OverLimitStrategy strategy;
+    private final long maxWaitNanos;
+    private final HashedWheelTimer timer;
+
+    public RateLimiter(String name, TokenBucket bucket, OverLimitStrategy strategy, Duration maxWait) {
+        this(name, bucket, strategy, maxWait, HashedWheelTimer.getDefault());
+    }
+
+    /**
+     * @param timer Schedules the waits of {@link #acquireAsync}.
+     */
+    public RateLimiter(String name, TokenBucket bucket, OverLimitStrategy strategy, Duration maxWait,
+            HashedWheelTimer timer) {
+        this.name = name;
+        this.bucket = bucket;
+        this.strategy = strategy;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.timer = timer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public OverLimitStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Takes the permits according to the strategy, all at once or none of
+     * them, waiting at most the configured maximum in total. With WAIT, more
+     * permits than the bucket's burst are queued as with QUEUE, since they
+     * could never be taken in one go; with REJECT they are always refused, so
+     * bulk calls go through {@link #sendInChunks} instead.
+     *
+     * @throws RateLimitExceededException if the permits cannot be had in time.
+     */
+    public void acquire(int permits) {
+        switch (strategy) {
+            case REJECT -> {
+                if (!bucket.tryAcquire(permits)) {
+                    throw exceeded(permits);
+                }
+            }
+            case QUEUE -> queue(permits);
+            case WAIT -> {
+                if (permits > bucket.maxPermits()) {
+                    queue(permits);
+                    return;
+                }
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (!bucket.tryAcquire(permits)) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw exceeded(permits);
+                    }
+                    sleep(Math.min(remaining, Math.max(bucket.nanosUntilAvailable(permits), 1000)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the permits as {@link #acquire} does, without blocking: waits are
+     * scheduled on the shared {@link HashedWheelTimer} and rounded up to its
+     * tick.
+     *
+     * @return A future completing once the permits are taken, or exceptionally
+     *         with {@link RateLimitExceededException} if they cannot be had in
+     *         time.
+     */
+    public CompletableFuture<Void> acquireAsync(int permits) {
+        return switch (strategy) {
+            case REJECT -> bucket.tryAcquire(permits)
+                    ? CompletableFuture.completedFuture(null)
+                    : CompletableFuture.failedFuture(exceeded(permits));
+            case QUEUE -> queueAsync(permits);
+            case WAIT -> {
+                if (permits > bucket.maxPermits()) {
+                    yield queueAsync(permits);
+                }
+                CompletableFuture<Void> acquired = new CompletableFuture<>();
+                poll(permits, System.nanoTime() + maxWaitNanos, acquired);
+                yield acquired;
+            }
+        };
+    }
+
+    /**
+     * Sends a bulk call in chunks of at most the bucket's burst, taking each
+     * chunk's permits just before sending it, so the provider never sees more
+     * requests at once than the quota allows and no strategy refuses a batch
+     * only for being larger than the burst. Each chunk waits at most the
+     * configured maximum.
+     *
+     * @param itemsPerPermit How many items the provider sends per request.
+     * @return One response per item. Items left over once the quota refuses
+     *         a later chunk get a retryable 429 response, since the earlier
+     *         chunks have already been sent.
+     * @throws RateLimitExceededException if not even the first chunk could be
+     *                                    admitted; nothing was sent then.
+     */
+    <T, E extends Exception> ProviderResponse[] sendInChunks(List<T> items, int itemsPerPermit,
+            BulkCall<T, E> call) throws E {
+        int chunkSize = Math.max(1, bucket.maxPermits()) * itemsPerPermit;
+        ProviderResponse[] responses = new ProviderResponse[items.size()];
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, items.size());
+            try {
+                acquire((to - from + itemsPerPermit - 1) / itemsPerPermit);
+            } catch (RateLimitExceededException e) {
+                if (from == 0) {
+                    throw e;
+                }
+                Arrays.fill(responses, from, items.size(), new ProviderResponse(false, null, 429, e.getMessage()));
+                return responses;
+            }
+            ProviderResponse[] sent = call.send(items.subList(from, to));
+            if (sent.length != to - from) {
+                throw new NotificationException(name + " returned " + sent.length + " responses for "
+                        + (to - from) + " notifications");
+            }
+            System.arraycopy(sent, 0, responses, from, sent.length);
+        }
+        return responses;
+    }
+
+    /**
+     * One bulk request to the provider.
+     */
+    @FunctionalInterface
+    interface BulkCall<T, E extends Exception> {
+        ProviderResponse[] send(List<T> items) throws E;
+    }
+
+    private CompletableFuture<Void> queueAsync(int permits) {
+        long wait = bucket.reserve(permits, maxWaitNanos);
+        if (wait < 0) {
+            return CompletableFuture.failedFuture(exceeded(permits));
+        }
+        if (wait == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> acquired = new CompletableFuture<>();
+        timer.schedule(() -> acquired.complete(null), wait, TimeUnit.NANOSECONDS);
+        return acquired;
+    }
+
+    private void poll(int permits, long deadline, CompletableFuture<Void> acquired) {
+        if (bucket.tryAcquire(permits)) {
+            acquired.complete(null);
+            return;
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            acquired.completeExceptionally(exceeded(permits));
+            return;
+        }
+        timer.schedule(() -> poll(permits, deadline, acquired),
+                Math.min(remaining, Math.max(bucket.nanosUntilAvailable(permits), 1000)), TimeUnit.NANOSECONDS);
+    }
+
+    private void queue(int permits) {
+        long wait = bucket.reserve(permits, maxWaitNanos);
+        if (wait < 0) {
+            throw exceeded(permits);
+        }
+        sleep(wait);
+    }
+
+    private RateLimitExceededException exceeded(int permits) {
+        return new RateLimitExceededException("Rate limit exceeded for " + name + " (" + permits + " permits, "
+                + strategy + ")");
+    }
+
+    private void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NotificationException("Interrupted while waiting for " + name + " rate limit", e);
+        }
+    }
+}
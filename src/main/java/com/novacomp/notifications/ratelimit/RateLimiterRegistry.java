@@ -0,0 +1,59 @@
+package com.novacomp.notifications.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out one {@link RateLimiter} per provider and credential (API key,
+ * account SID, webhook URL...). Quotas are registered per provider name;
+ * every credential of that provider gets its own bucket with that quota.
+ * Credentials are only used as map keys and never logged.
+ */
+public final class RateLimiterRegistry {
+
+    private final Map<String, Quota> quotas = new ConcurrentHashMap<>();
+    private final Map<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+    private final OverLimitStrategy strategy;
+    private final Duration maxWait;
+    private final int stripes;
+
+    /**
+     * @param strategy What limiters do when over the limit.
+     * @param maxWait  Longest a WAIT or QUEUE limiter lets a caller wait.
+     * @param stripes  Stripes per bucket; raise it for quotas of thousands of
+     *                 requests per second under heavy contention.
+     */
+    public RateLimiterRegistry(OverLimitStrategy strategy, Duration maxWait, int stripes) {
+        this.strategy = strategy;
+        this.maxWait = maxWait;
+        this.stripes = stripes;
+    }
+
+    public RateLimiterRegistry(OverLimitStrategy strategy, Duration maxWait) {
+        this(strategy, maxWait, 1);
+    }
+
+    /**
+     * Sets the quota enforced for every credential of a provider.
+     */
+    public RateLimiterRegistry quota(String providerName, Quota quota) {
+        quotas.put(providerName, quota);
+        return this;
+    }
+
+    /**
+     * @return The limiter of the given provider credential, created on first use.
+     * @throws IllegalStateException if no quota is registered for the provider.
+     */
+    public RateLimiter limiter(String providerName, String credential) {
+        return limiters.computeIfAbsent(providerName + '\u0000' + credential, key -> {
+            Quota quota = quotas.get(providerName);
+            if (quota == null) {
+                throw new IllegalStateException("No quota registered for provider " + providerName);
+            }
+            int bucketStripes = Math.min(stripes, quota.burst());
+            return new RateLimiter(providerName, new TokenBucket(quota, bucketStripes), strategy, maxWait);
+        });
+    }
+}
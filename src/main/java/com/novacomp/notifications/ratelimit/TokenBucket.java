@@ -0,0 +1,119 @@
+package com.novacomp.notifications.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm (GCRA).
+ * The whole bucket state is one "theoretical arrival time" per stripe, updated
+ * with compare-and-set; there is no refill thread and no lock. High-rate
+ * quotas can be split across several stripes, each owning an equal share of
+ * the rate and burst, so that concurrent senders contend on different cache
+ * lines; a sender whose home stripe is empty tries the others before giving up.
+ */
+public final class TokenBucket {
+
+    // Each stripe's value sits on its own cache line.
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray arrivals;
+    private final int stripes;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long originNanos = System.nanoTime();
+
+    public TokenBucket(Quota quota) {
+        this(quota, 1);
+    }
+
+    /**
+     * @param quota   The rate to enforce.
+     * @param stripes Number of independent stripes sharing the quota.
+     */
+    public TokenBucket(Quota quota, int stripes) {
+        if (stripes <= 0 || stripes > quota.burst()) {
+            throw new IllegalArgumentException("Stripes must be between 1 and the burst size: " + stripes);
+        }
+        this.stripes = stripes;
+        this.intervalNanos = quota.intervalNanos() * stripes;
+        this.burstNanos = intervalNanos * (quota.burst() / stripes);
+        this.arrivals = new AtomicLongArray(stripes * PADDING);
+    }
+
+    /**
+     * @return true if the permits were taken without waiting.
+     */
+    public boolean tryAcquire(int permits) {
+        int home = homeStripe();
+        for (int i = 0; i < stripes; i++) {
+            if (tryAcquire((home + i) % stripes, permits)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reserves the permits in FIFO order, possibly in the future.
+     *
+     * @param maxWaitNanos The longest acceptable wait.
+     * @return The nanoseconds to wait before using the permits, or -1 if that
+     *         would exceed {@code maxWaitNanos} (nothing is reserved then).
+     */
+    public long reserve(int permits, long maxWaitNanos) {
+        int index = homeStripe() * PADDING;
+        long cost = intervalNanos * permits;
+        while (true) {
+            long now = now();
+            long arrival = arrivals.get(index);
+            long start = Math.max(arrival, now);
+            long wait = Math.max(0, start + cost - now - burstNanos);
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (arrivals.compareAndSet(index, arrival, start + cost)) {
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * @return The most permits one {@link #tryAcquire} can take; larger
+     *         requests can only be {@link #reserve reserved}.
+     */
+    public int maxPermits() {
+        return (int) (burstNanos / intervalNanos);
+    }
+
+    /**
+     * @return The nanoseconds until the given permits could be taken, 0 if now.
+     */
+    public long nanosUntilAvailable(int permits) {
+        long now = now();
+        long start = Math.max(arrivals.get(homeStripe() * PADDING), now);
+        return Math.max(0, start + intervalNanos * permits - now - burstNanos);
+    }
+
+    private boolean tryAcquire(int stripe, int permits) {
+        int index = stripe * PADDING;
+        long cost = intervalNanos * permits;
+        while (true) {
+            long now = now();
+            long arrival = arrivals.get(index);
+            long start = Math.max(arrival, now);
+            if (start + cost - now > burstNanos) {
+                return false;
+            }
+            if (arrivals.compareAndSet(index, arrival, start + cost)) {
+                return true;
+            }
+        }
+    }
+
+    private int homeStripe() {
+        return stripes == 1 ? 0 : (int) (Thread.currentThread().threadId() % stripes);
+    }
+
+    private long now() {
+        return System.nanoTime() - originNanos;
+    }
+}
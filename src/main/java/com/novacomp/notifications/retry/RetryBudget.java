@@ -0,0 +1,108 @@
+package com.novacomp.notifications.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries to a fraction of the original traffic so that retries cannot
+ * multiply the load on a provider that is already degraded.
+ * Every first attempt deposits {@code ratio} tokens, each retry withdraws one,
+ * and a small time-based allowance keeps low-traffic channels able to retry.
+ * All bookkeeping is lock-free.
+ */
+public final class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long refillPerSecond;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final AtomicLong lastRefillNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param ratio            Retries allowed per original send (e.g. 0.2 = 20%).
+     * @param minRetriesPerSec Retries always allowed per second regardless of traffic.
+     * @param maxBalance       Cap on the tokens that can be saved up.
+     */
+    public RetryBudget(double ratio, int minRetriesPerSec, int maxBalance) {
+        if (ratio < 0 || minRetriesPerSec < 0 || maxBalance < 1) {
+            throw new IllegalArgumentException("Invalid retry budget: ratio=" + ratio
+                    + ", minRetriesPerSec=" + minRetriesPerSec + ", maxBalance=" + maxBalance);
+        }
+        this.depositPerRequest = (long) (ratio * SCALE);
+        this.refillPerSecond = minRetriesPerSec * SCALE;
+        this.maxBalance = maxBalance * SCALE;
+        this.balance = new AtomicLong(this.maxBalance);
+    }
+
+    /**
+     * @return A budget allowing 20% extra traffic from retries plus 10 retries
+     *         per second, saving up to 100 retries.
+     */
+    public static RetryBudget defaults() {
+        return new RetryBudget(0.2, 10, 100);
+    }
+
+    /**
+     * @return A budget large enough to never limit retries in practice.
+     */
+    public static RetryBudget unlimited() {
+        return new RetryBudget(1, 1_000_000, 1_000_000);
+    }
+
+    /**
+     * Records an original (non-retry) send.
+     */
+    public void deposit() {
+        add(depositPerRequest);
+    }
+
+    /**
+     * @return true if a retry may be attempted; the token is consumed.
+     */
+    public boolean tryWithdraw() {
+        return withdrawUpTo(1) == 1;
+    }
+
+    /**
+     * Takes as many retries as are available, up to {@code retries}, in one
+     * atomic step, so concurrent callers never strand tokens on a batch that
+     * then gives up.
+     *
+     * @return The number of retries taken, from 0 to {@code retries}.
+     */
+    public int withdrawUpTo(int retries) {
+        refill();
+        while (true) {
+            long current = balance.get();
+            int taken = (int) Math.min(retries, current / SCALE);
+            if (taken <= 0) {
+                return 0;
+            }
+            if (balance.compareAndSet(current, current - taken * SCALE)) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * @return The number of retries that could be attempted right now.
+     */
+    public long available() {
+        refill();
+        return balance.get() / SCALE;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        long last = lastRefillNanos.get();
+        long tokens = (long) Math.min(maxBalance, (now - last) / 1e9 * refillPerSecond);
+        if (tokens > 0 && lastRefillNanos.compareAndSet(last, now)) {
+            add(tokens);
+        }
+    }
+
+    private void add(long tokens) {
+        balance.accumulateAndGet(tokens, (current, delta) -> Math.min(maxBalance, current + delta));
+    }
+}
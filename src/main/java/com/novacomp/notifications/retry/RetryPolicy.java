@@ -0,0 +1,146 @@
+package com.novacomp.notifications.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Decides whether a failed send is retried and how long to wait first.
+ * Delays grow exponentially from {@code initialDelay} up to {@code maxDelay};
+ * jitter randomly shortens each delay by up to the given fraction so that
+ * clients failing together do not retry in lockstep.
+ */
+public final class RetryPolicy {
+
+    /**
+     * Failures caused by misconfiguration or bad input are permanent: retrying
+     * them can only fail again.
+     */
+    public static final Predicate<Throwable> DEFAULT_RETRYABLE = error -> {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IllegalArgumentException || cause instanceof IllegalStateException) {
+                return false;
+            }
+        }
+        return true;
+    };
+
+    private final int maxAttempts;
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+    private final double multiplier;
+    private final double jitter;
+    private final Predicate<Throwable> retryable;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialDelayNanos = builder.initialDelay.toNanos();
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.retryable = builder.retryable;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return A policy with 3 attempts, 100ms initial delay, 10s cap, factor 2
+     *         and 50% jitter.
+     */
+    public static RetryPolicy defaults() {
+        return builder().build();
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return true if the failure may succeed when tried again.
+     */
+    public boolean isRetryable(Throwable error) {
+        return retryable.test(error);
+    }
+
+    /**
+     * @param attempt The attempt that just failed, starting at 1.
+     * @return The delay before the next attempt, in nanoseconds.
+     */
+    public long delayNanos(int attempt) {
+        double backoff = initialDelayNanos * Math.pow(multiplier, attempt - 1);
+        long capped = (long) Math.min(backoff, maxDelayNanos);
+        if (jitter == 0) {
+            return capped;
+        }
+        return (long) (capped * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * Builder for {@link RetryPolicy}.
+     */
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private Duration initialDelay = Duration.ofMillis(100);
+        private Duration maxDelay = Duration.ofSeconds(10);
+        private double multiplier = 2.0;
+        private double jitter = 0.5;
+        private Predicate<Throwable> retryable = DEFAULT_RETRYABLE;
+
+        private Builder() {
+        }
+
+        /**
+         * Total number of attempts, including the first one.
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder initialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        public Builder maxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public Builder multiplier(double multiplier) {
+            if (multiplier < 1) {
+                throw new IllegalArgumentException("Multiplier must be at least 1: " + multiplier);
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Fraction (0 to 1) by which each delay may be randomly shortened.
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("Jitter must be between 0 and 1: " + jitter);
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Classifies failures; those rejected by the predicate fail immediately.
+         */
+        public Builder retryOn(Predicate<Throwable> retryable) {
+            this.retryable = retryable;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
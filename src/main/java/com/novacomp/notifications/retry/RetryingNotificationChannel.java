@@ -0,0 +1,309 @@
+package com.novacomp.notifications.retry;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.dispatch.NotificationDispatcher;
+import com.novacomp.notifications.timer.HashedWheelTimer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorates any NotificationChannel with retries.
+ * Each attempt goes through the delegate's {@code sendAsync}; when it fails
+ * with a retryable error, or returns a failure result marked
+ * {@link NotificationResult#retryable() retryable}, the next attempt is
+ * scheduled on a shared {@link HashedWheelTimer}, so no thread sleeps between
+ * attempts. Retries are only taken while the {@link RetryBudget} allows it.
+ */
+@Slf4j
+public class RetryingNotificationChannel implements NotificationChannel {
+
+    private final NotificationChannel delegate;
+    private final RetryPolicy policy;
+    private final RetryBudget budget;
+    private final HashedWheelTimer timer;
+    private final NotificationDispatcher dispatcher;
+
+    public RetryingNotificationChannel(NotificationChannel delegate, RetryPolicy policy) {
+        this(delegate, policy, RetryBudget.defaults(), HashedWheelTimer.getDefault());
+    }
+
+    public RetryingNotificationChannel(NotificationChannel delegate, RetryPolicy policy, RetryBudget budget,
+            HashedWheelTimer timer) {
+        this(delegate, policy, budget, timer, NotificationDispatcher.getDefault());
+    }
+
+    /**
+     * @param dispatcher Runs the later attempts of {@link #sendBatch}.
+     */
+    public RetryingNotificationChannel(NotificationChannel delegate, RetryPolicy policy, RetryBudget budget,
+            HashedWheelTimer timer, NotificationDispatcher dispatcher) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.budget = budget;
+        this.timer = timer;
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public String getChannelName() {
+        return delegate.getChannelName();
+    }
+
+    /**
+     * Sends with retries and waits for the final outcome.
+     *
+     * @throws NotificationException with the last failure once retries are exhausted.
+     */
+    @Override
+    public NotificationResult send(Notification notification) {
+        try {
+            return sendAsync(notification).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NotificationException notificationException) {
+                throw notificationException;
+            }
+            throw new NotificationException("Failed to send via " + getChannelName(), e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(Notification notification) {
+        CompletableFuture<NotificationResult> result = new CompletableFuture<>();
+        budget.deposit();
+        attempt(notification, 1, result);
+        return result;
+    }
+
+    /**
+     * Sends the batch through the delegate's {@code sendBatch} and resends
+     * only the notifications whose results are retryable failures, as one
+     * smaller batch per attempt. When the retry budget cannot cover every
+     * retryable notification, only as many as it affords are resent. The
+     * first attempt runs on the calling thread; later ones are scheduled on
+     * the timer and run on the dispatcher, and the caller only waits for the
+     * final results. If the delegate throws, the remaining batch is retried;
+     * what cannot be retried is reported as a failure result, except on the
+     * first attempt, where the exception is rethrown unless part of the batch
+     * is retried. An interrupt stops further attempts; the call then returns
+     * the results gathered so far, once any attempt already running ends.
+     */
+    @Override
+    public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+        BatchRetry retry = new BatchRetry(new ArrayList<>(notifications));
+        retry.send(1);
+        try {
+            return retry.done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            retry.stopped = true;
+            return join(retry.done);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private List<NotificationResult> join(CompletableFuture<List<NotificationResult>> done) {
+        try {
+            return done.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new NotificationException("Failed to send via " + getChannelName(), cause);
+    }
+
+    private void attempt(Notification notification, int attempt, CompletableFuture<NotificationResult> result) {
+        CompletableFuture<NotificationResult> future;
+        try {
+            future = delegate.sendAsync(notification);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            boolean retryable = error == null ? isRetryable(value) : policy.isRetryable(cause);
+            if (!retryable || attempt >= policy.maxAttempts()) {
+                complete(result, value, cause);
+                return;
+            }
+            if (!budget.tryWithdraw()) {
+                log.warn("{} retry budget exhausted; giving up after attempt {}", getChannelName(), attempt);
+                complete(result, value, cause);
+                return;
+            }
+            long delay = policy.delayNanos(attempt);
+            log.debug("{} attempt {} failed, retrying in {}ms", getChannelName(), attempt,
+                    TimeUnit.NANOSECONDS.toMillis(delay));
+            try {
+                timer.schedule(() -> attempt(notification, attempt + 1, result), delay, TimeUnit.NANOSECONDS);
+            } catch (RuntimeException e) {
+                log.warn("{} could not schedule attempt {}; keeping the last outcome", getChannelName(),
+                        attempt + 1, e);
+                complete(result, value, cause);
+            }
+        });
+    }
+
+    /**
+     * @return Whether the result reports a failure that may go away, such as
+     *         a queue that was full or a provider answering 503; these are
+     *         retried like retryable exceptions.
+     */
+    private static boolean isRetryable(NotificationResult result) {
+        return !result.success() && result.retryable();
+    }
+
+    private static void complete(CompletableFuture<NotificationResult> result, NotificationResult value,
+            Throwable error) {
+        if (error == null) {
+            result.complete(value);
+        } else {
+            result.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Takes one retry from the budget per notification to resend, all in one
+     * step; when the budget cannot cover them all, only the affordable ones
+     * are resent.
+     *
+     * @return The number of notifications that may be resent.
+     */
+    private int withdraw(int attempt, int retries) {
+        int taken = budget.withdrawUpTo(retries);
+        if (taken < retries) {
+            log.warn("{} retry budget exhausted; resending {} of {} after attempt {}", getChannelName(), taken,
+                    retries, attempt);
+        }
+        return taken;
+    }
+
+    /**
+     * State of one {@link #sendBatch} call. Attempts run one after another,
+     * each handed over by the timer, so the fields need no locking.
+     */
+    private final class BatchRetry {
+        private final List<Notification> batch;
+        private final NotificationResult[] results;
+        private final CompletableFuture<List<NotificationResult>> done = new CompletableFuture<>();
+        private List<Integer> pending;
+        private volatile boolean stopped;
+
+        BatchRetry(List<Notification> batch) {
+            this.batch = batch;
+            this.results = new NotificationResult[batch.size()];
+            this.pending = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                budget.deposit();
+                pending.add(i);
+            }
+        }
+
+        void send(int attempt) {
+            List<Notification> toSend = new ArrayList<>(pending.size());
+            for (int index : pending) {
+                toSend.add(batch.get(index));
+            }
+            List<NotificationResult> sent;
+            try {
+                sent = delegate.sendBatch(toSend);
+            } catch (RuntimeException e) {
+                boolean retryable = policy.isRetryable(e);
+                int retries = retryable && attempt < policy.maxAttempts() ? withdraw(attempt, pending.size()) : 0;
+                if (attempt == 1 && retries == 0) {
+                    done.completeExceptionally(e);
+                    return;
+                }
+                String error = "Failed to send via " + getChannelName() + ": " + e.getMessage();
+                for (int index : pending) {
+                    results[index] = retryable
+                            ? NotificationResult.failure(getChannelName(), null, error)
+                            : NotificationResult.rejection(getChannelName(), null, error);
+                }
+                pending = new ArrayList<>(pending.subList(0, retries));
+                next(attempt);
+                return;
+            }
+            if (sent.size() != toSend.size()) {
+                done.completeExceptionally(new NotificationException(getChannelName() + " returned "
+                        + sent.size() + " results for " + toSend.size() + " notifications"));
+                return;
+            }
+
+            List<Integer> retry = new ArrayList<>();
+            for (int i = 0; i < sent.size(); i++) {
+                NotificationResult result = sent.get(i);
+                results[pending.get(i)] = result;
+                if (isRetryable(result) && attempt < policy.maxAttempts()) {
+                    retry.add(pending.get(i));
+                }
+            }
+            pending = retry.subList(0, retry.isEmpty() ? 0 : withdraw(attempt, retry.size()));
+            next(attempt);
+        }
+
+        /**
+         * Schedules the next attempt, or completes with the results so far if
+         * there is nothing left to resend or it cannot be scheduled. Each
+         * pending notification already holds its last result.
+         */
+        private void next(int attempt) {
+            if (pending.isEmpty() || stopped) {
+                done.complete(Arrays.asList(results));
+                return;
+            }
+            try {
+                timer.schedule(() -> handOff(attempt + 1), policy.delayNanos(attempt), TimeUnit.NANOSECONDS);
+            } catch (RuntimeException e) {
+                log.warn("{} could not schedule batch attempt {}; keeping the last results", getChannelName(),
+                        attempt + 1, e);
+                done.complete(Arrays.asList(results));
+            }
+        }
+
+        /**
+         * Runs on the timer thread, which must not block: the attempt itself
+         * goes to the dispatcher.
+         */
+        private void handOff(int attempt) {
+            if (stopped) {
+                done.complete(Arrays.asList(results));
+                return;
+            }
+            try {
+                dispatcher.submit(getChannelName(), () -> {
+                    send(attempt);
+                    return null;
+                }).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        done.completeExceptionally(error);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("{} could not hand off batch attempt {}; keeping the last results", getChannelName(),
+                        attempt, e);
+                done.complete(Arrays.asList(results));
+            }
+        }
+    }
+}
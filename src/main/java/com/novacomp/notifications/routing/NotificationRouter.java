@@ -0,0 +1,255 @@
+package com.novacomp.notifications.routing;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.dispatch.NotificationDispatcher;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Channel that accepts any notification and forwards it to the channel
+ * registered for its type.
+ * <p>
+ * Routes are resolved once per notification class, by walking its superclasses
+ * and interfaces, and cached in a {@link ClassValue}; after that a lookup is a
+ * single table read. A mixed batch is split into one group per channel, in
+ * original order within each group, and every group goes through its channel's
+ * {@link NotificationChannel#sendBatch}; the groups run concurrently on the
+ * {@link NotificationDispatcher}.
+ */
+@Slf4j
+public final class NotificationRouter implements NotificationChannel {
+
+    /**
+     * Marks types without a route, since a ClassValue caches values per class.
+     */
+    private static final NotificationChannel UNROUTED = notification -> {
+        throw new IllegalStateException("Unrouted channel must not be used");
+    };
+
+    private final Map<Class<?>, NotificationChannel> routes;
+    private final NotificationDispatcher dispatcher;
+    private final ClassValue<NotificationChannel> table = new ClassValue<>() {
+        @Override
+        protected NotificationChannel computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private NotificationRouter(Builder builder) {
+        this.routes = Map.copyOf(builder.routes);
+        this.dispatcher = builder.dispatcher != null ? builder.dispatcher : NotificationDispatcher.getDefault();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String getChannelName() {
+        return "ROUTER";
+    }
+
+    /**
+     * @return The channel for the notification's type, or null if there is no
+     *         route for it.
+     */
+    public NotificationChannel channelFor(Notification notification) {
+        NotificationChannel channel = table.get(notification.getClass());
+        return channel == UNROUTED ? null : channel;
+    }
+
+    @Override
+    public NotificationResult send(Notification notification) {
+        NotificationChannel channel = channelFor(notification);
+        return channel == null ? unrouted(notification) : channel.send(notification);
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(Notification notification) {
+        NotificationChannel channel = channelFor(notification);
+        return channel == null
+                ? CompletableFuture.completedFuture(unrouted(notification))
+                : channel.sendAsync(notification);
+    }
+
+    /**
+     * Sends a mixed batch, one {@code sendBatch} call per channel.
+     *
+     * @return One result per notification, in iteration order. Notifications
+     *         without a route get a failure result.
+     * @throws NotificationException if a channel's batch failed as a whole.
+     */
+    @Override
+    public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+        try {
+            return sendBatchAsync(notifications).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NotificationException notificationException) {
+                throw notificationException;
+            }
+            throw new NotificationException("Failed to send routed batch", e.getCause());
+        }
+    }
+
+    /**
+     * Like {@link #sendBatch}, without waiting for the channels.
+     */
+    public CompletableFuture<List<NotificationResult>> sendBatchAsync(Collection<? extends Notification> notifications) {
+        NotificationResult[] results = new NotificationResult[notifications.size()];
+        Map<NotificationChannel, Group> groups = new IdentityHashMap<>();
+        int index = 0;
+        for (Notification notification : notifications) {
+            NotificationChannel channel = table.get(notification.getClass());
+            if (channel == UNROUTED) {
+                results[index] = unrouted(notification);
+            } else {
+                groups.computeIfAbsent(channel, key -> new Group()).add(notification, index);
+            }
+            index++;
+        }
+
+        List<CompletableFuture<Void>> calls = new ArrayList<>(groups.size());
+        for (Map.Entry<NotificationChannel, Group> entry : groups.entrySet()) {
+            NotificationChannel channel = entry.getKey();
+            Group group = entry.getValue();
+            log.debug("Routing {} notifications to {}", group.notifications.size(), channel.getChannelName());
+            CompletableFuture<List<NotificationResult>> call = groups.size() == 1
+                    ? sendGroup(channel, group)
+                    : dispatcher.submit(channel.getChannelName(), () -> channel.sendBatch(group.notifications));
+            calls.add(call.thenAccept(groupResults -> {
+                if (groupResults.size() != group.notifications.size()) {
+                    throw new NotificationException(channel.getChannelName() + " returned " + groupResults.size()
+                            + " results for " + group.notifications.size() + " notifications");
+                }
+                for (int i = 0; i < groupResults.size(); i++) {
+                    results[group.positions[i]] = groupResults.get(i);
+                }
+            }));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> Arrays.asList(results));
+    }
+
+    /**
+     * A single group is sent on the caller's thread; there is nothing to
+     * overlap it with.
+     */
+    private static CompletableFuture<List<NotificationResult>> sendGroup(NotificationChannel channel, Group group) {
+        try {
+            return CompletableFuture.completedFuture(channel.sendBatch(group.notifications));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private NotificationChannel resolve(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            NotificationChannel channel = routes.get(current);
+            if (channel != null) {
+                return channel;
+            }
+        }
+        Deque<Class<?>> interfaces = new ArrayDeque<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            interfaces.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        while (!interfaces.isEmpty()) {
+            Class<?> current = interfaces.poll();
+            NotificationChannel channel = routes.get(current);
+            if (channel != null) {
+                return channel;
+            }
+            interfaces.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        return UNROUTED;
+    }
+
+    private NotificationResult unrouted(Notification notification) {
+        return NotificationResult.rejection(getChannelName(), null,
+                "No channel registered for " + notification.getClass().getSimpleName());
+    }
+
+    private static final class Group {
+        private final List<Notification> notifications = new ArrayList<>();
+        private int[] positions = new int[8];
+
+        void add(Notification notification, int position) {
+            if (notifications.size() == positions.length) {
+                positions = Arrays.copyOf(positions, positions.length * 2);
+            }
+            positions[notifications.size()] = position;
+            notifications.add(notification);
+        }
+    }
+
+    /**
+     * Builder for {@link NotificationRouter}.
+     */
+    public static final class Builder {
+        private final Map<Class<?>, NotificationChannel> routes = new LinkedHashMap<>();
+        private NotificationDispatcher dispatcher;
+
+        private Builder() {
+        }
+
+        /**
+         * Sends notifications of the type, and of its subtypes without a more
+         * specific route, through the channel.
+         */
+        public Builder route(Class<? extends Notification> type, NotificationChannel channel) {
+            if (channel == null) {
+                throw new IllegalArgumentException("Channel is required for " + type.getSimpleName());
+            }
+            routes.put(type, channel);
+            return this;
+        }
+
+        public Builder email(NotificationChannel channel) {
+            return route(EmailNotification.class, channel);
+        }
+
+        public Builder sms(NotificationChannel channel) {
+            return route(SmsNotification.class, channel);
+        }
+
+        public Builder push(NotificationChannel channel) {
+            return route(PushNotification.class, channel);
+        }
+
+        public Builder slack(NotificationChannel channel) {
+            return route(SlackNotification.class, channel);
+        }
+
+        /**
+         * Dispatcher that runs the per-channel groups of a mixed batch,
+         * applying its per-channel concurrency limits.
+         * Defaults to {@link NotificationDispatcher#getDefault()}, looked up
+         * only when the router is built without one.
+         */
+        public Builder dispatcher(NotificationDispatcher dispatcher) {
+            this.dispatcher = dispatcher;
+            return this;
+        }
+
+        public NotificationRouter build() {
+            return new NotificationRouter(this);
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.novacomp.notifications.schedule;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.dispatch.NotificationDispatcher;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds notifications until their send-at time and then hands them to their
+ * channel in batches.
+ * <p>
+ * Pending notifications live in a hierarchical timing wheel: {@value #LEVELS}
+ * levels of {@value #SLOTS} slots, where a slot of level {@code n} spans
+ * {@code 256^n} ticks. A notification is linked into the slot of the coarsest
+ * level its deadline needs; when a coarser slot comes due, its notifications
+ * are cascaded down into finer levels. Scheduling and cancelling are O(1)
+ * however many notifications are pending, and an idle tick costs one slot
+ * check. With the default 100 ms tick the wheel spans about 13 years; later
+ * deadlines wait in an overflow list.
+ * <p>
+ * Notifications that come due in the same tick are grouped by channel and
+ * sent with {@link NotificationChannel#sendBatch} on the
+ * {@link NotificationDispatcher}, in batches of up to
+ * {@link Builder#maxBatchSize}. Send-at times are converted to ticks against
+ * the wall clock once, when the scheduler starts.
+ */
+@Slf4j
+public final class NotificationScheduler implements AutoCloseable {
+
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(100);
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+    static final int LEVELS = 4;
+    static final int SLOTS = 256;
+    private static final int SLOT_BITS = 8;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickNanos;
+    private final long tickMillis;
+    private final int maxBatchSize;
+    private final NotificationDispatcher dispatcher;
+    private final Bucket[][] wheels = new Bucket[LEVELS][SLOTS];
+    private final Bucket overflow = new Bucket();
+    private final Queue<ScheduledNotification> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<ScheduledNotification> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startNanos;
+    private final long startMillis;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    private NotificationScheduler(Builder builder) {
+        this.tickMillis = builder.tick.toMillis();
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.maxBatchSize = builder.maxBatchSize;
+        this.dispatcher = builder.dispatcher != null ? builder.dispatcher : NotificationDispatcher.getDefault();
+        for (Bucket[] wheel : wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                wheel[i] = new Bucket();
+            }
+        }
+        this.startNanos = System.nanoTime();
+        this.startMillis = System.currentTimeMillis();
+        this.worker = Thread.ofPlatform().name(builder.threadName).daemon(true).start(this::run);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Sends the notification through the channel at the given time, or on the
+     * next tick if the time has passed.
+     *
+     * @return A handle to cancel the send or await its result.
+     */
+    public ScheduledNotification schedule(NotificationChannel channel, Notification notification, Instant sendAt) {
+        if (!running) {
+            throw new IllegalStateException("Scheduler is closed");
+        }
+        long delayMillis = sendAt.toEpochMilli() - startMillis;
+        long deadline = delayMillis <= 0 ? 0 : (delayMillis + tickMillis - 1) / tickMillis;
+        ScheduledNotification scheduled = new ScheduledNotification(this, channel, notification, sendAt, deadline);
+        pending.incrementAndGet();
+        additions.add(scheduled);
+        return scheduled;
+    }
+
+    public ScheduledNotification schedule(NotificationChannel channel, Notification notification, Duration delay) {
+        return schedule(channel, notification, Instant.now().plus(delay));
+    }
+
+    /**
+     * @return Notifications scheduled and not yet handed to their channel or
+     *         cancelled.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the wheel. Notifications still pending fail with a
+     * {@link NotificationException}; batches already handed off complete
+     * normally.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void cancelled(ScheduledNotification scheduled) {
+        pending.decrementAndGet();
+        cancellations.add(scheduled);
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleep = deadline - (System.nanoTime() - startNanos);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            tick++;
+            List<ScheduledNotification> due = new ArrayList<>();
+            transferCancellations();
+            transferAdditions(due);
+            advance(due);
+            if (!due.isEmpty()) {
+                handOff(due);
+            }
+        }
+        failPending();
+    }
+
+    private void transferAdditions(List<ScheduledNotification> due) {
+        // Bounded per tick so a flood of additions cannot stall expiry.
+        for (int i = 0; i < 100_000; i++) {
+            ScheduledNotification scheduled = additions.poll();
+            if (scheduled == null) {
+                return;
+            }
+            if (!scheduled.isCancelled()) {
+                place(scheduled, due);
+            }
+        }
+    }
+
+    private void transferCancellations() {
+        ScheduledNotification scheduled;
+        while ((scheduled = cancellations.poll()) != null) {
+            if (scheduled.bucket != null) {
+                scheduled.bucket.remove(scheduled);
+            }
+        }
+    }
+
+    /**
+     * Cascades the coarser slots that start at the current tick, then takes
+     * the notifications of the current level-0 slot.
+     */
+    private void advance(List<ScheduledNotification> due) {
+        if ((tick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+            cascade(overflow, due);
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                cascade(wheels[level][(int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK], due);
+            }
+        }
+        Bucket bucket = wheels[0][(int) tick & SLOT_MASK];
+        ScheduledNotification scheduled;
+        while ((scheduled = bucket.head) != null) {
+            bucket.remove(scheduled);
+            due.add(scheduled);
+        }
+    }
+
+    private void cascade(Bucket bucket, List<ScheduledNotification> due) {
+        ScheduledNotification scheduled;
+        while ((scheduled = bucket.head) != null) {
+            bucket.remove(scheduled);
+            place(scheduled, due);
+        }
+    }
+
+    /**
+     * Links the notification into the coarsest level whose higher-order tick
+     * digits it shares with the current tick.
+     */
+    private void place(ScheduledNotification scheduled, List<ScheduledNotification> due) {
+        long deadline = scheduled.deadline;
+        if (deadline <= tick) {
+            due.add(scheduled);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((deadline >>> shift) == (tick >>> shift)) {
+                wheels[level][(int) (deadline >>> (SLOT_BITS * level)) & SLOT_MASK].add(scheduled);
+                return;
+            }
+        }
+        overflow.add(scheduled);
+    }
+
+    private void handOff(List<ScheduledNotification> due) {
+        Map<NotificationChannel, List<ScheduledNotification>> byChannel = new IdentityHashMap<>();
+        for (ScheduledNotification scheduled : due) {
+            if (scheduled.markDue()) {
+                pending.decrementAndGet();
+                byChannel.computeIfAbsent(scheduled.channel(), channel -> new ArrayList<>()).add(scheduled);
+            }
+        }
+        for (Map.Entry<NotificationChannel, List<ScheduledNotification>> entry : byChannel.entrySet()) {
+            List<ScheduledNotification> all = entry.getValue();
+            for (int from = 0; from < all.size(); from += maxBatchSize) {
+                send(entry.getKey(), all.subList(from, Math.min(from + maxBatchSize, all.size())));
+            }
+        }
+    }
+
+    private void send(NotificationChannel channel, List<ScheduledNotification> batch) {
+        List<Notification> notifications = new ArrayList<>(batch.size());
+        for (ScheduledNotification scheduled : batch) {
+            notifications.add(scheduled.notification());
+        }
+        CompletableFuture<List<NotificationResult>> sent;
+        try {
+            log.debug("Handing {} scheduled notifications to {}", batch.size(), channel.getChannelName());
+            sent = dispatcher.submit(channel.getChannelName(), () -> channel.sendBatch(notifications));
+        } catch (RuntimeException e) {
+            // Runs on the wheel thread, which must survive e.g. a closed dispatcher.
+            log.error("Failed to hand {} scheduled notifications to their channel", batch.size(), e);
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((results, error) -> {
+            Throwable failure = error;
+            if (failure == null && results.size() != batch.size()) {
+                failure = new NotificationException(channel.getChannelName() + " returned "
+                        + results.size() + " results for " + batch.size() + " notifications");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (failure != null) {
+                    batch.get(i).result.completeExceptionally(failure);
+                } else {
+                    batch.get(i).result.complete(results.get(i));
+                }
+            }
+        });
+    }
+
+    private void failPending() {
+        List<ScheduledNotification> left = new ArrayList<>();
+        for (Bucket[] wheel : wheels) {
+            for (Bucket bucket : wheel) {
+                bucket.drainTo(left);
+            }
+        }
+        overflow.drainTo(left);
+        ScheduledNotification scheduled;
+        while ((scheduled = additions.poll()) != null) {
+            left.add(scheduled);
+        }
+        NotificationException closed = new NotificationException("Scheduler closed before the send time");
+        int failed = 0;
+        for (ScheduledNotification notification : left) {
+            if (notification.markDue()) {
+                pending.decrementAndGet();
+                notification.result.completeExceptionally(closed);
+                failed++;
+            }
+        }
+        log.info("Notification scheduler closed; {} pending notifications failed", failed);
+    }
+
+    /**
+     * Doubly-linked list of the notifications in one slot. Only touched by the
+     * wheel thread.
+     */
+    static final class Bucket {
+        private ScheduledNotification head;
+        private ScheduledNotification tail;
+
+        void add(ScheduledNotification scheduled) {
+            scheduled.bucket = this;
+            if (head == null) {
+                head = tail = scheduled;
+            } else {
+                tail.next = scheduled;
+                scheduled.prev = tail;
+                tail = scheduled;
+            }
+        }
+
+        void remove(ScheduledNotification scheduled) {
+            if (scheduled.bucket != this) {
+                return;
+            }
+            if (scheduled.prev != null) {
+                scheduled.prev.next = scheduled.next;
+            } else {
+                head = scheduled.next;
+            }
+            if (scheduled.next != null) {
+                scheduled.next.prev = scheduled.prev;
+            } else {
+                tail = scheduled.prev;
+            }
+            scheduled.prev = null;
+            scheduled.next = null;
+            scheduled.bucket = null;
+        }
+
+        void drainTo(List<ScheduledNotification> out) {
+            ScheduledNotification scheduled;
+            while ((scheduled = head) != null) {
+                remove(scheduled);
+                out.add(scheduled);
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link NotificationScheduler}.
+     */
+    public static final class Builder {
+        private Duration tick = DEFAULT_TICK;
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private NotificationDispatcher dispatcher;
+        private String threadName = "notification-scheduler";
+
+        private Builder() {
+        }
+
+        /**
+         * Resolution of send-at times, in whole milliseconds; notifications go
+         * out up to one tick late.
+         */
+        public Builder tick(Duration tick) {
+            if (tick.toMillis() <= 0) {
+                throw new IllegalArgumentException("Tick must be at least 1 ms: " + tick);
+            }
+            this.tick = tick;
+            return this;
+        }
+
+        public Builder tick(long duration, TimeUnit unit) {
+            return tick(Duration.ofNanos(unit.toNanos(duration)));
+        }
+
+        /**
+         * Largest batch handed to one {@code sendBatch} call.
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Dispatcher that runs the batches, applying its per-channel
+         * concurrency limits.
+         * Defaults to {@link NotificationDispatcher#getDefault()}, looked up
+         * only when the scheduler is built without one.
+         */
+        public Builder dispatcher(NotificationDispatcher dispatcher) {
+            this.dispatcher = dispatcher;
+            return this;
+        }
+
+        public Builder threadName(String threadName) {
+            this.threadName = threadName;
+            return this;
+        }
+
+        public NotificationScheduler build() {
+            return new NotificationScheduler(this);
+        }
+    }
+}
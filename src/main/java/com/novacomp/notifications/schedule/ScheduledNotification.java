@@ -0,0 +1,81 @@
+package com.novacomp.notifications.schedule;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationResult;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handle to a notification held by a {@link NotificationScheduler}.
+ */
+public final class ScheduledNotification {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int DUE = 2;
+
+    private final NotificationScheduler scheduler;
+    private final NotificationChannel channel;
+    private final Notification notification;
+    private final Instant sendAt;
+    final long deadline;
+    final CompletableFuture<NotificationResult> result = new CompletableFuture<>();
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    NotificationScheduler.Bucket bucket;
+    ScheduledNotification next;
+    ScheduledNotification prev;
+
+    ScheduledNotification(NotificationScheduler scheduler, NotificationChannel channel, Notification notification,
+            Instant sendAt, long deadline) {
+        this.scheduler = scheduler;
+        this.channel = channel;
+        this.notification = notification;
+        this.sendAt = sendAt;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the send if the notification has not yet been handed to its
+     * channel. The result future is cancelled as well.
+     *
+     * @return true if the notification will not be sent.
+     */
+    public boolean cancel() {
+        if (!state.compareAndSet(PENDING, CANCELLED)) {
+            return false;
+        }
+        scheduler.cancelled(this);
+        result.cancel(false);
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return state.get() == CANCELLED;
+    }
+
+    /**
+     * @return A future completing with the send's result once the
+     *         notification has been sent.
+     */
+    public CompletableFuture<NotificationResult> result() {
+        return result;
+    }
+
+    public Notification notification() {
+        return notification;
+    }
+
+    public NotificationChannel channel() {
+        return channel;
+    }
+
+    public Instant sendAt() {
+        return sendAt;
+    }
+
+    boolean markDue() {
+        return state.compareAndSet(PENDING, DUE);
+    }
+}
@@ -0,0 +1,31 @@
+package com.novacomp.notifications.template;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe map-backed {@link TemplateLoader}.
+ */
+public class InMemoryTemplateLoader implements TemplateLoader {
+
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a template for the given locale; use {@link Locale#ROOT} for
+     * the fallback used when no localized version exists.
+     */
+    public InMemoryTemplateLoader put(String templateId, Locale locale, String source) {
+        templates.put(key(templateId, locale), source);
+        return this;
+    }
+
+    @Override
+    public String load(String templateId, Locale locale) {
+        return templates.get(key(templateId, locale));
+    }
+
+    private static String key(String templateId, Locale locale) {
+        return templateId + '\u0000' + locale.toLanguageTag();
+    }
+}
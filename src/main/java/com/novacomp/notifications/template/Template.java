@@ -0,0 +1,94 @@
+package com.novacomp.notifications.template;
+
+import com.novacomp.notifications.api.NotificationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable render plan of a message template. The source is parsed once into
+ * alternating literal segments and variable names, so rendering is a straight
+ * sequence of appends with no scanning or regex work.
+ * <p>
+ * Variables are written as {@code {{name}}}; whitespace inside the braces is
+ * ignored.
+ */
+public final class Template {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private Template(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * @throws IllegalArgumentException If a placeholder is unclosed or empty.
+     */
+    public static Template compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at index " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).strip();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at index " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(name);
+            position = close + CLOSE.length();
+        }
+        return new Template(literals.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    /**
+     * Appends the rendered text to {@code out}, which callers can reuse across
+     * renders.
+     *
+     * @throws NotificationException If a variable has no value.
+     */
+    public void renderTo(Map<String, ?> values, StringBuilder out) {
+        out.ensureCapacity(out.length() + literalLength + variables.length * 16);
+        out.append(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            Object value = values.get(variables[i]);
+            if (value == null) {
+                throw new NotificationException("Missing template variable: " + variables[i]);
+            }
+            out.append(value);
+            out.append(literals[i + 1]);
+        }
+    }
+
+    public String render(Map<String, ?> values) {
+        StringBuilder out = new StringBuilder(literalLength + variables.length * 16);
+        renderTo(values, out);
+        return out.toString();
+    }
+
+    /**
+     * @return The variable names in the order they appear, including repeats.
+     */
+    public List<String> variables() {
+        return List.of(variables);
+    }
+}
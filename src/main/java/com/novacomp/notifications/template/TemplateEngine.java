@@ -0,0 +1,190 @@
+package com.novacomp.notifications.template;
+
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders localized message templates. Each (template id, locale) pair is
+ * loaded and compiled once into a {@link Template} and kept in a bounded
+ * cache. Cache hits take no lock; only adding a template, and evicting the
+ * least recently used one when the cache is full, is serialized. Each render
+ * sizes its buffer from the template's literal length, so it rarely has to
+ * grow; callers rendering many messages in a loop can pass their own buffer
+ * to {@link #renderTo}.
+ * <p>
+ * Lookups fall back from the requested locale to its language and then to
+ * {@link Locale#ROOT}, e.g. {@code fr-CA -> fr -> root}.
+ * <p>
+ * The builder helpers fill in the content fields of each notification type
+ * and leave the addressing fields to the caller:
+ *
+ * <pre>{@code
+ * EmailNotification email = engine.email("welcome", locale, vars)
+ *         .to(user.email())
+ *         .from("noreply@example.com")
+ *         .build();
+ * }</pre>
+ */
+public class TemplateEngine {
+
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private final TemplateLoader loader;
+    private final int maxCachedTemplates;
+    private final Map<CacheKey, Cached> cache = new ConcurrentHashMap<>();
+    private final Object insertionLock = new Object();
+
+    public TemplateEngine(TemplateLoader loader) {
+        this(loader, DEFAULT_CACHE_SIZE);
+    }
+
+    public TemplateEngine(TemplateLoader loader, int maxCachedTemplates) {
+        if (maxCachedTemplates <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxCachedTemplates);
+        }
+        this.loader = loader;
+        this.maxCachedTemplates = maxCachedTemplates;
+    }
+
+    /**
+     * @throws NotificationException If no template exists for the id in the
+     *                               locale or any of its fallbacks.
+     */
+    public Template template(String templateId, Locale locale) {
+        CacheKey key = new CacheKey(templateId, locale);
+        Cached cached = cache.get(key);
+        if (cached != null) {
+            cached.lastUsed = System.nanoTime();
+            return cached.template;
+        }
+        Template compiled = Template.compile(loadWithFallback(templateId, locale));
+        synchronized (insertionLock) {
+            Cached raced = cache.get(key);
+            if (raced != null) {
+                return raced.template;
+            }
+            if (cache.size() >= maxCachedTemplates) {
+                evictLeastRecentlyUsed();
+            }
+            cache.put(key, new Cached(compiled));
+            return compiled;
+        }
+    }
+
+    public String render(String templateId, Locale locale, Map<String, ?> values) {
+        return template(templateId, locale).render(values);
+    }
+
+    /**
+     * Appends the rendered text to a buffer the caller owns and may reuse.
+     */
+    public void renderTo(String templateId, Locale locale, Map<String, ?> values, StringBuilder out) {
+        template(templateId, locale).renderTo(values, out);
+    }
+
+    /**
+     * Renders {@code <id>.subject} and {@code <id>.body}.
+     */
+    public EmailNotification.EmailNotificationBuilder email(String templateId, Locale locale,
+            Map<String, ?> values) {
+        return EmailNotification.builder()
+                .subject(render(templateId + ".subject", locale, values))
+                .body(render(templateId + ".body", locale, values));
+    }
+
+    /**
+     * Renders {@code <id>} as the message.
+     */
+    public SmsNotification.SmsNotificationBuilder sms(String templateId, Locale locale, Map<String, ?> values) {
+        return SmsNotification.builder()
+                .message(render(templateId, locale, values));
+    }
+
+    /**
+     * Renders {@code <id>.title} and {@code <id>.body}.
+     */
+    public PushNotification.PushNotificationBuilder push(String templateId, Locale locale,
+            Map<String, ?> values) {
+        return PushNotification.builder()
+                .title(render(templateId + ".title", locale, values))
+                .body(render(templateId + ".body", locale, values));
+    }
+
+    /**
+     * Renders {@code <id>} as the message text.
+     */
+    public SlackNotification.SlackNotificationBuilder slack(String templateId, Locale locale,
+            Map<String, ?> values) {
+        return SlackNotification.builder()
+                .text(render(templateId, locale, values));
+    }
+
+    /**
+     * Drops every cached template, e.g. after the templates were edited.
+     */
+    public void invalidateAll() {
+        synchronized (insertionLock) {
+            cache.clear();
+        }
+    }
+
+    public int cachedTemplates() {
+        return cache.size();
+    }
+
+    private void evictLeastRecentlyUsed() {
+        CacheKey eldest = null;
+        long eldestUse = Long.MAX_VALUE;
+        for (Map.Entry<CacheKey, Cached> entry : cache.entrySet()) {
+            long lastUsed = entry.getValue().lastUsed;
+            if (eldest == null || lastUsed - eldestUse < 0) {
+                eldest = entry.getKey();
+                eldestUse = lastUsed;
+            }
+        }
+        cache.remove(eldest);
+    }
+
+    private String loadWithFallback(String templateId, Locale locale) {
+        for (Locale candidate : fallbacks(locale)) {
+            String source = loader.load(templateId, candidate);
+            if (source != null) {
+                return source;
+            }
+        }
+        throw new NotificationException("Template not found: " + templateId + " (" + locale.toLanguageTag() + ")");
+    }
+
+    private static Locale[] fallbacks(Locale locale) {
+        Locale language = Locale.of(locale.getLanguage());
+        if (locale.equals(Locale.ROOT)) {
+            return new Locale[] { Locale.ROOT };
+        }
+        if (language.equals(locale)) {
+            return new Locale[] { locale, Locale.ROOT };
+        }
+        return new Locale[] { locale, language, Locale.ROOT };
+    }
+
+    private record CacheKey(String templateId, Locale locale) {
+    }
+
+    /**
+     * A cached template and the time it was last looked up, written without
+     * a lock on every hit.
+     */
+    private static final class Cached {
+        private final Template template;
+        private volatile long lastUsed = System.nanoTime();
+
+        Cached(Template template) {
+            this.template = template;
+        }
+    }
+}
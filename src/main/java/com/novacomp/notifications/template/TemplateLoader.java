@@ -0,0 +1,17 @@
+package com.novacomp.notifications.template;
+
+import java.util.Locale;
+
+/**
+ * Source of template text, e.g. files, a database or an in-memory map.
+ */
+@FunctionalInterface
+public interface TemplateLoader {
+
+    /**
+     * @return The template source for exactly this id and locale, or null if
+     *         there is none. The engine handles falling back to less specific
+     *         locales.
+     */
+    String load(String templateId, Locale locale);
+}
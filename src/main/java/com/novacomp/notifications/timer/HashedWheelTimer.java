@@ -0,0 +1,240 @@
+package com.novacomp.notifications.timer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single-threaded hashed timing wheel for large numbers of short timeouts.
+ * Scheduling and cancelling are O(1): new timeouts are handed to the wheel
+ * thread through a lock-free queue and linked into the bucket of their
+ * deadline; timeouts further away than one revolution wait a number of
+ * rounds. Expired tasks run on the wheel thread, so they must only hand work
+ * off (e.g. to a {@link com.novacomp.notifications.api.NotificationChannel#sendAsync}).
+ */
+@Slf4j
+public final class HashedWheelTimer implements AutoCloseable {
+
+    public static final long DEFAULT_TICK_MILLIS = 10;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final long startNanos;
+    private volatile boolean running = true;
+    private long tick;
+
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration);
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.startNanos = System.nanoTime();
+        this.worker = Thread.ofPlatform().name(name).daemon(true).start(this::run);
+    }
+
+    /**
+     * @return The JVM-wide timer shared by the library's retry and pacing
+     *         layers. It must not be closed.
+     */
+    public static HashedWheelTimer getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Runs the task once after the given delay.
+     *
+     * @return A handle that can cancel the task before it runs.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer is closed");
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(this, task, deadline);
+        additions.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleep = deadline - (System.nanoTime() - startNanos);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            transferCancellations();
+            transferAdditions();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    private void transferAdditions() {
+        // Bounded per tick so a flood of additions cannot stall expiry.
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = additions.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+            long ticks = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void transferCancellations() {
+        Timeout timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private static final class DefaultHolder {
+        private static final HashedWheelTimer INSTANCE = new HashedWheelTimer("notification-timer",
+                DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Handle to a scheduled task.
+     */
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return true if the task was cancelled before it ran.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            timer.cancellations.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Timer task failed", e);
+            }
+        }
+    }
+
+    /**
+     * Doubly-linked list of the timeouts hashed to one slot. Only touched by
+     * the wheel thread.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        timeout.expire();
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.novacomp.notifications.tracking;
+
+/**
+ * A delivery event for one message, e.g. parsed from a provider webhook.
+ * Immutable record.
+ *
+ * @param messageId       The provider's message ID, as returned in
+ *                        {@code NotificationResult.messageId}.
+ * @param status          The reported state.
+ * @param timestampMillis When the provider observed the event.
+ */
+public record DeliveryReceipt(String messageId, DeliveryStatus status, long timestampMillis) {
+
+    public DeliveryReceipt {
+        if (messageId == null || messageId.isEmpty()) {
+            throw new IllegalArgumentException("Message ID is required");
+        }
+        if (status == null || status == DeliveryStatus.UNKNOWN) {
+            throw new IllegalArgumentException("A receipt must carry a known status: " + status);
+        }
+    }
+
+    public static DeliveryReceipt delivered(String messageId, long timestampMillis) {
+        return new DeliveryReceipt(messageId, DeliveryStatus.DELIVERED, timestampMillis);
+    }
+
+    public static DeliveryReceipt bounced(String messageId, long timestampMillis) {
+        return new DeliveryReceipt(messageId, DeliveryStatus.BOUNCED, timestampMillis);
+    }
+
+    public static DeliveryReceipt failed(String messageId, long timestampMillis) {
+        return new DeliveryReceipt(messageId, DeliveryStatus.FAILED, timestampMillis);
+    }
+}
@@ -0,0 +1,31 @@
+package com.novacomp.notifications.tracking;
+
+/**
+ * Delivery state of a message, as last reported for it.
+ */
+public enum DeliveryStatus {
+    /**
+     * Nothing is known about the message.
+     */
+    UNKNOWN,
+    /**
+     * The provider accepted the message.
+     */
+    SENT,
+    DELIVERED,
+    BOUNCED,
+    FAILED;
+
+    private static final DeliveryStatus[] VALUES = values();
+
+    /**
+     * @return Whether no later receipt is expected for the message.
+     */
+    public boolean isFinal() {
+        return compareTo(SENT) > 0;
+    }
+
+    static DeliveryStatus of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
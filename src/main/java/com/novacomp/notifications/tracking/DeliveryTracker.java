@@ -0,0 +1,340 @@
+package com.novacomp.notifications.tracking;
+
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.dedup.NotificationFingerprint;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks the delivery status of recently sent messages by provider message
+ * ID. Sends are registered with {@link #recordSent}, provider callbacks are
+ * fed in with {@link #ingest}, and {@link #status} answers in constant time.
+ * <p>
+ * Entries are kept in primitive arrays keyed by a 64-bit hash of the message
+ * ID, at 24 bytes per message and no per-entry objects. The table is split
+ * into segments, each guarded by its own lock, that keep their entries in
+ * insertion order. When a segment is full its oldest entry is evicted, or,
+ * with a spill file configured, moved to a fixed-size hash table in a
+ * memory-mapped file, where lookups stay constant time.
+ * <p>
+ * Receipts may arrive out of order: a final status (delivered, bounced,
+ * failed) is never replaced by {@link DeliveryStatus#SENT}, and between two
+ * receipts of the same kind the later one wins.
+ */
+@Slf4j
+public final class DeliveryTracker implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    private static final int SEGMENTS = 16;
+    private static final long TIMESTAMP_MASK = (1L << 56) - 1;
+
+    private final Segment[] segments;
+    private final SpillTable spill;
+
+    private DeliveryTracker(Builder builder) {
+        int perSegment = Math.max(1, (builder.capacity + SEGMENTS - 1) / SEGMENTS);
+        int capacity = perSegment == 1 ? 1 : Integer.highestOneBit(perSegment - 1) << 1;
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(capacity);
+        }
+        if (builder.spillFile == null) {
+            this.spill = null;
+        } else {
+            try {
+                this.spill = new SpillTable(builder.spillFile, builder.spillCapacity);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create delivery spill file " + builder.spillFile, e);
+            }
+            log.info("Delivery tracker spilling to {} ({} entries)", builder.spillFile, builder.spillCapacity);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Registers a successful send as {@link DeliveryStatus#SENT}; failed
+     * results are ignored.
+     */
+    public void recordSent(NotificationResult result) {
+        if (result.success() && result.messageId() != null) {
+            apply(result.messageId(), DeliveryStatus.SENT, System.currentTimeMillis());
+        }
+    }
+
+    public void ingest(DeliveryReceipt receipt) {
+        apply(receipt.messageId(), receipt.status(), receipt.timestampMillis());
+    }
+
+    public void ingestAll(Iterable<DeliveryReceipt> receipts) {
+        for (DeliveryReceipt receipt : receipts) {
+            ingest(receipt);
+        }
+    }
+
+    /**
+     * @return The latest status of the message, or
+     *         {@link DeliveryStatus#UNKNOWN} if it was never tracked or has
+     *         been evicted.
+     */
+    public DeliveryStatus status(String messageId) {
+        return DeliveryStatus.of(statusOf(find(messageId)));
+    }
+
+    /**
+     * @return The latest receipt of the message, if it is tracked.
+     */
+    public Optional<DeliveryReceipt> lookup(String messageId) {
+        long state = find(messageId);
+        if (state == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new DeliveryReceipt(messageId, DeliveryStatus.of(statusOf(state)), timeOf(state)));
+    }
+
+    /**
+     * @return Messages held in memory, not counting spilled ones.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void close() {
+        if (spill != null) {
+            spill.close();
+        }
+    }
+
+    private void apply(String messageId, DeliveryStatus status, long timestampMillis) {
+        long key = NotificationFingerprint.ofKey(messageId);
+        long state = pack(status, timestampMillis);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            if (segment.update(key, state) || (spill != null && spill.update(key, state))) {
+                return;
+            }
+            if (segment.isFull()) {
+                long evictedKey = segment.headKey();
+                long evictedState = segment.removeHead();
+                if (spill != null) {
+                    spill.put(evictedKey, evictedState);
+                }
+            }
+            segment.insert(key, state);
+        }
+    }
+
+    private long find(String messageId) {
+        long key = NotificationFingerprint.ofKey(messageId);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            long state = segment.get(key);
+            if (state != 0 || spill == null) {
+                return state;
+            }
+        }
+        return spill.get(key);
+    }
+
+    /**
+     * Keys come from {@link NotificationFingerprint#ofKey}, which already
+     * mixes every bit, so segment and bucket are taken from the key directly.
+     */
+    private Segment segmentFor(long key) {
+        return segments[(int) (key >>> 60)];
+    }
+
+    static long pack(DeliveryStatus status, long timestampMillis) {
+        return (long) status.ordinal() << 56 | (timestampMillis & TIMESTAMP_MASK);
+    }
+
+    static int statusOf(long state) {
+        return (int) (state >>> 56);
+    }
+
+    static long timeOf(long state) {
+        return state & TIMESTAMP_MASK;
+    }
+
+    /**
+     * @return The state to keep when {@code incoming} is reported for a
+     *         message currently in {@code current}.
+     */
+    static long merge(long current, long incoming) {
+        if (current == 0) {
+            return incoming;
+        }
+        boolean currentFinal = DeliveryStatus.of(statusOf(current)).isFinal();
+        boolean incomingFinal = DeliveryStatus.of(statusOf(incoming)).isFinal();
+        if (currentFinal != incomingFinal) {
+            return incomingFinal ? incoming : current;
+        }
+        return timeOf(incoming) >= timeOf(current) ? incoming : current;
+    }
+
+    private static final class Segment {
+
+        private final long[] keys;
+        private final long[] states;
+        private final int ringMask;
+        /**
+         * Open-addressing index: ring slot + 1, or 0 for an empty bucket.
+         */
+        private final int[] index;
+        private final int indexMask;
+        private int head;
+        private int size;
+
+        Segment(int capacity) {
+            this.keys = new long[capacity];
+            this.states = new long[capacity];
+            this.ringMask = capacity - 1;
+            this.index = new int[capacity * 2];
+            this.indexMask = index.length - 1;
+        }
+
+        long get(long key) {
+            int bucket = find(key);
+            return bucket < 0 ? 0 : states[index[bucket] - 1];
+        }
+
+        boolean update(long key, long state) {
+            int bucket = find(key);
+            if (bucket < 0) {
+                return false;
+            }
+            int slot = index[bucket] - 1;
+            states[slot] = merge(states[slot], state);
+            return true;
+        }
+
+        boolean isFull() {
+            return size == keys.length;
+        }
+
+        long headKey() {
+            return keys[head];
+        }
+
+        /**
+         * @return The state of the evicted entry.
+         */
+        long removeHead() {
+            long state = states[head];
+            int bucket = find(keys[head]);
+            if (bucket >= 0) {
+                deleteBucket(bucket);
+            }
+            head = (head + 1) & ringMask;
+            size--;
+            return state;
+        }
+
+        void insert(long key, long state) {
+            int slot = (head + size) & ringMask;
+            keys[slot] = key;
+            states[slot] = state;
+            size++;
+            int bucket = bucketOf(key);
+            while (index[bucket] != 0) {
+                bucket = (bucket + 1) & indexMask;
+            }
+            index[bucket] = slot + 1;
+        }
+
+        private int find(long key) {
+            int bucket = bucketOf(key);
+            int slot;
+            while ((slot = index[bucket]) != 0) {
+                if (keys[slot - 1] == key) {
+                    return bucket;
+                }
+                bucket = (bucket + 1) & indexMask;
+            }
+            return -1;
+        }
+
+        /**
+         * Backward-shift deletion: moves later entries of the probe run into
+         * the hole so lookups never need tombstones.
+         */
+        private void deleteBucket(int hole) {
+            int current = hole;
+            while (true) {
+                current = (current + 1) & indexMask;
+                int slot = index[current];
+                if (slot == 0) {
+                    break;
+                }
+                int home = bucketOf(keys[slot - 1]);
+                boolean movable = current > hole
+                        ? home <= hole || home > current
+                        : home <= hole && home > current;
+                if (movable) {
+                    index[hole] = slot;
+                    hole = current;
+                }
+            }
+            index[hole] = 0;
+        }
+
+        private int bucketOf(long key) {
+            return (int) key & indexMask;
+        }
+    }
+
+    /**
+     * Builder for {@link DeliveryTracker}.
+     */
+    public static final class Builder {
+        private int capacity = DEFAULT_CAPACITY;
+        private Path spillFile;
+        private long spillCapacity;
+
+        private Builder() {
+        }
+
+        /**
+         * Messages kept in memory; the oldest are evicted or spilled beyond it.
+         */
+        public Builder capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Moves entries evicted from memory to a memory-mapped file that holds
+         * about {@code entries} messages at 16 bytes each. Once the file is
+         * full, each new spilled entry replaces the oldest one that shares its
+         * hash bucket. The file is recreated when the tracker is built.
+         */
+        public Builder spillTo(Path file, long entries) {
+            if (entries <= 0) {
+                throw new IllegalArgumentException("Spill capacity must be positive: " + entries);
+            }
+            this.spillFile = file;
+            this.spillCapacity = entries;
+            return this;
+        }
+
+        public DeliveryTracker build() {
+            return new DeliveryTracker(this);
+        }
+    }
+}
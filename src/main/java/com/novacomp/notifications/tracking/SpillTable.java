@@ -0,0 +1,157 @@
+package com.novacomp.notifications.tracking;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed-size hash table of (key, state) pairs in a memory-mapped file, used
+ * by {@link DeliveryTracker} for entries evicted from memory.
+ * <p>
+ * The file is an array of buckets of {@value #SLOTS_PER_BUCKET} slots, 16
+ * bytes each. A key lives in one bucket, so every operation reads at most one
+ * bucket. When a bucket is full, a new key replaces the slot with the oldest
+ * timestamp.
+ */
+final class SpillTable {
+
+    static final int SLOTS_PER_BUCKET = 8;
+
+    private static final int SLOT_BYTES = 16;
+    private static final int BUCKET_BYTES = SLOTS_PER_BUCKET * SLOT_BYTES;
+    /**
+     * A mapping is limited to 2 GiB, so the file is mapped in 1 GiB regions,
+     * which hold a whole number of buckets.
+     */
+    private static final int REGION_SHIFT = 30;
+    private static final int BUCKETS_PER_REGION = (1 << REGION_SHIFT) / BUCKET_BYTES;
+    private static final int LOCK_STRIPES = 256;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] regions;
+    private final long bucketMask;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    SpillTable(Path file, long entries) throws IOException {
+        long buckets = Math.max(1, (entries + SLOTS_PER_BUCKET - 1) / SLOTS_PER_BUCKET);
+        buckets = buckets == 1 ? 1 : Long.highestOneBit(buckets - 1) << 1;
+        this.bucketMask = buckets - 1;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        long bytes = buckets * BUCKET_BYTES;
+        int regionCount = (int) ((bytes + (1L << REGION_SHIFT) - 1) >>> REGION_SHIFT);
+        this.regions = new MappedByteBuffer[regionCount];
+        for (int i = 0; i < regionCount; i++) {
+            long offset = (long) i << REGION_SHIFT;
+            regions[i] = channel.map(FileChannel.MapMode.READ_WRITE, offset,
+                    Math.min(1L << REGION_SHIFT, bytes - offset));
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * @return The key's state, or 0 if the key is not in the table.
+     */
+    long get(long key) {
+        long bucket = bucketOf(key);
+        MappedByteBuffer region = regionOf(bucket);
+        int base = offsetOf(bucket);
+        synchronized (lockOf(bucket)) {
+            for (int i = 0; i < SLOTS_PER_BUCKET; i++) {
+                int at = base + i * SLOT_BYTES;
+                long state = region.getLong(at + 8);
+                if (state != 0 && region.getLong(at) == key) {
+                    return state;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Merges the state into the key's entry if the key is in the table.
+     *
+     * @return Whether the key was found.
+     */
+    boolean update(long key, long state) {
+        long bucket = bucketOf(key);
+        MappedByteBuffer region = regionOf(bucket);
+        int base = offsetOf(bucket);
+        synchronized (lockOf(bucket)) {
+            for (int i = 0; i < SLOTS_PER_BUCKET; i++) {
+                int at = base + i * SLOT_BYTES;
+                long current = region.getLong(at + 8);
+                if (current != 0 && region.getLong(at) == key) {
+                    region.putLong(at + 8, DeliveryTracker.merge(current, state));
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stores the key, merging with an existing entry or replacing the oldest
+     * entry of a full bucket.
+     */
+    void put(long key, long state) {
+        long bucket = bucketOf(key);
+        MappedByteBuffer region = regionOf(bucket);
+        int base = offsetOf(bucket);
+        synchronized (lockOf(bucket)) {
+            int empty = -1;
+            int oldestAt = base;
+            long oldest = Long.MAX_VALUE;
+            for (int i = 0; i < SLOTS_PER_BUCKET; i++) {
+                int at = base + i * SLOT_BYTES;
+                long current = region.getLong(at + 8);
+                if (current == 0) {
+                    if (empty < 0) {
+                        empty = at;
+                    }
+                } else if (region.getLong(at) == key) {
+                    region.putLong(at + 8, DeliveryTracker.merge(current, state));
+                    return;
+                } else if (DeliveryTracker.timeOf(current) < oldest) {
+                    oldestAt = at;
+                    oldest = DeliveryTracker.timeOf(current);
+                }
+            }
+            int slot = empty >= 0 ? empty : oldestAt;
+            region.putLong(slot, key);
+            region.putLong(slot + 8, state);
+        }
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Uses the key bits above those that pick the in-memory segment bucket.
+     */
+    private long bucketOf(long key) {
+        return (key >>> 24) & bucketMask;
+    }
+
+    private MappedByteBuffer regionOf(long bucket) {
+        return regions[(int) (bucket / BUCKETS_PER_REGION)];
+    }
+
+    private static int offsetOf(long bucket) {
+        return (int) (bucket % BUCKETS_PER_REGION) * BUCKET_BYTES;
+    }
+
+    private Object lockOf(long bucket) {
+        return locks[(int) (bucket & (LOCK_STRIPES - 1))];
+    }
+}
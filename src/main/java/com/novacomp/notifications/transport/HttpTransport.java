@@ -0,0 +1,372 @@
+package com.novacomp.notifications.transport;
+
+import com.novacomp.notifications.api.ProviderResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HTTP transport shared by the provider implementations. One
+ * {@link HttpClient} keeps a connection pool per host and, against servers
+ * that speak HTTP/2, multiplexes concurrent requests as streams over a single
+ * connection. Requests are always issued with {@code sendAsync}, so a batch
+ * can have many requests in flight without holding a thread per request.
+ * <p>
+ * Each host has a cap on in-flight requests; requests beyond it wait in a
+ * queue and start as earlier ones complete. This bounds the number of
+ * connections opened against HTTP/1.1 hosts.
+ */
+@Slf4j
+public final class HttpTransport implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT_PER_HOST = 256;
+
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final Duration requestTimeout;
+    private static final Function<HttpResponse<String>, String> NO_MESSAGE_ID = response -> null;
+
+    private final int maxInFlightPerHost;
+    private final ConcurrentHashMap<String, HostQueue> hosts = new ConcurrentHashMap<>();
+
+    private HttpTransport(Builder builder) {
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(builder.threadNamePrefix, 0).factory());
+        this.client = HttpClient.newBuilder()
+                .version(builder.version)
+                .connectTimeout(builder.connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
+        this.requestTimeout = builder.requestTimeout;
+        this.maxInFlightPerHost = builder.maxInFlightPerHost;
+    }
+
+    /**
+     * @return The transport shared by providers created without an explicit
+     *         one. It lives for the whole JVM and must not be closed.
+     */
+    public static HttpTransport getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return A POST request builder with this transport's timeout and the
+     *         given body; callers add authentication headers.
+     */
+    public HttpRequest.Builder post(URI uri, String contentType, String body) {
+        return post(uri, contentType, HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    /**
+     * Like {@link #post(URI, String, String)}, for bodies streamed from
+     * several parts.
+     */
+    public HttpRequest.Builder post(URI uri, String contentType, HttpRequest.BodyPublisher body) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Content-Type", contentType)
+                .POST(body);
+    }
+
+    public CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request) {
+        CompletableFuture<HttpResponse<String>> result = new CompletableFuture<>();
+        HostQueue host = hosts.computeIfAbsent(request.uri().getAuthority(), authority -> new HostQueue());
+        host.submit(() -> {
+            CompletableFuture<HttpResponse<String>> call;
+            try {
+                call = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((response, error) -> {
+                host.release();
+                if (error != null) {
+                    result.completeExceptionally(unwrap(error));
+                } else {
+                    result.complete(response);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Sends and waits for the response.
+     *
+     * @throws TransportException If no response was received.
+     */
+    public HttpResponse<String> send(HttpRequest request) {
+        try {
+            return sendAsync(request).join();
+        } catch (CompletionException e) {
+            throw asTransportException(request, e.getCause());
+        }
+    }
+
+    /**
+     * Sends without waiting and interprets the answer as {@link #response}
+     * does. The stage fails with a {@link TransportException} if no response
+     * was received or the response is worth retrying.
+     */
+    public CompletableFuture<ProviderResponse> exchange(HttpRequest request, String providerName) {
+        return exchange(request, providerName, NO_MESSAGE_ID);
+    }
+
+    /**
+     * @param messageId Reads the provider's message ID from an accepted
+     *                  response; it may return null.
+     */
+    public CompletableFuture<ProviderResponse> exchange(HttpRequest request, String providerName,
+            Function<HttpResponse<String>, String> messageId) {
+        return sendAsync(request).handle((response, error) -> {
+            if (error != null) {
+                throw asTransportException(request, unwrap(error));
+            }
+            return response(response, providerName, messageId);
+        });
+    }
+
+    /**
+     * Interprets a provider response: 2xx means accepted, other 4xx means the
+     * provider refused the message, which a retry would not change.
+     *
+     * @throws TransportException For 429 and 5xx responses, which are worth
+     *                            retrying.
+     */
+    public static ProviderResponse response(HttpResponse<String> response, String providerName) {
+        return response(response, providerName, NO_MESSAGE_ID);
+    }
+
+    /**
+     * @param messageId Reads the provider's message ID from an accepted
+     *                  response; it may return null.
+     * @see #response(HttpResponse, String)
+     */
+    public static ProviderResponse response(HttpResponse<String> response, String providerName,
+            Function<HttpResponse<String>, String> messageId) {
+        int status = response.statusCode();
+        if (status >= 200 && status < 300) {
+            return new ProviderResponse(true, messageId.apply(response), status, null);
+        }
+        if (status == 429 || status >= 500) {
+            throw new TransportException(providerName + " responded " + status, status);
+        }
+        log.warn("[{}] Rejected with status {}", providerName, status);
+        return new ProviderResponse(false, null, status, providerName + " rejected the message with status " + status);
+    }
+
+    /**
+     * @return Whether the provider accepted the message.
+     * @see #response(HttpResponse, String)
+     */
+    public static boolean accepted(HttpResponse<String> response, String providerName) {
+        return response(response, providerName).accepted();
+    }
+
+    /**
+     * Sends every request concurrently and waits for all of them.
+     *
+     * @return For each request, the provider's answer as {@link #response}
+     *         interprets it, except that a request worth retrying gets a
+     *         {@link ProviderResponse#retryable() retryable} response instead
+     *         of an exception: a 429 or 5xx keeps its status, and a request
+     *         without a response gets {@link ProviderResponse#NO_RESPONSE}.
+     * @throws TransportException If every request failed in a way worth
+     *                            retrying, so that decorators see the whole
+     *                            batch fail as they would a single send.
+     */
+    public ProviderResponse[] sendAll(List<HttpRequest> requests, String providerName) {
+        return sendAll(requests, providerName, NO_MESSAGE_ID);
+    }
+
+    /**
+     * @param messageId Reads the provider's message ID from an accepted
+     *                  response; it may return null.
+     * @see #sendAll(List, String)
+     */
+    public ProviderResponse[] sendAll(List<HttpRequest> requests, String providerName,
+            Function<HttpResponse<String>, String> messageId) {
+        List<CompletableFuture<ProviderResponse>> calls = new ArrayList<>(requests.size());
+        for (HttpRequest request : requests) {
+            calls.add(exchange(request, providerName, messageId));
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).exceptionally(error -> null).join();
+        ProviderResponse[] responses = new ProviderResponse[calls.size()];
+        TransportException firstError = null;
+        boolean allRetryable = responses.length > 0;
+        for (int i = 0; i < responses.length; i++) {
+            try {
+                responses[i] = calls.get(i).join();
+            } catch (CompletionException e) {
+                TransportException error = asTransportException(requests.get(i), unwrap(e));
+                log.warn("[{}] {}", providerName, error.getMessage());
+                firstError = firstError == null ? error : firstError;
+                responses[i] = new ProviderResponse(false, null,
+                        Math.max(error.getStatusCode(), ProviderResponse.NO_RESPONSE), error.getMessage());
+            }
+            allRetryable &= responses[i].retryable();
+        }
+        if (allRetryable) {
+            throw firstError;
+        }
+        return responses;
+    }
+
+    /**
+     * @return Requests to the host (e.g. "api.twilio.com") that have been
+     *         sent and not yet answered, for monitoring.
+     */
+    public int inFlight(String authority) {
+        HostQueue host = hosts.get(authority);
+        return host == null ? 0 : host.inFlight.get();
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executor.close();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static TransportException asTransportException(HttpRequest request, Throwable cause) {
+        if (cause instanceof TransportException transportException) {
+            return transportException;
+        }
+        String target = request.uri().getHost();
+        if (cause instanceof IOException) {
+            return new TransportException("I/O error calling " + target + ": " + cause.getMessage(), cause);
+        }
+        return new TransportException("Failed calling " + target, cause);
+    }
+
+    /**
+     * In-flight cap for one host. Submitted requests start immediately while
+     * under the cap and otherwise wait until a running one completes.
+     */
+    /**
+     * Starts a host's queued requests while it has free slots. A request that
+     * fails synchronously releases its slot from inside {@code start.run()};
+     * the nested drain only records that another pass is needed and the
+     * outer one loops, so the stack does not grow with the queue.
+     */
+    private final class HostQueue {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+        void submit(Runnable start) {
+            waiting.add(start);
+            drain();
+        }
+
+        void release() {
+            inFlight.decrementAndGet();
+            drain();
+        }
+
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            int requests = 1;
+            do {
+                startWaiting();
+                requests = drainRequests.addAndGet(-requests);
+            } while (requests != 0);
+        }
+
+        private void startWaiting() {
+            while (!waiting.isEmpty()) {
+                int current = inFlight.get();
+                if (current >= maxInFlightPerHost) {
+                    return;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    Runnable start = waiting.poll();
+                    if (start == null) {
+                        inFlight.decrementAndGet();
+                    } else {
+                        start.run();
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class DefaultHolder {
+        private static final HttpTransport INSTANCE = builder().build();
+    }
+
+    /**
+     * Builder for {@link HttpTransport}.
+     */
+    public static final class Builder {
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(10);
+        private int maxInFlightPerHost = DEFAULT_MAX_IN_FLIGHT_PER_HOST;
+        private String threadNamePrefix = "notification-http-";
+
+        private Builder() {
+        }
+
+        /**
+         * HTTP/2 by default; the client falls back to HTTP/1.1 for servers that
+         * do not support it.
+         */
+        public Builder version(HttpClient.Version version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public Builder maxInFlightPerHost(int maxInFlightPerHost) {
+            if (maxInFlightPerHost <= 0) {
+                throw new IllegalArgumentException("In-flight limit must be positive: " + maxInFlightPerHost);
+            }
+            this.maxInFlightPerHost = maxInFlightPerHost;
+            return this;
+        }
+
+        public Builder threadNamePrefix(String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+            return this;
+        }
+
+        public HttpTransport build() {
+            return new HttpTransport(this);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.novacomp.notifications.transport;
+
+import java.util.Map;
+
+/**
+ * Minimal JSON helpers for provider request and response bodies, so the
+ * library needs no JSON dependency.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Appends {@code value} as a quoted, escaped JSON string, or {@code null}.
+     */
+    public static StringBuilder string(StringBuilder out, String value) {
+        if (value == null) {
+            return out.append("null");
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"');
+    }
+
+    /**
+     * Appends a flat object of string values.
+     */
+    public static StringBuilder object(StringBuilder out, Map<String, String> values) {
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            string(out, entry.getKey()).append(':');
+            string(out, entry.getValue());
+        }
+        return out.append('}');
+    }
+
+    /**
+     * Reads the first string member named {@code name} from a JSON document,
+     * such as the ID in a provider's response. Only the escapes providers
+     * use in IDs are decoded.
+     *
+     * @return The member's value, or null if there is no such string member.
+     */
+    public static String field(String json, String name) {
+        if (json == null) {
+            return null;
+        }
+        String key = "\"" + name + "\"";
+        int from = 0;
+        int at;
+        while ((at = json.indexOf(key, from)) >= 0) {
+            int i = skipWhitespace(json, at + key.length());
+            if (i < json.length() && json.charAt(i) == ':') {
+                i = skipWhitespace(json, i + 1);
+                if (i < json.length() && json.charAt(i) == '"') {
+                    return readString(json, i + 1);
+                }
+                return null;
+            }
+            from = at + 1;
+        }
+        return null;
+    }
+
+    private static int skipWhitespace(String json, int i) {
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String readString(String json, int start) {
+        StringBuilder out = new StringBuilder();
+        for (int i = start; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                return out.toString();
+            }
+            if (c == '\\' && i + 1 < json.length()) {
+                char escaped = json.charAt(++i);
+                out.append(switch (escaped) {
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    case 't' -> '\t';
+                    default -> escaped;
+                });
+            } else {
+                out.append(c);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.novacomp.notifications.transport;
+
+import com.novacomp.notifications.api.NotificationException;
+
+/**
+ * Raised when an HTTP call to a provider failed in a way worth retrying: an
+ * I/O error, a timeout, a 429 or a 5xx response.
+ */
+public class TransportException extends NotificationException {
+
+    private final int statusCode;
+
+    public TransportException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public TransportException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = -1;
+    }
+
+    /**
+     * @return The HTTP status, or -1 if no response was received.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
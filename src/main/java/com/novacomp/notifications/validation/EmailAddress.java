@@ -0,0 +1,185 @@
+package com.novacomp.notifications.validation;
+
+/**
+ * Syntax check for email addresses: the RFC 5321 mailbox grammar with the
+ * RFC 5322 dot-atom and quoted-string local parts.
+ * <p>
+ * A single forward scan over the characters, with no regular expression and
+ * no allocation. The domain is either a host name of at least two labels,
+ * each 1-63 letters, digits or hyphens and the last containing a letter, or
+ * an address literal such as {@code [192.0.2.1]}. Non-ASCII addresses
+ * (SMTPUTF8) are rejected, as are comments and folding white space.
+ */
+public final class EmailAddress {
+
+    /**
+     * Longest address that fits in an SMTP forward-path (RFC 5321 4.5.3.1).
+     */
+    public static final int MAX_LENGTH = 254;
+
+    static final int MAX_LOCAL_PART = 64;
+    static final int MAX_LABEL = 63;
+
+    /**
+     * RFC 5322 atext: letters, digits and {@code !#$%&'*+-/=?^_`{|}~}.
+     */
+    private static final boolean[] ATEXT = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            ATEXT[c] = true;
+            ATEXT[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            ATEXT[c] = true;
+        }
+        for (char c : "!#$%&'*+-/=?^_`{|}~".toCharArray()) {
+            ATEXT[c] = true;
+        }
+    }
+
+    private EmailAddress() {
+    }
+
+    /**
+     * @return Whether the address is syntactically valid; false for null.
+     */
+    public static boolean isValid(CharSequence address) {
+        if (address == null || address.isEmpty() || address.length() > MAX_LENGTH) {
+            return false;
+        }
+        int at = address.charAt(0) == '"' ? quotedLocalPart(address) : dotAtomLocalPart(address);
+        if (at <= 0 || at > MAX_LOCAL_PART) {
+            return false;
+        }
+        int start = at + 1;
+        if (start < address.length() && address.charAt(start) == '[') {
+            return addressLiteral(address, start + 1, address.length());
+        }
+        return hostName(address, start, address.length());
+    }
+
+    /**
+     * @return The index of the '@' after the local part, or -1.
+     */
+    private static int dotAtomLocalPart(CharSequence s) {
+        boolean afterDot = true;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '@') {
+                return afterDot ? -1 : i;
+            }
+            if (c == '.') {
+                if (afterDot) {
+                    return -1;
+                }
+                afterDot = true;
+            } else if (c < 128 && ATEXT[c]) {
+                afterDot = false;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The index of the '@' after the closing quote, or -1.
+     */
+    private static int quotedLocalPart(CharSequence s) {
+        for (int i = 1; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\') {
+                i++;
+                if (i == s.length() || s.charAt(i) < 0x20 || s.charAt(i) > 0x7E) {
+                    return -1;
+                }
+            } else if (c == '"') {
+                return i + 1 < s.length() && s.charAt(i + 1) == '@' ? i + 1 : -1;
+            } else if (c < 0x20 || c > 0x7E) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean hostName(CharSequence s, int start, int end) {
+        int labels = 0;
+        int labelStart = start;
+        boolean letter = false;
+        for (int i = start; i <= end; i++) {
+            char c = i == end ? '.' : s.charAt(i);
+            if (c == '.') {
+                int length = i - labelStart;
+                if (length == 0 || length > MAX_LABEL || s.charAt(labelStart) == '-' || s.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                labelStart = i + 1;
+                if (i < end) {
+                    letter = false;
+                }
+            } else if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
+                letter = true;
+            } else if (!(c >= '0' && c <= '9' || c == '-')) {
+                return false;
+            }
+        }
+        return labels >= 2 && letter;
+    }
+
+    /**
+     * Checks {@code [IPv4]} strictly and {@code [IPv6:...]} by character set.
+     */
+    private static boolean addressLiteral(CharSequence s, int start, int end) {
+        if (end - start < 2 || s.charAt(end - 1) != ']') {
+            return false;
+        }
+        end--;
+        if (startsWith(s, start, "IPv6:")) {
+            start += 5;
+            if (start == end || end - start > 45) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                char c = s.charAt(i);
+                if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F' || c == ':' || c == '.')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = start; i <= end; i++) {
+            char c = i == end ? '.' : s.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || value > 255) {
+                    return false;
+                }
+                octets++;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9' && digits < 3) {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else {
+                return false;
+            }
+        }
+        return octets == 4;
+    }
+
+    private static boolean startsWith(CharSequence s, int start, String prefix) {
+        if (s.length() - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (s.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
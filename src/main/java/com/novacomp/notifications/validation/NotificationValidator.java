@@ -0,0 +1,225 @@
+package com.novacomp.notifications.validation;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.ValidationResult;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validates notifications against rules registered per notification type.
+ * <p>
+ * The rules for a notification class, including those registered for its
+ * supertypes, are compiled into an array the first time the class is seen
+ * and cached in a {@link ClassValue}. A notification that passes is checked
+ * without allocating and gets the shared {@link ValidationResult#success()};
+ * one that fails is checked against every rule, so the result lists all of
+ * its errors. Types without rules fall back to their own
+ * {@link Notification#validate()}.
+ */
+public final class NotificationValidator {
+
+    private static final Rule<Object>[] NO_RULES = rules(List.of());
+
+    private final Map<Class<?>, List<Rule<?>>> rules;
+    private final ClassValue<Rule<Object>[]> compiled = new ClassValue<>() {
+        @Override
+        protected Rule<Object>[] computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    private NotificationValidator(Builder builder) {
+        Map<Class<?>, List<Rule<?>>> copy = new LinkedHashMap<>();
+        builder.rules.forEach((type, typeRules) -> copy.put(type, List.copyOf(typeRules)));
+        this.rules = copy;
+    }
+
+    /**
+     * @return The validator with the standard rules, used by the built-in
+     *         notification types' {@code validate()}.
+     */
+    public static NotificationValidator getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Whether the notification passes every rule for its type.
+     *         Never allocates for types with rules.
+     */
+    public boolean isValid(Notification notification) {
+        Rule<Object>[] typeRules = compiled.get(notification.getClass());
+        if (typeRules == NO_RULES) {
+            return notification.validate().isValid();
+        }
+        for (Rule<Object> rule : typeRules) {
+            if (rule.check(notification) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The shared success result, or a failure listing the errors of
+     *         every rule the notification breaks.
+     */
+    public ValidationResult validate(Notification notification) {
+        Rule<Object>[] typeRules = compiled.get(notification.getClass());
+        if (typeRules == NO_RULES) {
+            return notification.validate();
+        }
+        List<String> errors = null;
+        for (Rule<Object> rule : typeRules) {
+            String error = rule.check(notification);
+            if (error != null) {
+                if (errors == null) {
+                    errors = new ArrayList<>(typeRules.length);
+                }
+                errors.add(error);
+            }
+        }
+        return errors == null ? ValidationResult.success() : ValidationResult.failure(List.copyOf(errors));
+    }
+
+    /**
+     * Validates a batch.
+     *
+     * @return The indexes of the notifications that fail; empty if all pass.
+     *         Use {@link #validate} on those for their errors.
+     */
+    public BitSet validateAll(Notification[] notifications) {
+        BitSet failures = new BitSet(notifications.length);
+        for (int i = 0; i < notifications.length; i++) {
+            if (!isValid(notifications[i])) {
+                failures.set(i);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Like {@link #validateAll(Notification[])}, with indexes in iteration
+     * order.
+     */
+    public BitSet validateAll(Iterable<? extends Notification> notifications) {
+        BitSet failures = new BitSet();
+        int index = 0;
+        for (Notification notification : notifications) {
+            if (!isValid(notification)) {
+                failures.set(index);
+            }
+            index++;
+        }
+        return failures;
+    }
+
+    private Rule<Object>[] compile(Class<?> type) {
+        List<Rule<?>> typeRules = new ArrayList<>();
+        rules.forEach((ruleType, registered) -> {
+            if (ruleType.isAssignableFrom(type)) {
+                typeRules.addAll(registered);
+            }
+        });
+        return typeRules.isEmpty() ? NO_RULES : rules(typeRules);
+    }
+
+    /**
+     * Rules are only applied to instances of the type they were registered
+     * for, which {@link #compile} guarantees.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Rule<Object>[] rules(List<Rule<?>> typeRules) {
+        return typeRules.toArray(new Rule[0]);
+    }
+
+    private static String blank(String value, String message) {
+        return value == null || value.isBlank() ? message : null;
+    }
+
+    private static String emails(List<String> addresses, String message) {
+        if (addresses == null) {
+            return null;
+        }
+        for (int i = 0; i < addresses.size(); i++) {
+            if (!EmailAddress.isValid(addresses.get(i))) {
+                return message + addresses.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static final class DefaultHolder {
+        private static final NotificationValidator INSTANCE = builder().standardRules().build();
+    }
+
+    /**
+     * Builder for {@link NotificationValidator}.
+     */
+    public static final class Builder {
+        private final Map<Class<?>, List<Rule<?>>> rules = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a rule for the type and its subtypes. Rules run in the order
+         * they were added.
+         */
+        public <T extends Notification> Builder rule(Class<T> type, Rule<? super T> rule) {
+            if (rule == null) {
+                throw new IllegalArgumentException("Rule is required for " + type.getSimpleName());
+            }
+            rules.computeIfAbsent(type, key -> new ArrayList<>()).add(rule);
+            return this;
+        }
+
+        /**
+         * Adds the rules for the built-in types: RFC 5321 email addresses,
+         * E.164 phone numbers and non-blank content.
+         */
+        public Builder standardRules() {
+            rule(EmailNotification.class, email -> EmailAddress.isValid(email.getTo())
+                    ? null
+                    : "Invalid recipient email: " + email.getTo());
+            rule(EmailNotification.class, email -> EmailAddress.isValid(email.getFrom())
+                    ? null
+                    : "Invalid sender email: " + email.getFrom());
+            rule(EmailNotification.class, email -> emails(email.getCc(), "Invalid cc email: "));
+            rule(EmailNotification.class, email -> emails(email.getBcc(), "Invalid bcc email: "));
+            rule(EmailNotification.class, email -> blank(email.getSubject(), "Email subject cannot be empty"));
+            rule(EmailNotification.class, email -> blank(email.getBody(), "Email body cannot be empty"));
+
+            rule(SmsNotification.class, sms -> {
+                String phoneNumber = sms.getPhoneNumber();
+                if (phoneNumber == null || phoneNumber.isBlank()) {
+                    return "Phone number cannot be empty";
+                }
+                return PhoneNumber.isE164(phoneNumber) ? null : "Phone number is not in E.164 format: " + phoneNumber;
+            });
+            rule(SmsNotification.class, sms -> blank(sms.getMessage(), "SMS message cannot be empty"));
+
+            rule(PushNotification.class, push -> blank(push.getToken(), "Push token cannot be empty"));
+            rule(PushNotification.class, push -> blank(push.getTitle(), "Push title cannot be empty"));
+            rule(PushNotification.class, push -> blank(push.getBody(), "Push body cannot be empty"));
+
+            rule(SlackNotification.class, slack -> blank(slack.getChannel(), "Slack channel cannot be empty"));
+            rule(SlackNotification.class, slack -> blank(slack.getText(), "Slack message text cannot be empty"));
+            return this;
+        }
+
+        public NotificationValidator build() {
+            return new NotificationValidator(this);
+        }
+    }
+}
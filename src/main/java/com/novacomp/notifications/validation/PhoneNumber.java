@@ -0,0 +1,31 @@
+package com.novacomp.notifications.validation;
+
+/**
+ * Syntax check for E.164 phone numbers: a '+', then a country code and
+ * subscriber number of at most 15 digits in total, without a leading zero
+ * and without spaces or punctuation.
+ */
+public final class PhoneNumber {
+
+    public static final int MAX_DIGITS = 15;
+
+    private PhoneNumber() {
+    }
+
+    /**
+     * @return Whether the number is in E.164 format; false for null.
+     */
+    public static boolean isE164(CharSequence number) {
+        if (number == null || number.length() < 2 || number.length() > MAX_DIGITS + 1
+                || number.charAt(0) != '+' || number.charAt(1) == '0') {
+            return false;
+        }
+        for (int i = 1; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package com.novacomp.notifications.validation;
+
+/**
+ * One check of a notification's fields.
+ *
+ * @param <T> The notification type the rule applies to.
+ */
+@FunctionalInterface
+public interface Rule<T> {
+
+    /**
+     * @return Null if the notification passes, otherwise the error message.
+     *         Build the message only on failure, so that passing notifications
+     *         are checked without allocating.
+     */
+    String check(T notification);
+}
@@ -0,0 +1,121 @@
+package com.novacomp.notifications.attachment;
+
+import com.novacomp.notifications.api.NotificationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttachmentEncoderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void encode_ShouldMatchJdkBase64_ForReadAndMappedFiles() throws Exception {
+        AttachmentEncoder encoder = AttachmentEncoder.builder().mapThreshold(64 * 1024).build();
+        Random random = new Random(7);
+        for (int size : new int[] { 0, 1, 2, 3, 4, 5, 1000, AttachmentEncoder.READ_BUFFER_SIZE + 1, 200_001 }) {
+            byte[] data = new byte[size];
+            random.nextBytes(data);
+            Path file = Files.write(dir.resolve("file-" + size + ".bin"), data);
+
+            EncodedAttachment encoded = encoder.encode(file.toFile());
+
+            assertEquals(Base64.getEncoder().encodeToString(data), encoded.asString(), "size " + size);
+            assertEquals("file-" + size + ".bin", encoded.fileName());
+        }
+    }
+
+    @Test
+    void encode_ShouldEncodeOnce_WhenAttachmentIsShared() throws Exception {
+        AttachmentEncoder encoder = AttachmentEncoder.builder().build();
+        File file = Files.writeString(dir.resolve("terms.pdf"), "terms v1").toFile();
+
+        EncodedAttachment first = encoder.encode(file);
+        EncodedAttachment second = encoder.encode(file);
+
+        assertSame(first, second);
+        assertEquals(1, encoder.encodings());
+
+        Files.writeString(file.toPath(), "terms v2, longer");
+        Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(file.lastModified() + 5_000));
+        assertEquals(Base64.getEncoder().encodeToString("terms v2, longer".getBytes()),
+                encoder.encode(file).asString());
+        assertEquals(2, encoder.encodings());
+    }
+
+    @Test
+    void encode_ShouldEvictLeastRecentlyUsed_WhenOverBudget() throws Exception {
+        AttachmentEncoder encoder = AttachmentEncoder.builder().maxCacheBytes(10).build();
+        File a = Files.writeString(dir.resolve("a.txt"), "aaaaaa").toFile();
+        File b = Files.writeString(dir.resolve("b.txt"), "bbbbbb").toFile();
+
+        encoder.encode(a);
+        encoder.encode(b);
+        encoder.encode(b);
+
+        assertEquals(2, encoder.encodings());
+        assertEquals(8, encoder.cachedBytes());
+        encoder.encode(a);
+        assertEquals(3, encoder.encodings());
+    }
+
+    @Test
+    void encode_ShouldThrowNotificationException_WhenFileIsMissing() {
+        AttachmentEncoder encoder = AttachmentEncoder.builder().build();
+
+        assertThrows(NotificationException.class, () -> encoder.encode(dir.resolve("missing.pdf").toFile()));
+    }
+
+    @Test
+    void publisher_ShouldStreamWholeContentInSlices() throws Exception {
+        byte[] data = new byte[100_000];
+        new Random(3).nextBytes(data);
+        EncodedAttachment encoded = AttachmentEncoder.builder().build()
+                .encode(Files.write(dir.resolve("big.bin"), data).toFile());
+        List<ByteBuffer> slices = new ArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        encoded.publisher().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                slices.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+
+        done.join();
+        assertTrue(slices.size() > 1);
+        ByteBuffer joined = ByteBuffer.allocate(encoded.length());
+        slices.forEach(joined::put);
+        assertEquals(Base64.getEncoder().encodeToString(data), new String(joined.array()));
+        assertEquals(encoded.length(), encoded.publisher().contentLength());
+    }
+}
@@ -0,0 +1,166 @@
+package com.novacomp.notifications.balancer;
+
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.sms.AsyncSmsProvider;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+import com.novacomp.notifications.channel.sms.SmsSender;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProviderPoolTest {
+
+    @Test
+    void weightedRoundRobin_ShouldSplitTrafficByWeight() throws Exception {
+        ProviderPool<String> pool = ProviderPool.<String>builder()
+                .provider("primary", "Primary", 3)
+                .provider("secondary", "Secondary", 1)
+                .build();
+
+        List<String> picks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            picks.add(pool.call(provider -> provider));
+        }
+
+        Map<String, Long> counts = picks.stream().collect(Collectors.groupingBy(Function.identity(),
+                Collectors.counting()));
+        assertEquals(30L, counts.get("primary"));
+        assertEquals(10L, counts.get("secondary"));
+    }
+
+    @Test
+    void leastOutstanding_ShouldPreferIdleProvider() {
+        ProviderPool<String> pool = ProviderPool.<String>builder()
+                .provider("busy", "Busy")
+                .provider("idle", "Idle")
+                .build();
+        PooledProvider<String> busy = pool.getProviders().get(0);
+        busy.onStart();
+
+        assertEquals("idle", new LeastOutstandingSelector().select(pool.getProviders()).provider());
+    }
+
+    @Test
+    void ewmaLatency_ShouldPreferFasterProvider() {
+        ProviderPool<String> pool = ProviderPool.<String>builder()
+                .provider("slow", "Slow")
+                .provider("fast", "Fast")
+                .build();
+        PooledProvider<String> slow = pool.getProviders().get(0);
+        PooledProvider<String> fast = pool.getProviders().get(1);
+        for (int i = 0; i < 5; i++) {
+            slow.onStart();
+            slow.onFinish(Duration.ofMillis(400).toNanos());
+            fast.onStart();
+            fast.onFinish(Duration.ofMillis(40).toNanos());
+        }
+
+        assertEquals("fast", new EwmaLatencySelector().select(pool.getProviders()).provider());
+        assertEquals(Duration.ofMillis(400).toNanos(), slow.latencyNanos(), 1);
+    }
+
+    @Test
+    void failoverProvider_ShouldUseNextProvider_WhenSelectedOneThrows() throws Exception {
+        SmsProvider twilio = mock(SmsProvider.class);
+        SmsProvider vonage = mock(SmsProvider.class);
+        when(twilio.sendSms(any())).thenThrow(new IOException("503 Service Unavailable"));
+        when(vonage.sendSms(any())).thenReturn(true);
+        ProviderPool<SmsProvider> pool = ProviderPool.<SmsProvider>builder()
+                .provider(twilio, "Twilio", 10)
+                .provider(vonage, "Vonage", 1)
+                .cooldown(Duration.ofMinutes(1))
+                .build();
+        SmsSender sender = new SmsSender(new FailoverSmsProvider(pool));
+        SmsNotification notification = SmsNotification.builder()
+                .phoneNumber("+1234567890")
+                .message("Hello")
+                .build();
+
+        NotificationResult first = sender.send(notification);
+        NotificationResult second = sender.send(notification);
+
+        assertTrue(first.success());
+        assertTrue(second.success());
+        assertEquals("Twilio|Vonage", first.providerName());
+        verify(twilio, times(1)).sendSms(any());
+        verify(vonage, times(2)).sendSms(any());
+    }
+
+    @Test
+    void failoverProvider_ShouldReturnRefusal_WithoutFailingOver() throws Exception {
+        SmsProvider twilio = mock(SmsProvider.class);
+        SmsProvider vonage = mock(SmsProvider.class);
+        when(twilio.sendSms(any())).thenReturn(false, true);
+        ProviderPool<SmsProvider> pool = ProviderPool.<SmsProvider>builder()
+                .provider(twilio, "Twilio", 10)
+                .provider(vonage, "Vonage", 1)
+                .cooldown(Duration.ofMinutes(1))
+                .build();
+        FailoverSmsProvider provider = new FailoverSmsProvider(pool);
+        SmsNotification notification = SmsNotification.builder()
+                .phoneNumber("+1234567890")
+                .message("Hello")
+                .build();
+
+        assertFalse(provider.sendSms(notification));
+        assertTrue(provider.sendSms(notification));
+
+        verify(twilio, times(2)).sendSms(any());
+        verify(vonage, never()).sendSms(any());
+    }
+
+    @Test
+    void failoverProvider_ShouldFailOverWithoutBlocking_WhenMembersAreAsync() throws Exception {
+        SmsProvider twilio = mock(SmsProvider.class, withSettings().extraInterfaces(AsyncSmsProvider.class));
+        SmsProvider vonage = mock(SmsProvider.class, withSettings().extraInterfaces(AsyncSmsProvider.class));
+        when(((AsyncSmsProvider) twilio).sendSmsAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("503 Service Unavailable")));
+        when(((AsyncSmsProvider) vonage).sendSmsAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(ProviderResponse.accepted("VN-1")));
+        ProviderPool<SmsProvider> pool = ProviderPool.<SmsProvider>builder()
+                .provider(twilio, "Twilio", 10)
+                .provider(vonage, "Vonage", 1)
+                .cooldown(Duration.ofMinutes(1))
+                .build();
+        SmsSender sender = new SmsSender(new FailoverSmsProvider(pool));
+        SmsNotification notification = SmsNotification.builder()
+                .phoneNumber("+1234567890")
+                .message("Hello")
+                .build();
+
+        NotificationResult result = sender.sendAsync(notification).join();
+
+        assertTrue(result.success());
+        assertEquals("VN-1", result.messageId());
+        assertEquals("VN-1", sender.send(notification).messageId());
+        verify(twilio, never()).sendSms(any());
+        verify(vonage, never()).sendSms(any());
+    }
+
+    @Test
+    void call_ShouldThrowLastError_WhenEveryProviderFails() {
+        ProviderPool<String> pool = ProviderPool.<String>builder()
+                .provider("a", "A")
+                .provider("b", "B")
+                .build();
+
+        IOException exception = assertThrows(IOException.class, () -> pool.call(provider -> {
+            throw new IOException(provider + " down");
+        }));
+
+        assertTrue(exception.getMessage().endsWith("down"));
+    }
+}
@@ -2,6 +2,7 @@ package com.novacomp.notifications.channel.email;
 
 import com.novacomp.notifications.api.NotificationException;
 import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.ProviderResponse;
 import com.novacomp.notifications.channel.sms.SmsNotification;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -47,7 +50,7 @@ class EmailSenderTest {
                 assertTrue(result.success());
                 assertEquals("EMAIL", result.channelName());
                 assertEquals("TestProvider", result.providerName());
-                assertNotNull(result.messageId());
+                assertNull(result.messageId());
 
                 verify(provider).sendEmail(notification);
         }
@@ -119,4 +122,78 @@ class EmailSenderTest {
                 assertTrue(result.message().contains("Validation failed"));
                 assertTrue(result.message().contains("Invalid recipient email"));
         }
+
+        @Test
+        void sendBatch_ShouldReturnOneResultPerNotification() throws Exception {
+                EmailNotification first = EmailNotification.builder()
+                                .to("first@example.com")
+                                .from("sender@example.com")
+                                .subject("Test")
+                                .body("Body")
+                                .build();
+                EmailNotification invalid = EmailNotification.builder()
+                                .to("invalid-email")
+                                .from("sender@example.com")
+                                .subject("Test")
+                                .body("Body")
+                                .build();
+                EmailNotification second = EmailNotification.builder()
+                                .to("second@example.com")
+                                .from("sender@example.com")
+                                .subject("Test")
+                                .body("Body")
+                                .build();
+                when(provider.sendEmailBatch(List.of(first, second))).thenReturn(new ProviderResponse[] {
+                                ProviderResponse.accepted("m1"), ProviderResponse.rejected(null) });
+
+                List<NotificationResult> results = sender.sendBatch(List.of(first, invalid, second));
+
+                assertEquals(3, results.size());
+                assertTrue(results.get(0).success());
+                assertEquals("m1", results.get(0).messageId());
+                assertFalse(results.get(1).success());
+                assertTrue(results.get(1).message().contains("Invalid recipient email"));
+                assertFalse(results.get(2).success());
+                assertEquals("Provider returned failure.", results.get(2).message());
+                verify(provider, never()).sendEmail(any());
+        }
+
+        @Test
+        void sendBatch_ShouldFailEveryAcceptedNotification_WhenProviderThrows() throws Exception {
+                doThrow(new RuntimeException("API Error")).when(provider).sendEmailBatch(any());
+
+                EmailNotification notification = EmailNotification.builder()
+                                .to("test@example.com")
+                                .from("sender@example.com")
+                                .subject("Test")
+                                .body("Body")
+                                .build();
+
+                List<NotificationResult> results = sender.sendBatch(List.of(notification, notification));
+
+                assertEquals(2, results.size());
+                assertFalse(results.get(0).success());
+                assertTrue(results.get(1).message().contains("API Error"));
+        }
+
+        @Test
+        void sendBatch_ShouldFailEveryAcceptedNotification_WhenProviderReturnsTooFewResponses() throws Exception {
+                when(provider.sendEmailBatch(any()))
+                        .thenReturn(new ProviderResponse[] { ProviderResponse.accepted("m1") });
+
+                EmailNotification notification = EmailNotification.builder()
+                                .to("test@example.com")
+                                .from("sender@example.com")
+                                .subject("Test")
+                                .body("Body")
+                                .build();
+
+                List<NotificationResult> results = sender.sendBatch(List.of(notification, notification));
+
+                assertEquals(2, results.size());
+                for (NotificationResult result : results) {
+                        assertFalse(result.success());
+                        assertTrue(result.message().contains("returned 1 responses for 2 notifications"));
+                }
+        }
 }
@@ -45,7 +45,7 @@ class PushSenderTest {
                 assertTrue(result.success());
                 assertEquals("PUSH", result.channelName());
                 assertEquals("FCM", result.providerName());
-                assertNotNull(result.messageId());
+                assertNull(result.messageId());
 
                 verify(provider).sendPush(notification);
         }
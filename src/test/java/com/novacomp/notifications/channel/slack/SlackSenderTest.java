@@ -44,7 +44,7 @@ class SlackSenderTest {
         assertTrue(result.success());
         assertEquals("SLACK", result.channelName());
         assertEquals("SlackProvider", result.providerName());
-        assertNotNull(result.messageId());
+        assertNull(result.messageId());
 
         verify(provider).sendSlackMessage(notification);
     }
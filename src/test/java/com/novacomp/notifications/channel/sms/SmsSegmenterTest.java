@@ -0,0 +1,129 @@
+package com.novacomp.notifications.channel.sms;
+
+import com.novacomp.notifications.metrics.NotificationMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SmsSegmenterTest {
+
+        @Test
+        void encodingOf_ShouldBeGsm7_WhenAllCharactersAreInGsmAlphabet() {
+                assertEquals(SmsEncoding.GSM_7, SmsSegmenter.encodingOf("Hello @ 10€ {ok} £5 Ünicode? ñ"));
+                assertEquals(SmsEncoding.UCS_2, SmsSegmenter.encodingOf("Hello 😀"));
+                assertEquals(SmsEncoding.UCS_2, SmsSegmenter.encodingOf("Привет"));
+        }
+
+        @Test
+        void segmentCount_ShouldSplitGsm7_WhenOver160Septets() {
+                assertEquals(1, SmsSegmenter.segmentCount("a".repeat(160)));
+                assertEquals(2, SmsSegmenter.segmentCount("a".repeat(161)));
+                assertEquals(2, SmsSegmenter.segmentCount("a".repeat(306)));
+                assertEquals(3, SmsSegmenter.segmentCount("a".repeat(307)));
+        }
+
+        @Test
+        void segmentCount_ShouldCountExtensionCharactersAsTwoSeptets() {
+                assertEquals(160, SmsSegmenter.length("€".repeat(80)));
+                assertEquals(1, SmsSegmenter.segmentCount("€".repeat(80)));
+                assertEquals(2, SmsSegmenter.segmentCount("€".repeat(80) + "a"));
+        }
+
+        @Test
+        void segmentCount_ShouldSplitUcs2_WhenOver70CodeUnits() {
+                assertEquals(1, SmsSegmenter.segmentCount("ж".repeat(70)));
+                assertEquals(2, SmsSegmenter.segmentCount("ж".repeat(71)));
+                assertEquals(3, SmsSegmenter.segmentCount("ж".repeat(135)));
+        }
+
+        @Test
+        void split_ShouldNotSplitEscapeSequence_AcrossParts() {
+                // 152 septets, then a '€' that would straddle the 153-septet boundary
+                String text = "a".repeat(152) + "€" + "b".repeat(10);
+
+                List<SmsSegment> segments = SmsSegmenter.split(text, 7);
+
+                assertEquals(2, segments.size());
+                assertEquals("a".repeat(152), segments.get(0).text());
+                assertTrue(segments.get(1).text().startsWith("€"));
+                assertEquals(SmsSegmenter.segmentCount(text), segments.size());
+        }
+
+        @Test
+        void split_ShouldNotSplitSurrogatePair_AcrossParts() {
+                String emoji = "😀";
+                String text = "x".repeat(66) + emoji + "y".repeat(10);
+
+                List<SmsSegment> segments = SmsSegmenter.split(text, 1);
+
+                assertEquals(2, segments.size());
+                assertEquals(SmsEncoding.UCS_2, segments.get(0).encoding());
+                assertEquals("x".repeat(66), segments.get(0).text());
+                assertTrue(segments.get(1).text().startsWith(emoji));
+                assertEquals(SmsSegmenter.segmentCount(text), segments.size());
+        }
+
+        @Test
+        void split_ShouldPackSeptets_WhenSinglePart() {
+                List<SmsSegment> segments = SmsSegmenter.split("hello", 0);
+
+                assertEquals(1, segments.size());
+                assertArrayEquals(new byte[] { (byte) 0xE8, 0x32, (byte) 0x9B, (byte) 0xFD, 0x06 },
+                                segments.get(0).userData());
+        }
+
+        @Test
+        void split_ShouldPrefixConcatenationHeader_WhenMultipart() {
+                List<SmsSegment> segments = SmsSegmenter.split("h".repeat(200), 0x2A);
+
+                assertEquals(2, segments.size());
+                byte[] first = segments.get(0).userData();
+                assertArrayEquals(new byte[] { 0x05, 0x00, 0x03, 0x2A, 0x02, 0x01 }, Arrays.copyOf(first, 6));
+                // One fill bit aligns the first septet after the 48-bit header
+                assertEquals((byte) (0x68 << 1), first[6]);
+                assertEquals((49 + 153 * 7 + 7) / 8, first.length);
+                assertEquals(0x02, segments.get(1).userData()[5]);
+        }
+
+        @Test
+        void split_ShouldEncodeUcs2BigEndian() {
+                SmsSegment segment = SmsSegmenter.split("Жa", 0).get(0);
+
+                assertArrayEquals(new byte[] { 0x04, 0x16, 0x00, 0x61 }, segment.userData());
+        }
+
+        @Test
+        void transliterate_ShouldReplaceLookAlikes() {
+                String text = "“Café” — it’s râce…";
+
+                String transliterated = SmsSegmenter.transliterate(text);
+
+                assertEquals("\"Café\" - it's race...", transliterated);
+                assertEquals(SmsEncoding.GSM_7, SmsSegmenter.encodingOf(transliterated));
+                assertSame("plain", SmsSegmenter.transliterate("plain"));
+        }
+
+        @Test
+        void sender_ShouldTransliterateAndCountSegments_WhenEnabled() throws Exception {
+                SmsProvider provider = mock(SmsProvider.class);
+                when(provider.getProviderName()).thenReturn("Twilio");
+                when(provider.sendSms(any(SmsNotification.class))).thenReturn(true);
+                SmsSender sender = new SmsSender(provider, NotificationMetrics.noop(), true);
+                SmsNotification notification = SmsNotification.builder()
+                                .phoneNumber("+1234567890")
+                                .message("It’s " + "a".repeat(150))
+                                .build();
+
+                assertEquals(1, sender.segmentCount(notification));
+                assertEquals(3, new SmsSender(provider).segmentCount(notification));
+                assertTrue(sender.send(notification).success());
+
+                verify(provider).sendSms(argThat(sent -> sent.getMessage().startsWith("It's ")));
+                assertEquals(1, sender.segmentsSent());
+        }
+}
@@ -2,6 +2,7 @@ package com.novacomp.notifications.channel.sms;
 
 import com.novacomp.notifications.api.NotificationException;
 import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.ProviderResponse;
 import com.novacomp.notifications.channel.email.EmailNotification;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -44,7 +50,7 @@ class SmsSenderTest {
                 assertTrue(result.success());
                 assertEquals("SMS", result.channelName());
                 assertEquals("Twilio", result.providerName());
-                assertNotNull(result.messageId());
+                assertNull(result.messageId());
 
                 verify(provider).sendSms(notification);
         }
@@ -120,4 +126,71 @@ class SmsSenderTest {
                 assertTrue(result.message().contains("Validation failed"));
                 assertTrue(result.message().contains("Phone number cannot be empty"));
         }
+
+        @Test
+        void sendAsync_ShouldCompleteWhenProviderAnswers_WhenProviderIsNonBlocking() throws Exception {
+                // Arrange
+                CompletableFuture<ProviderResponse> answer = new CompletableFuture<>();
+                NonBlockingProvider nonBlocking = new NonBlockingProvider(answer);
+                SmsSender asyncSender = new SmsSender(nonBlocking);
+                SmsNotification notification = SmsNotification.builder()
+                                .phoneNumber("+1234567890")
+                                .message("Hello")
+                                .build();
+
+                // Act
+                CompletableFuture<NotificationResult> future = asyncSender.sendAsync(notification);
+
+                // Assert
+                assertFalse(future.isDone());
+                answer.complete(ProviderResponse.rejected("Number is blocked"));
+                NotificationResult result = future.get(1, TimeUnit.SECONDS);
+                assertFalse(result.success());
+                assertEquals("Number is blocked", result.message());
+                assertSame(notification, nonBlocking.sent);
+        }
+
+        @Test
+        void sendAsync_ShouldFailWithNotificationException_WhenBlockingProviderThrows() throws Exception {
+                // Arrange
+                when(provider.sendSms(any(SmsNotification.class))).thenThrow(new java.io.IOException("Timeout"));
+
+                SmsNotification notification = SmsNotification.builder()
+                                .phoneNumber("+1234567890")
+                                .message("Hello")
+                                .build();
+
+                // Act
+                ExecutionException error = assertThrows(ExecutionException.class,
+                                () -> sender.sendAsync(notification).get(1, TimeUnit.SECONDS));
+
+                // Assert
+                assertInstanceOf(NotificationException.class, error.getCause());
+                assertInstanceOf(java.io.IOException.class, error.getCause().getCause());
+        }
+
+        private static final class NonBlockingProvider implements SmsProvider, AsyncSmsProvider {
+                private final CompletableFuture<ProviderResponse> answer;
+                private SmsNotification sent;
+
+                NonBlockingProvider(CompletableFuture<ProviderResponse> answer) {
+                        this.answer = answer;
+                }
+
+                @Override
+                public boolean sendSms(SmsNotification notification) {
+                        throw new AssertionError("blocking path used");
+                }
+
+                @Override
+                public CompletionStage<ProviderResponse> sendSmsAsync(SmsNotification notification) {
+                        sent = notification;
+                        return answer;
+                }
+
+                @Override
+                public String getProviderName() {
+                        return "NonBlocking";
+                }
+        }
 }
@@ -0,0 +1,196 @@
+package com.novacomp.notifications.circuitbreaker;
+
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+import com.novacomp.notifications.channel.sms.SmsSender;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CircuitBreakerTest {
+
+    private final List<String> transitions = new ArrayList<>();
+
+    private CircuitBreaker breaker(Duration waitDuration) {
+        CircuitBreaker breaker = CircuitBreaker.builder("twilio")
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(waitDuration)
+                .permittedCallsInHalfOpenState(2)
+                .build();
+        breaker.addListener((name, from, to) -> transitions.add(from + "->" + to));
+        return breaker;
+    }
+
+    @Test
+    void execute_ShouldOpen_WhenFailureRateReachesThreshold() throws Exception {
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+        succeed(breaker);
+        succeed(breaker);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        fail(breaker);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+        assertThrows(CallNotPermittedException.class, () -> succeed(breaker));
+    }
+
+    @Test
+    void execute_ShouldClose_WhenHalfOpenProbesSucceed() throws Exception {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+
+        succeed(breaker);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        succeed(breaker);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void execute_ShouldReturnHalfOpenPermits_WhenProbeThrowsErrorOrClassifierThrows() throws Exception {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+
+        assertThrows(AssertionError.class, () -> breaker.execute(() -> {
+            throw new AssertionError("boom");
+        }));
+        assertThrows(IllegalStateException.class, () -> breaker.execute(() -> "sent", result -> {
+            throw new IllegalStateException("classifier failed");
+        }));
+
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN"), transitions);
+    }
+
+    @Test
+    void execute_ShouldReopen_WhenHalfOpenProbesFail() throws Exception {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+
+        fail(breaker);
+        fail(breaker);
+
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN"), transitions);
+    }
+
+    @Test
+    void execute_ShouldOpen_WhenSlowCallRateReachesThreshold() throws Exception {
+        CircuitBreaker breaker = CircuitBreaker.builder("sendgrid")
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .slowCallDuration(Duration.ZERO)
+                .slowCallRateThreshold(100)
+                .build();
+
+        succeed(breaker);
+        succeed(breaker);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void executeAsync_ShouldRecordOutcome_WhenStageCompletes() {
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+        CompletableFuture<ProviderResponse> pending = new CompletableFuture<>();
+
+        CompletableFuture<ProviderResponse> call = breaker.executeAsync(() -> pending, ProviderResponse::retryable);
+        for (int i = 0; i < 3; i++) {
+            breaker.executeAsync(() -> CompletableFuture.failedFuture(new IOException("timeout")),
+                    ProviderResponse::retryable);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        pending.complete(new ProviderResponse(false, null, 503, "Unavailable"));
+
+        assertFalse(call.join().accepted());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> breaker.executeAsync(() -> pending, ProviderResponse::retryable).join());
+        assertInstanceOf(CallNotPermittedException.class, exception.getCause());
+    }
+
+    @Test
+    void provider_ShouldFailFastWithoutCallingDelegate_WhenOpen() throws Exception {
+        SmsProvider twilio = mock(SmsProvider.class);
+        when(twilio.getProviderName()).thenReturn("Twilio");
+        when(twilio.sendSms(any())).thenThrow(new IOException("timeout"));
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+        SmsSender sender = new SmsSender(new CircuitBreakerSmsProvider(twilio, breaker));
+        SmsNotification notification = SmsNotification.builder()
+                .phoneNumber("+1234567890")
+                .message("Hello")
+                .build();
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(NotificationException.class, () -> sender.send(notification));
+        }
+        NotificationException exception = assertThrows(NotificationException.class, () -> sender.send(notification));
+
+        assertInstanceOf(CallNotPermittedException.class, exception.getCause());
+        verify(twilio, times(4)).sendSms(any());
+    }
+
+    @Test
+    void provider_ShouldStayClosed_WhenDelegateRefusesMessages() throws Exception {
+        SmsProvider twilio = mock(SmsProvider.class);
+        when(twilio.getProviderName()).thenReturn("Twilio");
+        when(twilio.sendSms(any())).thenReturn(false);
+        when(twilio.sendSmsBatch(any())).thenReturn(new ProviderResponse[] {
+                new ProviderResponse(false, null, 400, "Invalid number"),
+                new ProviderResponse(false, null, 400, "Invalid number") });
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+        CircuitBreakerSmsProvider provider = new CircuitBreakerSmsProvider(twilio, breaker);
+
+        for (int i = 0; i < 4; i++) {
+            assertFalse(provider.sendSms(null));
+            provider.sendSmsBatch(List.of());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void provider_ShouldOpen_WhenEveryMessageOfBatchIsRetryable() throws Exception {
+        SmsProvider twilio = mock(SmsProvider.class);
+        when(twilio.getProviderName()).thenReturn("Twilio");
+        when(twilio.sendSmsBatch(any())).thenReturn(new ProviderResponse[] {
+                new ProviderResponse(false, null, 503, "Unavailable"),
+                new ProviderResponse(false, null, ProviderResponse.NO_RESPONSE, "Timeout") });
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+        CircuitBreakerSmsProvider provider = new CircuitBreakerSmsProvider(twilio, breaker);
+
+        for (int i = 0; i < 4; i++) {
+            provider.sendSmsBatch(List.of());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private static void succeed(CircuitBreaker breaker) throws Exception {
+        breaker.execute(() -> true, sent -> !sent);
+    }
+
+    private static void fail(CircuitBreaker breaker) throws Exception {
+        breaker.execute(() -> false, sent -> !sent);
+    }
+}
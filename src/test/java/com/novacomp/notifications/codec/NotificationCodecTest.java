@@ -0,0 +1,172 @@
+package com.novacomp.notifications.codec;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.Priority;
+import com.novacomp.notifications.api.ValidationResult;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationCodecTest {
+
+    private final NotificationCodec codec = NotificationCodec.getDefault();
+
+    @Test
+    void decode_ShouldRestoreEveryNotificationType() {
+        EmailNotification email = EmailNotification.builder()
+                .to("user@example.com")
+                .from("noreply@example.com")
+                .subject("Grüße 👋")
+                .body("Body")
+                .attachments(List.of(new File("/tmp/invoice.pdf")))
+                .cc(List.of("team@example.com"))
+                .bcc(List.of("audit@example.com", "legal@example.com"))
+                .build();
+        SmsNotification sms = SmsNotification.builder().phoneNumber("+14155552671").message("Code 1234").build();
+        PushNotification push = PushNotification.builder()
+                .token("device_token")
+                .title("Title")
+                .body("Body")
+                .data(Map.of("orderId", "42", "screen", "orders"))
+                .build();
+        SlackNotification slack = SlackNotification.builder().channel("#ops").text("Deployed").build();
+
+        EmailNotification decodedEmail = (EmailNotification) codec.decode(ByteBuffer.wrap(codec.encode(email)));
+        assertEquals("user@example.com", decodedEmail.getTo());
+        assertEquals("noreply@example.com", decodedEmail.getFrom());
+        assertEquals("Grüße 👋", decodedEmail.getSubject());
+        assertEquals("Body", decodedEmail.getBody());
+        assertEquals(List.of(new File("/tmp/invoice.pdf")), decodedEmail.getAttachments());
+        assertEquals(email.getCc(), decodedEmail.getCc());
+        assertEquals(email.getBcc(), decodedEmail.getBcc());
+
+        SmsNotification decodedSms = (SmsNotification) codec.decode(ByteBuffer.wrap(codec.encode(sms)));
+        assertEquals(sms.getPhoneNumber(), decodedSms.getPhoneNumber());
+        assertEquals(sms.getMessage(), decodedSms.getMessage());
+
+        PushNotification decodedPush = (PushNotification) codec.decode(ByteBuffer.wrap(codec.encode(push)));
+        assertEquals(push.getToken(), decodedPush.getToken());
+        assertEquals(push.getData(), decodedPush.getData());
+
+        SlackNotification decodedSlack = (SlackNotification) codec.decode(ByteBuffer.wrap(codec.encode(slack)));
+        assertEquals("#ops", decodedSlack.getChannel());
+        assertNull(decodedSlack.getUsername());
+    }
+
+    @Test
+    void decode_ShouldRestorePriority() {
+        SmsNotification otp = SmsNotification.builder()
+                .phoneNumber("+14155552671")
+                .message("Code 1234")
+                .priority(Priority.TRANSACTIONAL)
+                .build();
+        NotificationCodec withDictionary = NotificationCodec.builder().dictionary("x").build();
+
+        assertEquals(Priority.TRANSACTIONAL, codec.decode(ByteBuffer.wrap(codec.encode(otp))).getPriority());
+        assertEquals(Priority.TRANSACTIONAL,
+                withDictionary.decode(ByteBuffer.wrap(withDictionary.encode(otp))).getPriority());
+        SlackNotification bulk = SlackNotification.builder().channel("#a").text("t").priority(Priority.BULK).build();
+        assertEquals(Priority.BULK, codec.decode(ByteBuffer.wrap(codec.encode(bulk))).getPriority());
+    }
+
+    @Test
+    void decodeResult_ShouldRestoreResults() {
+        NotificationResult success = NotificationResult.success("SMS", "Twilio", "SM42");
+        NotificationResult failure = NotificationResult.failure("EMAIL", "SendGrid", "Unavailable");
+        NotificationResult rejection = NotificationResult.rejection("EMAIL", "SendGrid", "Rejected");
+
+        assertEquals(success, codec.decodeResult(ByteBuffer.wrap(codec.encode(success))));
+        assertEquals(failure, codec.decodeResult(ByteBuffer.wrap(codec.encode(failure))));
+        assertEquals(rejection, codec.decodeResult(ByteBuffer.wrap(codec.encode(rejection))));
+        // Channel name and "Success" come from the schema dictionary
+        assertEquals(2 + 1 + 1 + 1 + 1 + 6 + 1 + 4, codec.encode(success).length);
+    }
+
+    @Test
+    void decode_ShouldReturnDictionaryInstances_ForDictionaryFields() {
+        String sender = new String("noreply@example.com");
+        NotificationCodec withDictionary = NotificationCodec.builder()
+                .dictionary(sender, "Your weekly summary", "orderId")
+                .build();
+        EmailNotification email = EmailNotification.builder()
+                .to("user@example.com")
+                .from("noreply@example.com")
+                .subject("Your weekly summary")
+                .body("Body")
+                .build();
+
+        byte[] compact = withDictionary.encode(email);
+        EmailNotification decoded = (EmailNotification) withDictionary.decode(ByteBuffer.wrap(compact));
+
+        assertSame(sender, decoded.getFrom());
+        assertTrue(compact.length < codec.encode(email).length - 30);
+    }
+
+    @Test
+    void decode_ShouldRejectPayload_WhenDictionaryDiffers() {
+        NotificationCodec first = NotificationCodec.builder().dictionary("a@example.com").build();
+        NotificationCodec second = NotificationCodec.builder().dictionary("b@example.com").build();
+        byte[] payload = first.encode(SmsNotification.builder().phoneNumber("+1555").message("x").build());
+
+        assertNotEquals(first.dictionaryId(), second.dictionaryId());
+        assertThrows(IllegalStateException.class, () -> second.decode(ByteBuffer.wrap(payload)));
+    }
+
+    @Test
+    void decode_ShouldReadConsecutivePayloads_FromDirectBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        codec.encode(SmsNotification.builder().phoneNumber("+1555").message("first").build(), buffer);
+        codec.encode(NotificationResult.success("SMS", "Twilio", "SM1"), buffer);
+        codec.encode(SmsNotification.builder().phoneNumber("+1555").message("third").build(), buffer);
+        buffer.flip();
+
+        assertEquals("first", ((SmsNotification) codec.decode(buffer)).getMessage());
+        assertEquals("SM1", codec.decodeResult(buffer).messageId());
+        assertEquals("third", ((SmsNotification) codec.decode(buffer)).getMessage());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void encode_ShouldLeavePositionUnchanged_WhenBufferTooSmall() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put((byte) 7);
+
+        assertThrows(BufferOverflowException.class, () -> codec.encode(
+                SmsNotification.builder().phoneNumber("+14155552671").message("A longer message").build(), buffer));
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    void encode_ShouldGrowScratch_ForLargeNotifications() {
+        String body = "x".repeat(100_000);
+        byte[] payload = codec.encode(SmsNotification.builder().phoneNumber("+1555").message(body).build());
+
+        assertEquals(body, ((SmsNotification) codec.decode(ByteBuffer.wrap(payload))).getMessage());
+    }
+
+    @Test
+    void encode_ShouldRejectUnsupportedTypes() {
+        Notification custom = ValidationResult::success;
+
+        assertThrows(IllegalArgumentException.class, () -> codec.encode(custom));
+    }
+
+    @Test
+    void decode_ShouldRejectTruncatedPayload() {
+        byte[] payload = codec.encode(SmsNotification.builder().phoneNumber("+1555").message("hello").build());
+        ByteBuffer truncated = ByteBuffer.wrap(payload, 0, payload.length - 2);
+
+        assertThrows(IllegalStateException.class, () -> codec.decode(truncated));
+    }
+}
@@ -0,0 +1,191 @@
+package com.novacomp.notifications.dedup;
+
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+import com.novacomp.notifications.channel.sms.SmsSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DeduplicatingNotificationChannelTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private SmsProvider provider;
+    private DeduplicatingNotificationChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        provider = mock(SmsProvider.class);
+        when(provider.getProviderName()).thenReturn("Twilio");
+        when(provider.sendSms(any())).thenReturn(true);
+        channel = channel(false);
+    }
+
+    @Test
+    void send_ShouldReturnOriginalResult_ForDuplicateWithinWindow() throws Exception {
+        NotificationResult first = channel.send(otp("+1555", "1234"));
+        NotificationResult second = channel.send(otp("+1555", "1234"));
+
+        assertSame(first, second);
+        verify(provider, times(1)).sendSms(any());
+    }
+
+    @Test
+    void send_ShouldSendAgain_WhenContentDiffers() throws Exception {
+        channel.send(otp("+1555", "1234"));
+        channel.send(otp("+1555", "9999"));
+        channel.send(otp("+1666", "1234"));
+
+        verify(provider, times(3)).sendSms(any());
+    }
+
+    @Test
+    void send_ShouldSendAgain_AfterWindowExpires() throws Exception {
+        channel.send(otp("+1555", "1234"));
+        clock.addAndGet(Duration.ofMinutes(5).toNanos() + 1);
+        channel.send(otp("+1555", "1234"));
+
+        verify(provider, times(2)).sendSms(any());
+    }
+
+    @Test
+    void send_ShouldNotRememberFailures_UnlessConfigured() throws Exception {
+        when(provider.sendSms(any())).thenReturn(false);
+
+        channel.send(otp("+1555", "1234"));
+        channel.send(otp("+1555", "1234"));
+        verify(provider, times(2)).sendSms(any());
+
+        DeduplicatingNotificationChannel remembering = channel(true);
+        remembering.send(otp("+1555", "1234"));
+        remembering.send(otp("+1555", "1234"));
+        verify(provider, times(3)).sendSms(any());
+    }
+
+    @Test
+    void send_ShouldForgetSend_WhenProviderThrows() throws Exception {
+        when(provider.sendSms(any())).thenThrow(new RuntimeException("timeout")).thenReturn(true);
+
+        assertThrows(NotificationException.class, () -> channel.send(otp("+1555", "1234")));
+        assertTrue(channel.send(otp("+1555", "1234")).success());
+    }
+
+    @Test
+    void send_ShouldReleaseDuplicates_WhenProviderThrowsError() throws Exception {
+        when(provider.sendSms(any())).thenThrow(new AssertionError("boom")).thenReturn(true);
+        when(provider.sendSmsBatch(any())).thenThrow(new AssertionError("boom"));
+
+        assertThrows(AssertionError.class, () -> channel.send(otp("+1555", "1234")));
+        assertThrows(AssertionError.class, () -> channel.sendBatch(List.of(otp("+1666", "1234"))));
+
+        assertTrue(channel.sendAsync(otp("+1555", "1234")).get(5, TimeUnit.SECONDS).success());
+        assertTrue(channel.sendAsync(otp("+1666", "1234")).get(5, TimeUnit.SECONDS).success());
+    }
+
+    @Test
+    void send_WithIdempotencyKey_ShouldIgnoreContent() throws Exception {
+        channel.send(otp("+1555", "1234"), "event-42");
+        channel.send(otp("+1555", "5678"), "event-42");
+
+        verify(provider, times(1)).sendSms(any());
+    }
+
+    @Test
+    void sendAsync_ShouldShareInFlightSend() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(provider.sendSms(any())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<NotificationResult> first = channel.sendAsync(otp("+1555", "1234"));
+        CompletableFuture<NotificationResult> second = channel.sendAsync(otp("+1555", "1234"));
+        release.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).success());
+        assertSame(first.join(), second.get(5, TimeUnit.SECONDS));
+        verify(provider, times(1)).sendSms(any());
+    }
+
+    @Test
+    void sendBatch_ShouldSendFirstOccurrenceOnly() throws Exception {
+        when(provider.sendSmsBatch(any())).thenReturn(new ProviderResponse[] {
+                ProviderResponse.accepted(null), ProviderResponse.accepted(null) });
+        channel.send(otp("+1777", "0000"));
+
+        List<NotificationResult> results = channel.sendBatch(List.of(
+                otp("+1555", "1234"), otp("+1555", "1234"), otp("+1666", "1234"), otp("+1777", "0000")));
+
+        assertEquals(4, results.size());
+        assertSame(results.get(0), results.get(1));
+        assertTrue(results.stream().allMatch(NotificationResult::success));
+        verify(provider).sendSmsBatch(argThat(batch -> batch.size() == 2));
+    }
+
+    @Test
+    void fingerprint_ShouldDistinguishCcFromBcc() {
+        NotificationFingerprint fingerprint = NotificationFingerprint.defaults();
+        EmailNotification.EmailNotificationBuilder email = EmailNotification.builder()
+                .to("user@example.com")
+                .from("billing@example.com")
+                .subject("Invoice")
+                .body("Attached");
+
+        long cc = fingerprint.of(email.cc(List.of("audit@example.com")).bcc(List.of()).build());
+        long bcc = fingerprint.of(email.cc(List.of()).bcc(List.of("audit@example.com")).build());
+
+        assertNotEquals(cc, bcc);
+    }
+
+    @Test
+    void cache_ShouldEvictOldest_WhenSegmentIsFull() {
+        DedupCache<String> cache = new DedupCache<>(16, Duration.ofHours(1), clock::get);
+        for (long key = 1; key <= 10_000; key++) {
+            cache.putIfAbsent(key, "v" + key);
+        }
+
+        assertEquals(16, cache.size());
+        assertEquals("v10000", cache.get(10_000));
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    void cache_ShouldKeepLookupsCorrect_AfterRemovals() {
+        DedupCache<String> cache = new DedupCache<>(4096, Duration.ofHours(1), clock::get);
+        for (long key = 1; key <= 2000; key++) {
+            cache.putIfAbsent(key, "v" + key);
+        }
+        for (long key = 1; key <= 2000; key += 2) {
+            assertTrue(cache.remove(key, cache.get(key)));
+        }
+
+        for (long key = 1; key <= 2000; key++) {
+            assertEquals(key % 2 == 0 ? "v" + key : null, cache.get(key));
+        }
+        assertEquals(1000, cache.size());
+    }
+
+    private DeduplicatingNotificationChannel channel(boolean rememberFailures) {
+        return new DeduplicatingNotificationChannel(new SmsSender(provider),
+                new DedupCache<>(1000, Duration.ofMinutes(5), clock::get), NotificationFingerprint.defaults(),
+                rememberFailures);
+    }
+
+    private SmsNotification otp(String phoneNumber, String code) {
+        return SmsNotification.builder()
+                .phoneNumber(phoneNumber)
+                .message("Your code is " + code)
+                .build();
+    }
+}
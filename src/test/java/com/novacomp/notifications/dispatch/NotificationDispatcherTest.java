@@ -0,0 +1,99 @@
+package com.novacomp.notifications.dispatch;
+
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+import com.novacomp.notifications.channel.sms.SmsSender;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotificationDispatcherTest {
+
+    private final SmsNotification notification = SmsNotification.builder()
+            .phoneNumber("+1234567890")
+            .message("Hello")
+            .build();
+
+    @Test
+    void sendAsync_ShouldRunOnVirtualThread() throws Exception {
+        SmsProvider provider = mock(SmsProvider.class);
+        when(provider.getProviderName()).thenReturn("Twilio");
+        AtomicBoolean virtual = new AtomicBoolean(false);
+        when(provider.sendSms(any())).thenAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return true;
+        });
+
+        NotificationChannel channel = new SmsSender(provider);
+        NotificationResult result = channel.sendAsync(notification).get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.success());
+        assertTrue(virtual.get(), "Default sendAsync should run on a virtual thread");
+    }
+
+    @Test
+    void dispatch_ShouldNotExceedChannelConcurrencyLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        SmsProvider provider = mock(SmsProvider.class);
+        when(provider.getProviderName()).thenReturn("Twilio");
+        when(provider.sendSms(any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            release.await(5, TimeUnit.SECONDS);
+            inFlight.decrementAndGet();
+            return true;
+        });
+
+        try (NotificationDispatcher dispatcher = NotificationDispatcher.builder()
+                .concurrencyLimit("SMS", 2)
+                .build()) {
+            NotificationChannel channel = new SmsSender(provider);
+            List<CompletableFuture<NotificationResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(dispatcher.dispatch(channel, notification));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (inFlight.get() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, dispatcher.availablePermits("SMS"));
+            release.countDown();
+
+            for (CompletableFuture<NotificationResult> future : futures) {
+                assertTrue(future.get(5, TimeUnit.SECONDS).success());
+            }
+        }
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void builder_WithNonPositiveLimit_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> NotificationDispatcher.builder().defaultConcurrencyLimit(0));
+    }
+
+    @Test
+    void setDefault_ShouldThrowException_WhenDefaultAlreadyInUse() {
+        NotificationDispatcher inUse = NotificationDispatcher.getDefault();
+
+        try (NotificationDispatcher replacement = NotificationDispatcher.builder().build()) {
+            assertThrows(IllegalStateException.class, () -> NotificationDispatcher.setDefault(replacement));
+        }
+        assertSame(inUse, NotificationDispatcher.getDefault());
+        assertDoesNotThrow(() -> NotificationDispatcher.setDefault(inUse));
+    }
+}
@@ -0,0 +1,271 @@
+package com.novacomp.notifications.dispatch;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.Priority;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityLaneChannelTest {
+
+    private final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    /**
+     * Records every message; messages starting with "block" wait for
+     * {@link #release}.
+     */
+    private final NotificationChannel delegate = notification -> {
+        String message = ((SmsNotification) notification).getMessage();
+        if (message.startsWith("block")) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        delivered.add(message);
+        return NotificationResult.success("SMS", "Stub", message);
+    };
+
+    @Test
+    void strictPriority_ShouldSendTransactionalBeforeQueuedBulk() throws Exception {
+        try (PriorityLaneChannel channel = PriorityLaneChannel.builder(delegate)
+                .mode(SchedulingMode.STRICT_PRIORITY)
+                .concurrency(1)
+                .maxBatchSize(1)
+                .build()) {
+            CompletableFuture<NotificationResult> blocking = channel.sendAsync(sms("block", Priority.BULK));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            List<CompletableFuture<NotificationResult>> bulk = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                bulk.add(channel.sendAsync(sms("bulk-" + i, Priority.BULK)));
+            }
+            CompletableFuture<NotificationResult> otp = channel.sendAsync(sms("otp", Priority.TRANSACTIONAL));
+
+            release.countDown();
+
+            assertEquals("otp", otp.get(5, TimeUnit.SECONDS).messageId());
+            for (CompletableFuture<NotificationResult> future : bulk) {
+                assertTrue(future.get(5, TimeUnit.SECONDS).success());
+            }
+            assertTrue(blocking.get(5, TimeUnit.SECONDS).success());
+            assertEquals(List.of("block", "otp", "bulk-0", "bulk-1", "bulk-2", "bulk-3", "bulk-4"), delivered);
+        }
+    }
+
+    @Test
+    void reservedSlots_ShouldLetTransactionalThrough_WhileBulkSaturatesSharedCapacity() throws Exception {
+        try (PriorityLaneChannel channel = PriorityLaneChannel.builder(delegate)
+                .concurrency(2)
+                .reserve(Priority.TRANSACTIONAL, 1)
+                .maxBatchSize(1)
+                .build()) {
+            List<CompletableFuture<NotificationResult>> bulk = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                bulk.add(channel.sendAsync(sms("block-" + i, Priority.BULK)));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            NotificationResult otp = channel.sendAsync(sms("otp", Priority.TRANSACTIONAL)).get(5, TimeUnit.SECONDS);
+
+            assertEquals("otp", otp.messageId());
+            assertEquals(List.of("otp"), delivered);
+            assertEquals(2, channel.size(Priority.BULK));
+
+            release.countDown();
+            for (CompletableFuture<NotificationResult> future : bulk) {
+                assertTrue(future.get(5, TimeUnit.SECONDS).success());
+            }
+            assertEquals(3, channel.dispatched(Priority.BULK));
+        }
+    }
+
+    @Test
+    void weightedFair_ShouldShareTurnsInProportionToWeights() throws Exception {
+        try (PriorityLaneChannel channel = PriorityLaneChannel.builder(delegate)
+                .concurrency(1)
+                .maxBatchSize(1)
+                .weight(Priority.NORMAL, 3)
+                .weight(Priority.BULK, 1)
+                .build()) {
+            channel.sendAsync(sms("block", Priority.BULK));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            List<CompletableFuture<NotificationResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(channel.sendAsync(sms("bulk-" + i, Priority.BULK)));
+                futures.add(channel.sendAsync(sms("normal-" + i, Priority.NORMAL)));
+            }
+
+            release.countDown();
+            for (CompletableFuture<NotificationResult> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            List<String> firstEight = delivered.subList(1, 9);
+            assertEquals(6, firstEight.stream().filter(message -> message.startsWith("normal")).count());
+            assertTrue(delivered.get(1).startsWith("normal"));
+        }
+    }
+
+    @Test
+    void sendAsync_ShouldFailWithBackpressure_WhenLaneIsFull() throws Exception {
+        try (PriorityLaneChannel channel = PriorityLaneChannel.builder(delegate)
+                .concurrency(1)
+                .capacity(Priority.BULK, 1)
+                .build()) {
+            channel.sendAsync(sms("block", Priority.BULK));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<NotificationResult> queued = channel.sendAsync(sms("queued", Priority.BULK));
+
+            CompletableFuture<NotificationResult> refused = channel.sendAsync(sms("refused", Priority.BULK));
+            CompletableFuture<NotificationResult> normal = channel.sendAsync(sms("normal", Priority.NORMAL));
+
+            ExecutionException exception = assertThrows(ExecutionException.class, refused::get);
+            assertInstanceOf(BackpressureException.class, exception.getCause());
+            assertFalse(normal.isDone());
+
+            release.countDown();
+            assertTrue(queued.get(5, TimeUnit.SECONDS).success());
+            assertTrue(normal.get(5, TimeUnit.SECONDS).success());
+        }
+    }
+
+    @Test
+    void sendBatch_ShouldRouteEachNotificationToItsLane() {
+        release.countDown();
+        try (PriorityLaneChannel channel = PriorityLaneChannel.builder(delegate).build()) {
+            List<NotificationResult> results = channel.sendBatch(List.of(
+                    sms("a", Priority.BULK), sms("b", Priority.TRANSACTIONAL), sms("c", Priority.NORMAL)));
+
+            assertEquals(List.of("a", "b", "c"), results.stream().map(NotificationResult::messageId).toList());
+            assertEquals(1, channel.dispatched(Priority.TRANSACTIONAL));
+            assertEquals(1, channel.dispatched(Priority.BULK));
+        }
+    }
+
+    @Test
+    void sendBatch_ShouldWaitForLaneSpace_WhenBatchExceedsCapacity() throws Exception {
+        try (PriorityLaneChannel channel = PriorityLaneChannel.builder(delegate)
+                .concurrency(1)
+                .maxBatchSize(1)
+                .capacity(Priority.BULK, 1)
+                .build()) {
+            channel.sendAsync(sms("block", Priority.BULK));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<List<NotificationResult>> batch = CompletableFuture.supplyAsync(() -> channel.sendBatch(
+                    List.of(sms("a", Priority.BULK), sms("b", Priority.BULK), sms("c", Priority.BULK))));
+
+            release.countDown();
+
+            List<NotificationResult> results = batch.get(5, TimeUnit.SECONDS);
+            assertTrue(results.stream().allMatch(NotificationResult::success));
+            assertEquals(List.of("block", "a", "b", "c"), delivered);
+        }
+    }
+
+    @Test
+    void sendBatch_ShouldRefuseRest_WhenLaneStaysFullPastTimeout() throws Exception {
+        try (PriorityLaneChannel channel = PriorityLaneChannel.builder(delegate)
+                .concurrency(1)
+                .capacity(Priority.BULK, 1)
+                .batchEnqueueTimeout(Duration.ofMillis(50))
+                .build()) {
+            channel.sendAsync(sms("block", Priority.BULK));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<List<NotificationResult>> batch = CompletableFuture.supplyAsync(() -> channel.sendBatch(
+                    List.of(sms("a", Priority.BULK), sms("b", Priority.BULK))));
+
+            Thread.sleep(500);
+            release.countDown();
+
+            List<NotificationResult> results = batch.get(5, TimeUnit.SECONDS);
+            assertTrue(results.get(0).success());
+            assertFalse(results.get(1).success());
+            assertTrue(results.get(1).message().contains("lane is full"));
+        }
+    }
+
+    @Test
+    void sendAsync_ShouldFail_WhenDelegateReturnsWrongNumberOfResults() {
+        NotificationChannel padding = new NotificationChannel() {
+            @Override
+            public NotificationResult send(Notification notification) {
+                return NotificationResult.success("SMS", "Stub", "id");
+            }
+
+            @Override
+            public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+                List<NotificationResult> results = new ArrayList<>(NotificationChannel.super.sendBatch(notifications));
+                results.add(send(null));
+                return results;
+            }
+        };
+        try (PriorityLaneChannel channel = PriorityLaneChannel.builder(padding).build()) {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> channel.sendAsync(sms("a", Priority.NORMAL)).get(5, TimeUnit.SECONDS));
+
+            assertInstanceOf(NotificationException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    void sendAsync_ShouldFailBatch_AndKeepServing_WhenDelegateThrowsError() throws Exception {
+        AtomicBoolean broken = new AtomicBoolean(true);
+        NotificationChannel flaky = new NotificationChannel() {
+            @Override
+            public NotificationResult send(Notification notification) {
+                if (broken.getAndSet(false)) {
+                    throw new AssertionError("boom");
+                }
+                return NotificationResult.success("SMS", "Stub", "id");
+            }
+        };
+        try (PriorityLaneChannel channel = PriorityLaneChannel.builder(flaky).build()) {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> channel.sendAsync(sms("a", Priority.NORMAL)).get(5, TimeUnit.SECONDS));
+
+            assertInstanceOf(AssertionError.class, exception.getCause());
+            assertTrue(channel.sendAsync(sms("b", Priority.NORMAL)).get(5, TimeUnit.SECONDS).success());
+        }
+    }
+
+    @Test
+    void build_ShouldReject_WhenReservationsLeaveNoSharedCapacity() {
+        PriorityLaneChannel.Builder builder = PriorityLaneChannel.builder(delegate)
+                .concurrency(2)
+                .reserve(Priority.TRANSACTIONAL, 1)
+                .reserve(Priority.NORMAL, 1);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void sendAsync_ShouldFail_AfterClose() {
+        PriorityLaneChannel channel = PriorityLaneChannel.builder(delegate).build();
+        channel.close();
+
+        assertTrue(channel.sendAsync(sms("late", Priority.NORMAL)).isCompletedExceptionally());
+    }
+
+    private static SmsNotification sms(String message, Priority priority) {
+        return SmsNotification.builder().phoneNumber("+14155552671").message(message).priority(priority).build();
+    }
+}
@@ -0,0 +1,198 @@
+package com.novacomp.notifications.dispatch;
+
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+import com.novacomp.notifications.channel.sms.SmsSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class QueuedNotificationChannelTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SmsProvider provider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        provider = mock(SmsProvider.class);
+        when(provider.getProviderName()).thenReturn("Twilio");
+        when(provider.sendSmsBatch(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new ProviderResponse[] { ProviderResponse.accepted(null) };
+        });
+    }
+
+    @Test
+    void sendAsync_ShouldCompleteThroughDrainWorker() throws Exception {
+        release.countDown();
+        try (QueuedNotificationChannel channel = singleWorkerQueue(OverflowPolicy.REJECT)) {
+            NotificationResult result = channel.sendAsync(sms("first")).get(5, TimeUnit.SECONDS);
+
+            assertTrue(result.success());
+            assertEquals("SMS", result.channelName());
+        }
+    }
+
+    @Test
+    void sendAsync_WithRejectPolicy_ShouldFailImmediately_WhenQueueIsFull() throws Exception {
+        try (QueuedNotificationChannel channel = singleWorkerQueue(OverflowPolicy.REJECT)) {
+            CompletableFuture<NotificationResult> inFlight = channel.sendAsync(sms("in flight"));
+            awaitEmpty(channel);
+            CompletableFuture<NotificationResult> queued = channel.sendAsync(sms("queued"));
+
+            CompletableFuture<NotificationResult> rejected = channel.sendAsync(sms("rejected"));
+
+            assertTrue(rejected.isCompletedExceptionally());
+            ExecutionException exception = assertThrows(ExecutionException.class, rejected::get);
+            assertInstanceOf(BackpressureException.class, exception.getCause());
+
+            release.countDown();
+            assertTrue(inFlight.get(5, TimeUnit.SECONDS).success());
+            assertTrue(queued.get(5, TimeUnit.SECONDS).success());
+        }
+    }
+
+    @Test
+    void sendAsync_WithDropOldestPolicy_ShouldEvictOldestQueuedNotification() throws Exception {
+        try (QueuedNotificationChannel channel = singleWorkerQueue(OverflowPolicy.DROP_OLDEST)) {
+            CompletableFuture<NotificationResult> inFlight = channel.sendAsync(sms("in flight"));
+            awaitEmpty(channel);
+            CompletableFuture<NotificationResult> oldest = channel.sendAsync(sms("oldest"));
+
+            CompletableFuture<NotificationResult> newest = channel.sendAsync(sms("newest"));
+
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> oldest.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(BackpressureException.class, exception.getCause());
+
+            release.countDown();
+            assertTrue(inFlight.get(5, TimeUnit.SECONDS).success());
+            assertTrue(newest.get(5, TimeUnit.SECONDS).success());
+        }
+    }
+
+    @Test
+    void close_ShouldDrainQueuedNotifications() throws Exception {
+        QueuedNotificationChannel channel = singleWorkerQueue(OverflowPolicy.BLOCK);
+        CompletableFuture<NotificationResult> first = channel.sendAsync(sms("first"));
+        CompletableFuture<NotificationResult> second = channel.sendAsync(sms("second"));
+
+        release.countDown();
+        channel.close();
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertTrue(channel.sendAsync(sms("late")).isCompletedExceptionally());
+        verify(provider, times(2)).sendSmsBatch(any());
+    }
+
+    @Test
+    void sendBatch_ShouldEnqueueWholeBatch_BeforeWaiting() throws Exception {
+        List<Integer> chunkSizes = Collections.synchronizedList(new ArrayList<>());
+        when(provider.sendSmsBatch(any())).thenAnswer(invocation -> {
+            int size = invocation.<List<?>>getArgument(0).size();
+            chunkSizes.add(size);
+            release.await(5, TimeUnit.SECONDS);
+            ProviderResponse[] sent = new ProviderResponse[size];
+            Arrays.fill(sent, ProviderResponse.accepted(null));
+            return sent;
+        });
+        List<SmsNotification> batch = List.of(sms("1"), sms("2"), sms("3"), sms("4"), sms("5"));
+
+        try (QueuedNotificationChannel channel = QueuedNotificationChannel.builder(new SmsSender(provider))
+                .workers(1)
+                .drainBatchSize(10)
+                .build()) {
+            CompletableFuture<List<NotificationResult>> results = CompletableFuture.supplyAsync(
+                    () -> channel.sendBatch(batch));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((chunkSizes.isEmpty() || channel.size() + chunkSizes.get(0) < batch.size())
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(batch.size(), channel.size() + chunkSizes.get(0));
+
+            release.countDown();
+
+            assertTrue(results.get(5, TimeUnit.SECONDS).stream().allMatch(NotificationResult::success));
+            assertTrue(chunkSizes.size() <= 2);
+        }
+    }
+
+    @Test
+    void sendAsync_ShouldFail_WhenDelegateReturnsWrongNumberOfResults() {
+        NotificationChannel delegate = mock(NotificationChannel.class);
+        when(delegate.getChannelName()).thenReturn("SMS");
+        when(delegate.sendBatch(any())).thenReturn(List.of());
+
+        try (QueuedNotificationChannel channel = QueuedNotificationChannel.builder(delegate).workers(1).build()) {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> channel.sendAsync(sms("first")).get(5, TimeUnit.SECONDS));
+
+            assertInstanceOf(NotificationException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    void sendAsync_ShouldFailQueuedNotifications_WhenLastWorkerIsInterrupted() throws Exception {
+        when(provider.sendSmsBatch(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            Thread.currentThread().interrupt();
+            return new ProviderResponse[] { ProviderResponse.accepted(null) };
+        });
+
+        try (QueuedNotificationChannel channel = singleWorkerQueue(OverflowPolicy.BLOCK)) {
+            CompletableFuture<NotificationResult> inFlight = channel.sendAsync(sms("in flight"));
+            awaitEmpty(channel);
+            CompletableFuture<NotificationResult> queued = channel.sendAsync(sms("queued"));
+
+            release.countDown();
+
+            assertTrue(inFlight.get(5, TimeUnit.SECONDS).success());
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> queued.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(NotificationException.class, exception.getCause());
+            assertTrue(channel.sendAsync(sms("late")).isCompletedExceptionally());
+        }
+    }
+
+    private QueuedNotificationChannel singleWorkerQueue(OverflowPolicy policy) {
+        return QueuedNotificationChannel.builder(new SmsSender(provider))
+                .capacity(1)
+                .workers(1)
+                .drainBatchSize(1)
+                .overflowPolicy(policy)
+                .build();
+    }
+
+    private static void awaitEmpty(QueuedNotificationChannel channel) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (channel.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, channel.size());
+    }
+
+    private static SmsNotification sms(String message) {
+        return SmsNotification.builder()
+                .phoneNumber("+1234567890")
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.novacomp.notifications.fanout;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.push.PushProvider;
+import com.novacomp.notifications.channel.push.PushSender;
+import com.novacomp.notifications.channel.sms.SmsSender;
+import com.novacomp.notifications.provider.sms.TwilioSmsProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutTest {
+
+    @Test
+    void send_ShouldExpandRecipientsLazilyInChunks() {
+        List<Integer> batchSizes = new ArrayList<>();
+        List<PushNotification> sent = new ArrayList<>();
+        PushProvider provider = new RecordingPushProvider(batchSizes, sent);
+        Map<String, String> data = Map.of("campaign", "launch");
+        Iterator<String> tokens = IntStream.range(0, 1200).mapToObj(i -> "token-" + i).iterator();
+
+        FanOutSummary summary = FanOut.send(new PushSender(provider),
+                FanOutRequest.push("Launch", "We are live", data, tokens));
+
+        assertEquals(new FanOutSummary(1200, 1200, 0), summary);
+        assertEquals(List.of(500, 500, 200), batchSizes);
+        assertEquals("token-1199", sent.get(1199).getToken());
+        assertSame(data, sent.get(0).getData());
+        assertSame(sent.get(0).getTitle(), sent.get(1199).getTitle());
+    }
+
+    @Test
+    void send_ShouldReportEachRecipient_IncludingRejects() {
+        List<String> failedRecipients = new ArrayList<>();
+        Iterator<String> numbers = List.of("+1", " ", "+3").iterator();
+        NotificationChannel channel = new SmsSender(new TwilioSmsProvider("sid", "token", "+10"));
+
+        FanOutSummary summary = FanOut.send(channel, FanOutRequest.sms("Hi", numbers).withChunkSize(2),
+                (recipient, result) -> {
+                    if (!result.success()) {
+                        failedRecipients.add(recipient);
+                    }
+                });
+
+        assertEquals(new FanOutSummary(3, 2, 1), summary);
+        assertEquals(List.of(" "), failedRecipients);
+    }
+
+    @Test
+    void send_ShouldFailOnlyTheChunk_WhenChannelThrows() {
+        NotificationChannel channel = new NotificationChannel() {
+            private int calls;
+
+            @Override
+            public NotificationResult send(Notification notification) {
+                if (calls++ == 0) {
+                    throw new NotificationException("boom");
+                }
+                return NotificationResult.success("SLACK", "Slack", "id");
+            }
+        };
+
+        FanOutSummary summary = FanOut.send(channel,
+                FanOutRequest.slack("deployed", List.of("#a", "#b", "#c").iterator()).withChunkSize(2));
+
+        assertEquals(new FanOutSummary(3, 1, 2), summary);
+    }
+
+    private static final class RecordingPushProvider implements PushProvider {
+        private final List<Integer> batchSizes;
+        private final List<PushNotification> sent;
+
+        RecordingPushProvider(List<Integer> batchSizes, List<PushNotification> sent) {
+            this.batchSizes = batchSizes;
+            this.sent = sent;
+        }
+
+        @Override
+        public boolean sendPush(PushNotification notification) {
+            sent.add(notification);
+            return true;
+        }
+
+        @Override
+        public ProviderResponse[] sendPushBatch(List<PushNotification> notifications) {
+            batchSizes.add(notifications.size());
+            sent.addAll(notifications);
+            ProviderResponse[] result = new ProviderResponse[notifications.size()];
+            Arrays.fill(result, ProviderResponse.accepted(null));
+            return result;
+        }
+
+        @Override
+        public String getProviderName() {
+            return "Recording";
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.novacomp.notifications.fanout;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.push.PushProvider;
+import com.novacomp.notifications.channel.push.PushSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelFanOutEngineTest {
+
+    private ParallelFanOutEngine engine;
+    private ConcurrentProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new ConcurrentProvider();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void send_ShouldDeliverEveryRecipientExactlyOnce_FromSizedSource() {
+        engine = ParallelFanOutEngine.builder().parallelism(4).build();
+        List<String> tokens = IntStream.range(0, 10_000).mapToObj(i -> "token-" + i).toList();
+
+        FanOutSummary summary = engine.send(new PushSender(provider),
+                FanOutRequest.of(tokens.spliterator(), this::push).withChunkSize(100), FanOutListener.ignore());
+
+        assertEquals(new FanOutSummary(10_000, 10_000, 0), summary);
+        assertEquals(10_000, provider.tokens.size());
+    }
+
+    @Test
+    void send_ShouldRespectPerChannelInFlightLimit() {
+        provider.delayMillis = 5;
+        engine = ParallelFanOutEngine.builder()
+                .parallelism(8)
+                .maxInFlightChunks("PUSH", 2)
+                .build();
+        List<String> tokens = IntStream.range(0, 2_000).mapToObj(i -> "token-" + i).toList();
+
+        FanOutSummary summary = engine.send(new PushSender(provider),
+                FanOutRequest.of(tokens.spliterator(), this::push).withChunkSize(50), FanOutListener.ignore());
+
+        assertEquals(2_000, summary.succeeded());
+        assertTrue(provider.maxConcurrent.get() <= 2, "max concurrent " + provider.maxConcurrent.get());
+    }
+
+    @Test
+    void send_ShouldReportInvalidRecipients_FromIteratorSource() {
+        engine = ParallelFanOutEngine.builder().parallelism(4).build();
+        List<String> failed = new CopyOnWriteArrayList<>();
+        var tokens = IntStream.range(0, 1_000).mapToObj(i -> i % 100 == 0 ? " " : "token-" + i).iterator();
+
+        FanOutSummary summary = engine.send(new PushSender(provider),
+                FanOutRequest.push("Sale", "30% off", Map.of(), tokens).withChunkSize(64),
+                (token, result) -> {
+                    if (!result.success()) {
+                        assertFalse(result.retryable());
+                        failed.add(token);
+                    }
+                });
+
+        assertEquals(new FanOutSummary(1_000, 990, 10), summary);
+        assertEquals(10, failed.size());
+        assertEquals(990, provider.tokens.size());
+    }
+
+    @Test
+    void submit_ShouldComplete_WhenListenerThrowsAndChannelDropsResults() throws Exception {
+        engine = ParallelFanOutEngine.builder().parallelism(2).build();
+        NotificationChannel truncating = new NotificationChannel() {
+            @Override
+            public NotificationResult send(Notification notification) {
+                return NotificationResult.success("PUSH", "Stub", null);
+            }
+
+            @Override
+            public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+                return List.of();
+            }
+        };
+        List<String> tokens = IntStream.range(0, 100).mapToObj(i -> "token-" + i).toList();
+
+        FanOutJob<String> job = engine.submit(truncating,
+                FanOutRequest.of(tokens.spliterator(), this::push).withChunkSize(10), (token, result) -> {
+                    throw new IllegalStateException("listener failed");
+                }, progress -> {
+                });
+
+        assertEquals(new FanOutSummary(100, 0, 100), job.completion().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_ShouldReportProgress_UntilCompletion() {
+        provider.delayMillis = 2;
+        engine = ParallelFanOutEngine.builder()
+                .parallelism(2)
+                .maxInFlightChunks("PUSH", 1)
+                .progressInterval(Duration.ofMillis(10))
+                .build();
+        List<FanOutProgress> reports = new CopyOnWriteArrayList<>();
+        List<String> tokens = IntStream.range(0, 500).mapToObj(i -> "token-" + i).toList();
+
+        FanOutJob<String> job = engine.submit(new PushSender(provider),
+                FanOutRequest.of(tokens.spliterator(), this::push).withChunkSize(10), FanOutListener.ignore(),
+                reports::add);
+        FanOutSummary summary = job.join();
+
+        assertEquals(500, summary.succeeded());
+        assertTrue(reports.size() >= 2, "reports " + reports.size());
+        FanOutProgress last = job.progress();
+        assertEquals(500, last.completed());
+        assertTrue(last.throughputPerSecond() > 0);
+    }
+
+    private PushNotification push(String token) {
+        return PushNotification.builder()
+                .token(token)
+                .title("Sale")
+                .body("30% off")
+                .build();
+    }
+
+    private static final class ConcurrentProvider implements PushProvider {
+        private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private volatile long delayMillis;
+
+        @Override
+        public boolean sendPush(PushNotification notification) {
+            return sendPushBatch(List.of(notification))[0].accepted();
+        }
+
+        @Override
+        public ProviderResponse[] sendPushBatch(List<PushNotification> notifications) {
+            int now = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(now, Math::max);
+            try {
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+            for (PushNotification notification : notifications) {
+                assertTrue(tokens.add(notification.getToken()), "duplicate " + notification.getToken());
+            }
+            ProviderResponse[] sent = new ProviderResponse[notifications.size()];
+            Arrays.fill(sent, ProviderResponse.accepted(null));
+            return sent;
+        }
+
+        @Override
+        public String getProviderName() {
+            return "Concurrent";
+        }
+    }
+}
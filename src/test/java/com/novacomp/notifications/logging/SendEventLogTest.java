@@ -0,0 +1,142 @@
+package com.novacomp.notifications.logging;
+
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.slack.SlackProvider;
+import com.novacomp.notifications.channel.slack.SlackSender;
+import com.novacomp.notifications.metrics.InMemoryMetrics;
+import com.novacomp.notifications.metrics.NotificationMetrics;
+import com.novacomp.notifications.metrics.ProviderMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SendEventLogTest {
+
+    @Test
+    void send_ShouldDeliverStructuredEventsFromDrainerThread() {
+        List<SendEvent> events = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        SlackProvider provider = mock(SlackProvider.class);
+        when(provider.getProviderName()).thenReturn("Slack");
+        when(provider.sendSlackMessage(any())).thenReturn(true);
+
+        try (SendEventLog eventLog = SendEventLog.builder()
+                .sink(event -> {
+                    events.add(event);
+                    threads.add(Thread.currentThread().getName());
+                })
+                .build()) {
+            SlackSender sender = new SlackSender(provider, eventLog);
+            sender.send(slack("#alerts"));
+            sender.send(slack(""));
+        }
+
+        assertEquals(2, events.size());
+        SendEvent sent = events.get(0);
+        assertEquals("SLACK", sent.channel());
+        assertEquals("Slack", sent.provider());
+        assertEquals(1, sent.succeeded());
+        assertEquals(0, sent.failed());
+        assertFalse(sent.rejected());
+        assertTrue(sent.latencyNanos() >= 0);
+        assertTrue(events.get(1).rejected());
+        assertEquals(List.of("send-event-log", "send-event-log"), threads);
+    }
+
+    @Test
+    void recordCall_ShouldSampleSuccesses_ButKeepFailures() {
+        List<SendEvent> events = new CopyOnWriteArrayList<>();
+        try (SendEventLog eventLog = SendEventLog.builder()
+                .sink(events::add)
+                .sampleEvery("EMAIL", 1_000_000)
+                .build()) {
+            ProviderMetrics email = eventLog.forProvider("EMAIL", "SendGrid");
+            ProviderMetrics sms = eventLog.forProvider("SMS", "Twilio");
+            for (int i = 0; i < 100; i++) {
+                email.recordCall(1, 0, 10);
+            }
+            email.recordCall(0, 1, 10);
+            sms.recordCall(1, 0, 10);
+        }
+
+        assertTrue(events.size() <= 3);
+        assertTrue(events.stream().anyMatch(e -> e.channel().equals("EMAIL") && e.failed() == 1));
+        assertTrue(events.stream().anyMatch(e -> e.channel().equals("SMS")));
+    }
+
+    @Test
+    void recordCall_ShouldDropAndCount_WhenRingIsFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<SendEvent> events = new CopyOnWriteArrayList<>();
+        try (SendEventLog eventLog = SendEventLog.builder()
+                .capacity(4)
+                .sink(event -> {
+                    events.add(event);
+                    blocked.countDown();
+                    awaitQuietly(release);
+                })
+                .build()) {
+            ProviderMetrics recorder = eventLog.forProvider("PUSH", "FCM");
+            recorder.recordCall(1, 0, 1);
+            assertTrue(blocked.await(1, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 10; i++) {
+                recorder.recordCall(1, 0, 1);
+            }
+            assertEquals(4, eventLog.capacity());
+            assertEquals(6, eventLog.droppedCount());
+            release.countDown();
+        }
+
+        assertEquals(5, events.size());
+    }
+
+    @Test
+    void forProvider_ShouldReuseRecorder_ForSamePair() {
+        List<SendEvent> events = new CopyOnWriteArrayList<>();
+        try (SendEventLog eventLog = SendEventLog.builder().sink(events::add).build()) {
+            ProviderMetrics first = eventLog.forProvider("SMS", "Twilio");
+
+            assertSame(first, eventLog.forProvider("SMS", "Twilio"));
+            assertNotSame(first, eventLog.forProvider("SMS", "Vonage"));
+            first.recordCall(1, 0, 1);
+        }
+
+        assertEquals("Twilio", events.get(0).provider());
+    }
+
+    @Test
+    void combine_ShouldFeedEveryImplementation() {
+        List<SendEvent> events = new CopyOnWriteArrayList<>();
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        try (SendEventLog eventLog = SendEventLog.builder().sink(events::add).build()) {
+            NotificationMetrics.combine(metrics, eventLog).forProvider("SMS", "Twilio").recordCall(2, 1, 5);
+        }
+
+        assertEquals(1, events.size());
+        assertEquals(2, metrics.stats("SMS", "Twilio").orElseThrow().successes());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private SlackNotification slack(String channel) {
+        return SlackNotification.builder()
+                .channel(channel)
+                .text("Deploy finished")
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.novacomp.notifications.metrics;
+
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+import com.novacomp.notifications.channel.sms.SmsSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InMemoryMetricsTest {
+
+    private InMemoryMetrics metrics;
+    private SmsProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new InMemoryMetrics();
+        provider = mock(SmsProvider.class);
+        when(provider.getProviderName()).thenReturn("Twilio");
+    }
+
+    @Test
+    void send_ShouldRecordSuccessesAndFailures() throws Exception {
+        when(provider.sendSms(any())).thenReturn(true, false);
+        SmsSender sender = new SmsSender(provider, metrics);
+
+        sender.send(sms("+1234567890"));
+        sender.send(sms("+1234567890"));
+
+        ProviderStats stats = metrics.stats("SMS", "Twilio").orElseThrow();
+        assertEquals(1, stats.successes());
+        assertEquals(1, stats.failures());
+        assertEquals(2, stats.latency().count());
+        assertEquals(0.5, stats.errorRate());
+    }
+
+    @Test
+    void send_ShouldRecordReject_WhenValidationFails() throws Exception {
+        SmsSender sender = new SmsSender(provider, metrics);
+
+        sender.send(sms(""));
+
+        ProviderStats stats = metrics.stats("SMS", "Twilio").orElseThrow();
+        assertEquals(1, stats.rejected());
+        assertEquals(1, stats.sends());
+        assertEquals(0, stats.latency().count());
+        verify(provider, never()).sendSms(any());
+    }
+
+    @Test
+    void send_ShouldRecordFailure_WhenProviderThrows() throws Exception {
+        when(provider.sendSms(any())).thenThrow(new RuntimeException("down"));
+        SmsSender sender = new SmsSender(provider, metrics);
+
+        assertThrows(NotificationException.class, () -> sender.send(sms("+1234567890")));
+
+        ProviderStats stats = metrics.stats("SMS", "Twilio").orElseThrow();
+        assertEquals(1, stats.failures());
+        assertEquals(1, stats.latency().count());
+    }
+
+    @Test
+    void sendBatch_ShouldRecordEveryOutcome_WithOneLatencySample() throws Exception {
+        when(provider.sendSmsBatch(any())).thenReturn(new ProviderResponse[] {
+                ProviderResponse.accepted(null), ProviderResponse.rejected(null), ProviderResponse.accepted(null) });
+        SmsSender sender = new SmsSender(provider, metrics);
+
+        sender.sendBatch(List.of(sms("+1"), sms("+2"), sms(""), sms("+3")));
+
+        ProviderStats stats = metrics.stats("SMS", "Twilio").orElseThrow();
+        assertEquals(2, stats.successes());
+        assertEquals(1, stats.failures());
+        assertEquals(1, stats.rejected());
+        assertEquals(4, stats.sends());
+        assertEquals(1, stats.latency().count());
+    }
+
+    @Test
+    void meteredProvider_ShouldRecordUnderDelegateName() throws Exception {
+        when(provider.sendSms(any())).thenReturn(true);
+        SmsProvider metered = new MeteredSmsProvider(provider, metrics);
+
+        assertTrue(metered.sendSms(sms("+1234567890")));
+
+        assertEquals(1, metrics.stats("SMS", "Twilio").orElseThrow().successes());
+        assertEquals("Twilio", metered.getProviderName());
+    }
+
+    @Test
+    void histogram_ShouldReportPercentilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.count());
+        assertEquals(500_000, snapshot.valueAtPercentile(50), 500_000 * 0.04);
+        assertEquals(990_000, snapshot.valueAtPercentile(99), 990_000 * 0.04);
+        assertEquals(1_000_000, snapshot.max(), 1_000_000 * 0.04);
+        assertEquals(500_500, snapshot.mean(), 500_500 * 0.04);
+    }
+
+    @Test
+    void histogram_ShouldMapBucketBoundariesConsistently() {
+        for (long value : new long[] { 0, 31, 32, 63, 64, 127, 128, 1_000_000, LatencyHistogram.MAX_TRACKABLE_NANOS }) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.lowestValueAt(index) <= value, "lowest for " + value);
+            assertTrue(LatencyHistogram.highestValueAt(index) >= value, "highest for " + value);
+        }
+    }
+
+    private SmsNotification sms(String phoneNumber) {
+        return SmsNotification.builder()
+                .phoneNumber(phoneNumber)
+                .message("hello")
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.novacomp.notifications.outbox;
+
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DurableOutboxTest {
+
+    @TempDir
+    Path directory;
+
+    private final SmsNotification sms = SmsNotification.builder()
+            .phoneNumber("+1234567890")
+            .message("Your code is 123456")
+            .build();
+
+    @Test
+    void send_ShouldAcknowledgeRecord_WhenChannelReturnsResult() throws Exception {
+        NotificationChannel channel = succeedingChannel("SMS");
+
+        try (DurableOutbox outbox = DurableOutbox.builder(directory)
+                .channel(SmsNotification.class, channel)
+                .build()) {
+            NotificationResult result = outbox.send(sms).get(5, TimeUnit.SECONDS);
+
+            assertTrue(result.success());
+            assertEquals(0, outbox.pendingCount());
+        }
+    }
+
+    @Test
+    void send_ShouldLeaveRecordPending_WhenChannelReturnsRetryableFailure() throws Exception {
+        NotificationChannel channel = mock(NotificationChannel.class);
+        when(channel.sendAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(NotificationResult.failure("SMS", "Stub", "Provider down")))
+                .thenReturn(CompletableFuture.completedFuture(NotificationResult.rejection("SMS", "Stub", "Invalid")));
+
+        try (DurableOutbox outbox = DurableOutbox.builder(directory)
+                .channel(SmsNotification.class, channel)
+                .build()) {
+            assertFalse(outbox.send(sms).get(5, TimeUnit.SECONDS).success());
+            assertEquals(1, outbox.pendingCount());
+
+            assertFalse(outbox.send(sms).get(5, TimeUnit.SECONDS).success());
+            assertEquals(1, outbox.pendingCount());
+        }
+    }
+
+    @Test
+    void replay_ShouldResendRecordsLeftPendingByPreviousRun() throws Exception {
+        NotificationChannel failing = mock(NotificationChannel.class);
+        when(failing.sendAsync(any())).thenReturn(
+                CompletableFuture.failedFuture(new NotificationException("Provider down")));
+        PushNotification push = PushNotification.builder()
+                .token("device_token")
+                .title("Title")
+                .body("Body")
+                .data(Map.of("orderId", "42"))
+                .build();
+
+        try (DurableOutbox outbox = DurableOutbox.builder(directory)
+                .channel(SmsNotification.class, failing)
+                .channel(PushNotification.class, failing)
+                .build()) {
+            assertTrue(outbox.send(sms).isCompletedExceptionally());
+            assertTrue(outbox.send(push).isCompletedExceptionally());
+            assertEquals(2, outbox.pendingCount());
+        }
+
+        NotificationChannel smsChannel = succeedingChannel("SMS");
+        NotificationChannel pushChannel = succeedingChannel("PUSH");
+        try (DurableOutbox reopened = DurableOutbox.builder(directory)
+                .channel(SmsNotification.class, smsChannel)
+                .channel(PushNotification.class, pushChannel)
+                .build()) {
+            List<CompletableFuture<NotificationResult>> replayed = reopened.replay();
+
+            assertEquals(2, replayed.size());
+            for (CompletableFuture<NotificationResult> future : replayed) {
+                assertTrue(future.get(5, TimeUnit.SECONDS).success());
+            }
+            assertEquals(0, reopened.pendingCount());
+
+            ArgumentCaptor<PushNotification> captor = ArgumentCaptor.forClass(PushNotification.class);
+            verify(pushChannel).sendAsync(captor.capture());
+            assertEquals("device_token", captor.getValue().getToken());
+            assertEquals("42", captor.getValue().getData().get("orderId"));
+            assertTrue(reopened.replay().isEmpty());
+        }
+    }
+
+    @Test
+    void send_ShouldDeleteFinishedSegments_WhenSegmentsRoll() throws Exception {
+        NotificationChannel channel = succeedingChannel("EMAIL");
+        EmailNotification email = EmailNotification.builder()
+                .to("user@example.com")
+                .from("noreply@example.com")
+                .subject("Welcome")
+                .body("Hello and welcome aboard")
+                .cc(List.of("team@example.com"))
+                .build();
+
+        try (DurableOutbox outbox = DurableOutbox.builder(directory)
+                .channel(EmailNotification.class, channel)
+                .segmentSize(256)
+                .build()) {
+            for (int i = 0; i < 20; i++) {
+                outbox.send(email).get(5, TimeUnit.SECONDS);
+            }
+
+            assertEquals(0, outbox.pendingCount());
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(1, files.count(), "Only the active segment should remain");
+            }
+        }
+    }
+
+    @Test
+    void send_WithUnregisteredType_ShouldThrowException() {
+        try (DurableOutbox outbox = DurableOutbox.builder(directory).build()) {
+            assertThrows(IllegalArgumentException.class, () -> outbox.send(sms));
+            assertEquals(0, outbox.pendingCount());
+        }
+    }
+
+    private static NotificationChannel succeedingChannel(String name) {
+        NotificationChannel channel = mock(NotificationChannel.class);
+        when(channel.sendAsync(any())).thenReturn(
+                CompletableFuture.completedFuture(NotificationResult.success(name, "Stub", "id")));
+        return channel;
+    }
+}
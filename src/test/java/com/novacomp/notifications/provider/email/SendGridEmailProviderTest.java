@@ -1,12 +1,17 @@
 package com.novacomp.notifications.provider.email;
 
 import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.ProviderResponse;
 import com.novacomp.notifications.channel.email.EmailNotification;
 import com.novacomp.notifications.channel.email.EmailSender;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SendGridEmailProviderTest {
 
@@ -47,4 +52,37 @@ class SendGridEmailProviderTest {
 
         assertEquals("SendGrid API Key is missing", exception.getCause().getMessage());
     }
+
+    @Test
+    void sendGridProvider_SendEmails_ShouldAcceptMoreRecipientsThanOneRequestHolds() {
+        SendGridEmailProvider sendGridProvider = new SendGridEmailProvider("SG.test-key");
+
+        List<EmailNotification> notifications = new ArrayList<>();
+        for (int i = 0; i < SendGridEmailProvider.MAX_PERSONALIZATIONS + 1; i++) {
+            notifications.add(EmailNotification.builder()
+                    .to("user" + i + "@example.com")
+                    .from("sender@example.com")
+                    .subject("Campaign")
+                    .body("Same body for everyone")
+                    .build());
+        }
+
+        ProviderResponse[] sent = sendGridProvider.sendEmailBatch(notifications);
+
+        assertEquals(notifications.size(), sent.length);
+        for (ProviderResponse response : sent) {
+            assertTrue(response.accepted());
+        }
+    }
+
+    @Test
+    void sendGridProvider_SendEmails_WithNullApiKey_ShouldThrowException() {
+        SendGridEmailProvider sendGridProvider = new SendGridEmailProvider(null);
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> sendGridProvider.sendEmailBatch(List.of()));
+
+        assertEquals("SendGrid API Key is missing", exception.getMessage());
+    }
 }
@@ -1,12 +1,17 @@
 package com.novacomp.notifications.provider.push;
 
 import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.ProviderResponse;
 import com.novacomp.notifications.channel.push.PushNotification;
 import com.novacomp.notifications.channel.push.PushSender;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FirebasePushProviderTest {
 
@@ -45,4 +50,28 @@ class FirebasePushProviderTest {
 
         assertEquals("Firebase credentials are missing", exception.getCause().getMessage());
     }
+
+    @Test
+    void firebaseProvider_SendPushBatch_ShouldReturnFlagPerNotification() {
+        FirebasePushProvider firebaseProvider = new FirebasePushProvider("test-project-id", "path/to/key.json");
+
+        PushNotification promo = PushNotification.builder()
+                .token("token_1")
+                .title("Sale")
+                .body("50% off")
+                .data(Map.of("campaign", "spring"))
+                .build();
+        PushNotification other = PushNotification.builder()
+                .token("token_2")
+                .title("Reminder")
+                .body("Cart expires soon")
+                .build();
+
+        ProviderResponse[] sent = firebaseProvider.sendPushBatch(List.of(promo, other, promo));
+
+        assertEquals(3, sent.length);
+        for (ProviderResponse response : sent) {
+            assertTrue(response.accepted());
+        }
+    }
 }
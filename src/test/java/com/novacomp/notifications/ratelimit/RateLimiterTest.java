@@ -0,0 +1,200 @@
+package com.novacomp.notifications.ratelimit;
+
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+import com.novacomp.notifications.channel.sms.SmsSender;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class RateLimiterTest {
+
+    @Test
+    void tryAcquire_ShouldAllowBurst_ThenRefuse() {
+        TokenBucket bucket = new TokenBucket(Quota.perMinute(60).withBurst(3));
+
+        assertTrue(bucket.tryAcquire(1));
+        assertTrue(bucket.tryAcquire(2));
+        assertFalse(bucket.tryAcquire(1));
+    }
+
+    @Test
+    void tryAcquire_WithStripes_ShouldStillHonourTotalBurst() {
+        TokenBucket bucket = new TokenBucket(Quota.perMinute(60).withBurst(4), 2);
+
+        int acquired = 0;
+        while (bucket.tryAcquire(1)) {
+            acquired++;
+        }
+
+        assertEquals(4, acquired);
+    }
+
+    @Test
+    void acquire_WithQueueStrategy_ShouldWaitForReservedSlot() {
+        RateLimiter limiter = new RateLimiter("test",
+                new TokenBucket(Quota.perSecond(20).withBurst(1)), OverLimitStrategy.QUEUE, Duration.ofSeconds(1));
+
+        long start = System.nanoTime();
+        limiter.acquire(1);
+        limiter.acquire(1);
+        limiter.acquire(1);
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    void acquire_WithQueueStrategy_ShouldRefuse_WhenQueueExceedsMaxWait() {
+        RateLimiter limiter = new RateLimiter("test",
+                new TokenBucket(Quota.perMinute(1).withBurst(1)), OverLimitStrategy.QUEUE, Duration.ofMillis(10));
+
+        limiter.acquire(1);
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(1));
+    }
+
+    @Test
+    void acquire_WithWaitStrategy_ShouldGiveUpAfterMaxWait() {
+        RateLimiter limiter = new RateLimiter("test",
+                new TokenBucket(Quota.perMinute(1).withBurst(1)), OverLimitStrategy.WAIT, Duration.ofMillis(20));
+
+        limiter.acquire(1);
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(1));
+    }
+
+    @Test
+    void acquireAsync_WithQueueStrategy_ShouldCompleteAtReservedSlot() {
+        RateLimiter limiter = new RateLimiter("test",
+                new TokenBucket(Quota.perSecond(20).withBurst(1)), OverLimitStrategy.QUEUE, Duration.ofSeconds(1));
+
+        long start = System.nanoTime();
+        assertTrue(limiter.acquireAsync(1).isDone());
+        CompletableFuture<Void> queued = limiter.acquireAsync(1);
+
+        assertFalse(queued.isDone());
+        queued.join();
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    void acquireAsync_WithWaitStrategy_ShouldFailAfterMaxWait() {
+        RateLimiter limiter = new RateLimiter("test",
+                new TokenBucket(Quota.perMinute(1).withBurst(1)), OverLimitStrategy.WAIT, Duration.ofMillis(20));
+
+        limiter.acquireAsync(1).join();
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> limiter.acquireAsync(1).join());
+
+        assertInstanceOf(RateLimitExceededException.class, exception.getCause());
+    }
+
+    @Test
+    void registry_ShouldKeepSeparateBucketsPerCredential() {
+        RateLimiterRegistry registry = new RateLimiterRegistry(OverLimitStrategy.REJECT, Duration.ZERO)
+                .quota("Twilio", Quota.perMinute(1).withBurst(1));
+
+        registry.limiter("Twilio", "AC-first").acquire(1);
+        registry.limiter("Twilio", "AC-second").acquire(1);
+
+        assertSame(registry.limiter("Twilio", "AC-first"), registry.limiter("Twilio", "AC-first"));
+        assertThrows(RateLimitExceededException.class, () -> registry.limiter("Twilio", "AC-first").acquire(1));
+        assertThrows(IllegalStateException.class, () -> registry.limiter("SendGrid", "SG.key"));
+    }
+
+    @Test
+    void provider_WithRejectStrategy_ShouldNotCallDelegate_WhenOverLimit() throws Exception {
+        SmsProvider twilio = mock(SmsProvider.class);
+        when(twilio.getProviderName()).thenReturn("Twilio");
+        when(twilio.sendSms(any())).thenReturn(true);
+        RateLimiter limiter = new RateLimiter("Twilio",
+                new TokenBucket(Quota.perMinute(1).withBurst(1)), OverLimitStrategy.REJECT, Duration.ZERO);
+        SmsSender sender = new SmsSender(new RateLimitedSmsProvider(twilio, limiter));
+        SmsNotification notification = SmsNotification.builder()
+                .phoneNumber("+1234567890")
+                .message("Hello")
+                .build();
+
+        assertTrue(sender.send(notification).success());
+        NotificationException exception = assertThrows(NotificationException.class, () -> sender.send(notification));
+
+        assertInstanceOf(RateLimitExceededException.class, exception.getCause());
+        verify(twilio, times(1)).sendSms(any());
+    }
+
+    @Test
+    void provider_WithRejectStrategy_ShouldSendBatchInBurstSizedChunks() throws Exception {
+        SmsProvider twilio = mock(SmsProvider.class);
+        when(twilio.getProviderName()).thenReturn("Twilio");
+        when(twilio.sendSmsBatch(any())).thenAnswer(invocation -> {
+            ProviderResponse[] sent = new ProviderResponse[invocation.<List<?>>getArgument(0).size()];
+            Arrays.fill(sent, ProviderResponse.accepted(null));
+            return sent;
+        });
+        RateLimiter limiter = new RateLimiter("Twilio",
+                new TokenBucket(Quota.perMinute(1).withBurst(2)), OverLimitStrategy.REJECT, Duration.ZERO);
+        RateLimitedSmsProvider provider = new RateLimitedSmsProvider(twilio, limiter);
+        SmsNotification notification = SmsNotification.builder()
+                .phoneNumber("+1234567890")
+                .message("Hello")
+                .build();
+
+        ProviderResponse[] responses = provider.sendSmsBatch(List.of(notification, notification, notification));
+
+        assertTrue(responses[0].accepted());
+        assertTrue(responses[1].accepted());
+        assertTrue(responses[2].retryable());
+        verify(twilio, times(1)).sendSmsBatch(argThat(batch -> batch.size() == 2));
+        assertThrows(RateLimitExceededException.class, () -> provider.sendSmsBatch(List.of(notification)));
+    }
+
+    @Test
+    void provider_WithQueueStrategy_ShouldPaceChunksOfLargeBatch() throws Exception {
+        SmsProvider twilio = mock(SmsProvider.class);
+        when(twilio.getProviderName()).thenReturn("Twilio");
+        List<Long> sentAt = new CopyOnWriteArrayList<>();
+        when(twilio.sendSmsBatch(any())).thenAnswer(invocation -> {
+            sentAt.add(System.nanoTime());
+            ProviderResponse[] sent = new ProviderResponse[invocation.<List<?>>getArgument(0).size()];
+            Arrays.fill(sent, ProviderResponse.accepted(null));
+            return sent;
+        });
+        RateLimiter limiter = new RateLimiter("Twilio",
+                new TokenBucket(Quota.perSecond(20).withBurst(2)), OverLimitStrategy.QUEUE, Duration.ofSeconds(1));
+        RateLimitedSmsProvider provider = new RateLimitedSmsProvider(twilio, limiter);
+        SmsNotification notification = SmsNotification.builder()
+                .phoneNumber("+1234567890")
+                .message("Hello")
+                .build();
+
+        ProviderResponse[] responses = provider.sendSmsBatch(Collections.nCopies(6, notification));
+
+        assertEquals(6, responses.length);
+        assertTrue(Arrays.stream(responses).allMatch(ProviderResponse::accepted));
+        assertEquals(3, sentAt.size());
+        assertTrue(sentAt.get(2) - sentAt.get(0) >= TimeUnit.MILLISECONDS.toNanos(150));
+    }
+
+    @Test
+    void acquire_WithQueueStrategy_ShouldApplyMaxWaitToWholeRequest() {
+        RateLimiter limiter = new RateLimiter("test",
+                new TokenBucket(Quota.perSecond(20).withBurst(1)), OverLimitStrategy.QUEUE, Duration.ofMillis(60));
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(4));
+        assertDoesNotThrow(() -> limiter.acquire(1));
+    }
+}
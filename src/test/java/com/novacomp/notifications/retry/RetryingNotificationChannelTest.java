@@ -0,0 +1,260 @@
+package com.novacomp.notifications.retry;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsProvider;
+import com.novacomp.notifications.channel.sms.SmsSender;
+import com.novacomp.notifications.timer.HashedWheelTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RetryingNotificationChannelTest {
+
+    private final SmsNotification notification = SmsNotification.builder()
+            .phoneNumber("+1234567890")
+            .message("Hello")
+            .build();
+
+    private final RetryPolicy policy = RetryPolicy.builder()
+            .maxAttempts(3)
+            .initialDelay(Duration.ofMillis(5))
+            .jitter(0)
+            .build();
+
+    private SmsProvider provider;
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        provider = mock(SmsProvider.class);
+        when(provider.getProviderName()).thenReturn("Twilio");
+        timer = new HashedWheelTimer("test-timer", 1, TimeUnit.MILLISECONDS, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    void sendAsync_ShouldRetryTransientFailures_UntilSuccess() throws Exception {
+        when(provider.sendSms(any()))
+                .thenThrow(new IOException("timeout"))
+                .thenThrow(new IOException("timeout"))
+                .thenReturn(true);
+        RetryingNotificationChannel channel = new RetryingNotificationChannel(
+                new SmsSender(provider), policy, RetryBudget.unlimited(), timer);
+
+        NotificationResult result = channel.sendAsync(notification).get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.success());
+        verify(provider, times(3)).sendSms(any());
+    }
+
+    @Test
+    void sendAsync_ShouldFailAfterMaxAttempts() throws Exception {
+        when(provider.sendSms(any())).thenThrow(new IOException("timeout"));
+        RetryingNotificationChannel channel = new RetryingNotificationChannel(
+                new SmsSender(provider), policy, RetryBudget.unlimited(), timer);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> channel.sendAsync(notification).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(NotificationException.class, exception.getCause());
+        verify(provider, times(3)).sendSms(any());
+    }
+
+    @Test
+    void send_ShouldNotRetryPermanentFailures() throws Exception {
+        when(provider.sendSms(any())).thenThrow(new IllegalStateException("Twilio credentials are missing"));
+        RetryingNotificationChannel channel = new RetryingNotificationChannel(
+                new SmsSender(provider), policy, RetryBudget.unlimited(), timer);
+
+        NotificationException exception = assertThrows(NotificationException.class, () -> channel.send(notification));
+
+        assertEquals("Twilio credentials are missing", exception.getCause().getMessage());
+        verify(provider, times(1)).sendSms(any());
+    }
+
+    @Test
+    void sendAsync_ShouldStopRetrying_WhenBudgetIsExhausted() throws Exception {
+        when(provider.sendSms(any())).thenThrow(new IOException("timeout"));
+        RetryBudget budget = new RetryBudget(0, 0, 1);
+        RetryingNotificationChannel channel = new RetryingNotificationChannel(
+                new SmsSender(provider), policy, budget, timer);
+
+        assertThrows(ExecutionException.class, () -> channel.sendAsync(notification).get(5, TimeUnit.SECONDS));
+
+        verify(provider, times(2)).sendSms(any());
+        assertEquals(0, budget.available());
+    }
+
+    @Test
+    void sendAsync_ShouldCompleteWithLastFailure_WhenRetryCannotBeScheduled() throws Exception {
+        when(provider.sendSms(any())).thenThrow(new IOException("timeout"));
+        timer.close();
+        RetryingNotificationChannel channel = new RetryingNotificationChannel(
+                new SmsSender(provider), policy, RetryBudget.unlimited(), timer);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> channel.sendAsync(notification).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(NotificationException.class, exception.getCause());
+        verify(provider, times(1)).sendSms(any());
+    }
+
+    @Test
+    void sendAsync_ShouldRetryRetryableFailureResults() throws Exception {
+        ScriptedChannel delegate = new ScriptedChannel(
+                List.of(NotificationResult.failure("SMS", "Queue", "Queue is full")),
+                List.of(NotificationResult.success("SMS", "Twilio", "SM1")));
+        RetryingNotificationChannel channel = new RetryingNotificationChannel(
+                delegate, policy, RetryBudget.unlimited(), timer);
+
+        NotificationResult result = channel.sendAsync(notification).get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.success());
+        assertEquals(2, delegate.batches.size());
+    }
+
+    @Test
+    void sendAsync_ShouldReturnRejection_WithoutRetrying() throws Exception {
+        ScriptedChannel delegate = new ScriptedChannel(
+                List.of(NotificationResult.rejection("SMS", "Twilio", "Invalid number")));
+        RetryingNotificationChannel channel = new RetryingNotificationChannel(
+                delegate, policy, RetryBudget.unlimited(), timer);
+
+        NotificationResult result = channel.sendAsync(notification).get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.success());
+        assertEquals(1, delegate.batches.size());
+    }
+
+    @Test
+    void sendBatch_ShouldResendOnlyRetryableFailures() {
+        ScriptedChannel delegate = new ScriptedChannel(
+                List.of(NotificationResult.success("SMS", "Twilio", "SM1"),
+                        NotificationResult.failure("SMS", "Twilio", "503"),
+                        NotificationResult.rejection("SMS", "Twilio", "Invalid number")),
+                List.of(NotificationResult.success("SMS", "Twilio", "SM2")));
+        RetryingNotificationChannel channel = new RetryingNotificationChannel(
+                delegate, policy, RetryBudget.unlimited(), timer);
+        SmsNotification second = SmsNotification.builder().phoneNumber("+1234567891").message("Hello").build();
+        SmsNotification third = SmsNotification.builder().phoneNumber("+1234567892").message("Hello").build();
+
+        List<NotificationResult> results = channel.sendBatch(List.of(notification, second, third));
+
+        assertEquals(List.of("SM1", "SM2"), results.subList(0, 2).stream().map(NotificationResult::messageId).toList());
+        assertFalse(results.get(2).success());
+        assertEquals(List.of(List.of(notification, second, third), List.of(second)), delegate.batches);
+    }
+
+    @Test
+    void sendBatch_ShouldRunRetries_OffTheCallingThread() {
+        ScriptedChannel delegate = new ScriptedChannel(
+                List.of(NotificationResult.failure("SMS", "Twilio", "503")),
+                List.of(NotificationResult.success("SMS", "Twilio", "SM1")));
+        RetryingNotificationChannel channel = new RetryingNotificationChannel(
+                delegate, policy, RetryBudget.unlimited(), timer);
+
+        List<NotificationResult> results = channel.sendBatch(List.of(notification));
+
+        assertTrue(results.get(0).success());
+        assertEquals(Thread.currentThread(), delegate.threads.get(0));
+        assertNotEquals(Thread.currentThread(), delegate.threads.get(1));
+    }
+
+    @Test
+    void sendBatch_ShouldKeepRetryableFailure_AfterMaxAttempts() {
+        NotificationResult unavailable = NotificationResult.failure("SMS", "Twilio", "503");
+        ScriptedChannel delegate = new ScriptedChannel(List.of(unavailable), List.of(unavailable),
+                List.of(unavailable));
+        RetryingNotificationChannel channel = new RetryingNotificationChannel(
+                delegate, policy, RetryBudget.unlimited(), timer);
+
+        List<NotificationResult> results = channel.sendBatch(List.of(notification));
+
+        assertEquals(List.of(unavailable), results);
+        assertEquals(3, delegate.batches.size());
+    }
+
+    @Test
+    void sendBatch_ShouldResendAffordableSubset_WhenBudgetCannotCoverAll() {
+        NotificationResult unavailable = NotificationResult.failure("SMS", "Twilio", "503");
+        ScriptedChannel delegate = new ScriptedChannel(List.of(unavailable, unavailable),
+                List.of(NotificationResult.success("SMS", "Twilio", "SM1")));
+        RetryBudget budget = new RetryBudget(0, 0, 1);
+        RetryingNotificationChannel channel = new RetryingNotificationChannel(delegate, policy, budget, timer);
+        SmsNotification second = SmsNotification.builder().phoneNumber("+1234567891").message("Hello").build();
+
+        List<NotificationResult> results = channel.sendBatch(List.of(notification, second));
+
+        assertTrue(results.get(0).success());
+        assertEquals(unavailable, results.get(1));
+        assertEquals(List.of(List.of(notification, second), List.of(notification)), delegate.batches);
+        assertEquals(0, budget.available());
+    }
+
+    @Test
+    void delayNanos_ShouldGrowExponentially_UpToMaxDelay() {
+        RetryPolicy backoff = RetryPolicy.builder()
+                .initialDelay(Duration.ofMillis(100))
+                .maxDelay(Duration.ofMillis(300))
+                .jitter(0)
+                .build();
+
+        assertEquals(Duration.ofMillis(100).toNanos(), backoff.delayNanos(1));
+        assertEquals(Duration.ofMillis(200).toNanos(), backoff.delayNanos(2));
+        assertEquals(Duration.ofMillis(300).toNanos(), backoff.delayNanos(3));
+    }
+
+    /**
+     * Answers each batch (or single send) with the next scripted results.
+     */
+    private static final class ScriptedChannel implements NotificationChannel {
+        private final Queue<List<NotificationResult>> script;
+        private final List<List<Notification>> batches = new CopyOnWriteArrayList<>();
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        @SafeVarargs
+        private ScriptedChannel(List<NotificationResult>... script) {
+            this.script = new ConcurrentLinkedQueue<>(List.of(script));
+        }
+
+        @Override
+        public NotificationResult send(Notification notification) {
+            return sendBatch(List.of(notification)).get(0);
+        }
+
+        @Override
+        public CompletableFuture<NotificationResult> sendAsync(Notification notification) {
+            return CompletableFuture.completedFuture(send(notification));
+        }
+
+        @Override
+        public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+            batches.add(List.copyOf(notifications));
+            threads.add(Thread.currentThread());
+            return script.remove();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.novacomp.notifications.routing;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.ValidationResult;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationRouterTest {
+
+    private final RecordingChannel email = new RecordingChannel("EMAIL");
+    private final RecordingChannel sms = new RecordingChannel("SMS");
+    private final NotificationRouter router = NotificationRouter.builder().email(email).sms(sms).build();
+
+    @Test
+    void send_ShouldUseChannelRegisteredForType() {
+        NotificationResult result = router.send(sms("+1"));
+
+        assertEquals("SMS", result.channelName());
+        assertEquals(1, sms.received.size());
+        assertTrue(email.received.isEmpty());
+    }
+
+    @Test
+    void sendBatch_ShouldGroupMixedStreamByChannel_AndKeepOrder() {
+        List<Notification> mixed = List.of(sms("+1"), email("a@x.com"), sms("+2"), email("b@x.com"), sms("+3"));
+
+        List<NotificationResult> results = router.sendBatch(mixed);
+
+        assertEquals(List.of(2), email.batchSizes);
+        assertEquals(List.of(3), sms.batchSizes);
+        assertEquals(List.of(mixed.get(0), mixed.get(2), mixed.get(4)), sms.received);
+        assertEquals(List.of(mixed.get(1), mixed.get(3)), email.received);
+        assertEquals(List.of("SMS", "EMAIL", "SMS", "EMAIL", "SMS"),
+                results.stream().map(NotificationResult::channelName).toList());
+        assertEquals("+3", results.get(4).messageId());
+    }
+
+    @Test
+    void sendBatch_ShouldReturnFailure_WhenTypeHasNoRoute() {
+        SlackNotification slack = SlackNotification.builder().channel("#ops").text("hi").build();
+
+        List<NotificationResult> results = router.sendBatch(List.of(slack, sms("+1")));
+
+        assertFalse(results.get(0).success());
+        assertTrue(results.get(0).message().contains("SlackNotification"));
+        assertTrue(results.get(1).success());
+        assertNull(router.channelFor(slack));
+    }
+
+    @Test
+    void sendBatch_ShouldThrowNotificationException_WhenChannelFails() {
+        NotificationRouter failing = NotificationRouter.builder()
+                .sms(notification -> {
+                    throw new NotificationException("down");
+                })
+                .email(email)
+                .build();
+
+        NotificationException error = assertThrows(NotificationException.class,
+                () -> failing.sendBatch(List.of(sms("+1"), email("a@x.com"))));
+
+        assertEquals("down", error.getMessage());
+    }
+
+    @Test
+    void sendBatch_ShouldThrowNotificationException_WhenChannelReturnsTooFewResults() {
+        NotificationChannel truncating = new NotificationChannel() {
+            @Override
+            public NotificationResult send(Notification notification) {
+                return NotificationResult.success("SMS", "Test", "id");
+            }
+
+            @Override
+            public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+                return List.of(send(notifications.iterator().next()));
+            }
+        };
+        NotificationRouter router = NotificationRouter.builder().sms(truncating).build();
+
+        assertThrows(NotificationException.class, () -> router.sendBatch(List.of(sms("+1"), sms("+2"))));
+    }
+
+    @Test
+    void route_ShouldMatchSubtypesAndInterfaces() throws Exception {
+        RecordingChannel custom = new RecordingChannel("CUSTOM");
+        NotificationRouter byInterface = NotificationRouter.builder().route(Custom.class, custom).build();
+
+        byInterface.sendAsync(new SpecialCustom()).get(1, TimeUnit.SECONDS);
+
+        assertEquals(1, custom.received.size());
+        assertSame(custom, byInterface.channelFor(new SpecialCustom()));
+    }
+
+    private static SmsNotification sms(String phone) {
+        return SmsNotification.builder().phoneNumber(phone).message("Hello").build();
+    }
+
+    private static EmailNotification email(String to) {
+        return EmailNotification.builder().to(to).from("noreply@x.com").subject("S").body("B").build();
+    }
+
+    private interface Custom extends Notification {
+    }
+
+    private static class BaseCustom implements Custom {
+        @Override
+        public ValidationResult validate() {
+            return ValidationResult.success();
+        }
+    }
+
+    private static final class SpecialCustom extends BaseCustom {
+    }
+
+    private static final class RecordingChannel implements NotificationChannel {
+        private final String name;
+        private final List<Notification> received = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        RecordingChannel(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getChannelName() {
+            return name;
+        }
+
+        @Override
+        public synchronized NotificationResult send(Notification notification) {
+            received.add(notification);
+            String id = notification instanceof SmsNotification sms ? sms.getPhoneNumber() : "id";
+            return NotificationResult.success(name, "Test", id);
+        }
+
+        @Override
+        public synchronized List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+            batchSizes.add(notifications.size());
+            return NotificationChannel.super.sendBatch(notifications);
+        }
+    }
+}
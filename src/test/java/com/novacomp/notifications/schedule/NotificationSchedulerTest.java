@@ -0,0 +1,168 @@
+package com.novacomp.notifications.schedule;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.NotificationChannel;
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.dispatch.NotificationDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationSchedulerTest {
+
+    private final RecordingChannel channel = new RecordingChannel();
+    private NotificationScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void schedule_ShouldHandDueNotificationsToChannelInBatches() throws Exception {
+        scheduler = NotificationScheduler.builder().tick(Duration.ofMillis(5)).maxBatchSize(40).build();
+        Instant sendAt = Instant.now().plusMillis(100);
+        List<ScheduledNotification> scheduled = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            scheduled.add(scheduler.schedule(channel, sms(i), sendAt));
+        }
+
+        for (ScheduledNotification notification : scheduled) {
+            assertTrue(notification.result().get(5, TimeUnit.SECONDS).success());
+        }
+
+        assertFalse(Instant.now().isBefore(sendAt));
+        assertEquals(List.of(40, 40, 20), channel.batchSizes.stream().sorted((a, b) -> b - a).toList());
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    void schedule_ShouldCascadeFromCoarserLevel_WhenDelaySpansManyTicks() throws Exception {
+        scheduler = NotificationScheduler.builder().tick(Duration.ofMillis(1)).build();
+        long start = System.nanoTime();
+
+        ScheduledNotification scheduled = scheduler.schedule(channel, sms(1), Duration.ofMillis(700));
+
+        assertTrue(scheduled.result().get(5, TimeUnit.SECONDS).success());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 690);
+    }
+
+    @Test
+    void schedule_ShouldSendOnNextTick_WhenSendTimeHasPassed() throws Exception {
+        scheduler = NotificationScheduler.builder().tick(Duration.ofMillis(5)).build();
+
+        ScheduledNotification scheduled = scheduler.schedule(channel, sms(1), Instant.now().minusSeconds(60));
+
+        assertTrue(scheduled.result().get(5, TimeUnit.SECONDS).success());
+    }
+
+    @Test
+    void cancel_ShouldPreventSend_WhenNotYetDue() throws Exception {
+        scheduler = NotificationScheduler.builder().tick(Duration.ofMillis(5)).build();
+        ScheduledNotification cancelled = scheduler.schedule(channel, sms(1), Duration.ofMillis(100));
+        ScheduledNotification kept = scheduler.schedule(channel, sms(2), Duration.ofMillis(100));
+
+        assertTrue(cancelled.cancel());
+
+        kept.result().get(5, TimeUnit.SECONDS);
+        assertTrue(cancelled.isCancelled());
+        assertTrue(cancelled.result().isCancelled());
+        assertEquals(1, channel.sent.size());
+        assertFalse(cancelled.cancel());
+        assertFalse(kept.cancel());
+    }
+
+    @Test
+    void close_ShouldFailPendingNotifications() {
+        scheduler = NotificationScheduler.builder().tick(Duration.ofMillis(5)).build();
+        ScheduledNotification scheduled = scheduler.schedule(channel, sms(1), Duration.ofHours(1));
+
+        scheduler.close();
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> scheduled.result().get(1, TimeUnit.SECONDS));
+        assertInstanceOf(NotificationException.class, error.getCause());
+        assertThrows(IllegalStateException.class, () -> scheduler.schedule(channel, sms(2), Duration.ZERO));
+    }
+
+    @Test
+    void schedule_ShouldFailEveryNotificationOfBatch_WhenChannelReturnsTooFewResults() {
+        NotificationChannel truncating = new NotificationChannel() {
+            @Override
+            public NotificationResult send(Notification notification) {
+                return NotificationResult.success("SMS", "Test", "id");
+            }
+
+            @Override
+            public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+                return List.of(send(notifications.iterator().next()));
+            }
+        };
+        scheduler = NotificationScheduler.builder().tick(Duration.ofMillis(5)).build();
+        Instant sendAt = Instant.now().plusMillis(20);
+        ScheduledNotification first = scheduler.schedule(truncating, sms(1), sendAt);
+        ScheduledNotification second = scheduler.schedule(truncating, sms(2), sendAt);
+
+        for (ScheduledNotification scheduled : List.of(first, second)) {
+            ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> scheduled.result().get(5, TimeUnit.SECONDS));
+            assertInstanceOf(NotificationException.class, error.getCause());
+        }
+    }
+
+    @Test
+    void schedule_ShouldFailBatch_AndKeepRunning_WhenDispatcherRejectsIt() {
+        NotificationDispatcher closed = NotificationDispatcher.builder().build();
+        closed.close();
+        scheduler = NotificationScheduler.builder().tick(Duration.ofMillis(5)).dispatcher(closed).build();
+        RecordingChannel channel = new RecordingChannel();
+
+        ScheduledNotification first = scheduler.schedule(channel, sms(1), Duration.ofMillis(10));
+        assertThrows(ExecutionException.class, () -> first.result().get(5, TimeUnit.SECONDS));
+        ScheduledNotification second = scheduler.schedule(channel, sms(2), Duration.ofMillis(10));
+
+        assertThrows(ExecutionException.class, () -> second.result().get(5, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.pending());
+    }
+
+    private static SmsNotification sms(int i) {
+        return SmsNotification.builder().phoneNumber("+1555000" + i).message("Reminder " + i).build();
+    }
+
+    private static final class RecordingChannel implements NotificationChannel {
+        private final ConcurrentLinkedQueue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Notification> sent = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public NotificationResult send(Notification notification) {
+            sent.add(notification);
+            return NotificationResult.success("SMS", "Test", "id");
+        }
+
+        @Override
+        public List<NotificationResult> sendBatch(Collection<? extends Notification> notifications) {
+            batchSizes.add(notifications.size());
+            return NotificationChannel.super.sendBatch(notifications);
+        }
+
+        @Override
+        public CompletableFuture<NotificationResult> sendAsync(Notification notification) {
+            throw new AssertionError("scheduler should send in batches");
+        }
+    }
+}
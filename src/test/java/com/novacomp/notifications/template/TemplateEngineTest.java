@@ -0,0 +1,117 @@
+package com.novacomp.notifications.template;
+
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateEngineTest {
+
+    private InMemoryTemplateLoader loader;
+    private TemplateEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        loader = new InMemoryTemplateLoader()
+                .put("welcome.subject", Locale.ROOT, "Welcome, {{name}}!")
+                .put("welcome.body", Locale.ROOT, "Hi {{ name }}, your code is {{code}}. Bye {{name}}.")
+                .put("welcome.subject", Locale.FRENCH, "Bienvenue, {{name}} !")
+                .put("sale.title", Locale.ROOT, "{{percent}}% off")
+                .put("sale.body", Locale.ROOT, "Ends at {{time}}");
+        engine = new TemplateEngine(loader);
+    }
+
+    @Test
+    void render_ShouldSubstituteEveryVariable() {
+        String body = engine.render("welcome.body", Locale.ROOT, Map.of("name", "Ada", "code", 42));
+
+        assertEquals("Hi Ada, your code is 42. Bye Ada.", body);
+    }
+
+    @Test
+    void renderTo_ShouldAppendToCallerBuffer() {
+        StringBuilder out = new StringBuilder("> ");
+
+        engine.renderTo("welcome.body", Locale.ROOT, Map.of("name", "Ada", "code", 42), out);
+
+        assertEquals("> Hi Ada, your code is 42. Bye Ada.", out.toString());
+    }
+
+    @Test
+    void render_ShouldFallBackToLanguageThenRoot() {
+        Map<String, String> values = Map.of("name", "Ada");
+
+        assertEquals("Bienvenue, Ada !", engine.render("welcome.subject", Locale.CANADA_FRENCH, values));
+        assertEquals("Welcome, Ada!", engine.render("welcome.subject", Locale.GERMANY, values));
+    }
+
+    @Test
+    void render_ShouldThrow_WhenVariableIsMissing() {
+        NotificationException error = assertThrows(NotificationException.class,
+                () -> engine.render("welcome.body", Locale.ROOT, Map.of("name", "Ada")));
+
+        assertTrue(error.getMessage().contains("code"));
+    }
+
+    @Test
+    void template_ShouldThrow_WhenTemplateDoesNotExist() {
+        assertThrows(NotificationException.class, () -> engine.template("missing", Locale.ENGLISH));
+    }
+
+    @Test
+    void template_ShouldCompileOncePerIdAndLocale() {
+        AtomicInteger loads = new AtomicInteger();
+        TemplateEngine counting = new TemplateEngine((id, locale) -> {
+            loads.incrementAndGet();
+            return loader.load(id, locale);
+        });
+
+        Template first = counting.template("welcome.body", Locale.ROOT);
+        Template second = counting.template("welcome.body", Locale.ROOT);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void template_ShouldEvictLeastRecentlyUsed_WhenCacheIsFull() {
+        TemplateEngine small = new TemplateEngine(loader, 2);
+        Template subject = small.template("welcome.subject", Locale.ROOT);
+        small.template("welcome.body", Locale.ROOT);
+        small.template("welcome.subject", Locale.ROOT);
+        small.template("sale.title", Locale.ROOT);
+
+        assertEquals(2, small.cachedTemplates());
+        assertSame(subject, small.template("welcome.subject", Locale.ROOT));
+    }
+
+    @Test
+    void compile_ShouldRejectUnclosedPlaceholder() {
+        assertThrows(IllegalArgumentException.class, () -> Template.compile("Hello {{name"));
+        assertThrows(IllegalArgumentException.class, () -> Template.compile("Hello {{ }}"));
+    }
+
+    @Test
+    void builders_ShouldFillContentFields() {
+        EmailNotification email = engine.email("welcome", Locale.ROOT, Map.of("name", "Ada", "code", 7))
+                .to("ada@example.com")
+                .from("noreply@example.com")
+                .build();
+        PushNotification push = engine.push("sale", Locale.ROOT, Map.of("percent", 30, "time", "18:00"))
+                .token("device-token")
+                .build();
+
+        assertEquals("Welcome, Ada!", email.getSubject());
+        assertEquals("Hi Ada, your code is 7. Bye Ada.", email.getBody());
+        assertEquals("30% off", push.getTitle());
+        assertEquals("Ends at 18:00", push.getBody());
+        assertTrue(email.validate().isValid());
+    }
+}
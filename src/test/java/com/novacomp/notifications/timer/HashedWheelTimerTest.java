@@ -0,0 +1,46 @@
+package com.novacomp.notifications.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedWheelTimerTest {
+
+    private final HashedWheelTimer timer = new HashedWheelTimer("test-timer", 1, TimeUnit.MILLISECONDS, 8);
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    void schedule_ShouldRunTaskAfterDelay_EvenBeyondOneRevolution() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(fired::countDown, 30, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    void cancel_ShouldPreventTaskFromRunning() throws Exception {
+        AtomicBoolean ran = new AtomicBoolean(false);
+        CountDownLatch later = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(() -> ran.set(true), 20, TimeUnit.MILLISECONDS);
+        timer.schedule(later::countDown, 40, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        assertTrue(later.await(5, TimeUnit.SECONDS));
+        assertFalse(ran.get());
+        assertFalse(timeout.cancel());
+    }
+}
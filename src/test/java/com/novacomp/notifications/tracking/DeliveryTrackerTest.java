@@ -0,0 +1,88 @@
+package com.novacomp.notifications.tracking;
+
+import com.novacomp.notifications.api.NotificationResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeliveryTrackerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void status_ShouldReturnUnknown_WhenMessageIsNotTracked() {
+        DeliveryTracker tracker = DeliveryTracker.builder().build();
+
+        assertEquals(DeliveryStatus.UNKNOWN, tracker.status("missing"));
+        assertTrue(tracker.lookup("missing").isEmpty());
+    }
+
+    @Test
+    void recordSent_ShouldTrackSuccessfulResultsOnly() {
+        DeliveryTracker tracker = DeliveryTracker.builder().build();
+
+        tracker.recordSent(NotificationResult.success("SMS", "Twilio", "SM1"));
+        tracker.recordSent(NotificationResult.failure("SMS", "Twilio", "boom"));
+
+        assertEquals(DeliveryStatus.SENT, tracker.status("SM1"));
+        assertEquals(1, tracker.size());
+    }
+
+    @Test
+    void ingest_ShouldKeepFinalStatus_WhenReceiptsArriveOutOfOrder() {
+        DeliveryTracker tracker = DeliveryTracker.builder().build();
+
+        tracker.ingest(DeliveryReceipt.delivered("m-1", 2_000));
+        tracker.ingest(new DeliveryReceipt("m-1", DeliveryStatus.SENT, 3_000));
+        tracker.ingest(DeliveryReceipt.bounced("m-1", 1_000));
+
+        Optional<DeliveryReceipt> receipt = tracker.lookup("m-1");
+        assertEquals(DeliveryStatus.DELIVERED, receipt.orElseThrow().status());
+        assertEquals(2_000, receipt.orElseThrow().timestampMillis());
+
+        tracker.ingest(DeliveryReceipt.bounced("m-1", 4_000));
+        assertEquals(DeliveryStatus.BOUNCED, tracker.status("m-1"));
+    }
+
+    @Test
+    void ingest_ShouldEvictOldestMessages_WhenFullWithoutSpill() {
+        DeliveryTracker tracker = DeliveryTracker.builder().capacity(64).build();
+
+        for (int i = 0; i < 10_000; i++) {
+            tracker.ingest(DeliveryReceipt.delivered("m-" + i, i));
+        }
+
+        assertTrue(tracker.size() <= 64, "size " + tracker.size());
+        assertEquals(DeliveryStatus.UNKNOWN, tracker.status("m-0"));
+        assertEquals(DeliveryStatus.DELIVERED, tracker.status("m-9999"));
+    }
+
+    @Test
+    void ingest_ShouldKeepEvictedMessagesInSpillFile() {
+        try (DeliveryTracker tracker = DeliveryTracker.builder()
+                .capacity(64)
+                .spillTo(dir.resolve("receipts.bin"), 100_000)
+                .build()) {
+            for (int i = 0; i < 20_000; i++) {
+                tracker.recordSent(NotificationResult.success("EMAIL", "SendGrid", "m-" + i));
+            }
+            tracker.ingest(DeliveryReceipt.failed("m-7", 5_000));
+
+            assertTrue(tracker.size() <= 64);
+            for (int i = 0; i < 20_000; i++) {
+                assertNotEquals(DeliveryStatus.UNKNOWN, tracker.status("m-" + i), "m-" + i);
+            }
+            assertEquals(DeliveryStatus.FAILED, tracker.status("m-7"));
+        }
+    }
+
+    @Test
+    void receipt_ShouldRejectUnknownStatus() {
+        assertThrows(IllegalArgumentException.class, () -> new DeliveryReceipt("m", DeliveryStatus.UNKNOWN, 0));
+    }
+}
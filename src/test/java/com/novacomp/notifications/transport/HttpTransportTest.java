@@ -0,0 +1,307 @@
+package com.novacomp.notifications.transport;
+
+import com.novacomp.notifications.api.NotificationException;
+import com.novacomp.notifications.api.NotificationResult;
+import com.novacomp.notifications.api.ProviderResponse;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.email.EmailSender;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.push.PushSender;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.channel.sms.SmsSender;
+import com.novacomp.notifications.provider.email.SendGridEmailProvider;
+import com.novacomp.notifications.provider.push.FirebasePushProvider;
+import com.novacomp.notifications.provider.slack.SlackWebhookProvider;
+import com.novacomp.notifications.provider.sms.TwilioSmsProvider;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpTransportTest {
+
+    private HttpServer server;
+    private HttpTransport transport;
+    private URI baseUri;
+    private final ConcurrentLinkedQueue<Recorded> requests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private volatile int status = 200;
+    private final Map<String, Integer> statusByPath = new ConcurrentHashMap<>();
+    private volatile long delayMillis;
+    private volatile String responseBody = "ok";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+        baseUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        transport = HttpTransport.builder().maxInFlightPerHost(4).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    void sendGrid_ShouldPostMailSendWithBearerKey() {
+        SendGridEmailProvider provider = new SendGridEmailProvider("SG.key", transport,
+                baseUri.resolve("/v3/mail/send"));
+
+        assertTrue(new EmailSender(provider).send(email("a@example.com")).success());
+
+        Recorded request = requests.poll();
+        assertEquals("POST", request.method());
+        assertEquals("/v3/mail/send", request.path());
+        assertEquals("Bearer SG.key", request.authorization());
+        assertTrue(request.body().contains("{\"to\":[{\"email\":\"a@example.com\"}]}"), request.body());
+        assertTrue(request.body().contains("\"subject\":\"Hello \\\"there\\\"\""), request.body());
+    }
+
+    @Test
+    void sendGrid_SendEmails_ShouldUseOnePersonalizationPerRecipient() {
+        SendGridEmailProvider provider = new SendGridEmailProvider("SG.key", transport,
+                baseUri.resolve("/v3/mail/send"));
+
+        ProviderResponse[] sent = provider.sendEmailBatch(List.of(email("a@example.com"), email("b@example.com")));
+
+        assertTrue(sent[0].accepted());
+        assertTrue(sent[1].accepted());
+        assertEquals(1, requests.size());
+        assertTrue(requests.poll().body().contains("\"b@example.com\""));
+    }
+
+    @Test
+    void sendGrid_SendEmails_ShouldKeepMessageIdOnlyForSingleRecipientRequests() {
+        SendGridEmailProvider provider = new SendGridEmailProvider("SG.key", transport,
+                baseUri.resolve("/v3/mail/send"));
+        EmailNotification alone = EmailNotification.builder().to("c@example.com").from("noreply@example.com")
+                .subject("Receipt").body("Thanks").build();
+
+        ProviderResponse[] sent = provider.sendEmailBatch(
+                List.of(email("a@example.com"), email("b@example.com"), alone));
+
+        assertNull(sent[0].messageId());
+        assertNull(sent[1].messageId());
+        assertNotNull(sent[2].messageId());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void sendGrid_ShouldStreamAttachmentIntoRequestBody() throws IOException {
+        Path file = Files.createTempFile("invoice", ".pdf");
+        try {
+            Files.write(file, new byte[] { 1, 2, 3, 4, 5 });
+            SendGridEmailProvider provider = new SendGridEmailProvider("SG.key", transport,
+                    baseUri.resolve("/v3/mail/send"));
+            EmailNotification email = EmailNotification.builder().to("a@example.com").from("noreply@example.com")
+                    .subject("Invoice").body("Attached").attachments(List.of(file.toFile())).build();
+
+            assertTrue(provider.sendEmail(email));
+
+            String body = requests.poll().body();
+            assertTrue(body.contains("\"attachments\":[{\"content\":\"AQIDBAU=\",\"filename\":\""
+                    + file.getFileName() + "\"}]"), body);
+            assertTrue(body.endsWith("}"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void twilio_ShouldPostFormWithBasicAuth() {
+        TwilioSmsProvider provider = new TwilioSmsProvider("AC1", "secret", "+15550000", transport, baseUri);
+
+        assertTrue(provider.sendSms(SmsNotification.builder().phoneNumber("+15551111").message("Hi & bye").build()));
+
+        Recorded request = requests.poll();
+        assertEquals("/2010-04-01/Accounts/AC1/Messages.json", request.path());
+        assertEquals("Basic QUMxOnNlY3JldA==", request.authorization());
+        assertEquals("To=%2B15551111&From=%2B15550000&Body=Hi+%26+bye", request.body());
+    }
+
+    @Test
+    void firebase_SendPushBatch_ShouldSendEveryPushConcurrently_WithinHostLimit() {
+        delayMillis = 20;
+        FirebasePushProvider provider = new FirebasePushProvider("proj", () -> "token-123", transport, baseUri);
+        List<PushNotification> pushes = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            pushes.add(PushNotification.builder().token("device-" + i).title("T").body("B")
+                    .data(Map.of("k", "v")).build());
+        }
+
+        ProviderResponse[] sent = provider.sendPushBatch(pushes);
+
+        assertEquals(12, sent.length);
+        for (ProviderResponse response : sent) {
+            assertTrue(response.accepted());
+        }
+        assertEquals(12, requests.size());
+        assertTrue(maxConcurrent.get() > 1, "requests were not concurrent");
+        assertTrue(maxConcurrent.get() <= 4, "host limit exceeded: " + maxConcurrent.get());
+        Recorded request = requests.poll();
+        assertEquals("/v1/projects/proj/messages:send", request.path());
+        assertEquals("Bearer token-123", request.authorization());
+        assertTrue(request.body().contains("\"data\":{\"k\":\"v\"}"), request.body());
+    }
+
+    @Test
+    void slack_ShouldReturnFalse_WhenWebhookRejectsMessage() {
+        status = 404;
+        SlackWebhookProvider provider = new SlackWebhookProvider(baseUri + "/services/T/B/X", transport);
+
+        assertFalse(provider.sendSlackMessage(SlackNotification.builder().channel("#ops").text("down").build()));
+        assertTrue(requests.poll().body().contains("\"channel\":\"#ops\""));
+    }
+
+    @Test
+    void sendAsync_ShouldReportRejection_ThroughNonBlockingProvider() throws Exception {
+        status = 400;
+        SmsSender sender = new SmsSender(new TwilioSmsProvider("AC1", "secret", "+15550000", transport, baseUri));
+
+        NotificationResult result = sender.sendAsync(SmsNotification.builder().phoneNumber("+1").message("x").build())
+                .get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.success());
+        assertEquals("Twilio rejected the message with status 400", result.message());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void send_ShouldReturnProviderMessageIds() {
+        SmsSender twilio = new SmsSender(new TwilioSmsProvider("AC1", "secret", "+15550000", transport, baseUri));
+        EmailSender sendGrid = new EmailSender(new SendGridEmailProvider("SG.key", transport,
+                baseUri.resolve("/v3/mail/send")));
+        PushSender firebase = new PushSender(new FirebasePushProvider("proj", () -> "t", transport, baseUri));
+
+        responseBody = "{\"account_sid\": \"AC1\", \"sid\": \"SM42\", \"status\": \"queued\"}";
+        assertEquals("SM42", twilio.send(SmsNotification.builder().phoneNumber("+1").message("x").build())
+                .messageId());
+        assertEquals("sg-2", sendGrid.send(email("a@example.com")).messageId());
+        responseBody = "{\"name\":\"projects/proj/messages/0:1500415314455276%31bd1c9631bd1c96\"}";
+        assertEquals("0:1500415314455276%31bd1c9631bd1c96", firebase.send(PushNotification.builder()
+                .token("device").title("T").body("B").build()).messageId());
+    }
+
+    @Test
+    void sendBatch_ShouldReturnProviderMessageIds() {
+        SmsSender twilio = new SmsSender(new TwilioSmsProvider("AC1", "secret", "+15550000", transport, baseUri));
+        responseBody = "{\"sid\": \"SM42\"}";
+
+        List<NotificationResult> results = twilio.sendBatch(List.of(
+                SmsNotification.builder().phoneNumber("+1").message("x").build(),
+                SmsNotification.builder().phoneNumber("+2").message("y").build()));
+
+        assertEquals(List.of("SM42", "SM42"), results.stream().map(NotificationResult::messageId).toList());
+    }
+
+    @Test
+    void send_ShouldThrowRetryableTransportException_OnServerError() {
+        status = 503;
+        TwilioSmsProvider provider = new TwilioSmsProvider("AC1", "secret", "+15550000", transport, baseUri);
+
+        TransportException error = assertThrows(TransportException.class,
+                () -> provider.sendSms(SmsNotification.builder().phoneNumber("+1").message("x").build()));
+
+        assertEquals(503, error.getStatusCode());
+    }
+
+    @Test
+    void send_ShouldThrowTransportException_WhenServerIsUnreachable() {
+        server.stop(0);
+        SlackWebhookProvider provider = new SlackWebhookProvider(baseUri + "/hook", transport);
+
+        NotificationException error = assertThrows(TransportException.class,
+                () -> provider.sendSlackMessage(SlackNotification.builder().channel("#a").text("x").build()));
+
+        assertEquals(-1, ((TransportException) error).getStatusCode());
+    }
+
+    @Test
+    void sendAll_ShouldTellRetryableFailuresFromRejections() {
+        statusByPath.put("/throttled", 429);
+        statusByPath.put("/invalid", 400);
+
+        ProviderResponse[] responses = transport.sendAll(List.of(post("/ok"), post("/throttled"), post("/invalid")),
+                "Test");
+
+        assertTrue(responses[0].accepted());
+        assertTrue(responses[1].retryable());
+        assertEquals(429, responses[1].statusCode());
+        assertFalse(responses[2].accepted());
+        assertFalse(responses[2].retryable());
+    }
+
+    @Test
+    void sendAll_ShouldThrowTransportException_WhenEveryRequestIsRetryable() {
+        status = 503;
+
+        TransportException error = assertThrows(TransportException.class,
+                () -> transport.sendAll(List.of(post("/a"), post("/b")), "Test"));
+
+        assertEquals(503, error.getStatusCode());
+    }
+
+    private HttpRequest post(String path) {
+        return transport.post(baseUri.resolve(path), "text/plain", "x").build();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int now = concurrent.incrementAndGet();
+        maxConcurrent.accumulateAndGet(now, Math::max);
+        try {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            requests.add(new Recorded(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                    exchange.getRequestHeaders().getFirst("Authorization"), body));
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            exchange.getResponseHeaders().add("X-Message-Id", "sg-" + requests.size());
+            byte[] response = responseBody.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(statusByPath.getOrDefault(exchange.getRequestURI().getPath(), status),
+                    response.length);
+            exchange.getResponseBody().write(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            concurrent.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private EmailNotification email(String to) {
+        return EmailNotification.builder()
+                .to(to)
+                .from("noreply@example.com")
+                .subject("Hello \"there\"")
+                .body("Body")
+                .build();
+    }
+
+    private record Recorded(String method, String path, String authorization, String body) {
+    }
+}
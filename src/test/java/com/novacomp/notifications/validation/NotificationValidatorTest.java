@@ -0,0 +1,152 @@
+package com.novacomp.notifications.validation;
+
+import com.novacomp.notifications.api.Notification;
+import com.novacomp.notifications.api.ValidationResult;
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationValidatorTest {
+
+    @Test
+    void isValid_ShouldAcceptRfcAddresses() {
+        assertTrue(EmailAddress.isValid("user@example.com"));
+        assertTrue(EmailAddress.isValid("first.last+tag@mail.example.co.uk"));
+        assertTrue(EmailAddress.isValid("o'brien!#$%&*=?^_`{|}~-@example.org"));
+        assertTrue(EmailAddress.isValid("\"john doe\"@example.com"));
+        assertTrue(EmailAddress.isValid("\"quote\\\"inside\"@example.com"));
+        assertTrue(EmailAddress.isValid("admin@[192.0.2.1]"));
+        assertTrue(EmailAddress.isValid("admin@[IPv6:2001:db8::1]"));
+        assertTrue(EmailAddress.isValid("a@x-1.io"));
+    }
+
+    @Test
+    void isValid_ShouldRejectMalformedAddresses() {
+        assertFalse(EmailAddress.isValid(null));
+        assertFalse(EmailAddress.isValid(""));
+        assertFalse(EmailAddress.isValid("invalid-email"));
+        assertFalse(EmailAddress.isValid("@example.com"));
+        assertFalse(EmailAddress.isValid("user@"));
+        assertFalse(EmailAddress.isValid(".user@example.com"));
+        assertFalse(EmailAddress.isValid("user.@example.com"));
+        assertFalse(EmailAddress.isValid("us..er@example.com"));
+        assertFalse(EmailAddress.isValid("us er@example.com"));
+        assertFalse(EmailAddress.isValid("user@@example.com"));
+        assertFalse(EmailAddress.isValid("user@localhost"));
+        assertFalse(EmailAddress.isValid("user@-example.com"));
+        assertFalse(EmailAddress.isValid("user@example-.com"));
+        assertFalse(EmailAddress.isValid("user@example..com"));
+        assertFalse(EmailAddress.isValid("user@1.2.3.4"));
+        assertFalse(EmailAddress.isValid("user@[256.0.0.1]"));
+        assertFalse(EmailAddress.isValid("\"unterminated@example.com"));
+        assertFalse(EmailAddress.isValid("üser@example.com"));
+        assertFalse(EmailAddress.isValid("a".repeat(65) + "@example.com"));
+        assertFalse(EmailAddress.isValid("user@" + "a".repeat(64) + ".com"));
+    }
+
+    @Test
+    void isValid_ShouldNotBacktrack_OnPathologicalInput() {
+        String input = "a.".repeat(20_000) + "!";
+        long start = System.nanoTime();
+
+        assertFalse(EmailAddress.isValid(input + "@" + "b-".repeat(20_000)));
+
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    }
+
+    @Test
+    void isE164_ShouldAcceptOnlyPlusAndUpTo15Digits() {
+        assertTrue(PhoneNumber.isE164("+14155552671"));
+        assertTrue(PhoneNumber.isE164("+" + "1".repeat(15)));
+        assertFalse(PhoneNumber.isE164("+" + "1".repeat(16)));
+        assertFalse(PhoneNumber.isE164("14155552671"));
+        assertFalse(PhoneNumber.isE164("+04155552671"));
+        assertFalse(PhoneNumber.isE164("+1 415 555 2671"));
+        assertFalse(PhoneNumber.isE164("+"));
+        assertFalse(PhoneNumber.isE164(null));
+    }
+
+    @Test
+    void validate_ShouldReturnSharedSuccess_WhenValid() {
+        EmailNotification email = email("user@example.com", "Subject");
+
+        assertSame(ValidationResult.success(), email.validate());
+        assertSame(ValidationResult.success(), NotificationValidator.getDefault().validate(email));
+    }
+
+    @Test
+    void validate_ShouldReportEveryError_WhenSeveralRulesFail() {
+        EmailNotification email = EmailNotification.builder()
+                .to("not-an-address")
+                .from("sender@example.com")
+                .subject(" ")
+                .body("Body")
+                .cc(List.of("team@example.com", "bad@"))
+                .build();
+
+        ValidationResult result = email.validate();
+
+        assertFalse(result.isValid());
+        assertEquals(List.of("Invalid recipient email: not-an-address", "Invalid cc email: bad@",
+                "Email subject cannot be empty"), result.errors());
+    }
+
+    @Test
+    void validate_ShouldRejectNonE164PhoneNumbers() {
+        ValidationResult result = SmsNotification.builder().phoneNumber("555-1234").message("Hi").build().validate();
+
+        assertEquals(List.of("Phone number is not in E.164 format: 555-1234"), result.errors());
+    }
+
+    @Test
+    void validate_ShouldApplySupertypeRules_AndFallBackToNotification() {
+        NotificationValidator validator = NotificationValidator.builder()
+                .rule(Notification.class, notification -> notification instanceof Custom custom && custom.ok
+                        ? null
+                        : "Not ok")
+                .build();
+
+        assertTrue(validator.isValid(new Custom(true)));
+        assertEquals(List.of("Not ok"), validator.validate(new Custom(false)).errors());
+        // No rule for SlackNotification in this validator beyond the catch-all
+        assertFalse(validator.isValid(SlackNotification.builder().channel("#a").text("t").build()));
+
+        NotificationValidator empty = NotificationValidator.builder().build();
+        assertEquals(List.of("custom"), empty.validate(new Custom(false)).errors());
+    }
+
+    @Test
+    void validateAll_ShouldFlagFailingIndexes() {
+        Notification[] batch = {
+                email("a@example.com", "S"),
+                email("broken", "S"),
+                SmsNotification.builder().phoneNumber("+14155552671").message("Hi").build(),
+                SmsNotification.builder().phoneNumber("+1").message(" ").build(),
+                email("b@example.com", "S")
+        };
+
+        BitSet failures = NotificationValidator.getDefault().validateAll(batch);
+
+        assertEquals(2, failures.cardinality());
+        assertTrue(failures.get(1));
+        assertTrue(failures.get(3));
+        assertEquals(failures, NotificationValidator.getDefault().validateAll(List.of(batch)));
+    }
+
+    private static EmailNotification email(String to, String subject) {
+        return EmailNotification.builder().to(to).from("noreply@example.com").subject(subject).body("Body").build();
+    }
+
+    private record Custom(boolean ok) implements Notification {
+        @Override
+        public ValidationResult validate() {
+            return ok ? ValidationResult.success() : ValidationResult.failure("custom");
+        }
+    }
+}